@@ -0,0 +1,33 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.sgv2.docsapi.api.v2.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkWriteResult(
+    @Schema(
+            description = "The position of the document in the request, starting from 0.",
+            example = "0")
+        long index,
+    @Schema(
+            description = "The id of the document, if it could be resolved.",
+            example = "822dc277-9121-4791-8b01-da8154e67d5d")
+        String documentId,
+    @Schema(description = "The reason why the document was not written, if it failed.")
+        String error) {}
@@ -20,12 +20,14 @@ package io.stargate.sgv2.docsapi.api.v2.namespaces.collections.documents;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.smallrye.mutiny.Uni;
 import io.stargate.sgv2.api.common.exception.model.dto.ApiError;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.ExecutionProfile;
 import io.stargate.sgv2.docsapi.config.constants.OpenApiConstants;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.common.model.Paginator;
 import io.stargate.sgv2.docsapi.service.query.ReadDocumentsService;
+import io.stargate.sgv2.docsapi.service.query.search.resolver.IndexedSearchPlanner;
 import io.stargate.sgv2.docsapi.service.schema.CollectionManager;
 import jakarta.inject.Inject;
 import jakarta.validation.constraints.Max;
@@ -72,6 +74,8 @@ public class DocumentReadResource {
 
   @Inject CollectionManager collectionManager;
 
+  @Inject DocumentProperties documentProperties;
+
   @Operation(
       summary = "Search documents in a collection",
       description = " Page over documents in a collection, with optional search parameters.")
@@ -166,8 +170,11 @@ public class DocumentReadResource {
               int pageSizeFinal = Optional.ofNullable(pageSize).orElse(3);
               Paginator paginator = new Paginator(pageState, pageSizeFinal);
 
+              // push down conditions to the storage attached indexes of the table, if any
+              IndexedSearchPlanner planner = IndexedSearchPlanner.of(t, documentProperties);
+
               return readDocumentsService
-                  .findDocuments(namespace, collection, where, fields, paginator, context)
+                  .findDocuments(namespace, collection, where, fields, paginator, context, planner)
 
                   // note that find documents always returns the result
                   .map(rawHandler(raw));
@@ -18,9 +18,12 @@
 package io.stargate.sgv2.docsapi.api.v2.namespaces.collections.documents;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.api.common.exception.model.dto.ApiError;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.BulkWriteResult;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.ExecutionProfile;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.MultiDocsResponse;
 import io.stargate.sgv2.docsapi.config.constants.OpenApiConstants;
@@ -40,6 +43,7 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.UriInfo;
+import java.io.InputStream;
 import java.net.URI;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
@@ -54,8 +58,10 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.RestMediaType;
 import org.jboss.resteasy.reactive.RestResponse;
 import org.jboss.resteasy.reactive.RestResponse.ResponseBuilder;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
 /** Document write resource. */
 @Path(DocumentWriteResource.BASE_PATH)
@@ -227,4 +233,90 @@ public class DocumentWriteResource {
         .onItem()
         .transform(result -> ResponseBuilder.accepted().entity(result).build());
   }
+
+  @Operation(
+      summary = "Create documents from a stream",
+      description =
+          """
+              Create multiple new documents from newline-delimited JSON, streaming back the result of each document as newline-delimited JSON as soon as it is written. If the collection does not exist, it will be created.
+
+              > Unlike the batch write, documents are processed as they are read, so there is no limit on the number of documents in a single request.
+              The results are not in the order of the documents, use the `index` of each result to match it with its document.
+              A result with an `error` means that the document was not written.
+
+              > Include the `id-path` parameter to extract the ID for each document from the document itself.
+              The `id-path` should be given as path to the document property containing the id, for example `a.b.c.[0]`.
+              Note that document IDs will be auto-generated in case there is no `id-path` parameter defined.
+              """)
+  @Parameters(
+      value = {
+        @Parameter(name = "namespace", ref = OpenApiConstants.Parameters.NAMESPACE),
+        @Parameter(
+            name = "collection",
+            ref = OpenApiConstants.Parameters.COLLECTION,
+            description = "The collection of the documents. Will be created if it does not exist."),
+        @Parameter(
+            name = "id-path",
+            description =
+                "The optional path of the ID in each document whose value will be used as the ID of the created document, if present."),
+        @Parameter(
+            name = "ttl",
+            ref = OpenApiConstants.Parameters.TTL,
+            description = "The time-to-live (in seconds) of each written document."),
+      })
+  @RequestBody(
+      description = "The documents, one JSON object per line.",
+      required = true,
+      content =
+          @Content(
+              mediaType = RestMediaType.APPLICATION_NDJSON,
+              schema =
+                  @org.eclipse.microprofile.openapi.annotations.media.Schema(
+                      type = SchemaType.STRING)))
+  @APIResponses(
+      value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "The result of each document, one JSON object per line.",
+            content = {
+              @Content(
+                  mediaType = RestMediaType.APPLICATION_NDJSON,
+                  schema =
+                      @org.eclipse.microprofile.openapi.annotations.media.Schema(
+                          implementation = BulkWriteResult.class))
+            }),
+        @APIResponse(
+            responseCode = "404",
+            description = "Not found.",
+            content =
+                @Content(
+                    examples = {
+                      @ExampleObject(ref = OpenApiConstants.Examples.NAMESPACE_DOES_NOT_EXIST)
+                    },
+                    schema =
+                        @org.eclipse.microprofile.openapi.annotations.media.Schema(
+                            implementation = ApiError.class))),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_400),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_401),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_500),
+        @APIResponse(ref = OpenApiConstants.Responses.GENERAL_503),
+      })
+  @POST
+  @Path("{collection:\\w+}/bulk")
+  @Consumes(RestMediaType.APPLICATION_NDJSON)
+  @Produces(RestMediaType.APPLICATION_NDJSON)
+  @RestStreamElementType(MediaType.APPLICATION_JSON)
+  // the body is read as a stream, which blocks
+  @Blocking
+  public Multi<BulkWriteResult> createDocumentsStream(
+      @PathParam("namespace") String namespace,
+      @PathParam("collection") String collection,
+      @QueryParam("id-path") String idPath,
+      @QueryParam("ttl") @Min(value = 1, message = "TTL value must be a positive integer")
+          Integer ttl,
+      InputStream body) {
+    Uni<Schema.CqlTable> table = collectionManager.ensureValidDocumentTable(namespace, collection);
+    return documentWriteService.writeDocumentsStream(
+        table, namespace, collection, body, idPath, ttl, ExecutionContext.NOOP_CONTEXT);
+  }
 }
@@ -17,6 +17,8 @@
 
 package io.stargate.sgv2.docsapi.api.v2.namespaces.collections.documents;
 
+import com.bpodgursky.jbool_expressions.Expression;
+import com.bpodgursky.jbool_expressions.Literal;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.smallrye.mutiny.Uni;
@@ -28,6 +30,8 @@ import io.stargate.sgv2.docsapi.config.DocumentConfig;
 import io.stargate.sgv2.docsapi.config.constants.OpenApiConstants;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.json.JsonConverter;
+import io.stargate.sgv2.docsapi.service.query.ExpressionParser;
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
 import io.stargate.sgv2.docsapi.service.query.search.VectorSearchService;
 import io.stargate.sgv2.docsapi.service.schema.CollectionManager;
 import jakarta.inject.Inject;
@@ -42,8 +46,8 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
@@ -118,6 +122,7 @@ public class VectorSearchResource {
   @Inject JsonConverter jsonConverter;
   @Inject DocumentProperties documentProperties;
   @Inject DataStoreProperties dataStoreProperties;
+  @Inject ExpressionParser expressionParser;
 
   public static class VectorSearchRequest {
     @JsonProperty("vector")
@@ -241,19 +246,25 @@ public class VectorSearchResource {
         .onItem()
         .transformToUni(
             table -> {
-              // TODO: Parse filter from JSON if provided
-              Optional<io.stargate.sgv2.docsapi.service.query.FilterExpression> filter =
-                  Optional.empty();
+              // parse the filter if provided, no filter matches all documents
+              JsonNode filterJson = request.getFilter();
+              Expression<FilterExpression> filter =
+                  null != filterJson && !filterJson.isNull()
+                      ? expressionParser.constructFilterExpression(
+                          Collections.emptyList(), filterJson)
+                      : Literal.getTrue();
 
-              // Perform vector search
+              // Perform vector search, filtering and loading full documents
               return vectorSearchService
-                  .vectorSearch(
+                  .searchDocuments(
                       namespace,
                       collection,
                       request.getVector(),
                       request.getLimit(),
                       filter,
                       context)
+                  .collect()
+                  .asList()
                   .onItem()
                   .transform(
                       documents -> {
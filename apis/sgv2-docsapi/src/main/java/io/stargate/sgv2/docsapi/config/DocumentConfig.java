@@ -79,6 +79,12 @@ public interface DocumentConfig {
   /** {@inheritDoc} */
   DocumentTableConfig table();
 
+  /** {@inheritDoc} */
+  DocumentBulkWriteConfig bulkWrite();
+
+  /** {@inheritDoc} */
+  DocumentVectorSearchConfig vectorSearch();
+
   interface DocumentTableConfig {
 
     /**
@@ -130,4 +136,61 @@ public interface DocumentConfig {
     @WithDefault(Constants.PATH_COLUMN_PREFIX)
     String pathColumnPrefix();
   }
+
+  interface DocumentBulkWriteConfig {
+
+    /**
+     * @return The maximum number of bridge batches in flight for a single bulk write request,
+     *     defaults to <code>16</code>.
+     */
+    @Positive
+    @WithDefault("16")
+    int maxInFlight();
+
+    /**
+     * @return The number of rows after which no more documents are added to a bridge batch of a
+     *     bulk write, defaults to <code>100</code>. A document with more rows is written in a
+     *     batch of its own.
+     */
+    @Positive
+    @WithDefault("100")
+    int maxBatchRows();
+
+    /**
+     * @return The number of most recent document IDs of a streamed bulk write that are checked for
+     *     duplicates, defaults to <code>10000</code>. This bounds the memory used by a stream: an
+     *     ID repeated after more documents than that is not reported as a duplicate.
+     */
+    @Positive
+    @WithDefault("10000")
+    int maxTrackedIds();
+  }
+
+  interface DocumentVectorSearchConfig {
+
+    /**
+     * @return The factor by which the number of ANN candidates exceeds the requested limit when a
+     *     vector search has filters, defaults to <code>4</code>. The candidates are increased by
+     *     the same factor if not enough documents match the filters.
+     */
+    @Positive
+    @WithDefault("4")
+    int overFetchFactor();
+
+    /**
+     * @return The maximum number of ANN candidates fetched for a single vector search, defaults to
+     *     <code>1000</code>.
+     */
+    @Positive
+    @WithDefault("1000")
+    int maxCandidates();
+
+    /**
+     * @return The maximum number of documents hydrated in parallel for a single vector search,
+     *     defaults to <code>8</code>.
+     */
+    @Positive
+    @WithDefault("8")
+    int hydrationConcurrency();
+  }
 }
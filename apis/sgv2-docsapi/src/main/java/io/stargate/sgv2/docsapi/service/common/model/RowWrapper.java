@@ -22,7 +22,6 @@ import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.bridge.proto.QueryOuterClass.Row;
-import io.stargate.bridge.proto.QueryOuterClass.Value;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -74,12 +73,31 @@ public interface RowWrapper {
     return firstIndexOf(columnName) >= 0;
   }
 
+  /**
+   * @return Index of the column in the row, to be used with the index-based getters.
+   * @throws IllegalArgumentException If column does not exist.
+   */
+  default int columnIndex(String columnName) {
+    int i = firstIndexOf(columnName);
+    if (i < 0) {
+      throw new IllegalArgumentException(String.format("Column '%s' does not exist", columnName));
+    }
+    return i;
+  }
+
   /**
    * @return If value of the column is <code>null</code>.
    * @throws IllegalArgumentException If column does not exist.
    */
   default boolean isNull(String columnName) {
-    return getValue(columnName).hasNull();
+    return isNull(columnIndex(columnName));
+  }
+
+  /**
+   * @return If value of the column at the given index is <code>null</code>.
+   */
+  default boolean isNull(int columnIndex) {
+    return row().getValues(columnIndex).hasNull();
   }
 
   /**
@@ -87,7 +105,14 @@ public interface RowWrapper {
    * @throws IllegalArgumentException If column does not exist.
    */
   default String getString(String columnName) {
-    return Values.string(getValue(columnName));
+    return getString(columnIndex(columnName));
+  }
+
+  /**
+   * @return Value of the column at the given index as string.
+   */
+  default String getString(int columnIndex) {
+    return Values.string(row().getValues(columnIndex));
   }
 
   /**
@@ -95,7 +120,14 @@ public interface RowWrapper {
    * @throws IllegalArgumentException If column does not exist.
    */
   default Double getDouble(String columnName) {
-    return Values.double_(getValue(columnName));
+    return getDouble(columnIndex(columnName));
+  }
+
+  /**
+   * @return Value of the column at the given index as double.
+   */
+  default Double getDouble(int columnIndex) {
+    return Values.double_(row().getValues(columnIndex));
   }
 
   /**
@@ -103,7 +135,14 @@ public interface RowWrapper {
    * @throws IllegalArgumentException If column does not exist.
    */
   default Long getLong(String columnName) {
-    return Values.bigint(getValue(columnName));
+    return getLong(columnIndex(columnName));
+  }
+
+  /**
+   * @return Value of the column at the given index as long.
+   */
+  default Long getLong(int columnIndex) {
+    return Values.bigint(row().getValues(columnIndex));
   }
 
   /**
@@ -111,7 +150,14 @@ public interface RowWrapper {
    * @throws IllegalArgumentException If column does not exist.
    */
   default byte getByte(String columnName) {
-    return Values.tinyint(getValue(columnName));
+    return getByte(columnIndex(columnName));
+  }
+
+  /**
+   * @return Value of the column at the given index as byte.
+   */
+  default byte getByte(int columnIndex) {
+    return Values.tinyint(row().getValues(columnIndex));
   }
 
   /**
@@ -119,7 +165,14 @@ public interface RowWrapper {
    * @throws IllegalArgumentException If column does not exist.
    */
   default Boolean getBoolean(String columnName) {
-    return Values.bool(getValue(columnName));
+    return getBoolean(columnIndex(columnName));
+  }
+
+  /**
+   * @return Value of the column at the given index as boolean.
+   */
+  default Boolean getBoolean(int columnIndex) {
+    return Values.bool(row().getValues(columnIndex));
   }
 
   /**
@@ -127,7 +180,14 @@ public interface RowWrapper {
    * @throws IllegalArgumentException If column does not exist.
    */
   default float[] getVector(String columnName) {
-    List<Float> vectorList = Values.vector(getValue(columnName));
+    return getVector(columnIndex(columnName));
+  }
+
+  /**
+   * @return Value of the column at the given index as float array (vector).
+   */
+  default float[] getVector(int columnIndex) {
+    List<Float> vectorList = Values.vector(row().getValues(columnIndex));
     if (vectorList == null) {
       return null;
     }
@@ -138,14 +198,6 @@ public interface RowWrapper {
     return result;
   }
 
-  private Value getValue(String columnName) {
-    int i = firstIndexOf(columnName);
-    if (i < 0) {
-      throw new IllegalArgumentException(String.format("Column '%s' does not exist", columnName));
-    }
-    return row().getValues(i);
-  }
-
   /**
    * @return the index, or <0 if the column does not exist.
    */
@@ -26,10 +26,11 @@ import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
 import io.stargate.sgv2.docsapi.config.constants.Constants;
 import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
-import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.HashMap;
@@ -110,14 +111,21 @@ public class JsonConverter {
       boolean numericBooleans,
       int maxDepth) {
     JsonNode doc = mapper.createObjectNode();
-    Map<String, Long> pathWriteTimes = new HashMap<>();
     if (rows.isEmpty()) {
       return doc;
     }
 
+    PathNode root = new PathNode(null, "$");
+    ColumnLayout layout = null;
+
     for (RowWrapper row : rows) {
-      Long rowWriteTime = row.getLong(docsProperties.tableProperties().writetimeColumnName());
-      String rowLeaf = row.getString(docsProperties.tableProperties().leafColumnName());
+      // rows of the same result set share the columns, so this resolves once per result set
+      if (layout == null || !layout.matches(row)) {
+        layout = new ColumnLayout(row, docsProperties, maxDepth);
+      }
+
+      Long rowWriteTime = row.getLong(layout.writetime());
+      String rowLeaf = row.getString(layout.leaf());
       if (rowLeaf.equals(Constants.ROOT_DOC_MARKER)) {
         continue;
       }
@@ -126,29 +134,27 @@ public class JsonConverter {
       JsonNode parentRef = null;
       JsonNode ref = doc;
 
-      String parentPath = "$";
+      PathNode parentPath = root;
+      String previousP = null;
+      String nextP = row.getString(layout.path(0));
 
       for (int i = 0; i < maxDepth; i++) {
-        String p = row.getString(docsProperties.tableProperties().pathColumnName(i));
-        String nextP =
-            i < maxDepth - 1
-                ? row.getString(docsProperties.tableProperties().pathColumnName(i + 1))
-                : "";
+        String p = nextP;
+        nextP = i < maxDepth - 1 ? row.getString(layout.path(i + 1)) : "";
         boolean endOfPath = nextP.equals("");
         boolean isArray = p.startsWith("[");
         boolean nextIsArray = nextP.startsWith("[");
+        String rawP = p;
 
         if (isArray) {
           // This removes leading zeros if applicable
           p = "[" + Integer.parseInt(p.substring(1, p.length() - 1)) + "]";
         }
 
-        boolean shouldWrite =
-            !pathWriteTimes.containsKey(parentPath)
-                || pathWriteTimes.get(parentPath) <= rowWriteTime;
+        boolean shouldWrite = parentPath.isOlderOrSame(rowWriteTime);
 
         if (!shouldWrite) {
-          markFullPathAsDead(parentPath, p, collector);
+          markFullPathAsDead(parentPath.path(), p, collector);
           break;
         }
 
@@ -157,15 +163,15 @@ public class JsonConverter {
           if (i == 0 && shouldBeArray) {
             doc = mapper.createArrayNode();
             ref = doc;
-            pathWriteTimes.put(parentPath, rowWriteTime);
+            parentPath.writeTime = rowWriteTime;
           } else if (i != 0 && shouldBeArray) {
-            markObjectAtPathAsDead(ref, parentPath, collector);
-            ref = changeCurrentNodeToArray(row, parentRef, i);
-            pathWriteTimes.put(parentPath, rowWriteTime);
+            markObjectAtPathAsDead(ref, parentPath.path(), collector);
+            ref = changeCurrentNodeToArray(previousP, parentRef);
+            parentPath.writeTime = rowWriteTime;
           } else if (i != 0 && !isArray && !ref.isObject()) {
-            markArrayAtPathAsDead(ref, parentPath, collector);
-            ref = changeCurrentNodeToObject(row, parentRef, i, writeAllPathsAsObjects);
-            pathWriteTimes.put(parentPath, rowWriteTime);
+            markArrayAtPathAsDead(ref, parentPath.path(), collector);
+            ref = changeCurrentNodeToObject(previousP, parentRef, writeAllPathsAsObjects);
+            parentPath.writeTime = rowWriteTime;
           }
           leaf = p;
           break;
@@ -181,9 +187,9 @@ public class JsonConverter {
             doc = mapper.createArrayNode();
             ref = doc;
           } else if (shouldBeArray) {
-            markObjectAtPathAsDead(ref, parentPath, collector);
-            ref = changeCurrentNodeToArray(row, parentRef, i);
-            pathWriteTimes.put(parentPath, rowWriteTime);
+            markObjectAtPathAsDead(ref, parentPath.path(), collector);
+            ref = changeCurrentNodeToArray(previousP, parentRef);
+            parentPath.writeTime = rowWriteTime;
           }
 
           ArrayNode arrayRef = (ArrayNode) ref;
@@ -213,9 +219,9 @@ public class JsonConverter {
                     : mapper.createObjectNode();
 
             if (!ref.isObject()) {
-              markArrayAtPathAsDead(ref, parentPath, collector);
-              ref = changeCurrentNodeToObject(row, parentRef, i, writeAllPathsAsObjects);
-              pathWriteTimes.put(parentPath, rowWriteTime);
+              markArrayAtPathAsDead(ref, parentPath.path(), collector);
+              ref = changeCurrentNodeToObject(previousP, parentRef, writeAllPathsAsObjects);
+              parentPath.writeTime = rowWriteTime;
             }
 
             ((ObjectNode) ref).set(p, childRef);
@@ -223,14 +229,15 @@ public class JsonConverter {
         }
         parentRef = ref;
         ref = childRef;
-        parentPath += "." + p;
+        parentPath = parentPath.child(p);
+        previousP = rawP;
       }
 
       if (leaf == null) {
         continue;
       }
 
-      writeLeafIfNewer(ref, row, leaf, parentPath, pathWriteTimes, rowWriteTime, numericBooleans);
+      writeLeafIfNewer(ref, row, layout, leaf, parentPath, rowWriteTime, numericBooleans);
     }
 
     return doc;
@@ -241,8 +248,7 @@ public class JsonConverter {
    * is necessary if an older value in the data is an Object or scalar, but a newer representation
    * is an Array.
    */
-  private JsonNode changeCurrentNodeToArray(RowWrapper row, JsonNode parentRef, int pathIndex) {
-    String pbefore = row.getString(docsProperties.tableProperties().pathColumnName(pathIndex - 1));
+  private JsonNode changeCurrentNodeToArray(String pbefore, JsonNode parentRef) {
     JsonNode ref = mapper.createArrayNode();
     if (pbefore.startsWith("[")) {
       int index = Integer.parseInt(pbefore.substring(1, pbefore.length() - 1));
@@ -260,8 +266,7 @@ public class JsonConverter {
    * an Object.
    */
   private JsonNode changeCurrentNodeToObject(
-      RowWrapper row, JsonNode parentRef, int pathIndex, boolean writeAllPathsAsObjects) {
-    String pbefore = row.getString(docsProperties.tableProperties().pathColumnName(pathIndex - 1));
+      String pbefore, JsonNode parentRef, boolean writeAllPathsAsObjects) {
     JsonNode ref = mapper.createObjectNode();
     if (pbefore.startsWith("[") && !writeAllPathsAsObjects) {
       int index = Integer.parseInt(pbefore.substring(1, pbefore.length() - 1));
@@ -325,26 +330,38 @@ public class JsonConverter {
    *
    * @param ref the JsonNode
    * @param row the Row, for extraction of values
+   * @param layout the column layout of the row
    * @param leaf the path of the leaf
    * @param parentPath the parent path to the leaf in the document
-   * @param pathWriteTimes a Map of all the path write times
    * @param rowWriteTime the current row's write time
    * @param numericBooleans whether to treat boolean values should be treated as integers
    */
   private void writeLeafIfNewer(
       JsonNode ref,
       RowWrapper row,
+      ColumnLayout layout,
       String leaf,
-      String parentPath,
-      Map<String, Long> pathWriteTimes,
+      PathNode parentPath,
       Long rowWriteTime,
       boolean numericBooleans) {
     JsonNode n = NullNode.getInstance();
 
-    String stringValue = DocsApiUtils.getStringFromRow(row, docsProperties);
-    Boolean booleanValue = DocsApiUtils.getBooleanFromRow(row, docsProperties, numericBooleans);
-    Double doubleValue = DocsApiUtils.getDoubleFromRow(row, docsProperties);
-    float[] vectorValue = DocsApiUtils.getVectorFromRow(row, docsProperties);
+    int stringIndex = layout.stringValue();
+    String stringValue = row.isNull(stringIndex) ? null : row.getString(stringIndex);
+    int booleanIndex = layout.booleanValue();
+    Boolean booleanValue;
+    if (row.isNull(booleanIndex)) {
+      booleanValue = null;
+    } else if (numericBooleans) {
+      booleanValue = row.getByte(booleanIndex) != 0;
+    } else {
+      booleanValue = row.getBoolean(booleanIndex);
+    }
+    int doubleIndex = layout.doubleValue();
+    Double doubleValue = row.isNull(doubleIndex) ? null : row.getDouble(doubleIndex);
+    int vectorIndex = layout.vectorValue();
+    float[] vectorValue =
+        vectorIndex < 0 || row.isNull(vectorIndex) ? null : row.getVector(vectorIndex);
 
     if (vectorValue != null) {
       // Convert vector to JSON array
@@ -377,10 +394,8 @@ public class JsonConverter {
     if (ref == null)
       throw new IllegalStateException("Missing path @" + leaf + " v=" + n + " row=" + row);
 
-    boolean shouldWrite =
-        !pathWriteTimes.containsKey(parentPath + "." + leaf)
-            || pathWriteTimes.get(parentPath + "." + leaf) <= rowWriteTime;
-    if (shouldWrite) {
+    PathNode leafPath = parentPath.child(leaf);
+    if (leafPath.isOlderOrSame(rowWriteTime)) {
       if (ref.isObject()) {
         ((ObjectNode) ref).set(leaf, n);
       } else if (ref.isArray()) {
@@ -401,7 +416,143 @@ public class JsonConverter {
       } else {
         throw new IllegalStateException("Invalid document state: " + ref);
       }
-      pathWriteTimes.put(parentPath + "." + leaf, rowWriteTime);
+      leafPath.writeTime = rowWriteTime;
+    }
+  }
+
+  /**
+   * Indexes of the document table columns in the rows of a result set, resolved once instead of
+   * looking up every column by name in every row. A missing column only fails when it's accessed,
+   * like with the name-based access, except for the optional vector column.
+   */
+  private static final class ColumnLayout {
+
+    // positions in the names and indexes arrays, the path columns come last
+    private static final int WRITETIME = 0;
+    private static final int LEAF = 1;
+    private static final int STRING_VALUE = 2;
+    private static final int DOUBLE_VALUE = 3;
+    private static final int BOOLEAN_VALUE = 4;
+    private static final int VECTOR_VALUE = 5;
+    private static final int FIRST_PATH = 6;
+
+    private final ColumnSpec[] columns;
+    private final String[] names;
+    private final int[] indexes;
+
+    ColumnLayout(RowWrapper row, DocumentProperties docsProperties, int maxDepth) {
+      columns = row.columns().toArray(new ColumnSpec[0]);
+      DocumentTableProperties tableProperties = docsProperties.tableProperties();
+      names = new String[FIRST_PATH + maxDepth];
+      names[WRITETIME] = tableProperties.writetimeColumnName();
+      names[LEAF] = tableProperties.leafColumnName();
+      names[STRING_VALUE] = tableProperties.stringValueColumnName();
+      names[DOUBLE_VALUE] = tableProperties.doubleValueColumnName();
+      names[BOOLEAN_VALUE] = tableProperties.booleanValueColumnName();
+      names[VECTOR_VALUE] = tableProperties.vectorValueColumnName();
+      for (int i = 0; i < maxDepth; i++) {
+        names[FIRST_PATH + i] = tableProperties.pathColumnName(i);
+      }
+      indexes = new int[names.length];
+      for (int i = 0; i < names.length; i++) {
+        indexes[i] = row.columnIndexMap().getOrDefault(names[i], -1);
+      }
+    }
+
+    /**
+     * @return if the row has the columns this layout was resolved for, the column lists are copied
+     *     per row wrapper but the column specs are shared by the rows of a result set
+     */
+    boolean matches(RowWrapper row) {
+      List<ColumnSpec> rowColumns = row.columns();
+      if (rowColumns.size() != columns.length) {
+        return false;
+      }
+      for (int i = 0; i < columns.length; i++) {
+        if (rowColumns.get(i) != columns[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    int writetime() {
+      return index(WRITETIME);
+    }
+
+    int leaf() {
+      return index(LEAF);
+    }
+
+    int stringValue() {
+      return index(STRING_VALUE);
+    }
+
+    int doubleValue() {
+      return index(DOUBLE_VALUE);
+    }
+
+    int booleanValue() {
+      return index(BOOLEAN_VALUE);
+    }
+
+    /**
+     * @return the index, or <0 for rows without the vector column
+     */
+    int vectorValue() {
+      return indexes[VECTOR_VALUE];
+    }
+
+    int path(int depth) {
+      return index(FIRST_PATH + depth);
+    }
+
+    private int index(int position) {
+      int index = indexes[position];
+      if (index < 0) {
+        throw new IllegalArgumentException(
+            String.format("Column '%s' does not exist", names[position]));
+      }
+      return index;
+    }
+  }
+
+  /**
+   * A node of the trie of the document paths seen so far, with the latest write time of the data
+   * at that path, if any. Replaces a map keyed by the full path strings, so that no path string is
+   * built unless a dead leaf must be reported.
+   */
+  private static final class PathNode {
+
+    private final PathNode parent;
+    private final String segment;
+    private Map<String, PathNode> children;
+    Long writeTime;
+
+    PathNode(PathNode parent, String segment) {
+      this.parent = parent;
+      this.segment = segment;
+    }
+
+    PathNode child(String segment) {
+      if (children == null) {
+        children = new HashMap<>();
+      }
+      return children.computeIfAbsent(segment, s -> new PathNode(this, s));
+    }
+
+    /**
+     * @return if no data was written at this path yet, or it was not written after the time
+     */
+    boolean isOlderOrSame(Long time) {
+      return writeTime == null || writeTime <= time;
+    }
+
+    /**
+     * @return the full path, like <code>$.a.[0]</code>
+     */
+    String path() {
+      return parent == null ? segment : parent.path() + "." + segment;
     }
   }
 }
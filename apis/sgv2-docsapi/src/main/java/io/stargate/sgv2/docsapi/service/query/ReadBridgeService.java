@@ -35,6 +35,7 @@ import io.stargate.sgv2.docsapi.service.query.search.db.impl.PopulateSearchQuery
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.SubDocumentSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.BaseResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.DocumentsResolver;
+import io.stargate.sgv2.docsapi.service.query.search.resolver.IndexedSearchPlanner;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.SubDocumentsResolver;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -60,13 +61,37 @@ public class ReadBridgeService {
    * @param context Context for recording profiling information
    * @return Multi of {@link RawDocument}s, limited to a size defined in the #paginator.
    */
-  @WithSpan
   public Multi<RawDocument> searchDocuments(
       String keyspace,
       String collection,
       Expression<FilterExpression> expression,
       Paginator paginator,
       ExecutionContext context) {
+    return searchDocuments(
+        keyspace, collection, expression, paginator, context, IndexedSearchPlanner.NONE);
+  }
+
+  /**
+   * Searches a complete collection in order to find the documents that match the given expression.
+   * Starts the search for the given {@link Paginator} state. Expressions supported by the #planner
+   * are pushed down to the storage attached indexes instead of filtering queries.
+   *
+   * @param keyspace Keyspace to search in.
+   * @param collection Collection to search in.
+   * @param expression Expression tree
+   * @param paginator {@link Paginator}
+   * @param context Context for recording profiling information
+   * @param planner {@link IndexedSearchPlanner} of the collection table
+   * @return Multi of {@link RawDocument}s, limited to a size defined in the #paginator.
+   */
+  @WithSpan
+  public Multi<RawDocument> searchDocuments(
+      String keyspace,
+      String collection,
+      Expression<FilterExpression> expression,
+      Paginator paginator,
+      ExecutionContext context,
+      IndexedSearchPlanner planner) {
 
     // if we have true immediately, means we can only do full search
     if (Literal.EXPR_TYPE.equals(expression.getExprType())) {
@@ -85,7 +110,7 @@ public class ReadBridgeService {
     } else {
       // otherwise resolve the expression
       DocumentsResolver documentsResolver =
-          BaseResolver.resolve(expression, context, documentProperties);
+          BaseResolver.resolve(expression, context, documentProperties, planner);
 
       // load the candidates
       Multi<RawDocument> candidates =
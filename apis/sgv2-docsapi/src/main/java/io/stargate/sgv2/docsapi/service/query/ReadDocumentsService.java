@@ -45,6 +45,7 @@ import io.stargate.sgv2.docsapi.service.json.DeadLeafCollector;
 import io.stargate.sgv2.docsapi.service.json.DeadLeafCollectorImpl;
 import io.stargate.sgv2.docsapi.service.json.JsonConverter;
 import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
+import io.stargate.sgv2.docsapi.service.query.search.resolver.IndexedSearchPlanner;
 import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
 import io.stargate.sgv2.docsapi.service.util.TimeSource;
 import io.stargate.sgv2.docsapi.service.write.WriteBridgeService;
@@ -105,6 +106,32 @@ public class ReadDocumentsService {
       String fields,
       Paginator paginator,
       ExecutionContext context) {
+    return findDocuments(
+        namespace, collection, where, fields, paginator, context, IndexedSearchPlanner.NONE);
+  }
+
+  /**
+   * Searches for documents in the whole collection, pushing down the conditions supported by the
+   * storage attached indexes of the collection table.
+   *
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param where Conditions
+   * @param fields Fields to include in returned documents, must be a JSON array
+   * @param paginator Paginator
+   * @param context Execution content
+   * @param planner Indexed search planner of the collection table
+   * @return Uni containing DocumentResponseWrapper, in case no results found it will contain an
+   *     empty json node
+   */
+  public Uni<DocumentResponseWrapper<JsonNode>> findDocuments(
+      String namespace,
+      String collection,
+      String where,
+      String fields,
+      Paginator paginator,
+      ExecutionContext context,
+      IndexedSearchPlanner planner) {
 
     // everything in the reactive sequence
     return Uni.createFrom()
@@ -118,7 +145,7 @@ public class ReadDocumentsService {
 
               // call the search service
               return readBridgeService
-                  .searchDocuments(namespace, collection, expression, paginator, context)
+                  .searchDocuments(namespace, collection, expression, paginator, context, planner)
 
                   // collect
                   .collect()
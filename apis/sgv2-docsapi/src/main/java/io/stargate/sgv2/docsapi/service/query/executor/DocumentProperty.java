@@ -50,6 +50,16 @@ public abstract class DocumentProperty implements PagingStateSupplier {
   /** A single result set row wrapped in the {@link RowWrapper}. */
   abstract RowWrapper rowWrapper();
 
+  /**
+   * The row that holds the comparable bytes and the paging state for this property. This is the
+   * row itself, unless the query asked the bridge to only enrich the partition boundaries, in which
+   * case it can be the last row of the same partition in the page.
+   */
+  @Value.Default
+  QueryOuterClass.Row enrichedRow() {
+    return rowWrapper().row();
+  }
+
   /** Indicates whether the associated row was the last row in its page. */
   abstract boolean lastInPage();
 
@@ -68,7 +78,7 @@ public abstract class DocumentProperty implements PagingStateSupplier {
   @Value.Lazy()
   @Nullable
   ByteString comparableKey() {
-    QueryOuterClass.Row row = rowWrapper().row();
+    QueryOuterClass.Row row = enrichedRow();
 
     if (row.hasComparableBytes()) {
       return row.getComparableBytes().getValue();
@@ -111,7 +121,7 @@ public abstract class DocumentProperty implements PagingStateSupplier {
     }
 
     // ensure we have a row page state
-    QueryOuterClass.Row row = rowWrapper().row();
+    QueryOuterClass.Row row = enrichedRow();
     if (!row.hasPagingState()) {
       throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_SEARCH_ROW_PAGE_STATE_MISSING);
     }
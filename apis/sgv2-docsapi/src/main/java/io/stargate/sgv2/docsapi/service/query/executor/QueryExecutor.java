@@ -17,6 +17,7 @@
 
 package io.stargate.sgv2.docsapi.service.query.executor;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Streams;
 import com.google.protobuf.ByteString;
@@ -42,6 +43,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -77,7 +79,9 @@ import java.util.stream.Collectors;
  *       in case of depth=1, then it will use {@link
  *       io.stargate.bridge.proto.QueryOuterClass.ResumeMode#NEXT_PARTITION} as we are
  *       differentating between different documents; otherwise {@link
- *       io.stargate.bridge.proto.QueryOuterClass.ResumeMode#NEXT_ROW}
+ *       io.stargate.bridge.proto.QueryOuterClass.ResumeMode#NEXT_ROW}; except for the latter, only
+ *       the last row of each partition is enriched by the bridge, and its comparable bytes and
+ *       paging state are used for the other rows of the partition
  * </ul>
  *
  * @author Dmitri Bourlatchkov
@@ -434,6 +438,12 @@ public class QueryExecutor {
                     QueryOuterClass.ResumeModeValue.newBuilder().setValue(resumeMode).build());
               }
 
+              // unless we resume from the next row, all rows of a document share the same
+              // comparable bytes and paging state, so only ask for the partition boundaries
+              if (enriched && resumeMode != QueryOuterClass.ResumeMode.NEXT_ROW) {
+                params.setEnrichedRows(QueryOuterClass.EnrichedRows.PARTITION_BOUNDARIES);
+              }
+
               // if we have paging state, set
               if (null != state.pagingState()) {
                 params.setPagingState(state.pagingState());
@@ -472,7 +482,8 @@ public class QueryExecutor {
    * io.stargate.bridge.proto.QueryOuterClass.ResultSet} objects and queries (the latter is needed
    * for tracking the combined paging state).
    */
-  private Iterable<DocumentProperty> properties(
+  @VisibleForTesting
+  Iterable<DocumentProperty> properties(
       int queryIndex,
       QueryOuterClass.Query query,
       QueryOuterClass.ResultSet rs,
@@ -484,20 +495,25 @@ public class QueryExecutor {
     // then convert each row to row wrapper and construct doc prop
     List<QueryOuterClass.ColumnSpec> columnsList = rs.getColumnsList();
     Function<QueryOuterClass.Row, RowWrapper> wrapperFunction = RowWrapper.forColumns(columnsList);
-    List<DocumentProperty> properties = new ArrayList<>(rows.size());
-    int count = rows.size();
-    for (QueryOuterClass.Row row : rows) {
-      boolean last = --count <= 0;
+    DocumentProperty[] properties = new DocumentProperty[rows.size()];
+    // with partition boundaries only, the rows are enriched with the next enriched row in the page
+    QueryOuterClass.Row enrichedRow = null;
+    for (int i = rows.size() - 1; i >= 0; i--) {
+      QueryOuterClass.Row row = rows.get(i);
+      if (row.hasComparableBytes() || row.hasPagingState()) {
+        enrichedRow = row;
+      }
       RowWrapper rowWrapper = wrapperFunction.apply(row);
-      properties.add(
+      properties[i] =
           ImmutableDocumentProperty.builder()
               .queryIndex(queryIndex)
               .page(rs)
               .rowWrapper(rowWrapper)
-              .lastInPage(last)
-              .build());
+              .enrichedRow(enrichedRow != null ? enrichedRow : row)
+              .lastInPage(i == rows.size() - 1)
+              .build();
     }
-    return properties;
+    return Arrays.asList(properties);
   }
 
   // creates a new Accumulator for a single DocumentProperty
@@ -15,6 +15,11 @@
  */
 package io.stargate.sgv2.docsapi.service.query.search;
 
+import com.bpodgursky.jbool_expressions.Expression;
+import com.bpodgursky.jbool_expressions.Literal;
+import com.bpodgursky.jbool_expressions.eval.EvalEngine;
+import com.bpodgursky.jbool_expressions.eval.EvalRule;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
@@ -22,35 +27,42 @@ import io.stargate.sgv2.api.common.StargateRequestInfo;
 import io.stargate.sgv2.api.common.config.QueriesConfig;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
+import io.stargate.sgv2.docsapi.config.DocumentConfig;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
 import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import io.stargate.sgv2.docsapi.service.query.eval.RawDocumentEvalRule;
+import io.stargate.sgv2.docsapi.service.query.executor.QueryExecutor;
 import io.stargate.sgv2.docsapi.service.query.model.ImmutableRawDocument;
 import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
 import io.stargate.sgv2.docsapi.service.query.model.paging.CombinedPagingState;
+import io.stargate.sgv2.docsapi.service.query.search.db.impl.PopulateSearchQueryBuilder;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /** Service responsible for executing vector similarity searches against document collections. */
 @ApplicationScoped
 public class VectorSearchService {
-  private static final Logger logger = LoggerFactory.getLogger(VectorSearchService.class);
-
   @Inject DocumentProperties documentProperties;
   @Inject StargateRequestInfo requestInfo;
   @Inject QueriesConfig queriesConfig;
+  @Inject DocumentConfig documentConfig;
+  @Inject QueryExecutor queryExecutor;
 
   /**
-   * Performs a vector similarity search on a collection.
+   * Performs a vector similarity search on a collection, returning the rows that hold the vectors.
+   * In case the #additionalFilter is given, delegates to {@link #searchDocuments(String, String,
+   * float[], int, Expression, ExecutionContext)} and returns complete documents.
    *
    * @param namespace The keyspace/namespace containing the collection
    * @param collection The collection name to search in
@@ -67,59 +79,20 @@ public class VectorSearchService {
       int limit,
       Optional<FilterExpression> additionalFilter,
       ExecutionContext context) {
-
-    String keyspace = namespace;
-    String table = collection;
-    DocumentTableProperties tableProps = documentProperties.tableProperties();
-
-    // Build the base query with ORDER BY ... ann of
-    // Note: QueryBuilder doesn't support ANN queries directly, so we'll build the CQL manually
-
-    // Add ANN ordering for vector similarity
-    // Note: We need to use a custom query format since QueryBuilder doesn't have direct ANN support
-    // The query pattern is: SELECT ... FROM ... ORDER BY vector_column ann of ? LIMIT ?
-
-    // Add additional filters if provided
     if (additionalFilter.isPresent()) {
-      // TODO: Convert FilterExpression to BuiltConditions
-      // This would require extending the filter expression framework to support vector queries
-      logger.warn("Additional filters for vector search not yet implemented");
+      return searchDocuments(
+              namespace, collection, queryVector, limit, additionalFilter.get(), context)
+          .collect()
+          .asList();
     }
 
-    // For now, build a simple ANN query without additional filters
-    String cql =
-        String.format(
-            "SELECT %s FROM %s.%s ORDER BY %s ann of ? LIMIT ?",
-            String.join(", ", documentProperties.tableColumns().allColumnNamesArray()),
-            keyspace,
-            table,
-            tableProps.vectorValueColumnName());
-
-    // Create values for the query
-    List<QueryOuterClass.Value> values = new ArrayList<>();
-    values.add(Values.vector(queryVector));
-    values.add(Values.of(limit));
-
-    QueryOuterClass.Query query =
-        QueryOuterClass.Query.newBuilder()
-            .setCql(cql)
-            .setValues(QueryOuterClass.Values.newBuilder().addAllValues(values))
-            .build();
-
-    // Add consistency level
-    QueryOuterClass.Consistency consistency = queriesConfig.consistency().reads();
-    QueryOuterClass.ConsistencyValue consistencyValue =
-        QueryOuterClass.ConsistencyValue.newBuilder().setValue(consistency).build();
-
-    QueryOuterClass.QueryParameters params =
-        QueryOuterClass.QueryParameters.newBuilder().setConsistency(consistencyValue).build();
-
-    QueryOuterClass.Query finalQuery = query.toBuilder().setParameters(params).build();
+    String[] columns = documentProperties.tableColumns().allColumnNamesArray();
+    QueryOuterClass.Query query = annQuery(namespace, collection, columns, queryVector, limit);
 
     // Execute the query using StargateBridge
     return requestInfo
         .getStargateBridge()
-        .executeQuery(finalQuery)
+        .executeQuery(query)
         .onItem()
         .transform(
             response -> {
@@ -130,8 +103,8 @@ public class VectorSearchService {
               Function<QueryOuterClass.Row, RowWrapper> wrapperFunction =
                   RowWrapper.forColumns(resultSet.getColumnsList());
 
-              // Group rows by document ID
-              Map<String, List<RowWrapper>> rowsByDocId = new HashMap<>();
+              // Group rows by document ID, keeping the similarity order
+              Map<String, List<RowWrapper>> rowsByDocId = new LinkedHashMap<>();
               for (QueryOuterClass.Row row : resultSet.getRowsList()) {
                 RowWrapper rowWrapper = wrapperFunction.apply(row);
                 String docId =
@@ -143,22 +116,242 @@ public class VectorSearchService {
               for (Map.Entry<String, List<RowWrapper>> entry : rowsByDocId.entrySet()) {
                 String docId = entry.getKey();
                 List<RowWrapper> docRows = entry.getValue();
-                RawDocument document =
-                    ImmutableRawDocument.of(
-                        docId,
-                        Collections.singletonList(docId),
-                        new CombinedPagingState(Collections.emptyList()),
-                        docRows);
-                documents.add(document);
+                documents.add(rawDocument(docId, docRows));
               }
 
               // Log CQL execution
-              context.traceCqlResult(cql, documents.size());
+              context.traceCqlResult(query.getCql(), documents.size());
 
               return documents;
             });
   }
 
+  /**
+   * Performs a vector similarity search on a collection and returns complete documents that match
+   * the given filter, in the order of the similarity.
+   *
+   * <p>The ANN query selects only the document keys. As each document is stored in many rows and
+   * the vector is only in one of them, the filter can not be part of the ANN query. Instead, the
+   * candidates are over-fetched, hydrated with bounded concurrency and then filtered in memory. If
+   * not enough candidates match, more candidates are fetched until the configured maximum is
+   * reached.
+   *
+   * @param namespace The keyspace/namespace containing the collection
+   * @param collection The collection name to search in
+   * @param queryVector The query vector to search for similar vectors
+   * @param limit Maximum number of documents to return
+   * @param filter Filter expression, {@link Literal#getTrue()} if there is no filter
+   * @param context Execution context
+   * @return Multi of complete {@link RawDocument}s, limited to the #limit
+   */
+  public Multi<RawDocument> searchDocuments(
+      String namespace,
+      String collection,
+      float[] queryVector,
+      int limit,
+      Expression<FilterExpression> filter,
+      ExecutionContext context) {
+
+    // for the sake of correctness make sure we don't have a false
+    if (Literal.getFalse().equals(filter)) {
+      return Multi.createFrom().empty();
+    }
+
+    DocumentConfig.DocumentVectorSearchConfig config = documentConfig.vectorSearch();
+    boolean filtered = !Literal.EXPR_TYPE.equals(filter.getExprType());
+    int candidates =
+        filtered ? Math.min(limit * config.overFetchFactor(), config.maxCandidates()) : limit;
+
+    return searchRound(
+            namespace,
+            collection,
+            queryVector,
+            candidates,
+            filtered ? filter : null,
+            new HashSet<>(),
+            context)
+
+        // load only for the limit, stops further rounds
+        .select()
+        .first(limit);
+  }
+
+  // executes a single ANN round, and if needed schedules the next one with more candidates
+  private Multi<RawDocument> searchRound(
+      String keyspace,
+      String table,
+      float[] queryVector,
+      int candidates,
+      Expression<FilterExpression> filter,
+      Set<String> seenIds,
+      ExecutionContext context) {
+    String keyColumn = documentProperties.tableProperties().keyColumnName();
+    QueryOuterClass.Query query =
+        annQuery(keyspace, table, new String[] {keyColumn}, queryVector, candidates);
+    ExecutionContext annContext = context.nested("ANN: " + candidates + " candidates");
+
+    return requestInfo
+        .getStargateBridge()
+        .executeQuery(query)
+        .onItem()
+        .transformToMulti(
+            response -> {
+              QueryOuterClass.ResultSet resultSet = response.getResultSet();
+              annContext.traceCqlResult(query.getCql(), resultSet.getRowsCount());
+
+              // keep the similarity order, skip ids already returned by previous rounds
+              Function<QueryOuterClass.Row, RowWrapper> wrapperFunction =
+                  RowWrapper.forColumns(resultSet.getColumnsList());
+              List<String> ids =
+                  resultSet.getRowsList().stream()
+                      .map(row -> wrapperFunction.apply(row).getString(keyColumn))
+                      .distinct()
+                      .filter(seenIds::add)
+                      .toList();
+
+              Multi<RawDocument> documents =
+                  hydrate(keyspace, table, ids, context.nested("LoadProperties"));
+              if (null == filter) {
+                return documents;
+              }
+
+              Multi<RawDocument> matching =
+                  documents
+                      .select()
+                      .where(
+                          doc -> {
+                            Map<String, EvalRule<FilterExpression>> rules =
+                                EvalEngine.booleanRules();
+                            rules.put(FilterExpression.EXPR_TYPE, new RawDocumentEvalRule(doc));
+                            return EvalEngine.evaluate(filter, rules);
+                          });
+
+              // if ANN is exhausted or we reached the max, no more rounds
+              int maxCandidates = documentConfig.vectorSearch().maxCandidates();
+              if (resultSet.getRowsCount() < candidates || candidates >= maxCandidates) {
+                return matching;
+              }
+
+              // otherwise next round is subscribed only if this one did not fill the limit
+              int nextCandidates =
+                  Math.min(
+                      candidates * documentConfig.vectorSearch().overFetchFactor(),
+                      maxCandidates);
+              Multi<RawDocument> next =
+                  Multi.createFrom()
+                      .deferred(
+                          () ->
+                              searchRound(
+                                  keyspace,
+                                  table,
+                                  queryVector,
+                                  nextCandidates,
+                                  filter,
+                                  seenIds,
+                                  context));
+              return Multi.createBy().concatenating().streams(matching, next);
+            });
+  }
+
+  // hydrates documents with the given ids, respecting the order and the hydration concurrency
+  private Multi<RawDocument> hydrate(
+      String keyspace, String table, List<String> ids, ExecutionContext context) {
+    if (ids.isEmpty()) {
+      return Multi.createFrom().empty();
+    }
+
+    PopulateSearchQueryBuilder queryBuilder = new PopulateSearchQueryBuilder(documentProperties);
+    String[] columns = documentProperties.tableColumns().allColumnNamesArray();
+    QueryOuterClass.Query prepared = queryBuilder.buildQuery(keyspace, table, columns);
+    int concurrency = documentConfig.vectorSearch().hydrationConcurrency();
+
+    return Multi.createFrom()
+        .iterable(ids)
+
+        // buffer, so we can do the hydration of a group in parallel
+        .group()
+        .intoLists()
+        .of(concurrency)
+
+        // then concat map to respect order
+        .concatMap(
+            group -> {
+              List<Uni<RawDocument>> lookups =
+                  group.stream()
+                      .map(
+                          id -> {
+                            QueryOuterClass.Query query =
+                                queryBuilder.bindWithValues(prepared, Values.of(id));
+
+                            // since we have the doc id, use the max storage page size to grab all
+                            // the rows for that doc
+                            return queryExecutor
+                                .queryDocs(
+                                    query,
+                                    documentProperties.maxSearchPageSize(),
+                                    false,
+                                    null,
+                                    false,
+                                    context)
+                                .toUni();
+                          })
+                      .toList();
+
+              // all in the group are executed in parallel, but emitted in order
+              // a document deleted since the ANN query is not found, so skip nulls
+              return Uni.join()
+                  .all(lookups)
+                  .andFailFast()
+                  .onItem()
+                  .transformToMulti(
+                      documents ->
+                          Multi.createFrom()
+                              .iterable(documents.stream().filter(Objects::nonNull).toList()));
+            });
+  }
+
+  private QueryOuterClass.Query annQuery(
+      String keyspace, String table, String[] columns, float[] queryVector, int limit) {
+    DocumentTableProperties tableProps = documentProperties.tableProperties();
+
+    // Note: QueryBuilder doesn't support ANN queries directly, so we'll build the CQL manually
+    // The query pattern is: SELECT ... FROM ... ORDER BY vector_column ann of ? LIMIT ?
+    String cql =
+        String.format(
+            "SELECT %s FROM %s.%s ORDER BY %s ann of ? LIMIT ?",
+            String.join(", ", columns),
+            keyspace,
+            table,
+            tableProps.vectorValueColumnName());
+
+    // Create values for the query
+    List<QueryOuterClass.Value> values = new ArrayList<>();
+    values.add(Values.vector(queryVector));
+    values.add(Values.of(limit));
+
+    // Add consistency level
+    QueryOuterClass.Consistency consistency = queriesConfig.consistency().reads();
+    QueryOuterClass.ConsistencyValue consistencyValue =
+        QueryOuterClass.ConsistencyValue.newBuilder().setValue(consistency).build();
+
+    QueryOuterClass.QueryParameters params =
+        QueryOuterClass.QueryParameters.newBuilder().setConsistency(consistencyValue).build();
+
+    return QueryOuterClass.Query.newBuilder()
+        .setCql(cql)
+        .setValues(QueryOuterClass.Values.newBuilder().addAllValues(values))
+        .setParameters(params)
+        .build();
+  }
+
+  private RawDocument rawDocument(String docId, List<RowWrapper> rows) {
+    return ImmutableRawDocument.of(
+        docId,
+        Collections.singletonList(docId),
+        new CombinedPagingState(Collections.emptyList()),
+        rows);
+  }
+
   /**
    * Validates that a vector has the expected dimension.
    *
@@ -0,0 +1,101 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.db.impl;
+
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.cql.builder.BuiltCondition;
+import io.stargate.sgv2.api.common.cql.builder.Predicate;
+import io.stargate.sgv2.api.common.cql.builder.Term;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.service.query.FilterPath;
+import io.stargate.sgv2.docsapi.service.query.search.db.AbstractSearchQueryBuilder;
+import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * The search query builder that restricts only the columns indexed with the storage attached
+ * index: the leaf column matching the field of the {@link FilterPath} and the given value column
+ * conditions. Never uses <code>ALLOW FILTERING</code>, thus the path columns are not restricted and
+ * the rows returned must be matched against the filter path in memory.
+ */
+public class IndexedSearchQueryBuilder extends AbstractSearchQueryBuilder {
+
+  private final FilterPath filterPath;
+
+  private final List<BuiltCondition> predicates;
+
+  private final List<QueryOuterClass.Value> values;
+
+  /**
+   * @param documentProperties {@link DocumentProperties}
+   * @param filterPath Filter path, only the field is used in the query
+   * @param conditions Value column conditions with their bind values
+   */
+  public IndexedSearchQueryBuilder(
+      DocumentProperties documentProperties,
+      FilterPath filterPath,
+      List<Pair<BuiltCondition, QueryOuterClass.Value>> conditions) {
+    super(documentProperties);
+    this.filterPath = filterPath;
+    this.predicates = new ArrayList<>(conditions.size() + 1);
+    this.values = new ArrayList<>(conditions.size() + 1);
+
+    // leaf is always restricted, as the value columns are shared by all fields
+    String leafColumn = documentProperties.tableProperties().leafColumnName();
+    String field = DocsApiUtils.convertEscapedCharacters(filterPath.getField());
+    predicates.add(BuiltCondition.of(leafColumn, Predicate.EQ, Term.marker()));
+    values.add(Values.of(field));
+
+    for (Pair<BuiltCondition, QueryOuterClass.Value> condition : conditions) {
+      predicates.add(condition.getLeft());
+      values.add(condition.getRight());
+    }
+  }
+
+  public FilterPath getFilterPath() {
+    return filterPath;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected List<BuiltCondition> getPredicates() {
+    return predicates;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected List<BuiltCondition> getBindPredicates() {
+    return Collections.emptyList();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected List<QueryOuterClass.Value> getValues() {
+    return values;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected boolean allowFiltering() {
+    return false;
+  }
+}
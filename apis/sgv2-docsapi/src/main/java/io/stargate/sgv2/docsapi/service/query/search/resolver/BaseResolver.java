@@ -47,6 +47,33 @@ public final class BaseResolver {
     return resolve(expression, context, null, documentProperties);
   }
 
+  /**
+   * Resolves the document resolver without any parent, pushing down the expressions supported by
+   * the given {@link IndexedSearchPlanner} to the storage attached indexes.
+   *
+   * @param expression {@link Expression}
+   * @param documentProperties {@link DocumentProperties}
+   * @param planner {@link IndexedSearchPlanner}
+   * @return DocumentsResolver
+   */
+  public static DocumentsResolver resolve(
+      Expression<FilterExpression> expression,
+      ExecutionContext context,
+      DocumentProperties documentProperties,
+      IndexedSearchPlanner planner) {
+    // if we are hitting the literal TRUE, then there is no parent to return
+    if (Literal.EXPR_TYPE.equals(expression.getExprType())) {
+      return null;
+    }
+
+    Expression<FilterExpression> cnf = ExpressionUtils.toSimplifiedCnf(expression);
+    if (And.EXPR_TYPE.equals(cnf.getExprType())) {
+      return CnfResolver.resolve(cnf, context, documentProperties, planner);
+    } else {
+      return CnfResolver.resolve(And.of(cnf), context, documentProperties, planner);
+    }
+  }
+
   /**
    * Resolves the document resolver with optional parent.
    *
@@ -34,6 +34,7 @@ import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.query.FilterExpression;
 import io.stargate.sgv2.docsapi.service.query.FilterPath;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.FilterOperationCode;
 import io.stargate.sgv2.docsapi.service.query.rules.TrueFilterExpressions;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.CandidatesFilter;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.impl.InMemoryCandidatesFilter;
@@ -41,6 +42,7 @@ import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.impl.Persis
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.AllFiltersResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.AnyFiltersResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.InMemoryDocumentsResolver;
+import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.IndexedDocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.OrExpressionDocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.PersistenceDocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.weight.ExpressionWeightResolver;
@@ -76,6 +78,32 @@ public final class CnfResolver {
     return resolve(expression, context, null, documentProperties);
   }
 
+  /**
+   * Returns a document resolver for a single {@link And} expression in CNF form without a parent.
+   * Favors the expressions that can be pushed down to the storage attached indexes, falls back to
+   * the default resolution if the #planner supports none of them.
+   *
+   * @param expression {@link FilterExpression}
+   * @param context {@link ExecutionContext}
+   * @param documentProperties {@link DocumentProperties}
+   * @param planner {@link IndexedSearchPlanner}
+   * @return DocumentsResolver
+   */
+  public static DocumentsResolver resolve(
+      Expression<FilterExpression> expression,
+      ExecutionContext context,
+      DocumentProperties documentProperties,
+      IndexedSearchPlanner planner) {
+    And<FilterExpression> andExpression = (And<FilterExpression>) expression;
+    List<Expression<FilterExpression>> children = andExpression.getChildren();
+
+    UserOrderWeightResolver weightResolver = UserOrderWeightResolver.of();
+
+    return nextIndexedResolver(
+            expression, children, weightResolver, context, planner, documentProperties)
+        .orElseGet(() -> resolve(expression, context, null, documentProperties));
+  }
+
   /**
    * Returns a document resolver for a single {@link And} expression in CNF form.
    *
@@ -172,6 +200,46 @@ public final class CnfResolver {
             });
   }
 
+  private static Optional<DocumentsResolver> nextIndexedResolver(
+      Expression<FilterExpression> root,
+      List<Expression<FilterExpression>> children,
+      ExpressionWeightResolver<FilterExpression> weightResolver,
+      ExecutionContext context,
+      IndexedSearchPlanner planner,
+      DocumentProperties documentProperties) {
+
+    // find expressions that can be pushed down, take the best set on the same filter path
+    return allIndexedExpressions(children, planner)
+        .map(
+            indexedExpressions -> {
+              Collection<FilterExpression> best =
+                  indexByFilterPath(indexedExpressions).asMap().values().stream()
+                      .reduce((ec1, ec2) -> weightResolver.collection().apply(ec1, ec2))
+                      .orElseThrow(() -> new IllegalArgumentException("No indexed expressions."));
+
+              // only one $in can be expanded to equality queries, others are resolved later
+              List<FilterExpression> selected = new ArrayList<>();
+              boolean hasIn = false;
+              for (FilterExpression expression : best) {
+                boolean isIn =
+                    FilterOperationCode.IN == expression.getCondition().getFilterOperationCode();
+                if (!isIn || !hasIn) {
+                  selected.add(expression);
+                  hasIn |= isIn;
+                }
+              }
+
+              // construct current
+              DocumentsResolver current =
+                  new IndexedDocumentsResolver(selected, context, documentProperties);
+              // then simplify root
+              Expression<FilterExpression> simplified =
+                  simplifyCnfExpression(root, ImmutableList.copyOf(selected));
+              // and resolve further
+              return BaseResolver.resolve(simplified, context, current, documentProperties);
+            });
+  }
+
   private static Optional<DocumentsResolver> nextInMemoryResolver(
       Expression<FilterExpression> root,
       List<Expression<FilterExpression>> children,
@@ -300,6 +368,23 @@ public final class CnfResolver {
     }
   }
 
+  /** Finds all expression that can be pushed down to the storage attached indexes. */
+  private static Optional<Collection<FilterExpression>> allIndexedExpressions(
+      List<Expression<FilterExpression>> children, IndexedSearchPlanner planner) {
+    if (!planner.hasIndexes()) {
+      return Optional.empty();
+    }
+
+    List<FilterExpression> indexedExpressions =
+        getFilterExpressions(children, planner::canPushDown);
+
+    if (indexedExpressions.isEmpty()) {
+      return Optional.empty();
+    } else {
+      return Optional.of(indexedExpressions);
+    }
+  }
+
   /** Finds all expression with in-memory conditions. */
   private static Optional<Collection<FilterExpression>> allInMemoryExpressionExpressions(
       List<Expression<FilterExpression>> children) {
@@ -0,0 +1,197 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.resolver;
+
+import static io.stargate.sgv2.docsapi.service.schema.query.CollectionQueryProvider.STORAGE_ATTACHED_INDEX_CLASS;
+
+import io.stargate.bridge.proto.Schema;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
+import io.stargate.sgv2.docsapi.config.constants.Constants;
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import io.stargate.sgv2.docsapi.service.query.FilterPath;
+import io.stargate.sgv2.docsapi.service.query.condition.BaseCondition;
+import io.stargate.sgv2.docsapi.service.query.condition.impl.BooleanCondition;
+import io.stargate.sgv2.docsapi.service.query.condition.impl.GenericCondition;
+import io.stargate.sgv2.docsapi.service.query.condition.impl.NumberCondition;
+import io.stargate.sgv2.docsapi.service.query.condition.impl.StringCondition;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.FilterOperationCode;
+import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decides if a {@link FilterExpression} can be pushed down to the database using the storage
+ * attached indexes (SAI) of the collection table, so that the query can be executed without the
+ * <code>ALLOW FILTERING</code>.
+ *
+ * <p>Only the leaf and value columns of a collection are indexed, thus the path of the expression
+ * is never part of the pushed down query and must be verified in memory. Expressions are eligible
+ * when the leaf column and all value columns targeted by the condition are indexed, and when the
+ * condition is one of:
+ *
+ * <ol>
+ *   <li>equality on string, number or boolean values
+ *   <li>range (<code>$gt</code>, <code>$gte</code>, <code>$lt</code>, <code>$lte</code>) on number
+ *       values
+ *   <li><code>$in</code> with non-null string, number or boolean values
+ * </ol>
+ */
+public final class IndexedSearchPlanner {
+
+  /** Planner that never pushes down, used when no table information is available. */
+  public static final IndexedSearchPlanner NONE =
+      new IndexedSearchPlanner(Collections.emptySet(), null);
+
+  private static final Set<FilterOperationCode> RANGE_OPERATIONS =
+      EnumSet.of(
+          FilterOperationCode.GT,
+          FilterOperationCode.GTE,
+          FilterOperationCode.LT,
+          FilterOperationCode.LTE);
+
+  private final Set<String> indexedColumns;
+
+  private final DocumentProperties documentProperties;
+
+  private IndexedSearchPlanner(Set<String> indexedColumns, DocumentProperties documentProperties) {
+    this.indexedColumns = indexedColumns;
+    this.documentProperties = documentProperties;
+  }
+
+  /**
+   * Creates the planner for the given collection table.
+   *
+   * @param table Collection table, if <code>null</code> returns {@link #NONE}
+   * @param documentProperties {@link DocumentProperties}
+   * @return IndexedSearchPlanner
+   */
+  public static IndexedSearchPlanner of(
+      Schema.CqlTable table, DocumentProperties documentProperties) {
+    if (null == table) {
+      return NONE;
+    }
+
+    Set<String> indexedColumns =
+        table.getIndexesList().stream()
+            .filter(IndexedSearchPlanner::isStorageAttachedIndex)
+            .map(Schema.CqlIndex::getColumnName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    if (indexedColumns.isEmpty()) {
+      return NONE;
+    }
+    return new IndexedSearchPlanner(indexedColumns, documentProperties);
+  }
+
+  /**
+   * @return If any of the table columns is indexed with the storage attached index.
+   */
+  public boolean hasIndexes() {
+    return !indexedColumns.isEmpty();
+  }
+
+  /**
+   * @param column Column name
+   * @return If the given column is indexed with the storage attached index.
+   */
+  public boolean isIndexed(String column) {
+    return indexedColumns.contains(column);
+  }
+
+  /**
+   * Tests if the given expression can be pushed down to the database.
+   *
+   * @param expression {@link FilterExpression}
+   * @return <code>true</code> if the expression is eligible for the indexed search
+   */
+  public boolean canPushDown(FilterExpression expression) {
+    if (!hasIndexes()) {
+      return false;
+    }
+
+    DocumentTableProperties tableProps = documentProperties.tableProperties();
+    if (!isIndexed(tableProps.leafColumnName()) || !isFieldSupported(expression.getFilterPath())) {
+      return false;
+    }
+
+    BaseCondition condition = expression.getCondition();
+    if (condition.isEvaluateOnMissingFields()) {
+      return false;
+    }
+
+    FilterOperationCode opCode = condition.getFilterOperationCode();
+    if (condition instanceof StringCondition) {
+      return opCode == FilterOperationCode.EQ && isIndexed(tableProps.stringValueColumnName());
+    } else if (condition instanceof BooleanCondition) {
+      return opCode == FilterOperationCode.EQ && isIndexed(tableProps.booleanValueColumnName());
+    } else if (condition instanceof NumberCondition) {
+      return (opCode == FilterOperationCode.EQ || RANGE_OPERATIONS.contains(opCode))
+          && isIndexed(tableProps.doubleValueColumnName());
+    } else if (condition instanceof GenericCondition<?> && opCode == FilterOperationCode.IN) {
+      return isInListSupported(condition.getQueryValue());
+    }
+    return false;
+  }
+
+  // field must be a single fixed name, as the leaf is matched with equality
+  // path depth must allow the check that the next path column is empty
+  private boolean isFieldSupported(FilterPath filterPath) {
+    String field = filterPath.getField();
+    return filterPath.getPath().size() < documentProperties.maxDepth()
+        && !DocsApiUtils.COMMA_PATTERN.matcher(field).find()
+        && !Objects.equals(field, Constants.GLOB_VALUE)
+        && !Objects.equals(field, Constants.GLOB_ARRAY_VALUE);
+  }
+
+  private boolean isInListSupported(Object queryValue) {
+    if (!(queryValue instanceof List<?> values) || values.isEmpty()) {
+      return false;
+    }
+
+    DocumentTableProperties tableProps = documentProperties.tableProperties();
+    for (Object value : values) {
+      String column;
+      if (value instanceof String) {
+        column = tableProps.stringValueColumnName();
+      } else if (value instanceof Number) {
+        column = tableProps.doubleValueColumnName();
+      } else if (value instanceof Boolean) {
+        column = tableProps.booleanValueColumnName();
+      } else {
+        // nulls and nested values can only be matched in memory
+        return false;
+      }
+
+      if (!isIndexed(column)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isStorageAttachedIndex(Schema.CqlIndex index) {
+    return index.getCustom()
+        && index.hasIndexingClass()
+        && index.getIndexingClass().getValue().endsWith(STORAGE_ATTACHED_INDEX_CLASS);
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.resolver.impl;
+
+import io.smallrye.mutiny.Multi;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.cql.builder.BuiltCondition;
+import io.stargate.sgv2.api.common.cql.builder.Predicate;
+import io.stargate.sgv2.api.common.cql.builder.Term;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
+import io.stargate.sgv2.docsapi.config.constants.Constants;
+import io.stargate.sgv2.docsapi.service.ExecutionContext;
+import io.stargate.sgv2.docsapi.service.common.model.Paginator;
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import io.stargate.sgv2.docsapi.service.query.FilterPath;
+import io.stargate.sgv2.docsapi.service.query.condition.BaseCondition;
+import io.stargate.sgv2.docsapi.service.query.condition.impl.GenericCondition;
+import io.stargate.sgv2.docsapi.service.query.executor.QueryExecutor;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.FilterOperationCode;
+import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
+import io.stargate.sgv2.docsapi.service.query.search.db.impl.IndexedSearchQueryBuilder;
+import io.stargate.sgv2.docsapi.service.query.search.resolver.DocumentsResolver;
+import io.stargate.sgv2.docsapi.service.query.search.resolver.IndexedSearchPlanner;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * {@link DocumentsResolver} that works with set of {@link FilterExpression}s that are on the same
+ * path and that can be pushed down to the storage attached indexes, as decided by the {@link
+ * IndexedSearchPlanner}. The queries never use <code>ALLOW FILTERING</code>, thus the path and the
+ * conditions are re-verified in memory on the returned rows.
+ *
+ * <p>The <code>$in</code> condition is executed as a set of equality queries, one per value, with
+ * results merged in the token order. At most one <code>$in</code> expression is accepted.
+ */
+public class IndexedDocumentsResolver implements DocumentsResolver {
+
+  private final Collection<FilterExpression> expressions;
+
+  private final FilterPath filterPath;
+
+  private final List<IndexedSearchQueryBuilder> queryBuilders;
+
+  private final ExecutionContext context;
+
+  private final DocumentProperties documentProperties;
+
+  public IndexedDocumentsResolver(
+      Collection<FilterExpression> expressions,
+      ExecutionContext context,
+      DocumentProperties documentProperties) {
+    List<FilterPath> filterPaths =
+        expressions.stream().map(FilterExpression::getFilterPath).distinct().toList();
+    if (filterPaths.size() != 1) {
+      throw new IllegalArgumentException(
+          "IndexedDocumentsResolver accepts only expressions with same path.");
+    }
+
+    List<FilterExpression> inExpressions =
+        expressions.stream().filter(IndexedDocumentsResolver::isInExpression).toList();
+    if (inExpressions.size() > 1) {
+      throw new IllegalArgumentException(
+          "IndexedDocumentsResolver accepts at most one $in expression.");
+    }
+
+    this.expressions = expressions;
+    this.filterPath = filterPaths.get(0);
+    this.documentProperties = documentProperties;
+    this.queryBuilders = buildQueries(inExpressions.stream().findFirst());
+    this.context = createContext(context, expressions);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Multi<RawDocument> getDocuments(
+      QueryExecutor queryExecutor, String keyspace, String collection, Paginator paginator) {
+
+    // path columns are needed to match the filter path, plus one to confirm it ends there
+    String[] columns =
+        documentProperties
+            .tableColumns()
+            .allColumnNamesWithPathDepth(filterPath.getPath().size() + 1)
+            .toArray(String[]::new);
+
+    // build and bind all queries
+    return Multi.createFrom()
+        .iterable(queryBuilders)
+        .map(
+            queryBuilder -> {
+              QueryOuterClass.Query query = queryBuilder.buildQuery(keyspace, collection, columns);
+              return queryBuilder.bind(query);
+            })
+        .collect()
+        .asList()
+
+        // cache them
+        .memoize()
+        .indefinitely()
+
+        // then execute
+        .onItem()
+        .transformToMulti(
+            queries -> {
+              // take always one more than needed to stop pre-fetching
+              int pageSize = paginator.docPageSize + 1;
+              // fetch paging as this can be the first resolver in chain
+              boolean fetchRowPaging = true;
+              if (queries.size() == 1) {
+                return queryExecutor.queryDocs(
+                    queries.get(0),
+                    pageSize,
+                    true,
+                    paginator.getCurrentDbPageState(),
+                    fetchRowPaging,
+                    context);
+              } else {
+                return queryExecutor.queryDocs(
+                    queries,
+                    pageSize,
+                    true,
+                    paginator.getCurrentDbPageState(),
+                    fetchRowPaging,
+                    context);
+              }
+            })
+
+        // path is not part of the query, so confirm a single row matches path and all conditions
+        .select()
+        .where(
+            rawDocument ->
+                rawDocument.rows().stream()
+                    .anyMatch(
+                        row ->
+                            expressions.stream()
+                                .allMatch(
+                                    e -> e.matchesFilterPath(row) && e.getCondition().test(row))));
+  }
+
+  private List<IndexedSearchQueryBuilder> buildQueries(Optional<FilterExpression> inExpression) {
+    // all except $in have the built condition
+    List<Pair<BuiltCondition, QueryOuterClass.Value>> conditions =
+        expressions.stream()
+            .map(FilterExpression::getCondition)
+            .map(BaseCondition::getBuiltCondition)
+            .flatMap(Optional::stream)
+            .collect(Collectors.toList());
+
+    if (inExpression.isEmpty()) {
+      return List.of(new IndexedSearchQueryBuilder(documentProperties, filterPath, conditions));
+    }
+
+    // for $in one query per distinct value
+    GenericCondition<?> inCondition = (GenericCondition<?>) inExpression.get().getCondition();
+    List<?> inValues = (List<?>) inCondition.getQueryValue();
+    List<IndexedSearchQueryBuilder> result = new ArrayList<>(inValues.size());
+    inValues.stream()
+        .distinct()
+        .forEach(
+            value -> {
+              List<Pair<BuiltCondition, QueryOuterClass.Value>> valueConditions =
+                  new ArrayList<>(conditions);
+              valueConditions.add(equalityCondition(value, inCondition.isNumericBooleans()));
+              result.add(
+                  new IndexedSearchQueryBuilder(documentProperties, filterPath, valueConditions));
+            });
+    return result;
+  }
+
+  private Pair<BuiltCondition, QueryOuterClass.Value> equalityCondition(
+      Object value, boolean numericBooleans) {
+    DocumentTableProperties tableProps = documentProperties.tableProperties();
+    if (value instanceof String string) {
+      BuiltCondition condition =
+          BuiltCondition.of(tableProps.stringValueColumnName(), Predicate.EQ, Term.marker());
+      return Pair.of(condition, Values.of(string));
+    } else if (value instanceof Number number) {
+      BuiltCondition condition =
+          BuiltCondition.of(tableProps.doubleValueColumnName(), Predicate.EQ, Term.marker());
+      return Pair.of(condition, Values.of(number.doubleValue()));
+    } else if (value instanceof Boolean bool) {
+      BuiltCondition condition =
+          BuiltCondition.of(tableProps.booleanValueColumnName(), Predicate.EQ, Term.marker());
+      QueryOuterClass.Value queryValue =
+          numericBooleans
+              ? (bool ? Constants.NUMERIC_BOOLEAN_TRUE : Constants.NUMERIC_BOOLEAN_FALSE)
+              : Values.of(bool);
+      return Pair.of(condition, queryValue);
+    } else {
+      throw new IllegalArgumentException(
+          "IndexedDocumentsResolver can not push down the $in value %s.".formatted(value));
+    }
+  }
+
+  private static boolean isInExpression(FilterExpression expression) {
+    BaseCondition condition = expression.getCondition();
+    return condition instanceof GenericCondition<?>
+        && condition.getFilterOperationCode() == FilterOperationCode.IN;
+  }
+
+  private ExecutionContext createContext(
+      ExecutionContext context, Collection<FilterExpression> expressions) {
+    String expressionDesc =
+        expressions.stream()
+            .map(FilterExpression::getDescription)
+            .collect(Collectors.joining(" AND "));
+
+    return context.nested("FILTER USING SAI: " + expressionDesc);
+  }
+}
@@ -120,6 +120,66 @@ public class WriteBridgeService {
             boundQueries -> executeBatch(bridge, boundQueries, context.nested("ASYNC INSERT")));
   }
 
+  /**
+   * Writes many documents in a single batch, so that small documents do not each need a round trip
+   * to the bridge.
+   *
+   * @param keyspace Keyspace to store documents in.
+   * @param collection Collection the documents belong to.
+   * @param documents Rows of each document, keyed by the document ID.
+   * @param deleteExisting If existing documents with the same IDs should be deleted first, see
+   *     {@link #updateDocument(String, String, String, List, Integer, ExecutionContext)}.
+   * @param ttl the time-to-live of the rows (seconds)
+   * @param context Execution content for profiling.
+   * @return Uni containing the {@link ResultSet} of the batch execution.
+   */
+  @WithSpan
+  public Uni<ResultSet> writeDocuments(
+      String keyspace,
+      String collection,
+      Map<String, List<JsonShreddedRow>> documents,
+      boolean deleteExisting,
+      Integer ttl,
+      ExecutionContext context) {
+
+    StargateBridge bridge = requestInfo.getStargateBridge();
+
+    return Uni.createFrom()
+        .item(
+            () -> {
+              long timestamp = timeSource.currentTimeMicros();
+              DeleteDocumentQueryBuilder deleteQueryBuilder =
+                  new DeleteDocumentQueryBuilder(documentProperties);
+              List<QueryOuterClass.BatchQuery> queries = new ArrayList<>();
+              documents.forEach(
+                  (documentId, rows) -> {
+                    if (deleteExisting) {
+                      queries.add(
+                          deleteQueryBuilder.buildAndBind(
+                              keyspace, collection, documentId, timestamp - 1));
+                    }
+                    rows.forEach(
+                        row ->
+                            queries.add(
+                                insertQueryBuilder.buildAndBind(
+                                    keyspace,
+                                    collection,
+                                    ttl,
+                                    documentId,
+                                    row,
+                                    timestamp,
+                                    treatBooleansAsNumeric)));
+                  });
+              return queries;
+            })
+        .flatMap(
+            boundQueries ->
+                executeBatch(
+                    bridge,
+                    boundQueries,
+                    context.nested(deleteExisting ? "ASYNC UPDATE" : "ASYNC INSERT")));
+  }
+
   /**
    * Updates a single document, ensuring that existing document with the same key will be deleted
    * first.
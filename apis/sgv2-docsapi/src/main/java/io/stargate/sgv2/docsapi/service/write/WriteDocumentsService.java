@@ -18,11 +18,14 @@ package io.stargate.sgv2.docsapi.service.write;
 
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.BulkWriteResult;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.MultiDocsResponse;
 import io.stargate.sgv2.docsapi.config.DocumentConfig;
@@ -35,15 +38,21 @@ import io.stargate.sgv2.docsapi.service.schema.JsonSchemaManager;
 import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -63,6 +72,8 @@ public class WriteDocumentsService {
 
   @Inject DocumentConfig configuration;
 
+  @Inject ObjectMapper objectMapper;
+
   /**
    * Writes a document in the given namespace and collection using the randomly generated ID.
    *
@@ -200,6 +211,255 @@ public class WriteDocumentsService {
                     context.toProfile()));
   }
 
+  /**
+   * Writes a stream of documents in the given namespace and collection. If #idPath is not provided,
+   * IDs for each document will be randomly generated.
+   *
+   * <p>Unlike {@link #writeDocuments(Uni, String, String, JsonNode, String, Integer,
+   * ExecutionContext)}, documents are parsed and shredded one at a time as they are read, and the
+   * result of each document is emitted as soon as it is known. Rows of consecutive documents are
+   * grouped in a single bridge batch up to the configured number of rows, and the number of batches
+   * in flight is limited as well, so that the memory used does not depend on the number of
+   * documents.
+   *
+   * <p>A document that can not be written does not fail the stream, its result holds the error
+   * instead. Only a malformed payload ends the stream, as the documents after it can not be read.
+   *
+   * <p>When #idPath is provided, a document is reported as a duplicate only if its ID is among the
+   * IDs of the last {@link DocumentConfig.DocumentBulkWriteConfig#maxTrackedIds()} documents. An
+   * older duplicate is written again, overwriting the previous document like a separate write
+   * would.
+   *
+   * @param table a CqlTable to be used for schema/validity checks
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param documents Concatenated JSON documents, for example newline-delimited
+   * @param idPath Optional path to the id of the document in each doc.
+   * @param ttl the time-to-live for the documents (seconds)
+   * @param context Execution content
+   * @return Result of each document, in the order the writes complete.
+   */
+  public Multi<BulkWriteResult> writeDocumentsStream(
+      Uni<Schema.CqlTable> table,
+      String namespace,
+      String collection,
+      InputStream documents,
+      String idPath,
+      Integer ttl,
+      ExecutionContext context) {
+    boolean useUpdate = null != idPath;
+    final Optional<JsonPointer> idPointer = DocsApiUtils.pathToJsonPointer(idPath);
+    DocumentConfig.DocumentBulkWriteConfig bulkWrite = configuration.bulkWrite();
+
+    // resolve the table once, so that a missing namespace fails the request and not each document
+    return table
+        .onItem()
+        .transformToMulti(
+            cqlTable -> {
+              // state of a single subscription, only accessed from the serialized document stream
+              Uni<Schema.CqlTable> resolvedTable = Uni.createFrom().item(cqlTable);
+              Set<String> existingIds = recentIds(bulkWrite.maxTrackedIds());
+              BulkBatchGrouper grouper = new BulkBatchGrouper(bulkWrite.maxBatchRows());
+              AtomicLong index = new AtomicLong();
+
+              return Multi.createFrom()
+                  .iterable(() -> readDocuments(documents))
+                  // reading blocks on the payload, so keep the subscription and the requests for
+                  // more documents off the event loop
+                  .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                  .onItem()
+                  .transformToUniAndConcatenate(
+                      json ->
+                          prepareBulkDocument(
+                              resolvedTable,
+                              json,
+                              index.getAndIncrement(),
+                              idPointer,
+                              existingIds))
+                  .onFailure()
+                  .recoverWithItem(
+                      failure ->
+                          new BulkDocument(
+                              index.get(),
+                              null,
+                              null,
+                              "Failed to read the document: " + failure.getMessage()))
+                  .onItem()
+                  .transformToIterable(grouper::add)
+                  .onCompletion()
+                  .switchTo(() -> Multi.createFrom().iterable(grouper.flush()))
+                  .onItem()
+                  .transformToUni(
+                      group ->
+                          writeBulkGroup(namespace, collection, group, useUpdate, ttl, context))
+                  .merge(bulkWrite.maxInFlight())
+                  .onItem()
+                  .disjoint();
+            });
+  }
+
+  // set keeping only the given number of most recently added elements
+  private static Set<String> recentIds(int maxSize) {
+    return Collections.newSetFromMap(
+        new LinkedHashMap<>() {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > maxSize;
+          }
+        });
+  }
+
+  private Iterator<JsonNode> readDocuments(InputStream documents) {
+    try {
+      return objectMapper.readerFor(JsonNode.class).readValues(documents);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // resolves the ID, validates and shreds a single document of a bulk write
+  // failures are kept in the returned document, so they do not end the stream
+  private Uni<BulkDocument> prepareBulkDocument(
+      Uni<Schema.CqlTable> table,
+      JsonNode json,
+      long index,
+      Optional<JsonPointer> idPointer,
+      Set<String> existingIds) {
+    String documentId;
+    try {
+      documentId = documentIdResolver().apply(idPointer, json);
+    } catch (ErrorCodeRuntimeException e) {
+      return Uni.createFrom().item(new BulkDocument(index, null, null, e.getMessage()));
+    }
+
+    if (idPointer.isPresent() && !existingIds.add(documentId)) {
+      String msg =
+          String.format(
+              "Found duplicate ID %s in more than one document when doing bulk document write.",
+              documentId);
+      return Uni.createFrom().item(new BulkDocument(index, documentId, null, msg));
+    }
+
+    return Uni.createFrom()
+        .deferred(() -> jsonSchemaManager.validateJsonDocument(table, json, false))
+        .map(
+            __ -> {
+              List<JsonShreddedRow> rows = documentShredder.shred(json, Collections.emptyList());
+              return new BulkDocument(index, documentId, rows, null);
+            })
+        .onFailure()
+        .recoverWithItem(
+            failure -> new BulkDocument(index, documentId, null, failure.getMessage()));
+  }
+
+  private Uni<List<BulkWriteResult>> writeBulkGroup(
+      String namespace,
+      String collection,
+      List<BulkDocument> group,
+      boolean useUpdate,
+      Integer ttl,
+      ExecutionContext context) {
+    // a failed document is always alone in its group
+    BulkDocument first = group.get(0);
+    if (null != first.error()) {
+      return Uni.createFrom().item(List.of(first.toResult(first.error())));
+    }
+
+    Map<String, List<JsonShreddedRow>> documents = new LinkedHashMap<>();
+    group.forEach(document -> documents.put(document.documentId(), document.rows()));
+    return writeBridgeService
+        .writeDocuments(namespace, collection, documents, useUpdate, ttl, context)
+        .onItemOrFailure()
+        .transform(
+            (resultSet, failure) -> {
+              String error = null;
+              if (failure != null) {
+                logger.error(
+                    "Write failed for {} of the documents included in the bulk document write.",
+                    group.size(),
+                    failure);
+                error = ErrorCode.DOCS_API_WRITE_BATCH_FAILED.getDefaultMessage();
+              }
+              List<BulkWriteResult> results = new ArrayList<>(group.size());
+              for (BulkDocument document : group) {
+                results.add(document.toResult(error));
+              }
+              return results;
+            });
+  }
+
+  /**
+   * A document of a bulk write, either shredded to its rows or failed with an error.
+   *
+   * @param index position of the document in the request
+   * @param documentId ID of the document, <code>null</code> if it could not be resolved
+   * @param rows shredded rows, <code>null</code> if failed
+   * @param error reason of the failure, <code>null</code> if none
+   */
+  private record BulkDocument(
+      long index, String documentId, List<JsonShreddedRow> rows, String error) {
+
+    BulkWriteResult toResult(String error) {
+      return new BulkWriteResult(index, documentId, error);
+    }
+  }
+
+  /**
+   * Groups the documents of a bulk write into batches, closing a batch once it has at least the
+   * given number of rows. Failed documents are passed on in a group of their own. A document with
+   * the ID of a document of the current batch closes it, so that a batch never has the same ID
+   * twice. Not thread-safe.
+   */
+  private static class BulkBatchGrouper {
+
+    private final int maxRows;
+
+    private List<BulkDocument> current = new ArrayList<>();
+
+    private final Set<String> currentIds = new HashSet<>();
+
+    private int currentRows;
+
+    BulkBatchGrouper(int maxRows) {
+      this.maxRows = maxRows;
+    }
+
+    List<List<BulkDocument>> add(BulkDocument document) {
+      if (null != document.error()) {
+        return List.of(List.of(document));
+      }
+
+      List<List<BulkDocument>> closed = new ArrayList<>(2);
+      int rows = document.rows().size();
+      // do not let a large document make the current batch much bigger than the limit
+      if (!current.isEmpty() && currentRows + rows > maxRows) {
+        closed.add(close());
+      }
+      if (!currentIds.add(document.documentId())) {
+        closed.add(close());
+        currentIds.add(document.documentId());
+      }
+      current.add(document);
+      currentRows += rows;
+      if (currentRows >= maxRows) {
+        closed.add(close());
+      }
+      return closed;
+    }
+
+    List<List<BulkDocument>> flush() {
+      return current.isEmpty() ? List.of() : List.of(close());
+    }
+
+    private List<BulkDocument> close() {
+      List<BulkDocument> group = current;
+      current = new ArrayList<>();
+      currentIds.clear();
+      currentRows = 0;
+      return group;
+    }
+  }
+
   /**
    * Updates a document with given ID in the given namespace and collection. Any previously existing
    * document with the same ID will be overwritten.
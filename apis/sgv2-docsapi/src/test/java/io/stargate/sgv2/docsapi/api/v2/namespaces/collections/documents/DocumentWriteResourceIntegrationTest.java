@@ -38,6 +38,8 @@ import io.restassured.response.Response;
 import io.stargate.sgv2.api.common.config.constants.HttpConstants;
 import io.stargate.sgv2.common.testresource.StargateTestResource;
 import io.stargate.sgv2.docsapi.api.v2.DocsApiIntegrationTest;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -609,4 +611,82 @@ class DocumentWriteResourceIntegrationTest extends DocsApiIntegrationTest {
               "description", equalTo("Unknown namespace notakeyspace, you must create it first."));
     }
   }
+
+  @Nested
+  class WriteDocumentsStream {
+
+    @Test
+    public void happyPath() throws JsonProcessingException {
+      String body =
+          given()
+              .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+              .contentType("application/x-ndjson")
+              .queryParam("ttl", "1")
+              .body(String.join("\n", DEFAULT_PAYLOAD, DEFAULT_PAYLOAD, DEFAULT_PAYLOAD))
+              .when()
+              .post(BASE_PATH + "/bulk", DEFAULT_NAMESPACE, DEFAULT_COLLECTION)
+              .then()
+              .statusCode(200)
+              .extract()
+              .asString();
+
+      List<JsonNode> results = readLines(body);
+      assertThat(results).hasSize(3);
+      assertThat(results)
+          .extracting(result -> result.get("index").asInt())
+          .containsExactlyInAnyOrder(0, 1, 2);
+      assertThat(results)
+          .allSatisfy(
+              result -> {
+                assertThat(result.get("documentId").isTextual()).isTrue();
+                assertThat(result.has("error")).isFalse();
+              });
+    }
+
+    @Test
+    public void idPathWithDuplicate() throws JsonProcessingException {
+      String doc1 = "{\"id\": \"stream1\", \"name\":\"a\"}";
+      String doc2 = "{\"id\": \"stream2\", \"name\":\"b\"}";
+      String body =
+          given()
+              .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+              .contentType("application/x-ndjson")
+              .queryParam("id-path", "id")
+              .body(String.join("\n", doc1, doc2, doc1))
+              .when()
+              .post(BASE_PATH + "/bulk", DEFAULT_NAMESPACE, DEFAULT_COLLECTION)
+              .then()
+              .statusCode(200)
+              .extract()
+              .asString();
+
+      List<JsonNode> results = readLines(body);
+      assertThat(results)
+          .hasSize(3)
+          .anySatisfy(
+              result -> {
+                assertThat(result.get("index").asInt()).isEqualTo(2);
+                assertThat(result.get("documentId").asText()).isEqualTo("stream1");
+                assertThat(result.get("error").asText()).contains("duplicate ID stream1");
+              });
+
+      given()
+          .header(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME, getAuthToken())
+          .when()
+          .get(BASE_PATH + "/{document-id}", DEFAULT_NAMESPACE, DEFAULT_COLLECTION, "stream2")
+          .then()
+          .statusCode(200)
+          .body("data", jsonEquals(doc2));
+    }
+
+    private List<JsonNode> readLines(String body) throws JsonProcessingException {
+      List<JsonNode> results = new ArrayList<>();
+      for (String line : body.split("\n")) {
+        if (!line.isBlank()) {
+          results.add(objectMapper.readTree(line));
+        }
+      }
+      return results;
+    }
+  }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.sgv2.docsapi.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
+import io.stargate.bridge.proto.QueryOuterClass.Row;
+import io.stargate.bridge.proto.QueryOuterClass.Value;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
+import io.stargate.sgv2.docsapi.api.properties.document.impl.DocumentPropertiesImpl;
+import io.stargate.sgv2.docsapi.api.properties.document.impl.DocumentTablePropertiesImpl;
+import io.stargate.sgv2.docsapi.config.constants.Constants;
+import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
+import io.stargate.sgv2.docsapi.service.json.JsonConverter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the reconstruction of a JSON document from its rows, as the number of leaves grows.
+ *
+ * <p>Documents have 100 top-level fields, each holding an array of objects with a single leaf,
+ * like <code>{"field0": [{"value": "..."}, ...], ...}</code>. Rows have all the columns of a
+ * documents table with the default max depth of 64.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=JsonConverterBench -Djmh.prof=gc</code>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JsonConverterBench {
+
+  private static final int MAX_DEPTH = 64;
+
+  private static final int FIELDS = 100;
+
+  private static final DocumentTableProperties TABLE_PROPERTIES =
+      new DocumentTablePropertiesImpl(
+          Constants.KEY_COLUMN_NAME,
+          Constants.LEAF_COLUMN_NAME,
+          Constants.STRING_VALUE_COLUMN_NAME,
+          Constants.DOUBLE_VALUE_COLUMN_NAME,
+          Constants.BOOLEAN_VALUE_COLUMN_NAME,
+          Constants.VECTOR_VALUE_COLUMN_NAME,
+          Constants.PATH_COLUMN_PREFIX);
+
+  private static final Value NULL = Value.newBuilder().setNull(Value.Null.newBuilder()).build();
+
+  private final JsonConverter converter =
+      new JsonConverter(
+          new ObjectMapper(),
+          new DocumentPropertiesImpl(MAX_DEPTH, 1_000_000, 20, 1000, TABLE_PROPERTIES, null));
+
+  @Param({"1000", "10000", "100000"})
+  int leaves;
+
+  private List<RowWrapper> rows;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    List<ColumnSpec> columns = new ArrayList<>();
+    columns.add(column(TABLE_PROPERTIES.keyColumnName()));
+    columns.add(column(TABLE_PROPERTIES.writetimeColumnName()));
+    for (int i = 0; i < MAX_DEPTH; i++) {
+      columns.add(column(TABLE_PROPERTIES.pathColumnName(i)));
+    }
+    columns.add(column(TABLE_PROPERTIES.leafColumnName()));
+    columns.add(column(TABLE_PROPERTIES.stringValueColumnName()));
+    columns.add(column(TABLE_PROPERTIES.doubleValueColumnName()));
+    columns.add(column(TABLE_PROPERTIES.booleanValueColumnName()));
+    columns.add(column(TABLE_PROPERTIES.vectorValueColumnName()));
+
+    Function<Row, RowWrapper> wrapper = RowWrapper.forColumns(columns);
+    rows = new ArrayList<>(leaves);
+    for (int i = 0; i < leaves; i++) {
+      String[] path = {"field" + (i % FIELDS), String.format("[%06d]", i / FIELDS), "value"};
+
+      Row.Builder row = Row.newBuilder();
+      row.addValues(string("doc"));
+      row.addValues(Value.newBuilder().setInt(1000L + i));
+      for (int depth = 0; depth < MAX_DEPTH; depth++) {
+        row.addValues(string(depth < path.length ? path[depth] : ""));
+      }
+      row.addValues(string(path[path.length - 1]));
+      row.addValues(string("text value " + i));
+      row.addValues(NULL);
+      row.addValues(NULL);
+      row.addValues(NULL);
+      rows.add(wrapper.apply(row.build()));
+    }
+  }
+
+  @Benchmark
+  public void convertToJsonDoc(Blackhole bh) {
+    bh.consume(converter.convertToJsonDoc(rows, false, false));
+  }
+
+  private static ColumnSpec column(String name) {
+    return ColumnSpec.newBuilder().setName(name).build();
+  }
+
+  private static Value string(String value) {
+    return Value.newBuilder().setString(value).build();
+  }
+}
@@ -16,11 +16,13 @@
 package io.stargate.sgv2.docsapi.service.json;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.quarkus.test.junit.QuarkusTest;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
+import io.stargate.bridge.proto.QueryOuterClass.Row;
+import io.stargate.bridge.proto.QueryOuterClass.Value;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
 import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
@@ -45,19 +47,18 @@ class JsonConverterVectorTest {
 
   @Test
   void convertToJsonDoc_WithVector() throws Exception {
-    // Create mock rows representing a document with a vector
+    // Create rows representing a document with a vector
     List<RowWrapper> rows = new ArrayList<>();
 
     // Row for a simple string field
     RowWrapper textRow =
-        createMockRow("key1", new String[] {"text"}, "text", "Sample text", null, null, null, 100L);
+        createRow("key1", new String[] {"text"}, "text", "Sample text", null, null, null, 100L);
     rows.add(textRow);
 
     // Row for a vector field
     float[] vector = {0.1f, 0.2f, 0.3f, 0.4f, 0.5f};
     RowWrapper vectorRow =
-        createMockRow(
-            "key1", new String[] {"embedding"}, "embedding", null, null, null, vector, 100L);
+        createRow("key1", new String[] {"embedding"}, "embedding", null, null, null, vector, 100L);
     rows.add(vectorRow);
 
     // Convert to JSON
@@ -87,7 +88,7 @@ class JsonConverterVectorTest {
     // Nested vector field
     float[] vector = {1.0f, 2.0f, 3.0f};
     RowWrapper vectorRow =
-        createMockRow(
+        createRow(
             "key1", new String[] {"data", "vector"}, "vector", null, null, null, vector, 100L);
     rows.add(vectorRow);
 
@@ -112,14 +113,14 @@ class JsonConverterVectorTest {
 
     // First vector
     float[] vector1 = {0.1f, 0.2f};
-    rows.add(createMockRow("key1", new String[] {"vec1"}, "vec1", null, null, null, vector1, 100L));
+    rows.add(createRow("key1", new String[] {"vec1"}, "vec1", null, null, null, vector1, 100L));
 
     // Second vector
     float[] vector2 = {0.3f, 0.4f};
-    rows.add(createMockRow("key1", new String[] {"vec2"}, "vec2", null, null, null, vector2, 100L));
+    rows.add(createRow("key1", new String[] {"vec2"}, "vec2", null, null, null, vector2, 100L));
 
     // Regular field
-    rows.add(createMockRow("key1", new String[] {"name"}, "name", "test", null, null, null, 100L));
+    rows.add(createRow("key1", new String[] {"name"}, "name", "test", null, null, null, 100L));
 
     // Convert to JSON
     JsonNode result = jsonConverter.convertToJsonDoc(rows, false, false);
@@ -145,8 +146,7 @@ class JsonConverterVectorTest {
 
     // Empty vector (though this shouldn't happen in practice)
     float[] vector = new float[0];
-    rows.add(
-        createMockRow("key1", new String[] {"empty"}, "empty", null, null, null, vector, 100L));
+    rows.add(createRow("key1", new String[] {"empty"}, "empty", null, null, null, vector, 100L));
 
     // Convert to JSON
     JsonNode result = jsonConverter.convertToJsonDoc(rows, false, false);
@@ -163,14 +163,12 @@ class JsonConverterVectorTest {
     List<RowWrapper> rows = new ArrayList<>();
 
     // Mix of different value types including vector
-    rows.add(createMockRow("key1", new String[] {"text"}, "text", "hello", null, null, null, 100L));
-    rows.add(
-        createMockRow("key1", new String[] {"number"}, "number", null, 42.5, null, null, 100L));
-    rows.add(createMockRow("key1", new String[] {"flag"}, "flag", null, null, true, null, 100L));
+    rows.add(createRow("key1", new String[] {"text"}, "text", "hello", null, null, null, 100L));
+    rows.add(createRow("key1", new String[] {"number"}, "number", null, 42.5, null, null, 100L));
+    rows.add(createRow("key1", new String[] {"flag"}, "flag", null, null, true, null, 100L));
 
     float[] vector = {1.1f, 2.2f, 3.3f};
-    rows.add(
-        createMockRow("key1", new String[] {"coords"}, "coords", null, null, null, vector, 100L));
+    rows.add(createRow("key1", new String[] {"coords"}, "coords", null, null, null, vector, 100L));
 
     // Convert to JSON
     JsonNode result = jsonConverter.convertToJsonDoc(rows, false, false);
@@ -188,7 +186,7 @@ class JsonConverterVectorTest {
     assertThat(result.get("coords").size()).isEqualTo(3);
   }
 
-  private RowWrapper createMockRow(
+  private RowWrapper createRow(
       String key,
       String[] path,
       String leaf,
@@ -197,41 +195,48 @@ class JsonConverterVectorTest {
       Boolean booleanValue,
       float[] vectorValue,
       long writetime) {
+    List<ColumnSpec> columns = new ArrayList<>();
+    Row.Builder row = Row.newBuilder();
 
-    RowWrapper row = mock(RowWrapper.class);
+    addValue(columns, row, tableProperties.keyColumnName(), Values.of(key));
+    addValue(columns, row, tableProperties.writetimeColumnName(), Values.of(writetime));
 
-    // Mock key
-    when(row.getString(tableProperties.keyColumnName())).thenReturn(key);
-
-    // Mock path columns
+    // path columns
     for (int i = 0; i < documentProperties.maxDepth(); i++) {
-      String pathCol = tableProperties.pathColumnName(i);
-      if (i < path.length) {
-        when(row.getString(pathCol)).thenReturn(path[i]);
-      } else {
-        when(row.getString(pathCol)).thenReturn("");
-      }
+      String pathValue = i < path.length ? path[i] : "";
+      addValue(columns, row, tableProperties.pathColumnName(i), Values.of(pathValue));
     }
 
-    // Mock leaf
-    when(row.getString(tableProperties.leafColumnName())).thenReturn(leaf);
-
-    // Mock values
-    when(row.isNull(tableProperties.stringValueColumnName())).thenReturn(stringValue == null);
-    when(row.getString(tableProperties.stringValueColumnName())).thenReturn(stringValue);
-
-    when(row.isNull(tableProperties.doubleValueColumnName())).thenReturn(doubleValue == null);
-    when(row.getDouble(tableProperties.doubleValueColumnName())).thenReturn(doubleValue);
-
-    when(row.isNull(tableProperties.booleanValueColumnName())).thenReturn(booleanValue == null);
-    when(row.getBoolean(tableProperties.booleanValueColumnName())).thenReturn(booleanValue);
-
-    when(row.isNull(tableProperties.vectorValueColumnName())).thenReturn(vectorValue == null);
-    when(row.getVector(tableProperties.vectorValueColumnName())).thenReturn(vectorValue);
-
-    // Mock writetime
-    when(row.getLong(tableProperties.writetimeColumnName())).thenReturn(writetime);
+    addValue(columns, row, tableProperties.leafColumnName(), Values.of(leaf));
+
+    // values
+    addValue(
+        columns,
+        row,
+        tableProperties.stringValueColumnName(),
+        stringValue == null ? Values.NULL : Values.of(stringValue));
+    addValue(
+        columns,
+        row,
+        tableProperties.doubleValueColumnName(),
+        doubleValue == null ? Values.NULL : Values.of(doubleValue));
+    addValue(
+        columns,
+        row,
+        tableProperties.booleanValueColumnName(),
+        booleanValue == null ? Values.NULL : Values.of(booleanValue));
+    addValue(
+        columns,
+        row,
+        tableProperties.vectorValueColumnName(),
+        vectorValue == null ? Values.NULL : Values.vector(vectorValue));
+
+    return RowWrapper.forColumns(columns).apply(row.build());
+  }
 
-    return row;
+  private static void addValue(
+      List<ColumnSpec> columns, Row.Builder row, String columnName, Value value) {
+    columns.add(ColumnSpec.newBuilder().setName(columnName).build());
+    row.addValues(value);
   }
 }
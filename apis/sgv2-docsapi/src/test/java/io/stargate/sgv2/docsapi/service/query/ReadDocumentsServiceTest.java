@@ -51,6 +51,7 @@ import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
 import io.stargate.sgv2.docsapi.service.json.DeadLeaf;
 import io.stargate.sgv2.docsapi.service.json.ImmutableDeadLeaf;
 import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
+import io.stargate.sgv2.docsapi.service.query.search.resolver.IndexedSearchPlanner;
 import io.stargate.sgv2.docsapi.service.write.WriteBridgeService;
 import io.stargate.sgv2.docsapi.testprofiles.MaxDepth4TestProfile;
 import jakarta.inject.Inject;
@@ -146,7 +147,12 @@ class ReadDocumentsServiceTest {
       Multi<RawDocument> docs = Multi.createFrom().items(rawDocument, rawDocument2);
 
       when(readBridgeService.searchDocuments(
-              eq(namespace), eq(collection), any(), eq(paginator), eq(context)))
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE)))
           .thenReturn(docs);
 
       QueryOuterClass.Row row1 = rowFor(documentId1, "value1", "myField");
@@ -183,7 +189,13 @@ class ReadDocumentsServiceTest {
           .isEqualTo(pageState2);
 
       verify(readBridgeService)
-          .searchDocuments(eq(namespace), eq(collection), any(), eq(paginator), eq(context));
+          .searchDocuments(
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE));
       verifyNoMoreInteractions(readBridgeService, writeBridgeService);
     }
 
@@ -201,7 +213,12 @@ class ReadDocumentsServiceTest {
       Multi<RawDocument> docs = Multi.createFrom().item(rawDocument);
 
       when(readBridgeService.searchDocuments(
-              eq(namespace), eq(collection), any(), eq(paginator), eq(context)))
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE)))
           .thenReturn(docs);
 
       QueryOuterClass.Row row = rowFor(documentId, "value", "otherField");
@@ -227,7 +244,13 @@ class ReadDocumentsServiceTest {
           .isEqualTo(pageState);
 
       verify(readBridgeService)
-          .searchDocuments(eq(namespace), eq(collection), any(), eq(paginator), eq(context));
+          .searchDocuments(
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE));
       verifyNoMoreInteractions(readBridgeService, writeBridgeService);
     }
 
@@ -245,7 +268,12 @@ class ReadDocumentsServiceTest {
       Multi<RawDocument> docs = Multi.createFrom().item(rawDocument);
 
       when(readBridgeService.searchDocuments(
-              eq(namespace), eq(collection), any(), eq(paginator), eq(context)))
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE)))
           .thenReturn(docs);
 
       QueryOuterClass.Row row = rowFor(documentId, "value", "otherField");
@@ -273,7 +301,13 @@ class ReadDocumentsServiceTest {
           .isEqualTo(pageState);
 
       verify(readBridgeService)
-          .searchDocuments(eq(namespace), eq(collection), any(), eq(paginator), eq(context));
+          .searchDocuments(
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE));
       verifyNoMoreInteractions(readBridgeService, writeBridgeService);
     }
 
@@ -291,7 +325,12 @@ class ReadDocumentsServiceTest {
       Multi<RawDocument> docs = Multi.createFrom().item(rawDocument);
 
       when(readBridgeService.searchDocuments(
-              eq(namespace), eq(collection), any(), eq(paginator), eq(context)))
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE)))
           .thenReturn(docs);
 
       QueryOuterClass.Row row = rowFor(documentId, "value", "otherField");
@@ -318,7 +357,13 @@ class ReadDocumentsServiceTest {
       assertThat(wrapper.pageState()).isNull();
 
       verify(readBridgeService)
-          .searchDocuments(eq(namespace), eq(collection), any(), eq(paginator), eq(context));
+          .searchDocuments(
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE));
       verifyNoMoreInteractions(readBridgeService, writeBridgeService);
     }
 
@@ -334,7 +379,12 @@ class ReadDocumentsServiceTest {
       Multi<RawDocument> docs = Multi.createFrom().empty();
 
       when(readBridgeService.searchDocuments(
-              eq(namespace), eq(collection), any(), eq(paginator), eq(context)))
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE)))
           .thenReturn(docs);
 
       DocumentResponseWrapper<? extends JsonNode> wrapper =
@@ -352,7 +402,13 @@ class ReadDocumentsServiceTest {
       assertThat(wrapper.pageState()).isNull();
 
       verify(readBridgeService)
-          .searchDocuments(eq(namespace), eq(collection), any(), eq(paginator), eq(context));
+          .searchDocuments(
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE));
       verifyNoMoreInteractions(readBridgeService, writeBridgeService);
     }
 
@@ -368,7 +424,12 @@ class ReadDocumentsServiceTest {
       Multi<RawDocument> docs = Multi.createFrom().item(rawDocument);
 
       when(readBridgeService.searchDocuments(
-              eq(namespace), eq(collection), any(), eq(paginator), eq(context)))
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE)))
           .thenReturn(docs);
 
       QueryOuterClass.Row row = rowFor(documentId, "value", "otherField");
@@ -396,7 +457,13 @@ class ReadDocumentsServiceTest {
           .isEqualTo(pageState);
 
       verify(readBridgeService)
-          .searchDocuments(eq(namespace), eq(collection), any(), eq(paginator), eq(context));
+          .searchDocuments(
+              eq(namespace),
+              eq(collection),
+              any(),
+              eq(paginator),
+              eq(context),
+              eq(IndexedSearchPlanner.NONE));
       verifyNoMoreInteractions(readBridgeService, writeBridgeService);
     }
   }
@@ -20,6 +20,8 @@ package io.stargate.sgv2.docsapi.service.query.executor;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import io.smallrye.mutiny.helpers.test.AssertSubscriber;
@@ -31,6 +33,7 @@ import io.stargate.sgv2.api.common.cql.builder.Predicate;
 import io.stargate.sgv2.api.common.cql.builder.QueryBuilder;
 import io.stargate.sgv2.api.common.cql.builder.Term;
 import io.stargate.sgv2.common.bridge.AbstractValidatingStargateBridgeTest;
+import io.stargate.sgv2.common.bridge.ValidatingPaginator;
 import io.stargate.sgv2.common.bridge.ValidatingStargateBridge;
 import io.stargate.sgv2.docsapi.DocsApiTestSchemaProvider;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
@@ -1207,4 +1210,95 @@ class QueryExecutorTest extends AbstractValidatingStargateBridgeTest {
           .hasMessageContaining("Invalid document identity depth: 6");
     }
   }
+
+  @Nested
+  class Properties {
+
+    @Test
+    public void partitionBoundariesOnly() {
+      // only the last row of each partition is enriched, as with PARTITION_BOUNDARIES
+      QueryOuterClass.ResultSet page =
+          page(
+              plainRow(row("1", "x", 1.0d)),
+              plainRow(row("1", "y", 2.0d)),
+              enrichedRow(row("1", "z", 3.0d), "1", 3),
+              enrichedRow(row("2", "x", 4.0d), "2", 4),
+              plainRow(row("3", "x", 5.0d)),
+              enrichedRow(row("3", "y", 6.0d), "3", 6));
+
+      List<DocumentProperty> properties =
+          ImmutableList.copyOf(queryExecutor.properties(0, allDocsQuery, page, context));
+
+      assertThat(properties).hasSize(6);
+      assertThat(properties)
+          .extracting(p -> p.comparableKey().toStringUtf8())
+          .containsExactly("1", "1", "1", "2", "3", "3");
+      assertThat(properties)
+          .extracting(p -> p.makePagingState().getInt(4))
+          .containsExactly(3, 3, 3, 4, 6, 6);
+      assertThat(properties.get(0).enrichedRow()).isSameAs(page.getRows(2));
+      assertThat(properties.get(4).enrichedRow()).isSameAs(page.getRows(5));
+    }
+
+    @Test
+    public void allRowsEnriched() {
+      // an older bridge enriches every row
+      QueryOuterClass.ResultSet page =
+          page(
+              enrichedRow(row("1", "x", 1.0d), "1", 1),
+              enrichedRow(row("1", "y", 2.0d), "1", 2),
+              enrichedRow(row("2", "x", 3.0d), "2", 3));
+
+      List<DocumentProperty> properties =
+          ImmutableList.copyOf(queryExecutor.properties(0, allDocsQuery, page, context));
+
+      assertThat(properties)
+          .extracting(p -> p.makePagingState().getInt(4))
+          .containsExactly(1, 2, 3);
+      for (int i = 0; i < properties.size(); i++) {
+        assertThat(properties.get(i).enrichedRow()).isSameAs(page.getRows(i));
+      }
+    }
+
+    @Test
+    public void noRowsEnriched() {
+      QueryOuterClass.ResultSet page =
+          page(plainRow(row("1", "x", 1.0d)), plainRow(row("2", "x", 2.0d)));
+
+      List<DocumentProperty> properties =
+          ImmutableList.copyOf(queryExecutor.properties(0, allDocsQuery, page, context));
+
+      assertThat(properties).hasSize(2).allSatisfy(p -> assertThat(p.comparableKey()).isNull());
+      assertThat(properties.get(0).enrichedRow()).isSameAs(page.getRows(0));
+      assertThat(properties.get(1).enrichedRow()).isSameAs(page.getRows(1));
+    }
+
+    private QueryOuterClass.ResultSet page(QueryOuterClass.Row... rows) {
+      return QueryOuterClass.ResultSet.newBuilder()
+          .addAllColumns(columnSpec)
+          .addAllRows(Arrays.asList(rows))
+          .setPagingState(pagingState(rows.length))
+          .build();
+    }
+
+    private QueryOuterClass.Row plainRow(List<QueryOuterClass.Value> values) {
+      return QueryOuterClass.Row.newBuilder().addAllValues(values).build();
+    }
+
+    private QueryOuterClass.Row enrichedRow(
+        List<QueryOuterClass.Value> values, String comparableKey, int offset) {
+      return QueryOuterClass.Row.newBuilder()
+          .addAllValues(values)
+          .setComparableBytes(BytesValue.of(ByteString.copyFromUtf8(comparableKey)))
+          .setPagingState(pagingState(offset))
+          .build();
+    }
+
+    // same format as the ValidatingPaginator paging states
+    private BytesValue pagingState(int offset) {
+      ByteBuffer buffer = ByteBuffer.allocate(8);
+      buffer.putInt(ValidatingPaginator.MAGIC).putInt(offset).flip();
+      return BytesValue.of(ByteString.copyFrom(buffer));
+    }
+  }
 }
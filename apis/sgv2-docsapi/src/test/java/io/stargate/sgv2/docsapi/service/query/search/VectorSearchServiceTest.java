@@ -18,10 +18,18 @@ package io.stargate.sgv2.docsapi.service.query.search;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.bpodgursky.jbool_expressions.Literal;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
@@ -30,10 +38,20 @@ import io.stargate.sgv2.api.common.StargateRequestInfo;
 import io.stargate.sgv2.api.common.config.QueriesConfig;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
+import io.stargate.sgv2.docsapi.config.DocumentConfig;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
+import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import io.stargate.sgv2.docsapi.service.query.condition.BaseCondition;
+import io.stargate.sgv2.docsapi.service.query.executor.QueryExecutor;
+import io.stargate.sgv2.docsapi.service.query.model.ImmutableRawDocument;
 import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
+import io.stargate.sgv2.docsapi.service.query.model.paging.CombinedPagingState;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,15 +68,24 @@ class VectorSearchServiceTest {
   @Mock QueriesConfig queriesConfig;
   @Mock QueriesConfig.ConsistencyConfig consistencyConfig;
   @Mock StargateBridge bridge;
+  @Mock DocumentConfig documentConfig;
+  @Mock DocumentConfig.DocumentVectorSearchConfig vectorSearchConfig;
+  @Mock QueryExecutor queryExecutor;
 
   VectorSearchService vectorSearchService;
 
+  // tracks the hydration lookups in flight
+  AtomicInteger activeLookups = new AtomicInteger();
+  AtomicInteger maxActiveLookups = new AtomicInteger();
+
   @BeforeEach
   void setUp() {
     vectorSearchService = new VectorSearchService();
     vectorSearchService.documentProperties = documentProperties;
     vectorSearchService.requestInfo = requestInfo;
     vectorSearchService.queriesConfig = queriesConfig;
+    vectorSearchService.documentConfig = documentConfig;
+    vectorSearchService.queryExecutor = queryExecutor;
 
     when(documentProperties.tableProperties()).thenReturn(tableProperties);
     when(documentProperties.tableColumns()).thenReturn(mock());
@@ -266,4 +293,214 @@ class VectorSearchServiceTest {
     // Should still work even with filter present
     assertThat(result).isNotNull();
   }
+
+  @Test
+  void searchDocuments_NoFilter() {
+    float[] queryVector = {0.1f, 0.2f, 0.3f};
+    ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+    mockHydration();
+    when(bridge.executeQuery(any())).thenReturn(annResponse("doc2", "doc1"));
+
+    List<RawDocument> result =
+        vectorSearchService
+            .searchDocuments("test_ns", "test_coll", queryVector, 2, Literal.getTrue(), context)
+            .collect()
+            .asList()
+            .await()
+            .indefinitely();
+
+    // keeps the similarity order
+    assertThat(result).extracting(RawDocument::id).containsExactly("doc2", "doc1");
+    assertThat(result).allSatisfy(doc -> assertThat(doc.rows()).hasSize(1));
+
+    // ANN query selects only keys with the limit as candidates
+    ArgumentCaptor<QueryOuterClass.Query> queryCaptor =
+        ArgumentCaptor.forClass(QueryOuterClass.Query.class);
+    verify(bridge).executeQuery(queryCaptor.capture());
+    QueryOuterClass.Query annQuery = queryCaptor.getValue();
+    assertThat(annQuery.getCql())
+        .isEqualTo("SELECT key FROM test_ns.test_coll ORDER BY vector_value ann of ? LIMIT ?");
+    assertThat(annQuery.getValues().getValues(1).getInt()).isEqualTo(2);
+    verify(queryExecutor, times(2))
+        .queryDocs(
+            any(QueryOuterClass.Query.class), eq(1000), eq(false), any(), eq(false), any());
+  }
+
+  @Test
+  void searchDocuments_HydratesConcurrently() {
+    float[] queryVector = {0.1f, 0.2f, 0.3f};
+    ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+    mockHydration();
+    when(bridge.executeQuery(any())).thenReturn(annResponse("doc3", "doc1", "doc4", "doc2"));
+
+    List<RawDocument> result =
+        vectorSearchService
+            .searchDocuments("test_ns", "test_coll", queryVector, 4, Literal.getTrue(), context)
+            .collect()
+            .asList()
+            .await()
+            .indefinitely();
+
+    // lookups in a group overlap, but never more than the hydration concurrency
+    assertThat(result).extracting(RawDocument::id).containsExactly("doc3", "doc1", "doc4", "doc2");
+    assertThat(maxActiveLookups.get()).isEqualTo(2);
+    assertThat(activeLookups.get()).isZero();
+  }
+
+  @Test
+  void searchDocuments_FilterOverFetch() {
+    float[] queryVector = {0.1f, 0.2f, 0.3f};
+    ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+    mockHydration();
+    when(vectorSearchConfig.overFetchFactor()).thenReturn(2);
+    when(vectorSearchConfig.maxCandidates()).thenReturn(4);
+    when(bridge.executeQuery(any()))
+        .thenReturn(annResponse("doc1", "doc2"))
+        .thenReturn(annResponse("doc1", "doc2", "doc3", "doc4"));
+
+    // only doc4 matches the filter
+    FilterExpression filter = mockFilter("doc4");
+
+    List<RawDocument> result =
+        vectorSearchService
+            .searchDocuments("test_ns", "test_coll", queryVector, 1, filter, context)
+            .collect()
+            .asList()
+            .await()
+            .indefinitely();
+
+    assertThat(result).extracting(RawDocument::id).containsExactly("doc4");
+
+    // first round with over-fetched candidates, second one with more
+    ArgumentCaptor<QueryOuterClass.Query> queryCaptor =
+        ArgumentCaptor.forClass(QueryOuterClass.Query.class);
+    verify(bridge, times(2)).executeQuery(queryCaptor.capture());
+    assertThat(queryCaptor.getAllValues())
+        .extracting(q -> q.getValues().getValues(1).getInt())
+        .containsExactly(2, 4);
+
+    // already seen documents are not hydrated again
+    verify(queryExecutor, times(4))
+        .queryDocs(
+            any(QueryOuterClass.Query.class), anyInt(), anyBoolean(), any(), anyBoolean(), any());
+  }
+
+  @Test
+  void searchDocuments_FilterMaxCandidatesReached() {
+    float[] queryVector = {0.1f, 0.2f, 0.3f};
+    ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+    mockHydration();
+    when(vectorSearchConfig.overFetchFactor()).thenReturn(4);
+    when(vectorSearchConfig.maxCandidates()).thenReturn(2);
+    when(bridge.executeQuery(any())).thenReturn(annResponse("doc1", "doc2"));
+    FilterExpression filter = mockFilter("doc3");
+
+    List<RawDocument> result =
+        vectorSearchService
+            .searchDocuments("test_ns", "test_coll", queryVector, 1, filter, context)
+            .collect()
+            .asList()
+            .await()
+            .indefinitely();
+
+    // no match and no further rounds
+    assertThat(result).isEmpty();
+    verify(bridge).executeQuery(any());
+  }
+
+  @Test
+  void searchDocuments_FalseFilter() {
+    List<RawDocument> result =
+        vectorSearchService
+            .searchDocuments(
+                "test_ns",
+                "test_coll",
+                new float[] {0.1f},
+                1,
+                Literal.getFalse(),
+                ExecutionContext.NOOP_CONTEXT)
+            .collect()
+            .asList()
+            .await()
+            .indefinitely();
+
+    assertThat(result).isEmpty();
+  }
+
+  private void mockHydration() {
+    when(tableProperties.keyColumnName()).thenReturn("key");
+    when(tableProperties.leafColumnName()).thenReturn("leaf");
+    when(tableProperties.vectorValueColumnName()).thenReturn("vector_value");
+    when(documentProperties.tableColumns().allColumnNamesArray())
+        .thenReturn(new String[] {"key", "leaf", "text_value"});
+    when(documentProperties.maxSearchPageSize()).thenReturn(1000);
+    when(documentConfig.vectorSearch()).thenReturn(vectorSearchConfig);
+    when(vectorSearchConfig.hydrationConcurrency()).thenReturn(2);
+
+    // each document is hydrated with a single row, id is taken from the bound value
+    when(queryExecutor.queryDocs(
+            any(QueryOuterClass.Query.class),
+            anyInt(),
+            anyBoolean(),
+            any(),
+            anyBoolean(),
+            any()))
+        .thenAnswer(
+            invocation -> {
+              QueryOuterClass.Query query = invocation.getArgument(0);
+              String id = query.getValues().getValues(0).getString();
+              RowWrapper row = mock(RowWrapper.class);
+              lenient().when(row.getString("key")).thenReturn(id);
+              RawDocument document =
+                  ImmutableRawDocument.of(
+                      id,
+                      Collections.singletonList(id),
+                      new CombinedPagingState(Collections.emptyList()),
+                      Collections.singletonList(row));
+              // delayed, so that lookups executed in parallel overlap
+              return Uni.createFrom()
+                  .item(document)
+                  .onItem()
+                  .delayIt()
+                  .by(Duration.ofMillis(20))
+                  .toMulti()
+                  .onSubscription()
+                  .invoke(
+                      () ->
+                          maxActiveLookups.accumulateAndGet(
+                              activeLookups.incrementAndGet(), Math::max))
+                  .onTermination()
+                  .invoke(activeLookups::decrementAndGet);
+            });
+  }
+
+  private FilterExpression mockFilter(String matchingId) {
+    FilterExpression filter = mock(FilterExpression.class);
+    BaseCondition condition = mock(BaseCondition.class);
+    when(filter.getExprType()).thenReturn(FilterExpression.EXPR_TYPE);
+    when(filter.getCondition()).thenReturn(condition);
+    when(filter.matchesFilterPath(any())).thenReturn(true);
+    when(filter.test(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<RowWrapper> rows = invocation.getArgument(0);
+              return matchingId.equals(rows.get(0).getString("key"));
+            });
+    return filter;
+  }
+
+  private Uni<QueryOuterClass.Response> annResponse(String... ids) {
+    QueryOuterClass.ResultSet.Builder resultSet =
+        QueryOuterClass.ResultSet.newBuilder()
+            .addColumns(QueryOuterClass.ColumnSpec.newBuilder().setName("key").build());
+    for (String id : ids) {
+      resultSet.addRows(QueryOuterClass.Row.newBuilder().addValues(Values.of(id)));
+    }
+    return Uni.createFrom()
+        .item(QueryOuterClass.Response.newBuilder().setResultSet(resultSet).build());
+  }
 }
@@ -21,10 +21,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.bpodgursky.jbool_expressions.And;
 import com.bpodgursky.jbool_expressions.Or;
+import com.google.protobuf.StringValue;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
+import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
 import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.query.FilterExpression;
 import io.stargate.sgv2.docsapi.service.query.FilterPath;
@@ -33,6 +36,7 @@ import io.stargate.sgv2.docsapi.service.query.ImmutableFilterPath;
 import io.stargate.sgv2.docsapi.service.query.condition.BaseCondition;
 import io.stargate.sgv2.docsapi.service.query.condition.impl.ImmutableGenericCondition;
 import io.stargate.sgv2.docsapi.service.query.condition.impl.ImmutableStringCondition;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.EqFilterOperation;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.GtFilterOperation;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.InFilterOperation;
 import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.LtFilterOperation;
@@ -41,10 +45,12 @@ import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.impl.Persis
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.AllFiltersResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.AnyFiltersResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.InMemoryDocumentsResolver;
+import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.IndexedDocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.OrExpressionDocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.PersistenceDocumentsResolver;
 import jakarta.inject.Inject;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -229,6 +235,93 @@ class CnfResolverTest {
     }
   }
 
+  @Nested
+  class ResolveWithPlanner {
+
+    IndexedSearchPlanner planner;
+
+    @BeforeEach
+    public void initPlanner() {
+      DocumentTableProperties tableProps = documentProperties.tableProperties();
+      List<String> columns =
+          List.of(tableProps.leafColumnName(), tableProps.stringValueColumnName());
+      Schema.CqlTable.Builder table = Schema.CqlTable.newBuilder().setName("collection");
+      for (String column : columns) {
+        table.addIndexes(
+            Schema.CqlIndex.newBuilder()
+                .setName(column + "_idx")
+                .setColumnName(column)
+                .setCustom(true)
+                .setIndexingClass(
+                    StringValue.of("org.apache.cassandra.index.sai.StorageAttachedIndex")));
+      }
+      planner = IndexedSearchPlanner.of(table.build(), documentProperties);
+    }
+
+    @Test
+    public void indexedExpressionFirst() {
+      ExecutionContext context = ExecutionContext.create(true);
+      FilterPath filterPath1 = ImmutableFilterPath.of(Collections.singletonList("a"));
+      FilterPath filterPath2 = ImmutableFilterPath.of(Collections.singletonList("b"));
+      BaseCondition condition1 =
+          ImmutableStringCondition.of(GtFilterOperation.of(), "find-me", documentProperties);
+      BaseCondition condition2 =
+          ImmutableStringCondition.of(EqFilterOperation.of(), "find-me", documentProperties);
+      FilterExpression expression1 = ImmutableFilterExpression.of(filterPath1, condition1, 0);
+      FilterExpression expression2 = ImmutableFilterExpression.of(filterPath2, condition2, 1);
+
+      DocumentsResolver result =
+          CnfResolver.resolve(
+              And.of(expression1, expression2), context, documentProperties, planner);
+
+      // equality on b is pushed down, range on a is filtered as candidates
+      assertThat(result)
+          .isInstanceOfSatisfying(
+              AllFiltersResolver.class,
+              allOf -> {
+                assertThat(allOf)
+                    .extracting("candidatesResolver")
+                    .isInstanceOfSatisfying(
+                        IndexedDocumentsResolver.class,
+                        r -> assertThat(r).extracting("filterPath").isEqualTo(filterPath2));
+                assertThat(allOf)
+                    .extracting("candidatesFilters")
+                    .asList()
+                    .singleElement()
+                    .isInstanceOf(PersistenceCandidatesFilter.class);
+              });
+    }
+
+    @Test
+    public void nothingIndexed() {
+      ExecutionContext context = ExecutionContext.create(true);
+      FilterPath filterPath = ImmutableFilterPath.of(Collections.singletonList("field"));
+      BaseCondition condition =
+          ImmutableStringCondition.of(GtFilterOperation.of(), "find-me", documentProperties);
+      FilterExpression expression = ImmutableFilterExpression.of(filterPath, condition, 0);
+
+      DocumentsResolver result =
+          CnfResolver.resolve(And.of(expression), context, documentProperties, planner);
+
+      assertThat(result).isInstanceOf(PersistenceDocumentsResolver.class);
+    }
+
+    @Test
+    public void noPlanner() {
+      ExecutionContext context = ExecutionContext.create(true);
+      FilterPath filterPath = ImmutableFilterPath.of(Collections.singletonList("field"));
+      BaseCondition condition =
+          ImmutableStringCondition.of(EqFilterOperation.of(), "find-me", documentProperties);
+      FilterExpression expression = ImmutableFilterExpression.of(filterPath, condition, 0);
+
+      DocumentsResolver result =
+          CnfResolver.resolve(
+              And.of(expression), context, documentProperties, IndexedSearchPlanner.NONE);
+
+      assertThat(result).isInstanceOf(PersistenceDocumentsResolver.class);
+    }
+  }
+
   @Test
   public void mixed4ExpressionsWithOrs() {
     ExecutionContext context = ExecutionContext.create(true);
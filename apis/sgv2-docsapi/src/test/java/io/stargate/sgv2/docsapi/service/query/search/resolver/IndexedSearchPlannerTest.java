@@ -0,0 +1,225 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.resolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.StringValue;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentTableProperties;
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import io.stargate.sgv2.docsapi.service.query.FilterPath;
+import io.stargate.sgv2.docsapi.service.query.ImmutableFilterExpression;
+import io.stargate.sgv2.docsapi.service.query.ImmutableFilterPath;
+import io.stargate.sgv2.docsapi.service.query.condition.BaseCondition;
+import io.stargate.sgv2.docsapi.service.query.condition.impl.ImmutableBooleanCondition;
+import io.stargate.sgv2.docsapi.service.query.condition.impl.ImmutableGenericCondition;
+import io.stargate.sgv2.docsapi.service.query.condition.impl.ImmutableNumberCondition;
+import io.stargate.sgv2.docsapi.service.query.condition.impl.ImmutableStringCondition;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.EqFilterOperation;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.GtFilterOperation;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.InFilterOperation;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.LteFilterOperation;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.NeFilterOperation;
+import jakarta.inject.Inject;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(NoGlobalResourcesTestProfile.Impl.class)
+class IndexedSearchPlannerTest {
+
+  private static final String SAI_CLASS = "org.apache.cassandra.index.sai.StorageAttachedIndex";
+
+  @Inject DocumentProperties documentProperties;
+
+  private Schema.CqlIndex index(String column, boolean custom, String indexingClass) {
+    Schema.CqlIndex.Builder builder =
+        Schema.CqlIndex.newBuilder().setName(column + "_idx").setColumnName(column);
+    if (custom) {
+      builder.setCustom(true).setIndexingClass(StringValue.of(indexingClass));
+    }
+    return builder.build();
+  }
+
+  private Schema.CqlTable tableWithSaiOn(String... columns) {
+    Schema.CqlTable.Builder builder = Schema.CqlTable.newBuilder().setName("collection");
+    for (String column : columns) {
+      builder.addIndexes(index(column, true, SAI_CLASS));
+    }
+    return builder.build();
+  }
+
+  private Schema.CqlTable allIndexedTable() {
+    DocumentTableProperties tableProps = documentProperties.tableProperties();
+    return tableWithSaiOn(
+        tableProps.leafColumnName(),
+        tableProps.stringValueColumnName(),
+        tableProps.doubleValueColumnName(),
+        tableProps.booleanValueColumnName());
+  }
+
+  private FilterExpression expression(String field, BaseCondition condition) {
+    FilterPath filterPath = ImmutableFilterPath.of(Collections.singletonList(field));
+    return ImmutableFilterExpression.of(filterPath, condition, 0);
+  }
+
+  @Nested
+  class Of {
+
+    @Test
+    public void noTable() {
+      IndexedSearchPlanner result = IndexedSearchPlanner.of(null, documentProperties);
+
+      assertThat(result).isSameAs(IndexedSearchPlanner.NONE);
+      assertThat(result.hasIndexes()).isFalse();
+    }
+
+    @Test
+    public void onlySaiIndexes() {
+      DocumentTableProperties tableProps = documentProperties.tableProperties();
+      Schema.CqlTable table =
+          Schema.CqlTable.newBuilder()
+              .setName("collection")
+              .addIndexes(index(tableProps.leafColumnName(), true, SAI_CLASS))
+              .addIndexes(index(tableProps.stringValueColumnName(), false, null))
+              .addIndexes(
+                  index(tableProps.doubleValueColumnName(), true, "org.example.CustomIndex"))
+              .build();
+
+      IndexedSearchPlanner result = IndexedSearchPlanner.of(table, documentProperties);
+
+      assertThat(result.hasIndexes()).isTrue();
+      assertThat(result.isIndexed(tableProps.leafColumnName())).isTrue();
+      assertThat(result.isIndexed(tableProps.stringValueColumnName())).isFalse();
+      assertThat(result.isIndexed(tableProps.doubleValueColumnName())).isFalse();
+    }
+
+    @Test
+    public void noSaiIndexes() {
+      DocumentTableProperties tableProps = documentProperties.tableProperties();
+      Schema.CqlTable table =
+          Schema.CqlTable.newBuilder()
+              .setName("collection")
+              .addIndexes(index(tableProps.leafColumnName(), false, null))
+              .build();
+
+      IndexedSearchPlanner result = IndexedSearchPlanner.of(table, documentProperties);
+
+      assertThat(result).isSameAs(IndexedSearchPlanner.NONE);
+    }
+  }
+
+  @Nested
+  class CanPushDown {
+
+    @Test
+    public void equality() {
+      IndexedSearchPlanner planner = IndexedSearchPlanner.of(allIndexedTable(), documentProperties);
+      BaseCondition string =
+          ImmutableStringCondition.of(EqFilterOperation.of(), "value", documentProperties);
+      BaseCondition number =
+          ImmutableNumberCondition.of(EqFilterOperation.of(), 1, documentProperties);
+      BaseCondition bool =
+          ImmutableBooleanCondition.of(EqFilterOperation.of(), true, documentProperties, false);
+
+      assertThat(planner.canPushDown(expression("field", string))).isTrue();
+      assertThat(planner.canPushDown(expression("field", number))).isTrue();
+      assertThat(planner.canPushDown(expression("field", bool))).isTrue();
+    }
+
+    @Test
+    public void rangeOnlyOnNumbers() {
+      IndexedSearchPlanner planner = IndexedSearchPlanner.of(allIndexedTable(), documentProperties);
+      BaseCondition string =
+          ImmutableStringCondition.of(GtFilterOperation.of(), "value", documentProperties);
+      BaseCondition number =
+          ImmutableNumberCondition.of(LteFilterOperation.of(), 1, documentProperties);
+
+      assertThat(planner.canPushDown(expression("field", string))).isFalse();
+      assertThat(planner.canPushDown(expression("field", number))).isTrue();
+    }
+
+    @Test
+    public void inValues() {
+      IndexedSearchPlanner planner = IndexedSearchPlanner.of(allIndexedTable(), documentProperties);
+      BaseCondition supported =
+          ImmutableGenericCondition.of(
+              InFilterOperation.of(), List.of("value", 1, true), documentProperties, false);
+      BaseCondition withNull =
+          ImmutableGenericCondition.of(
+              InFilterOperation.of(), Arrays.asList("value", null), documentProperties, false);
+
+      assertThat(planner.canPushDown(expression("field", supported))).isTrue();
+      assertThat(planner.canPushDown(expression("field", withNull))).isFalse();
+    }
+
+    @Test
+    public void notEqual() {
+      IndexedSearchPlanner planner = IndexedSearchPlanner.of(allIndexedTable(), documentProperties);
+      BaseCondition condition =
+          ImmutableStringCondition.of(NeFilterOperation.of(), "value", documentProperties);
+
+      assertThat(planner.canPushDown(expression("field", condition))).isFalse();
+    }
+
+    @Test
+    public void valueColumnNotIndexed() {
+      DocumentTableProperties tableProps = documentProperties.tableProperties();
+      Schema.CqlTable table =
+          tableWithSaiOn(tableProps.leafColumnName(), tableProps.doubleValueColumnName());
+      IndexedSearchPlanner planner = IndexedSearchPlanner.of(table, documentProperties);
+      BaseCondition string =
+          ImmutableStringCondition.of(EqFilterOperation.of(), "value", documentProperties);
+      BaseCondition mixedIn =
+          ImmutableGenericCondition.of(
+              InFilterOperation.of(), List.of(1, "value"), documentProperties, false);
+
+      assertThat(planner.canPushDown(expression("field", string))).isFalse();
+      assertThat(planner.canPushDown(expression("field", mixedIn))).isFalse();
+    }
+
+    @Test
+    public void leafNotIndexed() {
+      DocumentTableProperties tableProps = documentProperties.tableProperties();
+      Schema.CqlTable table = tableWithSaiOn(tableProps.stringValueColumnName());
+      IndexedSearchPlanner planner = IndexedSearchPlanner.of(table, documentProperties);
+      BaseCondition condition =
+          ImmutableStringCondition.of(EqFilterOperation.of(), "value", documentProperties);
+
+      assertThat(planner.canPushDown(expression("field", condition))).isFalse();
+    }
+
+    @Test
+    public void fieldNotFixed() {
+      IndexedSearchPlanner planner = IndexedSearchPlanner.of(allIndexedTable(), documentProperties);
+      BaseCondition condition =
+          ImmutableStringCondition.of(EqFilterOperation.of(), "value", documentProperties);
+
+      assertThat(planner.canPushDown(expression("*", condition))).isFalse();
+      assertThat(planner.canPushDown(expression("a,b", condition))).isFalse();
+    }
+  }
+}
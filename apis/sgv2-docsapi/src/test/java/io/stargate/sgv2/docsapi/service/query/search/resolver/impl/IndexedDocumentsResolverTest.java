@@ -0,0 +1,310 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.sgv2.docsapi.service.query.search.resolver.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.common.bridge.AbstractValidatingStargateBridgeTest;
+import io.stargate.sgv2.common.bridge.ValidatingStargateBridge;
+import io.stargate.sgv2.docsapi.DocsApiTestSchemaProvider;
+import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
+import io.stargate.sgv2.docsapi.service.ExecutionContext;
+import io.stargate.sgv2.docsapi.service.common.model.Paginator;
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import io.stargate.sgv2.docsapi.service.query.FilterPath;
+import io.stargate.sgv2.docsapi.service.query.ImmutableFilterExpression;
+import io.stargate.sgv2.docsapi.service.query.ImmutableFilterPath;
+import io.stargate.sgv2.docsapi.service.query.condition.BaseCondition;
+import io.stargate.sgv2.docsapi.service.query.condition.impl.ImmutableGenericCondition;
+import io.stargate.sgv2.docsapi.service.query.condition.impl.ImmutableStringCondition;
+import io.stargate.sgv2.docsapi.service.query.executor.QueryExecutor;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.EqFilterOperation;
+import io.stargate.sgv2.docsapi.service.query.filter.operation.impl.InFilterOperation;
+import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
+import io.stargate.sgv2.docsapi.service.query.search.resolver.DocumentsResolver;
+import io.stargate.sgv2.docsapi.testprofiles.MaxDepth8TestProfile;
+import jakarta.inject.Inject;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.shaded.com.google.common.collect.ImmutableList;
+
+@QuarkusTest
+@TestProfile(MaxDepth8TestProfile.class)
+class IndexedDocumentsResolverTest extends AbstractValidatingStargateBridgeTest {
+
+  private static final String KEYSPACE_NAME = RandomStringUtils.randomAlphanumeric(16);
+  private static final String COLLECTION_NAME = RandomStringUtils.randomAlphanumeric(16);
+
+  @Inject DocumentProperties documentProperties;
+
+  @Inject QueryExecutor queryExecutor;
+
+  @Inject DocsApiTestSchemaProvider schemaProvider;
+
+  @Nested
+  class Constructor {
+
+    @Test
+    public void differentPaths() {
+      BaseCondition condition =
+          ImmutableStringCondition.of(EqFilterOperation.of(), "query-value", documentProperties);
+      FilterExpression expression1 =
+          ImmutableFilterExpression.of(ImmutableFilterPath.of(List.of("a")), condition, 0);
+      FilterExpression expression2 =
+          ImmutableFilterExpression.of(ImmutableFilterPath.of(List.of("b")), condition, 1);
+
+      Throwable throwable =
+          catchThrowable(
+              () ->
+                  new IndexedDocumentsResolver(
+                      List.of(expression1, expression2), null, documentProperties));
+
+      assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void twoInExpressions() {
+      FilterPath filterPath = ImmutableFilterPath.of(List.of("field"));
+      BaseCondition condition1 =
+          ImmutableGenericCondition.of(
+              InFilterOperation.of(), List.of("a"), documentProperties, false);
+      BaseCondition condition2 =
+          ImmutableGenericCondition.of(
+              InFilterOperation.of(), List.of("b"), documentProperties, false);
+      FilterExpression expression1 = ImmutableFilterExpression.of(filterPath, condition1, 0);
+      FilterExpression expression2 = ImmutableFilterExpression.of(filterPath, condition2, 1);
+
+      Throwable throwable =
+          catchThrowable(
+              () ->
+                  new IndexedDocumentsResolver(
+                      List.of(expression1, expression2), null, documentProperties));
+
+      assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Nested
+  class GetDocuments {
+
+    ExecutionContext executionContext;
+
+    @BeforeEach
+    public void init() {
+      executionContext = ExecutionContext.create(true);
+    }
+
+    @Test
+    public void happyPath() {
+      int pageSize = 1;
+      Paginator paginator = new Paginator(null, pageSize);
+      FilterPath filterPath = ImmutableFilterPath.of(Collections.singletonList("field"));
+      BaseCondition condition =
+          ImmutableStringCondition.of(EqFilterOperation.of(), "query-value", documentProperties);
+      FilterExpression filterExpression = ImmutableFilterExpression.of(filterPath, condition, 0);
+
+      ValidatingStargateBridge.QueryAssert queryAssert =
+          withQuery(
+                  "SELECT key, p0, p1, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM \"%s\".\"%s\" WHERE leaf = ? AND text_value = ?"
+                      .formatted(KEYSPACE_NAME, COLLECTION_NAME),
+                  Values.of("field"),
+                  Values.of("query-value"))
+              .withPageSize(pageSize + 1)
+              .withResumeMode(QueryOuterClass.ResumeMode.NEXT_PARTITION)
+              .enriched()
+              .withColumnSpec(schemaProvider.allColumnSpecForPathDepth(2))
+              .returning(
+                  Collections.singletonList(
+                      ImmutableList.of(
+                          Values.of("1"),
+                          Values.of("field"),
+                          Values.of(""),
+                          Values.of("field"),
+                          Values.of("query-value"),
+                          Values.NULL,
+                          Values.NULL)));
+
+      DocumentsResolver resolver =
+          new IndexedDocumentsResolver(
+              Collections.singletonList(filterExpression), executionContext, documentProperties);
+      List<RawDocument> result =
+          resolver
+              .getDocuments(queryExecutor, KEYSPACE_NAME, COLLECTION_NAME, paginator)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(1))
+              .awaitItems(1)
+              .awaitCompletion()
+              .assertCompleted()
+              .getItems();
+
+      assertThat(result)
+          .singleElement()
+          .satisfies(
+              doc -> {
+                assertThat(doc.id()).isEqualTo("1");
+                assertThat(doc.rows()).hasSize(1);
+              });
+
+      // one query only
+      queryAssert.assertExecuteCount().isEqualTo(1);
+
+      // execution context
+      assertThat(executionContext.toProfile().nested())
+          .singleElement()
+          .satisfies(
+              nested -> {
+                assertThat(nested.description())
+                    .isEqualTo("FILTER USING SAI: field EQ query-value");
+                assertThat(nested.queries())
+                    .singleElement()
+                    .satisfies(
+                        queryInfo -> {
+                          assertThat(queryInfo.executionCount()).isEqualTo(1);
+                          assertThat(queryInfo.rowCount()).isEqualTo(1);
+                        });
+              });
+    }
+
+    @Test
+    public void pathNotMatching() {
+      int pageSize = 1;
+      Paginator paginator = new Paginator(null, pageSize);
+      FilterPath filterPath = ImmutableFilterPath.of(Collections.singletonList("field"));
+      BaseCondition condition =
+          ImmutableStringCondition.of(EqFilterOperation.of(), "query-value", documentProperties);
+      FilterExpression filterExpression = ImmutableFilterExpression.of(filterPath, condition, 0);
+
+      // row is on the nested.field path, thus not matching
+      ValidatingStargateBridge.QueryAssert queryAssert =
+          withQuery(
+                  "SELECT key, p0, p1, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM \"%s\".\"%s\" WHERE leaf = ? AND text_value = ?"
+                      .formatted(KEYSPACE_NAME, COLLECTION_NAME),
+                  Values.of("field"),
+                  Values.of("query-value"))
+              .withPageSize(pageSize + 1)
+              .withResumeMode(QueryOuterClass.ResumeMode.NEXT_PARTITION)
+              .enriched()
+              .withColumnSpec(schemaProvider.allColumnSpecForPathDepth(2))
+              .returning(
+                  Collections.singletonList(
+                      ImmutableList.of(
+                          Values.of("1"),
+                          Values.of("nested"),
+                          Values.of("field"),
+                          Values.of("field"),
+                          Values.of("query-value"),
+                          Values.NULL,
+                          Values.NULL)));
+
+      DocumentsResolver resolver =
+          new IndexedDocumentsResolver(
+              Collections.singletonList(filterExpression), executionContext, documentProperties);
+      resolver
+          .getDocuments(queryExecutor, KEYSPACE_NAME, COLLECTION_NAME, paginator)
+          .subscribe()
+          .withSubscriber(AssertSubscriber.create(1))
+          .awaitCompletion()
+          .assertCompleted()
+          .assertHasNotReceivedAnyItem();
+
+      queryAssert.assertExecuteCount().isEqualTo(1);
+    }
+
+    @Test
+    public void inValues() {
+      int pageSize = 1;
+      Paginator paginator = new Paginator(null, pageSize);
+      FilterPath filterPath = ImmutableFilterPath.of(Collections.singletonList("field"));
+      BaseCondition condition =
+          ImmutableGenericCondition.of(
+              InFilterOperation.of(), Arrays.asList("a", 2), documentProperties, false);
+      FilterExpression filterExpression = ImmutableFilterExpression.of(filterPath, condition, 0);
+
+      ValidatingStargateBridge.QueryAssert query1Assert =
+          withQuery(
+                  "SELECT key, p0, p1, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM \"%s\".\"%s\" WHERE leaf = ? AND text_value = ?"
+                      .formatted(KEYSPACE_NAME, COLLECTION_NAME),
+                  Values.of("field"),
+                  Values.of("a"))
+              .withPageSize(pageSize + 1)
+              .withResumeMode(QueryOuterClass.ResumeMode.NEXT_PARTITION)
+              .enriched()
+              .withColumnSpec(schemaProvider.allColumnSpecForPathDepth(2))
+              .returning(
+                  Collections.singletonList(
+                      ImmutableList.of(
+                          Values.of("1"),
+                          Values.of("field"),
+                          Values.of(""),
+                          Values.of("field"),
+                          Values.of("a"),
+                          Values.NULL,
+                          Values.NULL)));
+
+      ValidatingStargateBridge.QueryAssert query2Assert =
+          withQuery(
+                  "SELECT key, p0, p1, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM \"%s\".\"%s\" WHERE leaf = ? AND dbl_value = ?"
+                      .formatted(KEYSPACE_NAME, COLLECTION_NAME),
+                  Values.of("field"),
+                  Values.of(2d))
+              .withPageSize(pageSize + 1)
+              .withResumeMode(QueryOuterClass.ResumeMode.NEXT_PARTITION)
+              .enriched()
+              .withColumnSpec(schemaProvider.allColumnSpecForPathDepth(2))
+              .returning(
+                  Collections.singletonList(
+                      ImmutableList.of(
+                          Values.of("1"),
+                          Values.of("field"),
+                          Values.of(""),
+                          Values.of("field"),
+                          Values.NULL,
+                          Values.of(2d),
+                          Values.NULL)));
+
+      DocumentsResolver resolver =
+          new IndexedDocumentsResolver(
+              Collections.singletonList(filterExpression), executionContext, documentProperties);
+      List<RawDocument> result =
+          resolver
+              .getDocuments(queryExecutor, KEYSPACE_NAME, COLLECTION_NAME, paginator)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(1))
+              .awaitItems(1)
+              .awaitCompletion()
+              .assertCompleted()
+              .getItems();
+
+      assertThat(result).singleElement().extracting(RawDocument::id).isEqualTo("1");
+
+      // each value queried
+      query1Assert.assertExecuteCount().isEqualTo(1);
+      query2Assert.assertExecuteCount().isEqualTo(1);
+    }
+  }
+}
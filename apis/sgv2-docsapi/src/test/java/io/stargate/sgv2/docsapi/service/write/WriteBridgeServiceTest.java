@@ -253,6 +253,110 @@ class WriteBridgeServiceTest extends AbstractValidatingStargateBridgeTest {
     }
   }
 
+  @Nested
+  class WriteDocuments {
+
+    @Test
+    public void happyPathDeleteExisting() {
+      String otherDocumentId = RandomStringUtils.randomAlphanumeric(16);
+      JsonShreddedRow row1 =
+          ImmutableJsonShreddedRow.builder()
+              .maxDepth(documentProperties.maxDepth())
+              .addPath("key1")
+              .stringValue("value1")
+              .build();
+      JsonShreddedRow row2 =
+          ImmutableJsonShreddedRow.builder()
+              .maxDepth(documentProperties.maxDepth())
+              .addPath("key2")
+              .doubleValue(2.2d)
+              .build();
+      Map<String, List<JsonShreddedRow>> documents = new LinkedHashMap<>();
+      documents.put(documentId, Collections.singletonList(row1));
+      documents.put(otherDocumentId, Collections.singletonList(row2));
+
+      String insertCql =
+          String.format(
+              "INSERT INTO %s.%s (key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value) "
+                  + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) USING TIMESTAMP ?",
+              keyspaceName, tableName);
+      ValidatingStargateBridge.QueryAssert row1QueryAssert =
+          withQuery(
+                  insertCql,
+                  Values.of(documentId),
+                  Values.of("key1"),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of("key1"),
+                  Values.of("value1"),
+                  Values.NULL,
+                  Values.NULL,
+                  Values.of(timestamp))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+      ValidatingStargateBridge.QueryAssert row2QueryAssert =
+          withQuery(
+                  insertCql,
+                  Values.of(otherDocumentId),
+                  Values.of("key2"),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of(""),
+                  Values.of("key2"),
+                  Values.NULL,
+                  Values.of(2.2d),
+                  Values.NULL,
+                  Values.of(timestamp))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+
+      String deleteCql =
+          String.format(
+              "DELETE FROM %s.%s USING TIMESTAMP ? WHERE key = ?", keyspaceName, tableName);
+      ValidatingStargateBridge.QueryAssert delete1QueryAssert =
+          withQuery(deleteCql, Values.of(timestamp - 1), Values.of(documentId))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+      ValidatingStargateBridge.QueryAssert delete2QueryAssert =
+          withQuery(deleteCql, Values.of(timestamp - 1), Values.of(otherDocumentId))
+              .inBatch(expectedBatchType)
+              .returningNothing();
+
+      service
+          .writeDocuments(keyspaceName, tableName, documents, true, null, context)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .awaitItem()
+          .assertCompleted();
+
+      row1QueryAssert.assertExecuteCount().isEqualTo(1);
+      row2QueryAssert.assertExecuteCount().isEqualTo(1);
+      delete1QueryAssert.assertExecuteCount().isEqualTo(1);
+      delete2QueryAssert.assertExecuteCount().isEqualTo(1);
+
+      // all in the same batch
+      assertThat(context.toProfile().nested())
+          .singleElement()
+          .satisfies(
+              nested -> {
+                assertThat(nested.description()).isEqualTo("ASYNC UPDATE");
+                assertThat(nested.queries())
+                    .hasSize(2)
+                    .anySatisfy(
+                        queryInfo -> {
+                          assertThat(queryInfo.cql()).isEqualTo(deleteCql);
+                          assertThat(queryInfo.executionCount()).isEqualTo(2);
+                        })
+                    .anySatisfy(
+                        queryInfo -> {
+                          assertThat(queryInfo.cql()).isEqualTo(insertCql);
+                          assertThat(queryInfo.executionCount()).isEqualTo(2);
+                        });
+              });
+    }
+  }
+
   @Nested
   class UpdateDocument {
 
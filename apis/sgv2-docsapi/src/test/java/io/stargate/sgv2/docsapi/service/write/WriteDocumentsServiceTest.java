@@ -36,6 +36,7 @@ import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import io.quarkus.test.junit.mockito.InjectMock;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
 import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.Schema;
@@ -43,6 +44,7 @@ import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
 import io.stargate.sgv2.docsapi.OpenMocksTest;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
+import io.stargate.sgv2.docsapi.api.v2.model.dto.BulkWriteResult;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.MultiDocsResponse;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
@@ -53,16 +55,21 @@ import io.stargate.sgv2.docsapi.service.query.ReadBridgeService;
 import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
 import io.stargate.sgv2.docsapi.service.schema.JsonSchemaManager;
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 @QuarkusTest
@@ -75,6 +82,7 @@ public class WriteDocumentsServiceTest {
       return ImmutableMap.<String, String>builder()
           .put("stargate.document.max-depth", "3")
           .put("stargate.document.max-array-length", "2")
+          .put("stargate.document.bulk-write.max-tracked-ids", "2")
           .build();
     }
   }
@@ -465,6 +473,184 @@ public class WriteDocumentsServiceTest {
     }
   }
 
+  @Nested
+  class WriteDocumentsStream implements OpenMocksTest {
+    @Mock JsonShreddedRow jsonShreddedRow;
+
+    String namespace;
+
+    String collection;
+
+    ExecutionContext context;
+
+    Uni<Schema.CqlTable> table;
+
+    @BeforeEach
+    public void setup() {
+      namespace = RandomStringUtils.randomAlphanumeric(16);
+      collection = RandomStringUtils.randomAlphanumeric(16);
+      context = ExecutionContext.create(true);
+      table = Uni.createFrom().item(Schema.CqlTable.newBuilder().build());
+      when(jsonSchemaManager.validateJsonDocument(any(), any(), anyBoolean()))
+          .thenReturn(Uni.createFrom().item(true));
+      when(jsonDocumentShredder.shred(any(JsonNode.class), eq(Collections.emptyList())))
+          .thenReturn(Collections.singletonList(jsonShreddedRow));
+    }
+
+    @Test
+    public void happyPathGroupedInOneBatch() {
+      String payload = "{\"id\": \"1\"}\n{\"id\": \"2\"}\n{\"id\": \"3\"}\n";
+      when(writeBridgeService.writeDocuments(
+              eq(namespace), eq(collection), any(), eq(true), eq(100), eq(context)))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      List<BulkWriteResult> results =
+          documentWriteService
+              .writeDocumentsStream(
+                  table, namespace, collection, stream(payload), "id", 100, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(results)
+          .containsExactly(
+              new BulkWriteResult(0, "1", null),
+              new BulkWriteResult(1, "2", null),
+              new BulkWriteResult(2, "3", null));
+
+      ArgumentCaptor<Map<String, List<JsonShreddedRow>>> documents =
+          ArgumentCaptor.forClass(Map.class);
+      verify(writeBridgeService)
+          .writeDocuments(
+              eq(namespace), eq(collection), documents.capture(), eq(true), eq(100), eq(context));
+      assertThat(documents.getValue()).containsOnlyKeys("1", "2", "3");
+      verifyNoMoreInteractions(writeBridgeService);
+    }
+
+    @Test
+    public void invalidDocumentsReported() {
+      String payload = "{\"id\": \"1\"}\n{\"id\": \"1\"}\n{\"other\": \"2\"}\n{\"id\": \"3\"}";
+      when(writeBridgeService.writeDocuments(
+              eq(namespace), eq(collection), any(), eq(true), any(), eq(context)))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      List<BulkWriteResult> results =
+          documentWriteService
+              .writeDocumentsStream(
+                  table, namespace, collection, stream(payload), "id", null, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(results)
+          .hasSize(4)
+          .contains(new BulkWriteResult(0, "1", null), new BulkWriteResult(3, "3", null))
+          .anySatisfy(
+              result -> {
+                assertThat(result.index()).isEqualTo(1);
+                assertThat(result.documentId()).isEqualTo("1");
+                assertThat(result.error()).contains("duplicate ID 1");
+              })
+          .anySatisfy(
+              result -> {
+                assertThat(result.index()).isEqualTo(2);
+                assertThat(result.documentId()).isNull();
+                assertThat(result.error()).contains("requires a scalar value at the path /id");
+              });
+    }
+
+    @Test
+    public void duplicateIdsOnlyTrackedInWindow() {
+      String payload = "{\"id\": \"1\"}\n{\"id\": \"2\"}\n{\"id\": \"3\"}\n{\"id\": \"1\"}\n";
+      when(writeBridgeService.writeDocuments(
+              eq(namespace), eq(collection), any(), eq(true), any(), eq(context)))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      List<BulkWriteResult> results =
+          documentWriteService
+              .writeDocumentsStream(
+                  table, namespace, collection, stream(payload), "id", null, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      // only the last 2 IDs are tracked, so the second document 1 is written again
+      assertThat(results)
+          .containsExactlyInAnyOrder(
+              new BulkWriteResult(0, "1", null),
+              new BulkWriteResult(1, "2", null),
+              new BulkWriteResult(2, "3", null),
+              new BulkWriteResult(3, "1", null));
+
+      // but never twice in the same batch
+      ArgumentCaptor<Map<String, List<JsonShreddedRow>>> documents =
+          ArgumentCaptor.forClass(Map.class);
+      verify(writeBridgeService, times(2))
+          .writeDocuments(
+              eq(namespace), eq(collection), documents.capture(), eq(true), any(), eq(context));
+      assertThat(documents.getAllValues())
+          .extracting(Map::keySet)
+          .containsExactlyInAnyOrder(Set.of("1", "2", "3"), Set.of("1"));
+    }
+
+    @Test
+    public void writeFailed() {
+      String payload = "{\"id\": \"1\"}\n{\"id\": \"2\"}";
+      when(writeBridgeService.writeDocuments(
+              eq(namespace), eq(collection), any(), eq(false), any(), eq(context)))
+          .thenReturn(Uni.createFrom().failure(new IOException()));
+
+      List<BulkWriteResult> results =
+          documentWriteService
+              .writeDocumentsStream(
+                  table, namespace, collection, stream(payload), null, null, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(results)
+          .hasSize(2)
+          .allSatisfy(
+              result ->
+                  assertThat(result.error())
+                      .isEqualTo(ErrorCode.DOCS_API_WRITE_BATCH_FAILED.getDefaultMessage()));
+    }
+
+    @Test
+    public void malformedPayload() {
+      String payload = "{\"id\": \"1\"}\n{\"id\": ";
+      when(writeBridgeService.writeDocuments(
+              eq(namespace), eq(collection), any(), eq(true), any(), eq(context)))
+          .thenReturn(Uni.createFrom().item(ResultSet.getDefaultInstance()));
+
+      List<BulkWriteResult> results =
+          documentWriteService
+              .writeDocumentsStream(
+                  table, namespace, collection, stream(payload), "id", null, context)
+              .subscribe()
+              .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+              .awaitCompletion()
+              .getItems();
+
+      assertThat(results)
+          .hasSize(2)
+          .contains(new BulkWriteResult(0, "1", null))
+          .anySatisfy(
+              result -> {
+                assertThat(result.index()).isEqualTo(1);
+                assertThat(result.error()).startsWith("Failed to read the document");
+              });
+    }
+
+    private InputStream stream(String payload) {
+      return new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
   @Nested
   class UpdateDocument implements OpenMocksTest {
 
@@ -7,6 +7,7 @@ import io.stargate.sgv2.api.common.token.CassandraTokenResolver;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import java.util.Optional;
 
 /** Configuration for the GraphQL. */
@@ -28,6 +29,27 @@ public interface GraphQLConfig {
   @Valid
   PlaygroundConfig playground();
 
+  /**
+   * @return Configuration for the cache of parsed and validated GraphQL documents.
+   */
+  @NotNull
+  @Valid
+  DocumentCacheConfig documentCache();
+
+  /**
+   * @return Configuration for the automatic persisted queries.
+   */
+  @NotNull
+  @Valid
+  PersistedQueriesConfig persistedQueries();
+
+  /**
+   * @return Configuration for the execution of the bulk mutations.
+   */
+  @NotNull
+  @Valid
+  BulkMutationConfig bulkMutation();
+
   interface PlaygroundConfig {
 
     /**
@@ -43,4 +65,56 @@ public interface GraphQLConfig {
     @WithDefault(HttpConstants.AUTHENTICATION_TOKEN_HEADER_NAME)
     Optional<@NotBlank String> tokenHeader();
   }
+
+  interface DocumentCacheConfig {
+
+    /**
+     * @return Whether to cache the parsed and validated GraphQL documents, per schema.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * @return The maximum number of cached documents, shared by all schemas.
+     */
+    @Positive
+    @WithDefault("1000")
+    int maxSize();
+  }
+
+  interface PersistedQueriesConfig {
+
+    /**
+     * @return Whether to support the automatic persisted queries protocol, where clients send the
+     *     SHA-256 hash of the query instead of the query text.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * @return The maximum number of persisted queries to keep.
+     */
+    @Positive
+    @WithDefault("1000")
+    int maxSize();
+  }
+
+  interface BulkMutationConfig {
+
+    /**
+     * @return The maximum number of statements or batches of a single bulk mutation that are
+     *     executed concurrently.
+     */
+    @Positive
+    @WithDefault("32")
+    int maxInFlight();
+
+    /**
+     * @return The maximum number of rows of a bulk insert that are grouped in a single unlogged
+     *     batch, when they share the same partition key. Set to 1 to disable the grouping.
+     */
+    @Positive
+    @WithDefault("20")
+    int maxBatchSize();
+  }
 }
@@ -22,6 +22,7 @@ import graphql.execution.SimpleDataFetcherExceptionHandler;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.stargate.sgv2.graphql.web.resources.StargateGraphqlContext;
+import java.util.concurrent.CompletionException;
 
 public class CassandraFetcherExceptionHandler extends SimpleDataFetcherExceptionHandler {
 
@@ -46,6 +47,10 @@ public class CassandraFetcherExceptionHandler extends SimpleDataFetcherException
   }
 
   private boolean isOverloaded(Throwable t) {
+    // asynchronous fetchers fail with the wrapped exception
+    if (t instanceof CompletionException && t.getCause() != null) {
+      t = t.getCause();
+    }
     if (t instanceof StatusRuntimeException e) {
       // This is how the bridge reports Cassandra OVERLOADED errors.
       return e.getStatus().getCode() == Status.Code.RESOURCE_EXHAUSTED;
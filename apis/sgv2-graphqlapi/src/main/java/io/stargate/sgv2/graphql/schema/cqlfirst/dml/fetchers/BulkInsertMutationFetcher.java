@@ -37,10 +37,7 @@ public class BulkInsertMutationFetcher extends BulkMutationFetcher {
   @Override
   protected List<Query> buildQueries(
       DataFetchingEnvironment environment, StargateGraphqlContext context) {
-    boolean ifNotExists =
-        environment.containsArgument("ifNotExists")
-            && environment.getArgument("ifNotExists") != null
-            && (Boolean) environment.getArgument("ifNotExists");
+    boolean ifNotExists = isIfNotExists(environment);
 
     List<Map<String, Object>> valuesToInsert = environment.getArgument("values");
     List<Query> boundQueries = new ArrayList<>(valuesToInsert.size());
@@ -59,6 +56,17 @@ public class BulkInsertMutationFetcher extends BulkMutationFetcher {
     return boundQueries;
   }
 
+  @Override
+  protected boolean isBatchable(DataFetchingEnvironment environment) {
+    return !isIfNotExists(environment);
+  }
+
+  private boolean isIfNotExists(DataFetchingEnvironment environment) {
+    return environment.containsArgument("ifNotExists")
+        && environment.getArgument("ifNotExists") != null
+        && (Boolean) environment.getArgument("ifNotExists");
+  }
+
   private List<ValueModifier> buildInsertValues(Map<String, Object> value) {
 
     List<ValueModifier> modifiers = new ArrayList<>();
@@ -19,27 +19,35 @@ import static io.stargate.sgv2.graphql.schema.SchemaConstants.ASYNC_DIRECTIVE;
 import static io.stargate.sgv2.graphql.schema.SchemaConstants.ATOMIC_DIRECTIVE;
 import static java.util.stream.Stream.concat;
 
+import com.google.common.collect.Lists;
 import graphql.GraphQLException;
 import graphql.language.OperationDefinition;
 import graphql.schema.DataFetchingEnvironment;
 import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.bridge.proto.QueryOuterClass.Query;
 import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
 import io.stargate.bridge.proto.Schema;
+import io.stargate.sgv2.graphql.config.GraphQLConfig;
 import io.stargate.sgv2.graphql.schema.cqlfirst.dml.NameMapping;
 import io.stargate.sgv2.graphql.web.resources.StargateGraphqlContext;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class BulkMutationFetcher
     extends DmlFetcher<CompletionStage<List<Map<String, Object>>>> {
 
+  private static final Logger LOG = LoggerFactory.getLogger(BulkMutationFetcher.class);
+
   protected BulkMutationFetcher(
       String keyspaceName, Schema.CqlTable table, NameMapping nameMapping) {
     super(keyspaceName, table, nameMapping);
@@ -76,24 +84,149 @@ public abstract class BulkMutationFetcher
     List<Map<String, Object>> values = environment.getArgument("values");
     assert values.size() == queries.size(); // per the contract of buildQueries()
 
-    List<CompletionStage<Map<String, Object>>> results = new ArrayList<>(values.size());
     QueryParameters parameters = buildParameters(environment);
-    boolean isAsync = containsDirective(operation, ASYNC_DIRECTIVE);
-    for (int i = 0; i < queries.size(); i++) {
-      int finalI = i;
-      // Execute as a single statement
-      Query query = Query.newBuilder(queries.get(i)).setParameters(parameters).build();
-      if (isAsync) {
-        results.add(executeAsyncAccepted(query, values.get(finalI), context));
-      } else {
-        results.add(
-            context
-                .getBridge()
-                .executeQueryAsync(query)
-                .thenApply(rs -> toMutationResult(rs, values.get(finalI))));
+    GraphQLConfig.BulkMutationConfig config = context.getBulkMutationConfig();
+    int maxBatchSize = isBatchable(environment) ? config.maxBatchSize() : 1;
+    List<List<Integer>> chunks = chunk(values, maxBatchSize);
+    CompletionStage<List<Map<String, Object>>> results =
+        executeChunks(chunks, queries, values, parameters, config.maxInFlight(), context);
+
+    if (containsDirective(operation, ASYNC_DIRECTIVE)) {
+      results.whenComplete(
+          (r, throwable) -> {
+            if (throwable != null) {
+              LOG.warn(
+                  String.format(
+                      "The bulk mutation on %s.%s executed within the %s directive failed.",
+                      keyspaceName, table.getName(), ASYNC_DIRECTIVE),
+                  throwable);
+            }
+          });
+      // complete immediately with accepted=true without waiting for the results
+      return toListOfAcceptedMutationResults(values);
+    } else {
+      return results;
+    }
+  }
+
+  /**
+   * Whether the rows of this mutation that share the same partition key can be grouped in unlogged
+   * batches. This is not the case for conditional mutations, because a batch with conditions has a
+   * single applied result, while each row must report its own.
+   */
+  protected boolean isBatchable(DataFetchingEnvironment environment) {
+    return false;
+  }
+
+  /**
+   * Groups the indexes of the values that share the same partition key, in chunks of at most
+   * {@code maxBatchSize} elements. Values with an incomplete partition key are never grouped.
+   */
+  private List<List<Integer>> chunk(List<Map<String, Object>> values, int maxBatchSize) {
+    Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < values.size(); i++) {
+      Object key = maxBatchSize > 1 ? partitionKey(values.get(i)) : null;
+      if (key == null) {
+        // not grouped with any other value
+        key = new Object();
+      }
+      groups.computeIfAbsent(key, __ -> new ArrayList<>()).add(i);
+    }
+    List<List<Integer>> chunks = new ArrayList<>();
+    for (List<Integer> group : groups.values()) {
+      chunks.addAll(Lists.partition(group, maxBatchSize));
+    }
+    return chunks;
+  }
+
+  private List<Object> partitionKey(Map<String, Object> value) {
+    List<Object> partitionKey = new ArrayList<>(table.getPartitionKeyColumnsCount());
+    for (ColumnSpec column : table.getPartitionKeyColumnsList()) {
+      Object component = value.get(nameMapping.getGraphqlName(table, column));
+      if (component == null) {
+        return null;
       }
+      partitionKey.add(component);
+    }
+    return partitionKey;
+  }
+
+  /**
+   * Executes the chunks with at most {@code maxInFlight} of them concurrently, and returns the
+   * results in the order of the values.
+   *
+   * <p>The chunks are distributed over {@code maxInFlight} lanes, and each lane executes its chunks
+   * sequentially. A failed chunk does not prevent the next ones from executing, but fails the
+   * overall result.
+   */
+  private CompletionStage<List<Map<String, Object>>> executeChunks(
+      List<List<Integer>> chunks,
+      List<Query> queries,
+      List<Map<String, Object>> values,
+      QueryParameters parameters,
+      int maxInFlight,
+      StargateGraphqlContext context) {
+    int laneCount = Math.max(1, Math.min(maxInFlight, chunks.size()));
+    List<CompletionStage<?>> lanes =
+        new ArrayList<>(Collections.nCopies(laneCount, CompletableFuture.completedFuture(null)));
+    List<CompletionStage<List<Map<String, Object>>>> chunkResults = new ArrayList<>(chunks.size());
+    for (int i = 0; i < chunks.size(); i++) {
+      List<Integer> chunk = chunks.get(i);
+      int lane = i % laneCount;
+      CompletionStage<List<Map<String, Object>>> chunkResult =
+          lanes
+              .get(lane)
+              .thenCompose(__ -> executeChunk(chunk, queries, values, parameters, context));
+      chunkResults.add(chunkResult);
+      lanes.set(lane, chunkResult.handle((r, throwable) -> null));
+    }
+
+    return convert(chunkResults)
+        .thenApply(
+            results -> {
+              List<Map<String, Object>> ordered =
+                  new ArrayList<>(Collections.nCopies(values.size(), null));
+              for (int i = 0; i < chunks.size(); i++) {
+                List<Integer> chunk = chunks.get(i);
+                for (int j = 0; j < chunk.size(); j++) {
+                  ordered.set(chunk.get(j), results.get(i).get(j));
+                }
+              }
+              return ordered;
+            });
+  }
+
+  private CompletionStage<List<Map<String, Object>>> executeChunk(
+      List<Integer> chunk,
+      List<Query> queries,
+      List<Map<String, Object>> values,
+      QueryParameters parameters,
+      StargateGraphqlContext context) {
+    if (chunk.size() == 1) {
+      // Execute as a single statement
+      int index = chunk.get(0);
+      Query query = Query.newBuilder(queries.get(index)).setParameters(parameters).build();
+      return context
+          .getBridge()
+          .executeQueryAsync(query)
+          .thenApply(
+              response -> Collections.singletonList(toMutationResult(response, values.get(index))));
+    }
+
+    // Same partition key, execute as an unlogged batch
+    QueryOuterClass.Batch.Builder batch =
+        QueryOuterClass.Batch.newBuilder()
+            .setType(QueryOuterClass.Batch.Type.UNLOGGED)
+            .setParameters(StargateGraphqlContext.BatchContext.toBatchParameters(parameters));
+    List<Map<String, Object>> chunkValues = new ArrayList<>(chunk.size());
+    for (int index : chunk) {
+      batch.addQueries(StargateGraphqlContext.BatchContext.toBatchQuery(queries.get(index)));
+      chunkValues.add(values.get(index));
     }
-    return convert(results);
+    return context
+        .getBridge()
+        .executeBatchAsync(batch.build())
+        .thenApply(response -> toBatchResults(response, chunkValues));
   }
 
   private CompletionStage<List<Map<String, Object>>> executeAsPartOfBatch(
@@ -58,7 +58,10 @@ abstract class DeploySchemaFetcherBase extends CassandraFetcher<DeploySchemaResp
     List<MigrationQuery> queries;
     ProcessedSchema processedSchema;
     try {
-      processedSchema = new SchemaProcessor(context.getBridge(), false).process(input, keyspace);
+      processedSchema =
+          new SchemaProcessor(
+                  context.getBridge(), false, context.getGraphqlCache().getMeterRegistry())
+              .process(input, keyspace);
       response.setLogs(processedSchema.getLogs());
 
       queries =
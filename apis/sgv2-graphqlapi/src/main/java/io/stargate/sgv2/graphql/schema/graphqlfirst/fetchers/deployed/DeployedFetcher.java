@@ -27,6 +27,7 @@ import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.bridge.proto.QueryOuterClass.Query;
 import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
 import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.QueryOuterClass.Row;
 import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
@@ -36,6 +37,7 @@ import io.stargate.bridge.proto.QueryOuterClass.Value;
 import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
 import io.stargate.sgv2.api.common.cql.builder.BuiltCondition;
 import io.stargate.sgv2.api.common.cql.builder.QueryBuilder;
+import io.stargate.sgv2.api.common.futures.Futures;
 import io.stargate.sgv2.api.common.grpc.proto.Rows;
 import io.stargate.sgv2.graphql.schema.CassandraFetcher;
 import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.ConditionModel;
@@ -59,6 +61,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -319,6 +322,17 @@ abstract class DeployedFetcher<ResultT> extends CassandraFetcher<ResultT> {
       Optional<Integer> limit,
       QueryParameters parameters,
       StargateGraphqlContext context) {
+    return Futures.getUninterruptibly(
+        queryAsync(entity, whereConditions, limit, parameters, context));
+  }
+
+  /** Same as {@link #query}, but without blocking. */
+  protected CompletionStage<ResultSet> queryAsync(
+      EntityModel entity,
+      List<BuiltCondition> whereConditions,
+      Optional<Integer> limit,
+      QueryParameters parameters,
+      StargateGraphqlContext context) {
 
     Query query =
         new QueryBuilder()
@@ -331,7 +345,7 @@ abstract class DeployedFetcher<ResultT> extends CassandraFetcher<ResultT> {
             .parameters(parameters)
             .build();
 
-    return context.getBridge().executeQuery(query).getResultSet();
+    return context.getBridge().executeQueryAsync(query).thenApply(Response::getResultSet);
   }
 
   protected Map<String, Object> toSingleEntity(ResultSet resultSet, EntityModel entity) {
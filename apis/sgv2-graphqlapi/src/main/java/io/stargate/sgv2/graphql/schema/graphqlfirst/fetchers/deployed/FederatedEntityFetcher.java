@@ -17,47 +17,112 @@ package io.stargate.sgv2.graphql.schema.graphqlfirst.fetchers.deployed;
 
 import com.apollographql.federation.graphqljava._Entity;
 import graphql.schema.DataFetchingEnvironment;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
+import io.stargate.bridge.proto.QueryOuterClass.Row;
+import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
+import io.stargate.bridge.proto.QueryOuterClass.Value;
 import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
 import io.stargate.sgv2.api.common.cql.builder.BuiltCondition;
+import io.stargate.sgv2.api.common.cql.builder.Literal;
+import io.stargate.sgv2.api.common.cql.builder.Predicate;
+import io.stargate.sgv2.api.common.futures.Futures;
+import io.stargate.sgv2.api.common.grpc.proto.Rows;
 import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.EntityModel;
+import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.FieldModel;
 import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.MappingModel;
 import io.stargate.sgv2.graphql.web.resources.StargateGraphqlContext;
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Executes the {@code _entities} query of GraphQL federation.
  *
+ * <p>Representations are grouped by entity type, and each group is fetched in as few queries as
+ * possible: if the primary key of the entity is a single column, all the entities are read with
+ * {@code IN} queries; otherwise, there is one query per entity, executed concurrently (up to {@link
+ * #MAX_CONCURRENT_QUERIES} at a time). In both cases the results are returned in the order of the
+ * representations.
+ *
  * @see <a
  *     href="https://www.apollographql.com/docs/federation/federation-spec/#resolve-requests-for-entities">The
  *     Apollo Federation spec</a>
  */
 public class FederatedEntityFetcher extends DeployedFetcher<List<FederatedEntity>> {
 
+  /** The maximum number of keys in a single {@code IN} query. */
+  static final int MAX_IN_VALUES = 100;
+
+  /** The maximum number of single-entity queries in flight for a given call. */
+  static final int MAX_CONCURRENT_QUERIES = 16;
+
   private final MappingModel mappingModel;
+  private final DistributionSummary representationsSummary;
 
-  public FederatedEntityFetcher(MappingModel mappingModel, CqlKeyspaceDescribe keyspace) {
+  public FederatedEntityFetcher(
+      MappingModel mappingModel, CqlKeyspaceDescribe keyspace, MeterRegistry meterRegistry) {
     super(mappingModel, keyspace);
     this.mappingModel = mappingModel;
+    this.representationsSummary =
+        DistributionSummary.builder("graphql.federation.representations")
+            .description("The number of representations per _entities call")
+            .register(meterRegistry);
   }
 
   @Override
   protected List<FederatedEntity> get(
       DataFetchingEnvironment environment, StargateGraphqlContext context) {
 
-    List<FederatedEntity> result = new ArrayList<>();
-    for (Map<String, Object> representation :
-        environment.<List<Map<String, Object>>>getArgument(_Entity.argumentName)) {
-      result.add(getEntity(representation, context));
+    List<Map<String, Object>> representations =
+        environment.<List<Map<String, Object>>>getArgument(_Entity.argumentName);
+    representationsSummary.record(representations.size());
+
+    // Validate and bind everything first, so that an invalid representation fails the call before
+    // any query is executed
+    Map<EntityModel, List<Integer>> indicesByEntity = new LinkedHashMap<>();
+    List<List<BuiltCondition>> whereConditions = new ArrayList<>(representations.size());
+    for (int i = 0; i < representations.size(); i++) {
+      Map<String, Object> representation = representations.get(i);
+      EntityModel entityModel = getEntityModel(representation);
+      indicesByEntity.computeIfAbsent(entityModel, __ -> new ArrayList<>()).add(i);
+      whereConditions.add(
+          bindWhere(
+              entityModel.getPrimaryKeyWhereConditions(),
+              representation::containsKey,
+              representation::get,
+              entityModel::validateNoFiltering,
+              keyspace));
     }
-    return result;
+
+    FederatedEntity[] result = new FederatedEntity[representations.size()];
+    List<CompletionStage<Void>> groups = new ArrayList<>();
+    for (Map.Entry<EntityModel, List<Integer>> entry : indicesByEntity.entrySet()) {
+      EntityModel entityModel = entry.getKey();
+      List<Integer> indices = entry.getValue();
+      groups.add(
+          canBatch(entityModel, indices)
+              ? fetchBatched(entityModel, indices, whereConditions, result, context)
+              : fetchOneByOne(entityModel, indices, whereConditions, result, context));
+    }
+    Futures.getUninterruptibly(Futures.sequence(groups));
+    return Arrays.asList(result);
   }
 
-  private FederatedEntity getEntity(
-      Map<String, Object> representation, StargateGraphqlContext context) {
+  private EntityModel getEntityModel(Map<String, Object> representation) {
     Object rawTypeName = representation.get("__typename");
     if (!(rawTypeName instanceof String)) {
       throw new IllegalArgumentException(
@@ -69,16 +134,125 @@ public class FederatedEntityFetcher extends DeployedFetcher<List<FederatedEntity
     if (entityModel == null) {
       throw new IllegalArgumentException(String.format("Unknown entity type %s", entityName));
     }
-    List<BuiltCondition> whereConditions =
-        bindWhere(
-            entityModel.getPrimaryKeyWhereConditions(),
-            representation::containsKey,
-            representation::get,
-            entityModel::validateNoFiltering,
-            keyspace);
-    ResultSet resultSet =
-        query(entityModel, whereConditions, Optional.empty(), DEFAULT_PARAMETERS, context);
-    Map<String, Object> entity = toSingleEntity(resultSet, entityModel);
-    return FederatedEntity.wrap(entityModel, entity);
+    return entityModel;
+  }
+
+  /**
+   * Whether the entities can be fetched with an {@code IN} query: that requires the key to be a
+   * single column, of a type that we can match the result rows against.
+   */
+  private boolean canBatch(EntityModel entityModel, List<Integer> indices) {
+    List<FieldModel> primaryKey = entityModel.getPrimaryKey();
+    return indices.size() > 1
+        && primaryKey.size() == 1
+        && primaryKey.get(0).getCqlType().getSpecCase() == TypeSpec.SpecCase.BASIC;
+  }
+
+  private CompletionStage<Void> fetchBatched(
+      EntityModel entityModel,
+      List<Integer> indices,
+      List<List<BuiltCondition>> whereConditions,
+      FederatedEntity[] result,
+      StargateGraphqlContext context) {
+
+    FieldModel keyField = entityModel.getPrimaryKey().get(0);
+    String keyColumn = keyField.getCqlName();
+    Set<Value> keys = new LinkedHashSet<>();
+    for (int i : indices) {
+      keys.add(keyOf(whereConditions.get(i)));
+    }
+
+    List<CompletionStage<ResultSet>> chunks = new ArrayList<>();
+    List<Value> chunk = new ArrayList<>(Math.min(keys.size(), MAX_IN_VALUES));
+    for (Value key : keys) {
+      chunk.add(key);
+      if (chunk.size() == MAX_IN_VALUES) {
+        chunks.add(queryIn(entityModel, keyColumn, chunk, context));
+        chunk = new ArrayList<>(MAX_IN_VALUES);
+      }
+    }
+    if (!chunk.isEmpty()) {
+      chunks.add(queryIn(entityModel, keyColumn, chunk, context));
+    }
+
+    return Futures.sequence(chunks)
+        .thenAccept(
+            resultSets -> {
+              Map<Object, FederatedEntity> entitiesByKey = new HashMap<>();
+              for (ResultSet resultSet : resultSets) {
+                List<ColumnSpec> columns = resultSet.getColumnsList();
+                for (Row row : resultSet.getRowsList()) {
+                  Map<String, Object> entity = new HashMap<>();
+                  copyRowToEntity(row, columns, entity, entityModel);
+                  entitiesByKey.put(
+                      decodeKey(Rows.getValue(row, keyColumn, columns), keyField),
+                      FederatedEntity.wrap(entityModel, entity));
+                }
+              }
+              for (int i : indices) {
+                result[i] = entitiesByKey.get(decodeKey(keyOf(whereConditions.get(i)), keyField));
+              }
+            });
+  }
+
+  private CompletionStage<ResultSet> queryIn(
+      EntityModel entityModel, String keyColumn, List<Value> keys, StargateGraphqlContext context) {
+    return queryAsync(
+        entityModel,
+        Collections.singletonList(BuiltCondition.of(keyColumn, Predicate.IN, Values.of(keys))),
+        Optional.empty(),
+        DEFAULT_PARAMETERS,
+        context);
+  }
+
+  /**
+   * Fetches the entities with one query each. The queries are spread over a bounded number of
+   * "lanes", where each query starts when the previous one in the same lane completes.
+   */
+  private CompletionStage<Void> fetchOneByOne(
+      EntityModel entityModel,
+      List<Integer> indices,
+      List<List<BuiltCondition>> whereConditions,
+      FederatedEntity[] result,
+      StargateGraphqlContext context) {
+
+    int laneCount = Math.min(indices.size(), MAX_CONCURRENT_QUERIES);
+    List<CompletionStage<Void>> lanes = new ArrayList<>(laneCount);
+    for (int lane = 0; lane < laneCount; lane++) {
+      CompletionStage<Void> chain = CompletableFuture.completedFuture(null);
+      for (int position = lane; position < indices.size(); position += laneCount) {
+        int i = indices.get(position);
+        chain =
+            chain.thenCompose(
+                __ ->
+                    queryAsync(
+                            entityModel,
+                            whereConditions.get(i),
+                            Optional.empty(),
+                            DEFAULT_PARAMETERS,
+                            context)
+                        .thenAccept(
+                            resultSet ->
+                                result[i] =
+                                    FederatedEntity.wrap(
+                                        entityModel, toSingleEntity(resultSet, entityModel))));
+      }
+      lanes.add(chain);
+    }
+    return Futures.sequence(lanes).thenApply(__ -> null);
+  }
+
+  private static Value keyOf(List<BuiltCondition> whereConditions) {
+    // canBatch() guarantees a single EQ condition
+    return ((Literal) whereConditions.get(0).value()).get();
+  }
+
+  /**
+   * Decodes a key to its Java value, so that the keys we bound match the ones in the result rows
+   * even if they are encoded differently (e.g. decimals with different scales).
+   */
+  private Object decodeKey(Value key, FieldModel keyField) {
+    Object value = toGraphqlValue(key, keyField.getCqlType(), keyField.getGraphqlType());
+    return value instanceof BigDecimal ? ((BigDecimal) value).stripTrailingZeros() : value;
   }
 }
@@ -54,6 +54,7 @@ import graphql.schema.idl.errors.SchemaProblem;
 import graphql.util.TraversalControl;
 import graphql.util.TraverserContext;
 import graphql.util.TreeTransformerUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
 import io.stargate.sgv2.api.common.grpc.StargateBridgeClient;
 import io.stargate.sgv2.graphql.schema.CassandraFetcherExceptionHandler;
@@ -92,14 +93,18 @@ public class SchemaProcessor {
 
   private final StargateBridgeClient bridge;
   private final boolean isPersisted;
+  private final MeterRegistry meterRegistry;
 
   /**
    * @param isPersisted whether we are processing a schema already stored in the database, or a
    *     schema that a user is attempting to deploy. This is just used to customize a couple of
+   * @param meterRegistry where the generated fetchers register their metrics.
    */
-  public SchemaProcessor(StargateBridgeClient bridge, boolean isPersisted) {
+  public SchemaProcessor(
+      StargateBridgeClient bridge, boolean isPersisted, MeterRegistry meterRegistry) {
     this.bridge = bridge;
     this.isPersisted = isPersisted;
+    this.meterRegistry = meterRegistry;
   }
 
   /**
@@ -221,7 +226,7 @@ public class SchemaProcessor {
     if (mappingModel.hasFederatedEntities()) {
       GraphQLSchema federationReadySchema =
           Federation.transform(schema)
-              .fetchEntities(new FederatedEntityFetcher(mappingModel, keyspace))
+              .fetchEntities(new FederatedEntityFetcher(mappingModel, keyspace, meterRegistry))
               .resolveEntityType(
                   environment -> {
                     FederatedEntity entity = environment.getObject();
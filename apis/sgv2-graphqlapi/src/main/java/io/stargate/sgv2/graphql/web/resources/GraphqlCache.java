@@ -19,7 +19,9 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import graphql.GraphQL;
 import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.schema.GraphQLSchema;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.api.common.futures.Futures;
@@ -51,19 +53,51 @@ import java.util.concurrent.atomic.AtomicReference;
 @ApplicationScoped
 public class GraphqlCache {
 
-  private final GraphQL ddlGraphql = newGraphql(SchemaFactory.newDdlSchema());
-  private final GraphQL schemaFirstAdminGraphql = newGraphql(new AdminSchemaBuilder().build());
+  private static final String DDL_SCHEMA_NAME = "ddl";
+  private static final String ADMIN_SCHEMA_NAME = "admin";
+
+  private final GraphqlDocumentCache documentCache;
+
+  private final MeterRegistry meterRegistry;
+
+  private final GraphQL ddlGraphql;
+  private final GraphQL schemaFirstAdminGraphql;
 
   private final boolean enableDefaultKeyspace;
 
+  private final GraphQLConfig.BulkMutationConfig bulkMutationConfig;
+
   private volatile CompletionStage<Optional<String>> defaultKeyspaceName;
 
   private final Cache<String, GraphqlHolder> dmlGraphqlCache =
       Caffeine.newBuilder().maximumSize(1000).expireAfterAccess(5, TimeUnit.MINUTES).build();
 
   @Inject
-  public GraphqlCache(GraphQLConfig graphQLConfig) {
+  public GraphqlCache(
+      GraphQLConfig graphQLConfig,
+      GraphqlDocumentCache documentCache,
+      MeterRegistry meterRegistry) {
     this.enableDefaultKeyspace = graphQLConfig.enableDefaultKeyspace();
+    this.bulkMutationConfig = graphQLConfig.bulkMutation();
+    this.documentCache = documentCache;
+    this.meterRegistry = meterRegistry;
+    this.ddlGraphql =
+        newGraphql(SchemaFactory.newDdlSchema(), documentCache.newProvider(DDL_SCHEMA_NAME));
+    this.schemaFirstAdminGraphql =
+        newGraphql(
+            new AdminSchemaBuilder().build(), documentCache.newProvider(ADMIN_SCHEMA_NAME));
+  }
+
+  public GraphqlDocumentCache getDocumentCache() {
+    return documentCache;
+  }
+
+  public MeterRegistry getMeterRegistry() {
+    return meterRegistry;
+  }
+
+  public GraphQLConfig.BulkMutationConfig getBulkMutationConfig() {
+    return bulkMutationConfig;
   }
 
   public GraphQL getDdl() {
@@ -83,7 +117,11 @@ public class GraphqlCache {
 
     String decoratedKeyspaceName = bridge.decorateKeyspaceName(keyspaceName);
     GraphqlHolder holder =
-        dmlGraphqlCache.get(decoratedKeyspaceName, __ -> new GraphqlHolder(keyspaceName));
+        dmlGraphqlCache.get(
+            decoratedKeyspaceName,
+            __ ->
+                new GraphqlHolder(
+                    keyspaceName, decoratedKeyspaceName, documentCache, meterRegistry));
     assert holder != null;
     return holder.getGraphql(bridge);
   }
@@ -101,7 +139,11 @@ public class GraphqlCache {
       Schema.CqlKeyspaceDescribe keyspaceDescribe, SchemaSource newSource, GraphQL graphql) {
     Schema.CqlKeyspace keyspace = keyspaceDescribe.getCqlKeyspace();
     GraphqlHolder holder =
-        dmlGraphqlCache.get(keyspace.getGlobalName(), __ -> new GraphqlHolder(keyspace.getName()));
+        dmlGraphqlCache.get(
+            keyspace.getGlobalName(),
+            __ ->
+                new GraphqlHolder(
+                    keyspace.getName(), keyspace.getGlobalName(), documentCache, meterRegistry));
     assert holder != null;
     holder.putGraphql(graphql, keyspaceDescribe.getHash().getValue(), newSource);
   }
@@ -128,22 +170,35 @@ public class GraphqlCache {
     return Futures.getUninterruptibly(getDefaultKeyspaceNameAsync(bridge));
   }
 
-  private static GraphQL newGraphql(GraphQLSchema schema) {
+  private static GraphQL newGraphql(
+      GraphQLSchema schema, PreparsedDocumentProvider preparsedDocumentProvider) {
     return GraphQL.newGraphQL(schema)
         .defaultDataFetcherExceptionHandler(CassandraFetcherExceptionHandler.INSTANCE)
         // Use parallel execution strategy for mutations (serial is default)
         .mutationExecutionStrategy(
             new AsyncExecutionStrategy(CassandraFetcherExceptionHandler.INSTANCE))
+        .preparsedDocumentProvider(preparsedDocumentProvider)
         .build();
   }
 
   static class GraphqlHolder {
 
     private final String keyspaceName;
+    // The decorated keyspace name, identifies the schema in the document cache
+    private final String schemaName;
+    private final GraphqlDocumentCache documentCache;
+    private final MeterRegistry meterRegistry;
     private final AtomicReference<GraphqlHolderState> stateRef = new AtomicReference<>(null);
 
-    GraphqlHolder(String keyspaceName) {
+    GraphqlHolder(
+        String keyspaceName,
+        String schemaName,
+        GraphqlDocumentCache documentCache,
+        MeterRegistry meterRegistry) {
       this.keyspaceName = keyspaceName;
+      this.schemaName = schemaName;
+      this.documentCache = documentCache;
+      this.meterRegistry = meterRegistry;
     }
 
     CompletionStage<Optional<GraphQL>> getGraphql(StargateBridgeClient bridge) {
@@ -161,7 +216,9 @@ public class GraphqlCache {
 
     // Handles a possible state change when we know the keyspace doesn't exist.
     private CompletionStage<Optional<GraphQL>> handleMissing() {
-      stateRef.set(null);
+      if (stateRef.getAndSet(null) != null) {
+        documentCache.invalidate(schemaName);
+      }
       return CompletableFuture.completedFuture(Optional.empty());
     }
 
@@ -183,6 +240,8 @@ public class GraphqlCache {
               return oldState.graphqlFuture;
             } else if (stateRef.compareAndSet(oldState, newState)) {
               // We installed our new state, it is our responsibility to recompute
+              // (documents parsed against the previous schema are no longer usable)
+              documentCache.invalidate(schemaName);
               compute(keyspace, maybeSource, bridge, newState.graphqlFuture);
             } else {
               // Another thread beat us to computing. Assume this is at least our keyspace
@@ -209,20 +268,29 @@ public class GraphqlCache {
     private GraphQL computeSchemaFirst(
         Schema.CqlKeyspaceDescribe keyspace, StargateBridgeClient bridge, SchemaSource source) {
       ProcessedSchema processedSchema =
-          new SchemaProcessor(bridge, true).process(source.getContents(), keyspace);
+          new SchemaProcessor(bridge, true, meterRegistry)
+              .process(source.getContents(), keyspace);
       // Check that the data model still matches
       CassandraMigrator.forPersisted().compute(processedSchema.getMappingModel(), keyspace);
-      return processedSchema.getGraphql();
+      return withDocumentCache(processedSchema.getGraphql());
     }
 
     private GraphQL computeCqlFirst(Schema.CqlKeyspaceDescribe keyspace) {
-      return newGraphql(SchemaFactory.newDmlSchema(keyspace));
+      return newGraphql(
+          SchemaFactory.newDmlSchema(keyspace), documentCache.newProvider(schemaName));
+    }
+
+    // Schema-first GraphQL instances are built by the SchemaProcessor, add the provider
+    private GraphQL withDocumentCache(GraphQL graphql) {
+      PreparsedDocumentProvider provider = documentCache.newProvider(schemaName);
+      return graphql.transform(builder -> builder.preparsedDocumentProvider(provider));
     }
 
     void putGraphql(GraphQL graphql, int hash, SchemaSource newSource) {
       GraphqlHolderState newState = new GraphqlHolderState(hash, Optional.of(newSource));
-      newState.graphqlFuture.complete(Optional.of(graphql));
+      newState.graphqlFuture.complete(Optional.of(withDocumentCache(graphql)));
       stateRef.set(newState);
+      documentCache.invalidate(schemaName);
     }
   }
 
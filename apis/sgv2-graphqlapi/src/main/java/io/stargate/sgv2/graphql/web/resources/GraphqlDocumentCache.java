@@ -0,0 +1,188 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.stargate.sgv2.graphql.config.GraphQLConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caches the parsed and validated GraphQL documents, so that the same operations are not parsed
+ * and validated against the (possibly large) schemas on every request. Also stores the queries
+ * registered with the automatic persisted queries protocol.
+ *
+ * <p>Each {@link GraphQL} instance uses its own {@link PreparsedDocumentProvider}, obtained with
+ * {@link #newProvider(String)}. The cached entries are keyed by the schema name, the provider and
+ * the query text, so an entry can never be used with a different schema. When {@link GraphqlCache}
+ * replaces the {@link GraphQL} of a schema, it calls {@link #invalidate(String)} to free the
+ * entries of the previous instance.
+ */
+@ApplicationScoped
+public class GraphqlDocumentCache {
+
+  private final boolean documentCacheEnabled;
+
+  private final boolean persistedQueriesEnabled;
+
+  private final Cache<DocumentKey, PreparsedDocumentEntry> documents;
+
+  // sha256 hash to the query text
+  private final Cache<String, String> persistedQueries;
+
+  @Inject
+  public GraphqlDocumentCache(GraphQLConfig graphQLConfig, MeterRegistry meterRegistry) {
+    GraphQLConfig.DocumentCacheConfig documentCacheConfig = graphQLConfig.documentCache();
+    GraphQLConfig.PersistedQueriesConfig persistedQueriesConfig = graphQLConfig.persistedQueries();
+    this.documentCacheEnabled = documentCacheConfig.enabled();
+    this.persistedQueriesEnabled = persistedQueriesConfig.enabled();
+    this.documents =
+        Caffeine.newBuilder().maximumSize(documentCacheConfig.maxSize()).recordStats().build();
+    this.persistedQueries =
+        Caffeine.newBuilder().maximumSize(persistedQueriesConfig.maxSize()).recordStats().build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, documents, "graphql.documents");
+    CaffeineCacheMetrics.monitor(meterRegistry, persistedQueries, "graphql.persisted.queries");
+  }
+
+  /**
+   * Creates a new document provider for a {@link GraphQL} instance of the given schema.
+   *
+   * @param schemaName Name of the schema, for example the decorated keyspace name.
+   * @return PreparsedDocumentProvider, a no-op one if the document cache is disabled
+   */
+  public PreparsedDocumentProvider newProvider(String schemaName) {
+    if (!documentCacheEnabled) {
+      return NoOpPreparsedDocumentProvider.INSTANCE;
+    }
+    return new SchemaDocumentProvider(schemaName);
+  }
+
+  /**
+   * Removes all the cached documents of the given schema.
+   *
+   * @param schemaName Name of the schema.
+   */
+  public void invalidate(String schemaName) {
+    documents.asMap().keySet().removeIf(key -> key.schemaName.equals(schemaName));
+  }
+
+  /**
+   * @return If the automatic persisted queries protocol is supported.
+   */
+  public boolean isPersistedQueriesEnabled() {
+    return persistedQueriesEnabled;
+  }
+
+  /**
+   * @param hash SHA-256 hash of the query, as a hex string
+   * @return The persisted query text, if known.
+   */
+  public Optional<String> getPersistedQuery(String hash) {
+    return Optional.ofNullable(persistedQueries.getIfPresent(hash.toLowerCase()));
+  }
+
+  /**
+   * Stores the query for the given hash.
+   *
+   * @param hash SHA-256 hash of the query, as a hex string
+   * @param query Query text
+   * @return <code>false</code> if the hash does not match the query, in which case nothing is
+   *     stored
+   */
+  public boolean putPersistedQuery(String hash, String query) {
+    if (!sha256(query).equalsIgnoreCase(hash)) {
+      return false;
+    }
+    persistedQueries.put(hash.toLowerCase(), query);
+    return true;
+  }
+
+  static String sha256(String query) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // every JVM is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  class SchemaDocumentProvider implements PreparsedDocumentProvider {
+
+    private final String schemaName;
+
+    SchemaDocumentProvider(String schemaName) {
+      this.schemaName = schemaName;
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(
+        ExecutionInput executionInput,
+        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+      DocumentKey key = new DocumentKey(schemaName, this, executionInput.getQuery());
+      return documents.get(key, __ -> parseAndValidateFunction.apply(executionInput));
+    }
+  }
+
+  static class DocumentKey {
+
+    final String schemaName;
+    // compared by identity, ties the entry to a single GraphQL instance
+    final PreparsedDocumentProvider provider;
+    final String query;
+
+    DocumentKey(String schemaName, PreparsedDocumentProvider provider, String query) {
+      this.schemaName = schemaName;
+      this.provider = provider;
+      this.query = query;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (other == this) {
+        return true;
+      } else if (other instanceof DocumentKey) {
+        DocumentKey that = (DocumentKey) other;
+        return this.provider == that.provider
+            && this.schemaName.equals(that.schemaName)
+            && this.query.equals(that.query);
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(schemaName, System.identityHashCode(provider), query);
+    }
+  }
+}
@@ -20,7 +20,6 @@ import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.GraphqlErrorException;
-import graphql.com.google.common.base.MoreObjects;
 import graphql.com.google.common.base.Splitter;
 import graphql.com.google.common.base.Strings;
 import graphql.com.google.common.collect.ImmutableList;
@@ -54,22 +53,43 @@ public abstract class GraphqlResourceBase {
 
   private final ObjectMapper objectMapper;
 
-  protected GraphqlResourceBase(ObjectMapper objectMapper) {
+  private final GraphqlDocumentCache documentCache;
+
+  protected GraphqlResourceBase(ObjectMapper objectMapper, GraphqlDocumentCache documentCache) {
     this.objectMapper = objectMapper;
+    this.documentCache = documentCache;
   }
 
   /**
    * Handles a GraphQL GET request.
    *
-   * <p>The payload is provided via URL parameters.
+   * <p>The payload is provided via URL parameters. The extensions can carry a persisted query hash,
+   * in which case the query can be omitted (see {@link #resolveQuery(String, Map)}).
    */
   protected Uni<RestResponse<?>> get(
-      String query, String operationName, String variables, GraphQL graphql, Object context) {
+      String query,
+      String operationName,
+      String variables,
+      String extensions,
+      GraphQL graphql,
+      Object context) {
 
     return Uni.createFrom()
         .deferred(
             () -> {
-              if (Strings.isNullOrEmpty(query)) {
+              Map<String, Object> parsedExtensions;
+              try {
+                parsedExtensions = parseJsonParameter(extensions);
+              } catch (IOException e) {
+                return Uni.createFrom()
+                    .failure(
+                        graphqlError(
+                            Response.Status.BAD_REQUEST,
+                            "Could not parse extensions: " + e.getMessage()));
+              }
+
+              String queryFromUrl = Strings.emptyToNull(query);
+              if (queryFromUrl == null && persistedQueryHash(parsedExtensions) == null) {
                 return Uni.createFrom()
                     .failure(
                         graphqlError(
@@ -79,7 +99,8 @@ public abstract class GraphqlResourceBase {
 
               try {
                 ExecutionInput.Builder input =
-                    ExecutionInput.newExecutionInput(query).operationName(operationName);
+                    ExecutionInput.newExecutionInput(resolveQuery(queryFromUrl, parsedExtensions))
+                        .operationName(operationName);
 
                 if (!Strings.isNullOrEmpty(variables)) {
                   @SuppressWarnings("unchecked")
@@ -119,8 +140,12 @@ public abstract class GraphqlResourceBase {
               String operationName =
                   (jsonBody == null) ? null : Strings.emptyToNull(jsonBody.getOperationName());
               Map<String, Object> variables = (jsonBody == null) ? null : jsonBody.getVariables();
+              Map<String, Object> extensions =
+                  (jsonBody == null) ? null : jsonBody.getExtensions();
 
-              if (queryFromBody == null && queryFromUrlSafe == null) {
+              if (queryFromBody == null
+                  && queryFromUrlSafe == null
+                  && persistedQueryHash(extensions) == null) {
                 return Uni.createFrom()
                     .failure(
                         graphqlError(
@@ -139,7 +164,9 @@ public abstract class GraphqlResourceBase {
                             "You can't provide a GraphQL query both as a query parameter and in the request body"));
               }
 
-              String query = MoreObjects.firstNonNull(queryFromBody, queryFromUrlSafe);
+              String query =
+                  resolveQuery(
+                      queryFromBody != null ? queryFromBody : queryFromUrlSafe, extensions);
               ExecutionInput.Builder input =
                   ExecutionInput.newExecutionInput(query)
                       .operationName(operationName)
@@ -286,6 +313,63 @@ public abstract class GraphqlResourceBase {
         .map(RestResponse::ok);
   }
 
+  /**
+   * Resolves the query to execute, following the automatic persisted queries protocol when the
+   * extensions contain a <code>persistedQuery</code> with a <code>sha256Hash</code>:
+   *
+   * <ul>
+   *   <li>if the query is not provided, the one previously registered for the hash is used; if
+   *       there is none, a <code>PersistedQueryNotFound</code> error is returned, so that the
+   *       client retries with the full query.
+   *   <li>if the query is provided, it is registered for the hash, after checking that the hash
+   *       matches.
+   * </ul>
+   *
+   * @throws WebApplicationException if the query can not be resolved
+   */
+  private String resolveQuery(String query, Map<String, Object> extensions) {
+    String hash = persistedQueryHash(extensions);
+    if (hash == null) {
+      return query;
+    }
+
+    if (!documentCache.isPersistedQueriesEnabled()) {
+      throw persistedQueryError("PersistedQueryNotSupported", "PERSISTED_QUERY_NOT_SUPPORTED");
+    }
+
+    if (query == null) {
+      return documentCache
+          .getPersistedQuery(hash)
+          .orElseThrow(
+              () -> persistedQueryError("PersistedQueryNotFound", "PERSISTED_QUERY_NOT_FOUND"));
+    }
+
+    if (!documentCache.putPersistedQuery(hash, query)) {
+      throw graphqlError(Response.Status.BAD_REQUEST, "provided sha does not match query");
+    }
+    return query;
+  }
+
+  private static String persistedQueryHash(Map<String, Object> extensions) {
+    if (extensions != null
+        && extensions.get("persistedQuery") instanceof Map<?, ?> persistedQuery
+        && persistedQuery.get("sha256Hash") instanceof String hash
+        && !hash.isEmpty()) {
+      return hash;
+    }
+    return null;
+  }
+
+  private Map<String, Object> parseJsonParameter(String parameter) throws IOException {
+    if (Strings.isNullOrEmpty(parameter)) {
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> parsed = objectMapper.readValue(parameter, Map.class);
+    return parsed;
+  }
+
   protected static Uni<Map<String, Object>> execute(ExecutionInput input, GraphQL graphql) {
     // execute graphql call
     return executeGraphql(input, graphql)
@@ -335,6 +419,18 @@ public abstract class GraphqlResourceBase {
             .build());
   }
 
+  // Apollo clients expect these errors with a successful status, and react on the message or code
+  private static WebApplicationException persistedQueryError(String message, String code) {
+    return new WebApplicationException(
+        Response.ok(
+                ImmutableMap.of(
+                    "errors",
+                    ImmutableList.of(
+                        ImmutableMap.of(
+                            "message", message, "extensions", ImmutableMap.of("code", code)))))
+            .build());
+  }
+
   protected static WebApplicationException graphqlError(
       Response.Status status, GraphqlErrorException error) {
     return new WebApplicationException(
@@ -22,24 +22,35 @@ import io.stargate.bridge.proto.QueryOuterClass.Query;
 import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
 import io.stargate.bridge.proto.QueryOuterClass.Response;
 import io.stargate.sgv2.api.common.grpc.StargateBridgeClient;
+import io.stargate.sgv2.graphql.config.GraphQLConfig;
 import io.stargate.sgv2.graphql.schema.CassandraFetcher;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class StargateGraphqlContext {
 
+  /** The maximum number of read queries of a single operation that are executed concurrently. */
+  public static final int MAX_CONCURRENT_QUERIES = 16;
+
   private final StargateBridgeClient bridge;
   private final GraphqlCache graphqlCache;
   private final BatchContext batchContext = new BatchContext();
+  private final QueryLoader queryLoader;
 
   private volatile boolean overloaded;
 
   public StargateGraphqlContext(StargateBridgeClient bridge, GraphqlCache graphqlCache) {
     this.bridge = bridge;
     this.graphqlCache = graphqlCache;
+    this.queryLoader = new QueryLoader(bridge, MAX_CONCURRENT_QUERIES);
   }
 
   public StargateBridgeClient getBridge() {
@@ -54,6 +65,14 @@ public class StargateGraphqlContext {
     return batchContext;
   }
 
+  public QueryLoader getQueryLoader() {
+    return queryLoader;
+  }
+
+  public GraphQLConfig.BulkMutationConfig getBulkMutationConfig() {
+    return graphqlCache.getBulkMutationConfig();
+  }
+
   /**
    * Records the fact that at least one CQL query in the current execution failed with an OVERLOADED
    * error. This will be translated into an HTTP 429 error at the resource layer.
@@ -134,11 +153,11 @@ public class StargateGraphqlContext {
 
     // gRPC uses different types for regular or batched queries/parameters. We use the regular
     // variants in common fetcher code, but need to do the conversion here.
-    private BatchQuery toBatchQuery(Query query) {
+    public static BatchQuery toBatchQuery(Query query) {
       return BatchQuery.newBuilder().setCql(query.getCql()).setValues(query.getValues()).build();
     }
 
-    private BatchParameters toBatchParameters(QueryParameters queryParameters) {
+    public static BatchParameters toBatchParameters(QueryParameters queryParameters) {
       return BatchParameters.newBuilder()
           .setConsistency(queryParameters.getConsistency())
           .setTracing(queryParameters.getTracing())
@@ -150,4 +169,79 @@ public class StargateGraphqlContext {
           .build();
     }
   }
+
+  /**
+   * Loads the results of the read queries contained in the same operation, in the style of a
+   * DataLoader: the fetchers of all the root fields submit their queries without blocking, and
+   * the queries are executed asynchronously, with at most a bounded number in flight. Identical
+   * queries (same CQL, values and parameters) are executed only once, and their response is shared.
+   */
+  public static class QueryLoader {
+    private final StargateBridgeClient bridge;
+    private final int maxConcurrency;
+    private final Map<Query, CompletableFuture<Response>> responses = new ConcurrentHashMap<>();
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public QueryLoader(StargateBridgeClient bridge, int maxConcurrency) {
+      this.bridge = bridge;
+      this.maxConcurrency = maxConcurrency;
+    }
+
+    public CompletionStage<Response> load(Query query) {
+      CompletableFuture<Response> response = new CompletableFuture<>();
+      CompletableFuture<Response> existing = responses.putIfAbsent(query, response);
+      if (existing != null) {
+        return existing;
+      }
+
+      pending.add(() -> execute(query, response));
+      dispatch();
+      return response;
+    }
+
+    private void execute(Query query, CompletableFuture<Response> response) {
+      CompletionStage<Response> result;
+      try {
+        result = bridge.executeQueryAsync(query);
+      } catch (Exception e) {
+        inFlight.decrementAndGet();
+        response.completeExceptionally(e);
+        return;
+      }
+
+      result.whenComplete(
+          (executed, throwable) -> {
+            inFlight.decrementAndGet();
+            dispatch();
+            if (throwable != null) {
+              response.completeExceptionally(throwable);
+            } else {
+              response.complete(executed);
+            }
+          });
+    }
+
+    // executes pending queries until there are no more, or the concurrency limit is reached
+    private void dispatch() {
+      while (!pending.isEmpty()) {
+        int current = inFlight.get();
+        if (current >= maxConcurrency) {
+          // one of the in-flight queries will dispatch on completion
+          return;
+        }
+        if (!inFlight.compareAndSet(current, current + 1)) {
+          continue;
+        }
+
+        Runnable next = pending.poll();
+        if (next == null) {
+          // another thread took it, release the slot and re-check
+          inFlight.decrementAndGet();
+        } else {
+          next.run();
+        }
+      }
+    }
+  }
 }
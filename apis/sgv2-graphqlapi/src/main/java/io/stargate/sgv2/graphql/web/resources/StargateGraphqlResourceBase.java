@@ -35,7 +35,7 @@ public class StargateGraphqlResourceBase extends GraphqlResourceBase {
       ObjectMapper objectMapper,
       StargateBridgeClient bridgeClient,
       GraphqlCache graphqlCache) {
-    super(objectMapper);
+    super(objectMapper, graphqlCache.getDocumentCache());
     this.requestInfo = requestInfo;
     this.bridgeClient = bridgeClient;
     this.graphqlCache = graphqlCache;
@@ -54,7 +54,9 @@ public class FederationIntegrationTest extends GraphqlFirstIntegrationTest {
 
     session.execute("INSERT INTO \"Entity1\" (k) VALUES (%s)".formatted(UUID_KEY));
     session.execute("INSERT INTO \"Entity2\" (k) VALUES (1)");
+    session.execute("INSERT INTO \"Entity2\" (k) VALUES (2)");
     session.execute("INSERT INTO \"Entity3\" (k1,k2,cc1,cc2) VALUES (1,2,3,4)");
+    session.execute("INSERT INTO \"Entity3\" (k1,k2,cc1,cc2) VALUES (1,2,3,5)");
     session.execute("INSERT INTO \"Entity4\" (k) VALUES ({k: 1})");
   }
 
@@ -125,6 +127,33 @@ public class FederationIntegrationTest extends GraphqlFirstIntegrationTest {
     assertThat(JsonPath.<Integer>read(response, "$._entities[0].k.k")).isEqualTo(1);
   }
 
+  @Test
+  @DisplayName("Should fetch multiple entities of mixed types in order")
+  public void multipleEntitiesTest() {
+    Object response =
+        client.executeKeyspaceQuery(
+            keyspaceId.asInternal(),
+            "query {\n"
+                + "_entities(representations: [ "
+                + "{ __typename: \"Entity2\", k: 2 }, "
+                + "{ __typename: \"Entity3\", k1: 1, k2: 2, cc1: 3, cc2: 5 }, "
+                + "{ __typename: \"Entity2\", k: 3 }, "
+                + "{ __typename: \"Entity3\", k1: 1, k2: 2, cc1: 3, cc2: 4 }, "
+                + "{ __typename: \"Entity2\", k: 1 }, "
+                + "{ __typename: \"Entity2\", k: 2 }, "
+                + " ]) { "
+                + "... on Entity2 { k } "
+                + "... on Entity3 { cc2 } "
+                + "} }");
+
+    assertThat(JsonPath.<Integer>read(response, "$._entities[0].k")).isEqualTo(2);
+    assertThat(JsonPath.<Integer>read(response, "$._entities[1].cc2")).isEqualTo(5);
+    assertThat(JsonPath.<Object>read(response, "$._entities[2]")).isNull();
+    assertThat(JsonPath.<Integer>read(response, "$._entities[3].cc2")).isEqualTo(4);
+    assertThat(JsonPath.<Integer>read(response, "$._entities[4].k")).isEqualTo(1);
+    assertThat(JsonPath.<Integer>read(response, "$._entities[5].k")).isEqualTo(2);
+  }
+
   @Test
   @DisplayName("Should include trace if requested via header")
   public void federatedTracing() {
@@ -37,6 +37,7 @@ import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.QueryOuterClass.Value;
 import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
 import io.stargate.sgv2.api.common.grpc.StargateBridgeClient;
+import io.stargate.sgv2.graphql.config.GraphQLConfig;
 import io.stargate.sgv2.graphql.web.resources.StargateGraphqlContext;
 import java.io.IOException;
 import java.util.Collections;
@@ -61,10 +62,11 @@ public abstract class GraphqlTestBase {
 
   private GraphQL graphql;
   protected GraphQLSchema graphqlSchema;
-  @Mock private StargateBridgeClient bridge;
+  @Mock protected StargateBridgeClient bridge;
   @Captor private ArgumentCaptor<Query> queryCaptor;
   @Captor private ArgumentCaptor<Batch> batchCaptor;
   private volatile Response response;
+  protected GraphQLConfig.BulkMutationConfig bulkMutationConfig = bulkMutationConfig(32, 20);
 
   protected abstract GraphQLSchema createGraphqlSchema();
 
@@ -131,9 +133,29 @@ public abstract class GraphqlTestBase {
     StargateGraphqlContext context = mock(StargateGraphqlContext.class);
     when(context.getBridge()).thenReturn(bridge);
     when(context.getBatchContext()).thenReturn(new StargateGraphqlContext.BatchContext());
+    when(context.getQueryLoader())
+        .thenReturn(
+            new StargateGraphqlContext.QueryLoader(
+                bridge, StargateGraphqlContext.MAX_CONCURRENT_QUERIES));
+    when(context.getBulkMutationConfig()).thenReturn(bulkMutationConfig);
     return graphql.execute(ExecutionInput.newExecutionInput(query).context(context).build());
   }
 
+  protected static GraphQLConfig.BulkMutationConfig bulkMutationConfig(
+      int maxInFlight, int maxBatchSize) {
+    return new GraphQLConfig.BulkMutationConfig() {
+      @Override
+      public int maxInFlight() {
+        return maxInFlight;
+      }
+
+      @Override
+      public int maxBatchSize() {
+        return maxBatchSize;
+      }
+    };
+  }
+
   /** Executes a GraphQL query and asserts that it generates the given CQL query. */
   protected void assertQuery(String graphqlQuery, String expectedCqlQuery) {
     ExecutionResult result = executeGraphql(graphqlQuery);
@@ -168,6 +190,14 @@ public abstract class GraphqlTestBase {
     return getCapturedQuery().getValues().getValuesList();
   }
 
+  protected List<Query> getCapturedQueries() {
+    return queryCaptor.getAllValues();
+  }
+
+  protected List<Batch> getCapturedBatches() {
+    return batchCaptor.getAllValues();
+  }
+
   protected Batch getCapturedBatch() {
     Batch batch = batchCaptor.getValue();
     assertThat(batch).isNotNull();
@@ -16,8 +16,11 @@
 package io.stargate.sgv2.graphql.schema.cqlfirst.dml.fetchers;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import graphql.ExecutionResult;
 import graphql.GraphQLError;
 import io.stargate.bridge.grpc.Values;
@@ -25,10 +28,15 @@ import io.stargate.bridge.proto.QueryOuterClass.Batch;
 import io.stargate.bridge.proto.QueryOuterClass.BatchParameters;
 import io.stargate.bridge.proto.QueryOuterClass.BatchQuery;
 import io.stargate.bridge.proto.QueryOuterClass.Consistency;
+import io.stargate.bridge.proto.QueryOuterClass.Query;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.graphql.schema.SampleKeyspaces;
 import io.stargate.sgv2.graphql.schema.cqlfirst.dml.DmlTestBase;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -140,4 +148,105 @@ public class BulkMutationFetcherTest extends DmlTestBase {
             "Exception while fetching data (/m1) : options can only de defined once in an @atomic mutation selection",
             "Exception while fetching data (/m2) : options can only de defined once in an @atomic mutation selection");
   }
+
+  @Test
+  @DisplayName("Bulk insert should group rows with the same partition key in unlogged batches")
+  public void bulkInsertGroupedByPartitionTest() {
+    ExecutionResult result =
+        executeGraphql(
+            "mutation { bulkInsertauthors(values: ["
+                + "{ author: \"a\", title: \"1\" },"
+                + "{ author: \"b\", title: \"2\" },"
+                + "{ author: \"a\", title: \"3\" }"
+                + "]) { value { author, title } } }");
+    assertThat(result.getErrors()).isEmpty();
+
+    Batch batch = getCapturedBatch();
+    assertThat(batch.getType()).isEqualTo(Batch.Type.UNLOGGED);
+    assertThat(batch.getQueriesList())
+        .extracting(q -> q.getValues().getValuesList())
+        .containsExactly(
+            ImmutableList.of(Values.of("a"), Values.of("1")),
+            ImmutableList.of(Values.of("a"), Values.of("3")));
+    assertThat(getCapturedValues()).containsExactly(Values.of("b"), Values.of("2"));
+
+    // results are reported in the order of the input values
+    assertThat((Object) result.getData())
+        .isEqualTo(
+            ImmutableMap.of(
+                "bulkInsertauthors",
+                ImmutableList.of(
+                    ImmutableMap.of("value", ImmutableMap.of("author", "a", "title", "1")),
+                    ImmutableMap.of("value", ImmutableMap.of("author", "b", "title", "2")),
+                    ImmutableMap.of("value", ImmutableMap.of("author", "a", "title", "3")))));
+  }
+
+  @Test
+  @DisplayName("Bulk insert should split the partition groups in batches of the maximum size")
+  public void bulkInsertMaxBatchSizeTest() {
+    bulkMutationConfig = bulkMutationConfig(32, 2);
+    ExecutionResult result =
+        executeGraphql(
+            "mutation { bulkInsertauthors(values: ["
+                + "{ author: \"a\", title: \"1\" },"
+                + "{ author: \"a\", title: \"2\" },"
+                + "{ author: \"a\", title: \"3\" }"
+                + "]) { applied } }");
+    assertThat(result.getErrors()).isEmpty();
+
+    assertThat(getCapturedBatches()).hasSize(1);
+    assertThat(getCapturedBatch().getQueriesCount()).isEqualTo(2);
+    assertThat(getCapturedQueries()).hasSize(1);
+    assertThat(getCapturedValues()).containsExactly(Values.of("a"), Values.of("3"));
+  }
+
+  @Test
+  @DisplayName("Conditional bulk insert should execute each row as a single statement")
+  public void bulkInsertIfNotExistsTest() {
+    ExecutionResult result =
+        executeGraphql(
+            "mutation { bulkInsertauthors(ifNotExists: true, values: ["
+                + "{ author: \"a\", title: \"1\" },"
+                + "{ author: \"a\", title: \"2\" }"
+                + "]) { applied } }");
+    assertThat(result.getErrors()).isEmpty();
+
+    assertThat(getCapturedBatches()).isEmpty();
+    assertThat(getCapturedQueries())
+        .extracting(Query::getCql)
+        .containsOnly("INSERT INTO library.authors (author, title) VALUES (?, ?) IF NOT EXISTS")
+        .hasSize(2);
+  }
+
+  @Test
+  @DisplayName("Bulk insert should bound the number of statements in flight")
+  public void bulkInsertMaxInFlightTest() {
+    bulkMutationConfig = bulkMutationConfig(2, 20);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    AtomicInteger executed = new AtomicInteger();
+    when(bridge.executeQueryAsync(any()))
+        .thenAnswer(
+            i -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              executed.incrementAndGet();
+              return CompletableFuture.supplyAsync(
+                  () -> {
+                    inFlight.decrementAndGet();
+                    return Response.getDefaultInstance();
+                  },
+                  CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS));
+            });
+
+    ExecutionResult result =
+        executeGraphql(
+            "mutation { bulkInsertbooks(values: ["
+                + "{ title: \"1\" }, { title: \"2\" }, { title: \"3\" },"
+                + "{ title: \"4\" }, { title: \"5\" }"
+                + "]) { applied } }");
+    assertThat(result.getErrors()).isEmpty();
+
+    assertThat(executed).hasValue(5);
+    assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+  }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.schema.graphqlfirst.fetchers.deployed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.apollographql.federation.graphqljava._Entity;
+import graphql.schema.DataFetchingEnvironment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
+import io.stargate.bridge.proto.QueryOuterClass.Query;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
+import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
+import io.stargate.bridge.proto.QueryOuterClass.Row;
+import io.stargate.bridge.proto.Schema.CqlKeyspace;
+import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
+import io.stargate.sgv2.api.common.grpc.StargateBridgeClient;
+import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.MappingModel;
+import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.SchemaProcessor;
+import io.stargate.sgv2.graphql.web.resources.StargateGraphqlContext;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class FederatedEntityFetcherTest {
+
+  private static final CqlKeyspaceDescribe KEYSPACE =
+      CqlKeyspaceDescribe.newBuilder()
+          .setCqlKeyspace(CqlKeyspace.newBuilder().setName("ks_1"))
+          .build();
+
+  @Test
+  public void shouldFetchBatchedEntitiesWithDifferentlyEncodedKeys() throws Exception {
+    // given
+    StargateBridgeClient bridge = mock(StargateBridgeClient.class);
+    MappingModel mappingModel =
+        new SchemaProcessor(bridge, true, new SimpleMeterRegistry())
+            .process(
+                "type Product @key {\n"
+                    + "  id: Decimal! @cql_column(partitionKey: true)\n"
+                    + "  name: String\n"
+                    + "}\n"
+                    + "type Query { product(id: Decimal!): Product }",
+                KEYSPACE)
+            .getMappingModel();
+    FederatedEntityFetcher fetcher =
+        new FederatedEntityFetcher(mappingModel, KEYSPACE, new SimpleMeterRegistry());
+
+    // the rows come back with a different scale than the one the keys were bound with
+    ResultSet resultSet =
+        ResultSet.newBuilder()
+            .addColumns(ColumnSpec.newBuilder().setName("id"))
+            .addColumns(ColumnSpec.newBuilder().setName("name"))
+            .addRows(
+                Row.newBuilder()
+                    .addValues(Values.of(new BigDecimal("2.0")))
+                    .addValues(Values.of("two")))
+            .addRows(
+                Row.newBuilder()
+                    .addValues(Values.of(new BigDecimal("1.00")))
+                    .addValues(Values.of("one")))
+            .build();
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    when(bridge.executeQueryAsync(queryCaptor.capture()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                Response.newBuilder().setResultSet(resultSet).build()));
+
+    DataFetchingEnvironment environment = mock(DataFetchingEnvironment.class);
+    when(environment.getArgument(_Entity.argumentName))
+        .thenReturn(
+            List.of(
+                Map.of("__typename", "Product", "id", "1.0"),
+                Map.of("__typename", "Product", "id", "3"),
+                Map.of("__typename", "Product", "id", "2")));
+    StargateGraphqlContext context = mock(StargateGraphqlContext.class);
+    when(context.getBridge()).thenReturn(bridge);
+
+    // when
+    List<FederatedEntity> result = fetcher.get(environment, context);
+
+    // then
+    verify(bridge, times(1)).executeQueryAsync(any());
+    assertThat(queryCaptor.getValue().getCql()).contains(" IN ");
+    assertThat(result).hasSize(3);
+    assertThat(result.get(0)).containsEntry("name", "one");
+    assertThat(result.get(1)).isNull();
+    assertThat(result.get(2)).containsEntry("name", "two");
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.parser.Parser;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.stargate.sgv2.common.testprofiles.NoGlobalResourcesTestProfile;
+import jakarta.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(NoGlobalResourcesTestProfile.Impl.class)
+class GraphqlDocumentCacheTest {
+
+  private static final String QUERY = "{ greeting(name: \"cache\") }";
+
+  @Inject GraphqlDocumentCache documentCache;
+
+  private final AtomicInteger parseCount = new AtomicInteger();
+
+  private final Function<ExecutionInput, PreparsedDocumentEntry> parseFunction =
+      input -> {
+        parseCount.incrementAndGet();
+        return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+      };
+
+  @Test
+  public void reuseParsedDocument() {
+    PreparsedDocumentProvider provider = documentCache.newProvider("reuse");
+    ExecutionInput input = ExecutionInput.newExecutionInput(QUERY).build();
+
+    PreparsedDocumentEntry first = provider.getDocument(input, parseFunction);
+    PreparsedDocumentEntry second = provider.getDocument(input, parseFunction);
+
+    assertThat(second).isSameAs(first);
+    assertThat(parseCount).hasValue(1);
+  }
+
+  @Test
+  public void notSharedBetweenProviders() {
+    PreparsedDocumentProvider provider = documentCache.newProvider("shared");
+    PreparsedDocumentProvider other = documentCache.newProvider("shared");
+    ExecutionInput input = ExecutionInput.newExecutionInput(QUERY).build();
+
+    provider.getDocument(input, parseFunction);
+    other.getDocument(input, parseFunction);
+
+    assertThat(parseCount).hasValue(2);
+  }
+
+  @Test
+  public void invalidate() {
+    PreparsedDocumentProvider provider = documentCache.newProvider("invalidate");
+    ExecutionInput input = ExecutionInput.newExecutionInput(QUERY).build();
+
+    provider.getDocument(input, parseFunction);
+    documentCache.invalidate("invalidate");
+    provider.getDocument(input, parseFunction);
+
+    assertThat(parseCount).hasValue(2);
+  }
+
+  @Test
+  public void persistedQuery() {
+    String hash = GraphqlDocumentCache.sha256(QUERY);
+
+    assertThat(documentCache.putPersistedQuery(hash, "{ other }")).isFalse();
+    assertThat(documentCache.getPersistedQuery(hash)).isEmpty();
+
+    assertThat(documentCache.putPersistedQuery(hash.toUpperCase(), QUERY)).isTrue();
+    assertThat(documentCache.getPersistedQuery(hash)).contains(QUERY);
+  }
+}
@@ -122,4 +122,72 @@ public class GraphqlResourceBaseTest {
         .statusCode(200)
         .body(is("{\"data\":{\"greetingFromFile\":\"hello, world\"}}"));
   }
+
+  @Test
+  public void shouldRegisterAndUsePersistedQuery() {
+    String query = "{ greeting(name: \"persisted\") }";
+    String hash = GraphqlDocumentCache.sha256(query);
+
+    // unknown hash, the client is expected to retry with the query
+    given()
+        .body(persistedQueryBody(null, hash))
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/test/graphql")
+        .then()
+        .statusCode(200)
+        .body("errors[0].message", is("PersistedQueryNotFound"))
+        .body("errors[0].extensions.code", is("PERSISTED_QUERY_NOT_FOUND"));
+
+    // register
+    given()
+        .body(persistedQueryBody(query, hash))
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/test/graphql")
+        .then()
+        .statusCode(200)
+        .body(is("{\"data\":{\"greeting\":\"hello, persisted\"}}"));
+
+    // then hash only, both with post and get
+    given()
+        .body(persistedQueryBody(null, hash))
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/test/graphql")
+        .then()
+        .statusCode(200)
+        .body(is("{\"data\":{\"greeting\":\"hello, persisted\"}}"));
+
+    given()
+        .queryParam("extensions", persistedQueryExtensions(hash))
+        .when()
+        .get("/test/graphql")
+        .then()
+        .statusCode(200)
+        .body(is("{\"data\":{\"greeting\":\"hello, persisted\"}}"));
+  }
+
+  @Test
+  public void shouldRejectPersistedQueryWithWrongHash() {
+    String hash = GraphqlDocumentCache.sha256("{ greeting(name: \"other\") }");
+
+    given()
+        .body(persistedQueryBody("{ greeting(name: \"world\") }", hash))
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/test/graphql")
+        .then()
+        .statusCode(400)
+        .body("errors[0].message", is("provided sha does not match query"));
+  }
+
+  private static String persistedQueryBody(String query, String hash) {
+    String queryField = query == null ? "" : "\"query\": \"" + query.replace("\"", "\\\"") + "\", ";
+    return "{ " + queryField + "\"extensions\": " + persistedQueryExtensions(hash) + " }";
+  }
+
+  private static String persistedQueryExtensions(String hash) {
+    return "{ \"persistedQuery\": { \"version\": 1, \"sha256Hash\": \"" + hash + "\" } }";
+  }
 }
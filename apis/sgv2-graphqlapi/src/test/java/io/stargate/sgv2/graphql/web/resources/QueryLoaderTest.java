@@ -0,0 +1,122 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.QueryOuterClass.Query;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
+import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
+import io.stargate.sgv2.api.common.grpc.StargateBridgeClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class QueryLoaderTest {
+
+  @Mock StargateBridgeClient bridge;
+
+  private final List<CompletableFuture<Response>> executions = new ArrayList<>();
+
+  @BeforeEach
+  public void mockBridge() {
+    when(bridge.executeQueryAsync(any()))
+        .thenAnswer(
+            i -> {
+              CompletableFuture<Response> execution = new CompletableFuture<>();
+              executions.add(execution);
+              return execution;
+            });
+  }
+
+  private Query query(String value) {
+    return Query.newBuilder()
+        .setCql("SELECT * FROM ks.tbl WHERE k = ?")
+        .setValues(QueryOuterClass.Values.newBuilder().addValues(Values.of(value)))
+        .build();
+  }
+
+  private Response response(int rows) {
+    ResultSet.Builder resultSet = ResultSet.newBuilder();
+    for (int i = 0; i < rows; i++) {
+      resultSet.addRows(QueryOuterClass.Row.getDefaultInstance());
+    }
+    return Response.newBuilder().setResultSet(resultSet).build();
+  }
+
+  @Test
+  public void sameQueryExecutedOnce() {
+    StargateGraphqlContext.QueryLoader loader = new StargateGraphqlContext.QueryLoader(bridge, 4);
+
+    CompletionStage<Response> first = loader.load(query("a"));
+    CompletionStage<Response> second = loader.load(query("a"));
+    executions.get(0).complete(response(1));
+
+    verify(bridge, times(1)).executeQueryAsync(any());
+    assertThat(first.toCompletableFuture().join()).isSameAs(second.toCompletableFuture().join());
+  }
+
+  @Test
+  public void boundedConcurrency() {
+    StargateGraphqlContext.QueryLoader loader = new StargateGraphqlContext.QueryLoader(bridge, 2);
+
+    List<CompletionStage<Response>> results = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      results.add(loader.load(query("value" + i)));
+    }
+
+    // only two in flight, next ones are executed as soon as one completes
+    assertThat(executions).hasSize(2);
+    executions.get(0).complete(response(0));
+    assertThat(executions).hasSize(3);
+    executions.get(1).complete(response(1));
+    executions.get(2).complete(response(2));
+    assertThat(executions).hasSize(5);
+    executions.get(3).complete(response(3));
+    executions.get(4).complete(response(4));
+
+    for (int i = 0; i < 5; i++) {
+      Response response = results.get(i).toCompletableFuture().join();
+      assertThat(response.getResultSet().getRowsCount()).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void failureOnlyForFailedQuery() {
+    StargateGraphqlContext.QueryLoader loader = new StargateGraphqlContext.QueryLoader(bridge, 1);
+
+    CompletionStage<Response> failed = loader.load(query("a"));
+    CompletionStage<Response> succeeded = loader.load(query("b"));
+    executions.get(0).completeExceptionally(new IllegalStateException("boom"));
+    executions.get(1).complete(response(1));
+
+    assertThat(failed.toCompletableFuture()).isCompletedExceptionally();
+    assertThat(succeeded.toCompletableFuture().join().getResultSet().getRowsCount()).isEqualTo(1);
+  }
+}
@@ -95,16 +95,17 @@ public class TestGraphqlResource extends GraphqlResourceBase {
   private static final GraphQLContext CONTEXT = GraphQLContext.newContext().build();
 
   @Inject
-  public TestGraphqlResource(ObjectMapper objectMapper) {
-    super(objectMapper);
+  public TestGraphqlResource(ObjectMapper objectMapper, GraphqlDocumentCache documentCache) {
+    super(objectMapper, documentCache);
   }
 
   @GET
   public Uni<RestResponse<?>> get(
       @QueryParam("query") String query,
       @QueryParam("operationName") String operationName,
-      @QueryParam("variables") String variables) {
-    return super.get(query, operationName, variables, GRAPHQL, CONTEXT);
+      @QueryParam("variables") String variables,
+      @QueryParam("extensions") String extensions) {
+    return super.get(query, operationName, variables, extensions, GRAPHQL, CONTEXT);
   }
 
   @POST
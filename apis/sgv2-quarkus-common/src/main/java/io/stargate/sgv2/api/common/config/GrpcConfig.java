@@ -22,10 +22,12 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import io.stargate.sgv2.api.common.grpc.RetriableStargateBridge;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -39,6 +41,22 @@ public interface GrpcConfig {
   @WithDefault("PT30S")
   Optional<Duration> callDeadline();
 
+  /**
+   * @return Optional list of bridge endpoints (<code>host:port</code>) to balance the calls of the
+   *     {@link RetriableStargateBridge} across, using plain-text channels. Each call goes to the
+   *     endpoint with the least outstanding requests. If unset, all calls go to the <code>
+   *     quarkus.grpc.clients.bridge</code> client.
+   */
+  Optional<List<String>> endpoints();
+
+  /**
+   * @return Defines the hedging of the idempotent reads, when multiple {@link #endpoints()} are
+   *     set.
+   */
+  @Valid
+  @NotNull
+  Hedging hedging();
+
   /**
    * @return Defines retry strategy for bridge calls when using {@link RetriableStargateBridge}.
    */
@@ -46,6 +64,47 @@ public interface GrpcConfig {
   @NotNull
   Retries retries();
 
+  /**
+   * @return Defines the subscription to the schema changes pushed by the bridge.
+   */
+  @Valid
+  @NotNull
+  SchemaChanges schemaChanges();
+
+  /**
+   * @return Defines the caching of the schema authorization decisions of the bridge.
+   */
+  @Valid
+  @NotNull
+  SchemaAuthorizationCache schemaAuthorizationCache();
+
+  interface Hedging {
+
+    /**
+     * @return If idempotent reads (schema reads, authorizations and <code>SELECT</code> queries)
+     *     should send a second request to another endpoint when the first one does not respond
+     *     in time. The first response wins, the other request is cancelled.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * @return Latency percentile of the first endpoint after which the hedged request is sent.
+     */
+    @WithDefault("0.95")
+    @Positive
+    @DecimalMax("1")
+    double percentile();
+
+    /**
+     * @return Minimum delay before sending the hedged request, also used until enough latencies
+     *     are recorded.
+     */
+    @WithDefault("PT0.01S")
+    @NotNull
+    Duration minDelay();
+  }
+
   interface Retries {
 
     /**
@@ -89,4 +148,54 @@ public interface GrpcConfig {
     @Positive
     int maxAttempts();
   }
+
+  interface SchemaChanges {
+
+    /**
+     * @return If the API should subscribe to the schema changes pushed by the bridge. While the
+     *     subscription is active, cached keyspaces are invalidated on change and are not
+     *     revalidated against the bridge on every access. Requires a bridge that supports the
+     *     <code>SubscribeSchemaChanges</code> operation, otherwise the API falls back to the hash
+     *     validation.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * @return The token to subscribe with, as the bridge requires one for the stream. If unset, the
+     *     API does not subscribe and falls back to the hash validation.
+     */
+    Optional<String> token();
+
+    /**
+     * @return The tenant to subscribe for. The bridge only pushes the changes of the keyspaces of
+     *     this tenant, so the cached keyspaces of other tenants are still validated on access.
+     */
+    Optional<String> tenantId();
+
+    /**
+     * @return Initial delay before subscribing again when the stream breaks.
+     */
+    @WithDefault("PT1S")
+    @NotNull
+    Duration retryInitialDelay();
+
+    /**
+     * @return Maximum delay before subscribing again when the stream breaks.
+     */
+    @WithDefault("PT30S")
+    @NotNull
+    Duration retryMaxDelay();
+  }
+
+  interface SchemaAuthorizationCache {
+
+    /**
+     * @return If the schema authorization decisions of the bridge are cached per token, tenant,
+     *     keyspace and table. The size and expiration of the entries are defined by the
+     *     <code>quarkus.cache.caffeine.schema-authorization-cache</code> properties.
+     */
+    @WithDefault("true")
+    boolean enabled();
+  }
 }
@@ -0,0 +1,361 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.grpc;
+
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.sgv2.api.common.config.GrpcConfig;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * An implementation of the {@link StargateBridge} that balances the calls across multiple bridge
+ * endpoints (see GrpcConfig.endpoints), sending each call to the endpoint with the least
+ * outstanding requests.
+ *
+ * <p>If hedging is enabled, an idempotent read that did not complete after the configured latency
+ * percentile of its endpoint is sent again to another endpoint. The first response wins and the
+ * other call is cancelled. A failure is only propagated once both calls failed.
+ *
+ * <p>Per endpoint (<code>endpoint</code> tag) it records the in-flight calls (<code>
+ * bridge.client.in.flight</code>), the call latencies (<code>bridge.client.latency</code>) and the
+ * hedged calls sent to it (<code>bridge.client.hedges</code>, with <code>outcome</code> <code>
+ * fired</code> or <code>won</code>).
+ */
+public class BalancedStargateBridge implements StargateBridge, AutoCloseable {
+
+  // how often the hedging delay of an endpoint is re-computed from its latencies
+  private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  // minimum recorded latencies to trust the percentile, the minimum delay is used until then
+  private static final long HEDGE_DELAY_MIN_SAMPLES = 100;
+
+  private final List<Endpoint> endpoints;
+
+  private final List<ManagedChannel> channels;
+
+  private final ScheduledExecutorService scheduler;
+
+  private final boolean hedging;
+
+  private final long minDelayNanos;
+
+  /**
+   * Opens a plain-text channel to each of the given endpoints.
+   *
+   * @param endpoints Endpoints, in the <code>host:port</code> form
+   * @param interceptor Interceptor for the calls of all channels
+   * @param grpcConfig Configuration for the hedging
+   * @param meterRegistry Registry for the endpoint metrics
+   * @param scheduler Scheduler for the hedged calls
+   * @return Bridge balancing across the endpoints, to be closed on shutdown
+   */
+  public static BalancedStargateBridge connect(
+      List<String> endpoints,
+      ClientInterceptor interceptor,
+      GrpcConfig grpcConfig,
+      MeterRegistry meterRegistry,
+      ScheduledExecutorService scheduler) {
+    Map<String, StargateBridge> bridges = new LinkedHashMap<>();
+    List<ManagedChannel> channels = new ArrayList<>(endpoints.size());
+    for (String endpoint : endpoints) {
+      ManagedChannel channel = ManagedChannelBuilder.forTarget(endpoint).usePlaintext().build();
+      channels.add(channel);
+      bridges.put(
+          endpoint,
+          new io.stargate.bridge.proto.StargateBridgeClient(
+              endpoint, ClientInterceptors.intercept(channel, interceptor), (name, stub) -> stub));
+    }
+    return new BalancedStargateBridge(bridges, channels, grpcConfig, meterRegistry, scheduler);
+  }
+
+  BalancedStargateBridge(
+      Map<String, StargateBridge> bridges,
+      List<ManagedChannel> channels,
+      GrpcConfig grpcConfig,
+      MeterRegistry meterRegistry,
+      ScheduledExecutorService scheduler) {
+    GrpcConfig.Hedging hedgingConfig = grpcConfig.hedging();
+    this.channels = channels;
+    this.scheduler = scheduler;
+    this.hedging = hedgingConfig.enabled() && bridges.size() > 1;
+    this.minDelayNanos = hedgingConfig.minDelay().toNanos();
+    this.endpoints = new ArrayList<>(bridges.size());
+    bridges.forEach(
+        (name, bridge) ->
+            endpoints.add(new Endpoint(name, bridge, meterRegistry, hedgingConfig.percentile())));
+  }
+
+  @Override
+  public Uni<QueryOuterClass.Response> executeQuery(QueryOuterClass.Query request) {
+    return call(bridge -> bridge.executeQuery(request), isRead(request.getCql()));
+  }
+
+  @Override
+  public Uni<Schema.QueryWithSchemaResponse> executeQueryWithSchema(
+      Schema.QueryWithSchema request) {
+    return call(
+        bridge -> bridge.executeQueryWithSchema(request), isRead(request.getQuery().getCql()));
+  }
+
+  @Override
+  public Uni<QueryOuterClass.Response> executeBatch(QueryOuterClass.Batch request) {
+    return call(bridge -> bridge.executeBatch(request), false);
+  }
+
+  @Override
+  public Uni<Schema.CqlKeyspaceDescribe> describeKeyspace(Schema.DescribeKeyspaceQuery request) {
+    return call(bridge -> bridge.describeKeyspace(request), true);
+  }
+
+  @Override
+  public Uni<Schema.AuthorizeSchemaReadsResponse> authorizeSchemaReads(
+      Schema.AuthorizeSchemaReadsRequest request) {
+    return call(bridge -> bridge.authorizeSchemaReads(request), true);
+  }
+
+  @Override
+  public Uni<Schema.SupportedFeaturesResponse> getSupportedFeatures(
+      Schema.SupportedFeaturesRequest request) {
+    return call(bridge -> bridge.getSupportedFeatures(request), true);
+  }
+
+  @Override
+  public Multi<Schema.SchemaChange> subscribeSchemaChanges(Schema.SchemaChangesRequest request) {
+    // long-lived stream, not accounted as an outstanding request
+    return Multi.createFrom()
+        .deferred(() -> leastLoaded(null).bridge.subscribeSchemaChanges(request));
+  }
+
+  @Override
+  public void close() {
+    channels.forEach(ManagedChannel::shutdown);
+  }
+
+  private <T> Uni<T> call(Function<StargateBridge, Uni<T>> call, boolean idempotent) {
+    if (hedging && idempotent) {
+      return Uni.createFrom().emitter(emitter -> new HedgedCall<>(call, emitter).start());
+    }
+    return Uni.createFrom().deferred(() -> leastLoaded(null).call(call, true));
+  }
+
+  // endpoint with the least in-flight calls, ties are broken by starting at a random endpoint
+  private Endpoint leastLoaded(Endpoint excluded) {
+    int size = endpoints.size();
+    int start = ThreadLocalRandom.current().nextInt(size);
+    Endpoint best = null;
+    for (int i = 0; i < size; i++) {
+      Endpoint endpoint = endpoints.get((start + i) % size);
+      if (endpoint != excluded
+          && (null == best || endpoint.inFlight.get() < best.inFlight.get())) {
+        best = endpoint;
+      }
+    }
+    return best;
+  }
+
+  private static Counter hedges(String name, String outcome, MeterRegistry meterRegistry) {
+    return Counter.builder("bridge.client.hedges")
+        .description("Number of hedged calls sent to the bridge endpoint")
+        .tag("endpoint", name)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private static boolean isRead(String cql) {
+    return cql.stripLeading().regionMatches(true, 0, "SELECT", 0, 6);
+  }
+
+  private class HedgedCall<T> {
+
+    private final Function<StargateBridge, Uni<T>> call;
+
+    private final UniEmitter<? super T> emitter;
+
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    // calls that did not fail yet, the failure is propagated once none is left
+    private final AtomicInteger pending = new AtomicInteger(1);
+
+    private volatile ScheduledFuture<?> timer;
+
+    private volatile Cancellable primary;
+
+    private volatile Cancellable hedged;
+
+    HedgedCall(Function<StargateBridge, Uni<T>> call, UniEmitter<? super T> emitter) {
+      this.call = call;
+      this.emitter = emitter;
+    }
+
+    void start() {
+      emitter.onTermination(this::cancelAll);
+      Endpoint first = leastLoaded(null);
+      timer =
+          scheduler.schedule(() -> hedge(first), first.hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+      primary =
+          first.call(call, true).subscribe().with(item -> onItem(item, null), this::onFailure);
+    }
+
+    private void hedge(Endpoint first) {
+      if (done.get()) {
+        return;
+      }
+      pending.incrementAndGet();
+      Endpoint second = leastLoaded(first);
+      second.hedgesFired.increment();
+      hedged =
+          second.call(call, false).subscribe().with(item -> onItem(item, second), this::onFailure);
+      if (done.get()) {
+        hedged.cancel();
+      }
+    }
+
+    // hedgeEndpoint is null if the item comes from the first call
+    private void onItem(T item, Endpoint hedgeEndpoint) {
+      if (done.compareAndSet(false, true)) {
+        if (null != hedgeEndpoint) {
+          hedgeEndpoint.hedgesWon.increment();
+        }
+        emitter.complete(item);
+      }
+    }
+
+    private void onFailure(Throwable failure) {
+      if (pending.decrementAndGet() == 0 && done.compareAndSet(false, true)) {
+        emitter.fail(failure);
+      }
+    }
+
+    private void cancelAll() {
+      ScheduledFuture<?> currentTimer = timer;
+      if (null != currentTimer) {
+        currentTimer.cancel(false);
+      }
+      Cancellable currentPrimary = primary;
+      if (null != currentPrimary) {
+        currentPrimary.cancel();
+      }
+      Cancellable currentHedged = hedged;
+      if (null != currentHedged) {
+        currentHedged.cancel();
+      }
+    }
+  }
+
+  private class Endpoint {
+
+    private final StargateBridge bridge;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Timer latency;
+
+    private final Counter hedgesFired;
+
+    private final Counter hedgesWon;
+
+    // racy updates are fine, any recent value will do
+    private long hedgeDelayNanos = minDelayNanos;
+
+    private long hedgeDelayComputedAt = System.nanoTime();
+
+    Endpoint(String name, StargateBridge bridge, MeterRegistry meterRegistry, double percentile) {
+      this.bridge = bridge;
+      Gauge.builder("bridge.client.in.flight", inFlight, AtomicInteger::get)
+          .description("Number of calls to the bridge endpoint that did not complete yet")
+          .tag("endpoint", name)
+          .register(meterRegistry);
+      this.latency =
+          Timer.builder("bridge.client.latency")
+              .description("Latency of the calls to the bridge endpoint")
+              .tag("endpoint", name)
+              .publishPercentiles(percentile)
+              .publishPercentileHistogram()
+              .register(meterRegistry);
+      this.hedgesFired = hedges(name, "fired", meterRegistry);
+      this.hedgesWon = hedges(name, "won", meterRegistry);
+    }
+
+    /**
+     * @param primary whether this is the first call of a request. The elapsed time of a cancelled
+     *     primary call (the loser of a hedge) is recorded as a lower bound of its latency, as
+     *     ignoring the slow calls would drift the tracked percentile low. Cancelled hedges are not
+     *     recorded, as they can be cancelled right after being sent.
+     */
+    <T> Uni<T> call(Function<StargateBridge, Uni<T>> call, boolean primary) {
+      return Uni.createFrom()
+          .deferred(
+              () -> {
+                inFlight.incrementAndGet();
+                long start = System.nanoTime();
+                return call.apply(bridge)
+                    .onTermination()
+                    .invoke(
+                        (item, failure, cancelled) -> {
+                          inFlight.decrementAndGet();
+                          if (!cancelled || primary) {
+                            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                          }
+                        });
+              });
+    }
+
+    long hedgeDelayNanos() {
+      long now = System.nanoTime();
+      if (now - hedgeDelayComputedAt > HEDGE_DELAY_REFRESH_NANOS) {
+        hedgeDelayComputedAt = now;
+        hedgeDelayNanos = computeHedgeDelayNanos();
+      }
+      return hedgeDelayNanos;
+    }
+
+    private long computeHedgeDelayNanos() {
+      HistogramSnapshot snapshot = latency.takeSnapshot();
+      ValueAtPercentile[] values = snapshot.percentileValues();
+      if (snapshot.count() < HEDGE_DELAY_MIN_SAMPLES || values.length == 0) {
+        return minDelayNanos;
+      }
+      return Math.max(minDelayNanos, (long) values[0].value(TimeUnit.NANOSECONDS));
+    }
+  }
+}
@@ -18,6 +18,7 @@
 package io.stargate.sgv2.api.common.grpc;
 
 import io.grpc.StatusRuntimeException;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
@@ -80,6 +81,12 @@ public class RetriableStargateBridge implements StargateBridge {
     return withRetries(delegate.getSupportedFeatures(request));
   }
 
+  @Override
+  public Multi<Schema.SchemaChange> subscribeSchemaChanges(Schema.SchemaChangesRequest request) {
+    // long-lived stream, the subscriber is responsible for re-subscribing
+    return delegate.subscribeSchemaChanges(request);
+  }
+
   private <T> Uni<T> withRetries(Uni<T> source) {
     // if disabled do nothing
     if (!enabled) {
@@ -27,11 +27,13 @@ import io.stargate.bridge.proto.StargateBridge;
 import io.stargate.sgv2.api.common.futures.Futures;
 import io.stargate.sgv2.api.common.grpc.proto.SchemaReads;
 import io.stargate.sgv2.api.common.schema.SchemaManager;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
+import org.apache.commons.codec.binary.Hex;
 
 /**
  * A future-based/synchronous facade to access the Stargate bridge.
@@ -138,6 +140,19 @@ public interface StargateBridgeClient {
    */
   String decorateKeyspaceName(String keyspaceName);
 
+  /**
+   * Converts a keyspace name to the "global" one, for the given tenant.
+   *
+   * @see #decorateKeyspaceName(String)
+   */
+  static String decorateKeyspaceName(Optional<String> tenantId, String keyspaceName) {
+    return tenantId
+        .map(
+            tenant ->
+                Hex.encodeHexString(tenant.getBytes(StandardCharsets.UTF_8)) + "_" + keyspaceName)
+        .orElse(keyspaceName);
+  }
+
   /**
    * Gets the metadata describing the given table.
    *
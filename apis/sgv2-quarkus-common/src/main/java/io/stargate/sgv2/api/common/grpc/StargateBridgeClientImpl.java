@@ -23,12 +23,10 @@ import io.stargate.sgv2.api.common.StargateRequestInfo;
 import io.stargate.sgv2.api.common.schema.SchemaManager;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
-import org.apache.commons.codec.binary.Hex;
 
 @ApplicationScoped
 public class StargateBridgeClientImpl implements StargateBridgeClient {
@@ -78,12 +76,7 @@ public class StargateBridgeClientImpl implements StargateBridgeClient {
 
   @Override
   public String decorateKeyspaceName(String keyspaceName) {
-    return requestInfo
-        .getTenantId()
-        .map(
-            tenantId ->
-                Hex.encodeHexString(tenantId.getBytes(StandardCharsets.UTF_8)) + "_" + keyspaceName)
-        .orElse(keyspaceName);
+    return StargateBridgeClient.decorateKeyspaceName(requestInfo.getTenantId(), keyspaceName);
   }
 
   @Override
@@ -60,15 +60,17 @@ public class StargateBridgeInterceptor implements ClientInterceptor {
     }
 
     // handle deadlines
-    CallOptions callOptionsFinal = callOptionsWithDeadline(callOptions);
+    CallOptions callOptionsFinal = callOptionsWithDeadline(method, callOptions);
 
     // call with extra metadata and final options
     return new HeaderAttachingClientCall<>(next.newCall(method, callOptionsFinal), metadata);
   }
 
   // deals with the call timeout if one is defined
-  private CallOptions callOptionsWithDeadline(CallOptions callOptions) {
-    if (grpcConfig.callDeadline().isPresent()) {
+  // streaming responses are long-lived subscriptions, so they never get a deadline
+  private CallOptions callOptionsWithDeadline(
+      MethodDescriptor<?, ?> method, CallOptions callOptions) {
+    if (grpcConfig.callDeadline().isPresent() && method.getType().serverSendsOneMessage()) {
       Duration deadline = grpcConfig.callDeadline().get();
       return callOptions.withDeadline(Deadline.after(deadline.toMillis(), TimeUnit.MILLISECONDS));
     } else {
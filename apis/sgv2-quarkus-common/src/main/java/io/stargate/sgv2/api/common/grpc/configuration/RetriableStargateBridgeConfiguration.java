@@ -17,14 +17,20 @@
 
 package io.stargate.sgv2.api.common.grpc.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.grpc.GrpcClient;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.stargate.bridge.proto.StargateBridge;
 import io.stargate.sgv2.api.common.config.GrpcConfig;
+import io.stargate.sgv2.api.common.grpc.BalancedStargateBridge;
 import io.stargate.sgv2.api.common.grpc.RetriableStargateBridge;
+import io.stargate.sgv2.api.common.grpc.StargateBridgeInterceptor;
 import io.stargate.sgv2.api.common.grpc.qualifier.Retriable;
 import io.stargate.sgv2.api.common.grpc.retries.GrpcRetryPredicate;
+import jakarta.enterprise.inject.Disposes;
 import jakarta.enterprise.inject.Instance;
-import jakarta.ws.rs.Produces;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
 
 public class RetriableStargateBridgeConfiguration {
 
@@ -32,8 +38,28 @@ public class RetriableStargateBridgeConfiguration {
   @Retriable
   RetriableStargateBridge retriableStargateBridge(
       @GrpcClient("bridge") StargateBridge stargateBridge,
+      Instance<BalancedStargateBridge> balancedStargateBridge,
       Instance<GrpcRetryPredicate> predicate,
       GrpcConfig grpcConfig) {
-    return new RetriableStargateBridge(stargateBridge, predicate.get(), grpcConfig);
+    // with multiple endpoints, balance across them instead of using the bridge client
+    StargateBridge delegate =
+        grpcConfig.endpoints().isPresent() ? balancedStargateBridge.get() : stargateBridge;
+    return new RetriableStargateBridge(delegate, predicate.get(), grpcConfig);
+  }
+
+  @Produces
+  @Singleton
+  BalancedStargateBridge balancedStargateBridge(
+      GrpcConfig grpcConfig, StargateBridgeInterceptor interceptor, MeterRegistry meterRegistry) {
+    return BalancedStargateBridge.connect(
+        grpcConfig.endpoints().orElseThrow(),
+        interceptor,
+        grpcConfig,
+        meterRegistry,
+        Infrastructure.getDefaultWorkerPool());
+  }
+
+  void closeBalancedStargateBridge(@Disposes BalancedStargateBridge balancedStargateBridge) {
+    balancedStargateBridge.close();
   }
 }
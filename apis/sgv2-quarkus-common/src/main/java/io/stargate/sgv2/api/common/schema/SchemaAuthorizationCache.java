@@ -0,0 +1,109 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.schema;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.api.common.config.GrpcConfig;
+import io.stargate.sgv2.api.common.grpc.StargateBridgeClient;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Caches the schema authorization decisions of the bridge, per token, tenant, keyspace and table,
+ * in the <code>schema-authorization-cache</code>.
+ *
+ * <p>Both positive and negative decisions are cached. Entries are short-lived (see the cache
+ * configuration), so that changes of the permissions are picked up quickly, and the entries of a
+ * keyspace are dropped on every schema change of that keyspace pushed by the bridge (see {@link
+ * SchemaChangeSubscriber}). Failed authorizations are never cached. Tokens are kept as SHA-256
+ * hashes only.
+ */
+@ApplicationScoped
+public class SchemaAuthorizationCache {
+
+  @Inject
+  @CacheName("schema-authorization-cache")
+  Cache authorizationCache;
+
+  @Inject GrpcConfig grpcConfig;
+
+  /**
+   * Returns the cached decision for the given schema element, or executes the authorization if
+   * there is none.
+   *
+   * @param token Cassandra token of the request
+   * @param tenantId Tenant of the request
+   * @param keyspace Keyspace name
+   * @param table Table name, <code>null</code> for keyspace authorizations
+   * @param authorization Executes the actual authorization against the bridge
+   * @return Uni emitting if the schema read is authorized
+   */
+  public Uni<Boolean> authorize(
+      Optional<String> token,
+      Optional<String> tenantId,
+      String keyspace,
+      String table,
+      Supplier<Uni<Boolean>> authorization) {
+    if (!grpcConfig.schemaAuthorizationCache().enabled()) {
+      return authorization.get();
+    }
+
+    Key key =
+        new Key(
+            token.map(DigestUtils::sha256Hex),
+            tenantId,
+            StargateBridgeClient.decorateKeyspaceName(tenantId, keyspace),
+            table);
+    return authorizationCache.getAsync(key, k -> authorization.get());
+  }
+
+  /**
+   * Invalidates the decisions for the keyspace with the given global name.
+   *
+   * <p>The global name is decorated with the tenant, so this only drops the entries of the tenant
+   * that owns the keyspace.
+   *
+   * @param keyspaceGlobalName Global name of the changed keyspace
+   */
+  public void invalidateKeyspace(String keyspaceGlobalName) {
+    CaffeineCache cache = authorizationCache.as(CaffeineCache.class);
+    for (Object key : cache.keySet()) {
+      if (key instanceof Key k && keyspaceGlobalName.equals(k.keyspaceGlobalName())) {
+        authorizationCache.invalidate(key).subscribe().with(v -> {});
+      }
+    }
+  }
+
+  /** Invalidates all cached decisions. */
+  public void invalidateAll() {
+    authorizationCache.invalidateAll().subscribe().with(v -> {});
+  }
+
+  // cache key, keyspace name is the global one, table is null for keyspace reads
+  record Key(
+      Optional<String> tokenHash,
+      Optional<String> tenantId,
+      String keyspaceGlobalName,
+      String table) {}
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.schema;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.grpc.GrpcClientUtils;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.sgv2.api.common.config.GrpcConfig;
+import io.stargate.sgv2.api.common.grpc.GrpcMetadataResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a subscription to the schema changes pushed by the bridge, and invalidates the matching
+ * <code>keyspace-cache</code> and {@link SchemaAuthorizationCache} entries on every change.
+ *
+ * <p>While the subscription is {@link #isActive(Optional) active}, the {@link SchemaManager} can
+ * trust the cached keyspaces of the subscribed tenant without validating their hash with the
+ * bridge. The subscription only becomes active once the bridge acknowledges it (or pushes the
+ * first change), as changes before that point might not be pushed. Every time the subscription is
+ * (re-)established the whole cache is dropped, as changes might have been missed in between.
+ *
+ * <p>The bridge requires a token for the subscription, and only pushes the changes of the keyspaces
+ * of the tenant of the call, see {@link GrpcConfig.SchemaChanges}.
+ */
+@ApplicationScoped
+public class SchemaChangeSubscriber {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaChangeSubscriber.class);
+
+  private static final Schema.SchemaChangesRequest REQUEST =
+      Schema.SchemaChangesRequest.getDefaultInstance();
+
+  @Inject
+  @CacheName("keyspace-cache")
+  Cache keyspaceCache;
+
+  @GrpcClient("bridge")
+  StargateBridge bridge;
+
+  @Inject GrpcConfig grpcConfig;
+
+  @Inject GrpcMetadataResolver metadataResolver;
+
+  @Inject SchemaAuthorizationCache authorizationCache;
+
+  private volatile boolean active;
+
+  private volatile Cancellable subscription;
+
+  /**
+   * @param tenantId Tenant of the cached keyspaces.
+   * @return If the subscription is established for the tenant, and thus its cached keyspaces can be
+   *     trusted.
+   */
+  public boolean isActive(Optional<String> tenantId) {
+    return active && Objects.equals(tenantId, grpcConfig.schemaChanges().tenantId());
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    if (grpcConfig.schemaChanges().enabled()) {
+      subscribe();
+    }
+  }
+
+  void onStop(@Observes ShutdownEvent event) {
+    Cancellable current = subscription;
+    if (null != current) {
+      current.cancel();
+    }
+    active = false;
+  }
+
+  void subscribe() {
+    GrpcConfig.SchemaChanges config = grpcConfig.schemaChanges();
+    if (config.token().isEmpty()) {
+      LOGGER.warn("No token set for the schema change stream, falling back to hash validation.");
+      return;
+    }
+    StargateBridge authenticatedBridge =
+        GrpcClientUtils.attachHeaders(
+            bridge, metadataResolver.getMetadata(config.tenantId(), config.token()));
+
+    subscription =
+        Multi.createFrom()
+            .deferred(() -> authenticatedBridge.subscribeSchemaChanges(REQUEST))
+
+            // the stream is not supposed to end, treat it as a failure so that we re-subscribe
+            .onCompletion()
+            .failWith(() -> new IllegalStateException("Schema change stream completed"))
+            .onFailure()
+            .invoke(
+                t -> {
+                  active = false;
+                  LOGGER.warn("Schema change stream from the bridge broke: {}", t.getMessage());
+                })
+
+            // re-subscribe, unless the bridge does not know the operation or rejects the token
+            .onFailure(t -> !isFinal(t))
+            .retry()
+            .withBackOff(config.retryInitialDelay(), config.retryMaxDelay())
+            .indefinitely()
+            .subscribe()
+            .with(
+                this::onMessage,
+                t -> {
+                  active = false;
+                  LOGGER.warn(
+                      "Can not subscribe to schema changes ({}), falling back to hash validation.",
+                      t.getMessage());
+                });
+  }
+
+  void onMessage(Schema.SchemaChange message) {
+    // the first message tells that the bridge registered the stream, from then on all the changes
+    // are pushed; whatever we cached so far can be stale, start from scratch
+    if (!active) {
+      invalidateAll();
+      active = true;
+    }
+    if (!message.getSubscribed()) {
+      onSchemaChange(message);
+    }
+  }
+
+  void onSchemaChange(Schema.SchemaChange change) {
+    LOGGER.debug(
+        "Schema change for keyspace {}, new hash {}",
+        change.getKeyspaceGlobalName(),
+        change.hasHash() ? change.getHash().getValue() : null);
+
+    // a re-created table or keyspace does not keep its permissions
+    authorizationCache.invalidateKeyspace(change.getKeyspaceGlobalName());
+
+    CaffeineCache cache = keyspaceCache.as(CaffeineCache.class);
+    for (Object key : cache.keySet()) {
+      CompletableFuture<Object> future = cache.getIfPresent(key);
+      if (null != future && isAffected(future, change)) {
+        keyspaceCache.invalidate(key).subscribe().with(v -> {});
+      }
+    }
+  }
+
+  // entries still loading or failed are invalidated as well, as we can not tell what they hold
+  private boolean isAffected(CompletableFuture<Object> future, Schema.SchemaChange change) {
+    if (!future.isDone() || future.isCompletedExceptionally()) {
+      return true;
+    }
+    if (future.getNow(null) instanceof Schema.CqlKeyspaceDescribe keyspace) {
+      return Objects.equals(
+              keyspace.getCqlKeyspace().getGlobalName(), change.getKeyspaceGlobalName())
+          && (!change.hasHash() || change.getHash().getValue() != keyspace.getHash().getValue());
+    }
+    return false;
+  }
+
+  private void invalidateAll() {
+    keyspaceCache.invalidateAll().subscribe().with(v -> {});
+    authorizationCache.invalidateAll();
+  }
+
+  // failures that would happen again when re-subscribing
+  private static boolean isFinal(Throwable t) {
+    if (t instanceof StatusRuntimeException sre) {
+      Status.Code code = sre.getStatus().getCode();
+      return code == Status.Code.UNIMPLEMENTED || code == Status.Code.UNAUTHENTICATED;
+    }
+    return false;
+  }
+}
@@ -61,6 +61,10 @@ public class SchemaManager {
 
   @Inject StargateRequestInfo requestInfo;
 
+  @Inject SchemaChangeSubscriber schemaChangeSubscriber;
+
+  @Inject SchemaAuthorizationCache authorizationCache;
+
   /**
    * Get the keyspace from the bridge. Note that this method is not doing any authorization. The
    * check that the keyspace has correct hash on the bridge will be done.
@@ -586,14 +590,25 @@ public class SchemaManager {
   // authorizes a keyspace by provided name
   private Uni<Boolean> authorizeKeyspaceInternal(StargateBridge bridge, String keyspaceName) {
     Schema.SchemaRead schemaRead = SchemaReads.keyspace(keyspaceName);
-    return authorizeInternal(bridge, schemaRead);
+    return authorizeCached(bridge, keyspaceName, null, schemaRead);
   }
 
   // authorizes a table by provided name and keyspace
   private Uni<Boolean> authorizeTableInternal(
       StargateBridge bridge, String keyspaceName, String tableName) {
     Schema.SchemaRead schemaRead = SchemaReads.table(keyspaceName, tableName);
-    return authorizeInternal(bridge, schemaRead);
+    return authorizeCached(bridge, keyspaceName, tableName, schemaRead);
+  }
+
+  // authorizes a single schema read, reusing the decision cached for the same token and tenant
+  private Uni<Boolean> authorizeCached(
+      StargateBridge bridge, String keyspaceName, String tableName, Schema.SchemaRead schemaRead) {
+    return authorizationCache.authorize(
+        requestInfo.getCassandraToken(),
+        requestInfo.getTenantId(),
+        keyspaceName,
+        tableName,
+        () -> authorizeInternal(bridge, schemaRead));
   }
 
   // authorizes a single schema read
@@ -667,8 +682,9 @@ public class SchemaManager {
               Boolean cached = tuple.getItem2();
 
               // if it was not cached before, we can simply return
-              // same if we don't want to validate hash
-              if (!cached || !validateHash) {
+              // same if we don't want to validate hash,
+              // or if the bridge pushes changes to us, as then the cache is up-to-date
+              if (!cached || !validateHash || schemaChangeSubscriber.isActive(tenantId)) {
                 return Uni.createFrom().item(keyspace);
               }
 
@@ -0,0 +1,200 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.sgv2.api.common.config.GrpcConfig;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BalancedStargateBridgeTest {
+
+  StargateBridge first;
+
+  StargateBridge second;
+
+  MeterRegistry meterRegistry;
+
+  ScheduledExecutorService scheduler;
+
+  @BeforeEach
+  public void init() {
+    first = mock(StargateBridge.class);
+    second = mock(StargateBridge.class);
+    meterRegistry = new SimpleMeterRegistry();
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterEach
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void leastOutstandingRequests() {
+    BalancedStargateBridge bridge = bridge(false);
+    when(first.executeBatch(any())).thenReturn(Uni.createFrom().nothing());
+    when(second.executeBatch(any())).thenReturn(Uni.createFrom().nothing());
+
+    // first call stays outstanding on one endpoint, second call must go to the other one
+    QueryOuterClass.Batch batch = QueryOuterClass.Batch.newBuilder().build();
+    bridge.executeBatch(batch).subscribe().withSubscriber(UniAssertSubscriber.create());
+    bridge.executeBatch(batch).subscribe().withSubscriber(UniAssertSubscriber.create());
+
+    verify(first).executeBatch(batch);
+    verify(second).executeBatch(batch);
+    assertThat(meterRegistry.get("bridge.client.in.flight").gauges())
+        .allSatisfy(gauge -> assertThat(gauge.value()).isEqualTo(1d));
+  }
+
+  @Test
+  public void hedgedReadWins() {
+    BalancedStargateBridge bridge = bridge(true);
+    Schema.CqlKeyspaceDescribe response = Schema.CqlKeyspaceDescribe.newBuilder().build();
+    when(first.describeKeyspace(any())).thenReturn(Uni.createFrom().nothing());
+    when(second.describeKeyspace(any())).thenReturn(Uni.createFrom().nothing());
+
+    // keep the first endpoint busy, so that the read goes to the second one
+    QueryOuterClass.Batch batch = QueryOuterClass.Batch.newBuilder().build();
+    when(first.executeBatch(any())).thenReturn(Uni.createFrom().nothing());
+    when(second.executeBatch(any())).thenReturn(Uni.createFrom().nothing());
+    bridge.executeBatch(batch).subscribe().withSubscriber(UniAssertSubscriber.create());
+    StargateBridge busy = inFlight("first:8091") == 1d ? first : second;
+    StargateBridge idle = busy == first ? second : first;
+    when(busy.describeKeyspace(any())).thenReturn(Uni.createFrom().item(response));
+
+    Schema.DescribeKeyspaceQuery request = Schema.DescribeKeyspaceQuery.newBuilder().build();
+    bridge
+        .describeKeyspace(request)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .assertItem(response);
+
+    verify(idle).describeKeyspace(request);
+    verify(busy).describeKeyspace(request);
+    assertThat(hedges("fired")).isEqualTo(1d);
+    assertThat(hedges("won")).isEqualTo(1d);
+  }
+
+  @Test
+  public void hedgedReadFailsWhenBothFail() {
+    BalancedStargateBridge bridge = bridge(true);
+    StatusRuntimeException failure = new StatusRuntimeException(Status.UNAVAILABLE);
+    // both fail after the hedging delay
+    Uni<Schema.AuthorizeSchemaReadsResponse> slowFailure =
+        Uni.createFrom()
+            .<Schema.AuthorizeSchemaReadsResponse>nullItem()
+            .onItem()
+            .delayIt()
+            .by(Duration.ofMillis(50))
+            .onItem()
+            .failWith(() -> failure);
+    when(first.authorizeSchemaReads(any())).thenReturn(slowFailure);
+    when(second.authorizeSchemaReads(any())).thenReturn(slowFailure);
+
+    Schema.AuthorizeSchemaReadsRequest request =
+        Schema.AuthorizeSchemaReadsRequest.newBuilder().build();
+    bridge
+        .authorizeSchemaReads(request)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitFailure()
+        .assertFailedWith(StatusRuntimeException.class);
+
+    verify(first).authorizeSchemaReads(request);
+    verify(second).authorizeSchemaReads(request);
+  }
+
+  @Test
+  public void writesNotHedged() {
+    BalancedStargateBridge bridge = bridge(true);
+    QueryOuterClass.Response response = QueryOuterClass.Response.newBuilder().build();
+    Uni<QueryOuterClass.Response> slow =
+        Uni.createFrom().item(response).onItem().delayIt().by(Duration.ofMillis(100));
+    when(first.executeQuery(any())).thenReturn(slow);
+    when(second.executeQuery(any())).thenReturn(slow);
+
+    QueryOuterClass.Query query =
+        QueryOuterClass.Query.newBuilder().setCql("INSERT INTO ks.t (k) VALUES (1)").build();
+    bridge
+        .executeQuery(query)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .assertItem(response);
+
+    assertThat(meterRegistry.get("bridge.client.latency").timers())
+        .extracting(Timer::count)
+        .containsExactlyInAnyOrder(0L, 1L);
+    assertThat(hedges("fired")).isZero();
+  }
+
+  private double inFlight(String endpoint) {
+    return meterRegistry.get("bridge.client.in.flight").tag("endpoint", endpoint).gauge().value();
+  }
+
+  // sum over all endpoints
+  private double hedges(String outcome) {
+    return meterRegistry
+        .get("bridge.client.hedges")
+        .tag("outcome", outcome)
+        .counters()
+        .stream()
+        .mapToDouble(Counter::count)
+        .sum();
+  }
+
+  private BalancedStargateBridge bridge(boolean hedging) {
+    GrpcConfig.Hedging hedgingConfig = mock(GrpcConfig.Hedging.class);
+    when(hedgingConfig.enabled()).thenReturn(hedging);
+    when(hedgingConfig.percentile()).thenReturn(0.95);
+    when(hedgingConfig.minDelay()).thenReturn(Duration.ofMillis(10));
+    GrpcConfig grpcConfig = mock(GrpcConfig.class);
+    when(grpcConfig.hedging()).thenReturn(hedgingConfig);
+
+    Map<String, StargateBridge> bridges = new LinkedHashMap<>();
+    bridges.put("first:8091", first);
+    bridges.put("second:8091", second);
+    return new BalancedStargateBridge(
+        bridges, Collections.emptyList(), grpcConfig, meterRegistry, scheduler);
+  }
+}
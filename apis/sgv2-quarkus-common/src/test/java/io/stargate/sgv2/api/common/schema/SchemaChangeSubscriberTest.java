@@ -0,0 +1,171 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.sgv2.api.common.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.Int32Value;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.cache.CompositeCacheKey;
+import io.quarkus.test.junit.QuarkusTest;
+import io.stargate.bridge.proto.Schema;
+import jakarta.inject.Inject;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class SchemaChangeSubscriberTest {
+
+  @Inject SchemaChangeSubscriber subscriber;
+
+  @Inject
+  @CacheName("keyspace-cache")
+  Cache keyspaceCache;
+
+  @Inject
+  @CacheName("schema-authorization-cache")
+  Cache authorizationCache;
+
+  @BeforeEach
+  public void clearCache() {
+    keyspaceCache.invalidateAll().await().indefinitely();
+    authorizationCache.invalidateAll().await().indefinitely();
+  }
+
+  @Test
+  public void notActiveByDefault() {
+    assertThat(subscriber.isActive(Optional.empty())).isFalse();
+  }
+
+  @Test
+  public void activeOnceAcknowledged() {
+    String keyspace = RandomStringUtils.randomAlphanumeric(16);
+    CompositeCacheKey key = cache(keyspace, 1);
+
+    try {
+      subscriber.onMessage(Schema.SchemaChange.newBuilder().setSubscribed(true).build());
+
+      assertThat(subscriber.isActive(Optional.empty())).isTrue();
+      // anything cached before the acknowledgement can be stale
+      assertThat(keyspaceCache.as(CaffeineCache.class).keySet()).doesNotContain(key);
+
+      // further messages only invalidate what changed
+      CompositeCacheKey otherKey = cache(RandomStringUtils.randomAlphanumeric(16), 1);
+      subscriber.onMessage(change(keyspace, 2));
+      assertThat(keyspaceCache.as(CaffeineCache.class).keySet()).contains(otherKey);
+    } finally {
+      subscriber.onStop(null);
+    }
+  }
+
+  @Test
+  public void invalidatesChangedKeyspaceOnly() {
+    String keyspace = RandomStringUtils.randomAlphanumeric(16);
+    String other = RandomStringUtils.randomAlphanumeric(16);
+    CompositeCacheKey key = cache(keyspace, 1);
+    CompositeCacheKey otherKey = cache(other, 1);
+
+    subscriber.onSchemaChange(change(keyspace, 2));
+
+    assertThat(keyspaceCache.as(CaffeineCache.class).keySet())
+        .doesNotContain(key)
+        .contains(otherKey);
+  }
+
+  @Test
+  public void keepsKeyspaceWithSameHash() {
+    String keyspace = RandomStringUtils.randomAlphanumeric(16);
+    CompositeCacheKey key = cache(keyspace, 1);
+
+    subscriber.onSchemaChange(change(keyspace, 1));
+
+    assertThat(keyspaceCache.as(CaffeineCache.class).keySet()).contains(key);
+  }
+
+  @Test
+  public void invalidatesDroppedKeyspace() {
+    String keyspace = RandomStringUtils.randomAlphanumeric(16);
+    CompositeCacheKey key = cache(keyspace, 1);
+
+    subscriber.onSchemaChange(
+        Schema.SchemaChange.newBuilder().setKeyspaceGlobalName(keyspace).build());
+
+    assertThat(keyspaceCache.as(CaffeineCache.class).keySet()).doesNotContain(key);
+  }
+
+  @Test
+  public void invalidatesPendingEntries() {
+    String keyspace = RandomStringUtils.randomAlphanumeric(16);
+    CompositeCacheKey key = new CompositeCacheKey(keyspace, Optional.empty());
+    keyspaceCache.as(CaffeineCache.class).put(key, new CompletableFuture<>());
+
+    subscriber.onSchemaChange(change(RandomStringUtils.randomAlphanumeric(16), 1));
+
+    assertThat(keyspaceCache.as(CaffeineCache.class).keySet()).doesNotContain(key);
+  }
+
+  @Test
+  public void invalidatesAuthorizationsOfChangedKeyspace() {
+    String keyspace = RandomStringUtils.randomAlphanumeric(16);
+    String other = RandomStringUtils.randomAlphanumeric(16);
+    SchemaAuthorizationCache.Key key =
+        new SchemaAuthorizationCache.Key(Optional.empty(), Optional.empty(), keyspace, "table");
+    SchemaAuthorizationCache.Key otherKey =
+        new SchemaAuthorizationCache.Key(Optional.empty(), Optional.empty(), other, null);
+    // a keyspace whose name is a suffix of the changed one
+    SchemaAuthorizationCache.Key suffixKey =
+        new SchemaAuthorizationCache.Key(
+            Optional.empty(), Optional.empty(), keyspace.substring(1), null);
+    authorizationCache.as(CaffeineCache.class).put(key, CompletableFuture.completedFuture(true));
+    authorizationCache
+        .as(CaffeineCache.class)
+        .put(otherKey, CompletableFuture.completedFuture(false));
+    authorizationCache
+        .as(CaffeineCache.class)
+        .put(suffixKey, CompletableFuture.completedFuture(true));
+
+    subscriber.onSchemaChange(change(keyspace, 2));
+
+    assertThat(authorizationCache.as(CaffeineCache.class).keySet())
+        .doesNotContain(key)
+        .contains(otherKey, suffixKey);
+  }
+
+  private CompositeCacheKey cache(String keyspace, int hash) {
+    Schema.CqlKeyspaceDescribe describe =
+        Schema.CqlKeyspaceDescribe.newBuilder()
+            .setCqlKeyspace(
+                Schema.CqlKeyspace.newBuilder().setName(keyspace).setGlobalName(keyspace))
+            .setHash(Int32Value.of(hash))
+            .build();
+    CompositeCacheKey key = new CompositeCacheKey(keyspace, Optional.empty());
+    keyspaceCache.as(CaffeineCache.class).put(key, CompletableFuture.completedFuture(describe));
+    return key;
+  }
+
+  private Schema.SchemaChange change(String keyspace, int hash) {
+    return Schema.SchemaChange.newBuilder()
+        .setKeyspaceGlobalName(keyspace)
+        .setHash(Int32Value.of(hash))
+        .build();
+  }
+}
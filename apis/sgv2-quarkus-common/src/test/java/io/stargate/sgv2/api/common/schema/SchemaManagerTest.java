@@ -620,7 +620,8 @@ class SchemaManagerTest extends BridgeTest {
               .withSubscriber(UniAssertSubscriber.create());
       cachedResult.awaitItem().assertItem(response).assertCompleted();
 
-      verify(bridgeService, times(2)).authorizeSchemaReads(schemaReadsCaptor.capture(), any());
+      // authorization decision is cached as well
+      verify(bridgeService).authorizeSchemaReads(schemaReadsCaptor.capture(), any());
       verify(bridgeService).describeKeyspace(describeKeyspaceCaptor.capture(), any());
       verifyNoMoreInteractions(bridgeService);
 
@@ -630,7 +631,7 @@ class SchemaManagerTest extends BridgeTest {
 
       // asert auth request
       assertThat(schemaReadsCaptor.getAllValues())
-          .hasSize(2)
+          .hasSize(1)
           .allSatisfy(
               captured ->
                   assertThat(captured)
@@ -692,6 +693,69 @@ class SchemaManagerTest extends BridgeTest {
       assertThat(keyspaceCache.as(CaffeineCache.class).keySet())
           .doesNotContain(new CompositeCacheKey(keyspace, Optional.empty()));
     }
+
+    @Test
+    public void notAuthorizedCached() {
+      String keyspace = RandomStringUtils.randomAlphanumeric(16);
+      Schema.AuthorizeSchemaReadsResponse authResponse =
+          Schema.AuthorizeSchemaReadsResponse.newBuilder().addAuthorized(false).build();
+
+      doAnswer(
+              invocationOnMock -> {
+                StreamObserver<Schema.AuthorizeSchemaReadsResponse> observer =
+                    invocationOnMock.getArgument(1);
+                observer.onNext(authResponse);
+                observer.onCompleted();
+                return null;
+              })
+          .when(bridgeService)
+          .authorizeSchemaReads(any(), any());
+
+      for (int i = 0; i < 2; i++) {
+        schemaManager
+            .getKeyspaceAuthorized(keyspace)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create())
+            .awaitFailure()
+            .assertFailedWith(UnauthorizedKeyspaceException.class);
+      }
+
+      // negative decision is cached
+      verify(bridgeService).authorizeSchemaReads(any(), any());
+      verifyNoMoreInteractions(bridgeService);
+    }
+
+    @Test
+    public void authorizationCachedPerToken() {
+      String keyspace = RandomStringUtils.randomAlphanumeric(16);
+      Schema.AuthorizeSchemaReadsResponse authResponse =
+          Schema.AuthorizeSchemaReadsResponse.newBuilder().addAuthorized(false).build();
+
+      doAnswer(
+              invocationOnMock -> {
+                StreamObserver<Schema.AuthorizeSchemaReadsResponse> observer =
+                    invocationOnMock.getArgument(1);
+                observer.onNext(authResponse);
+                observer.onCompleted();
+                return null;
+              })
+          .when(bridgeService)
+          .authorizeSchemaReads(any(), any());
+
+      for (String token : Arrays.asList("token1", "token2")) {
+        when(requestInfo.getCassandraToken()).thenReturn(Optional.of(token));
+        schemaManager
+            .getKeyspaceAuthorized(keyspace)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create())
+            .awaitFailure()
+            .assertFailedWith(UnauthorizedKeyspaceException.class);
+      }
+
+      // decision of one token is not reused for another
+      verify(bridgeService, times(2)).authorizeSchemaReads(any(), any());
+      verifyNoMoreInteractions(bridgeService);
+    }
   }
 
   @Nested
@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
@@ -113,6 +114,11 @@ public class ValidatingStargateBridge implements StargateBridge {
     throw new UnsupportedOperationException("Not implemented by this mock");
   }
 
+  @Override
+  public Multi<Schema.SchemaChange> subscribeSchemaChanges(Schema.SchemaChangesRequest request) {
+    throw new UnsupportedOperationException("Not implemented by this mock");
+  }
+
   private QueryExpectation add(QueryExpectation expectation) {
     expectedQueries.add(expectation);
     return expectation;
@@ -60,4 +60,13 @@ public interface RestApiConfig {
   /** Flag to either enable or disable CQL over REST API. */
   @WithDefault(RestApiConstants.CQL_DISABLED)
   boolean cqlDisabled();
+
+  /**
+   * Flag to request the rows of read queries as raw CQL bytes from the Bridge, so that the cells
+   * are decoded once, while converting them to JSON, instead of being decoded into protobuf values
+   * by the Bridge first. Bridges that do not support it return regular rows, which are handled as
+   * well.
+   */
+  @WithDefault(RestApiConstants.RAW_ROWS)
+  boolean rawRows();
 }
@@ -22,4 +22,6 @@ public interface RestApiConstants {
   public static final String COMPACT_MAP_DATA = "true";
 
   public static final String CQL_DISABLED = "true";
+
+  public static final String RAW_ROWS = "true";
 }
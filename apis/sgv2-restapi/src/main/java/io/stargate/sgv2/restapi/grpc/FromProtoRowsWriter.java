@@ -0,0 +1,79 @@
+package io.stargate.sgv2.restapi.grpc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.stargate.bridge.grpc.RawRowsDecoder;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.restapi.service.models.Sgv2RowsResponse;
+import java.io.IOException;
+
+/**
+ * Response entity that writes the rows of a Bridge Protobuf {@link QueryOuterClass.ResultSet} as
+ * JSON, row by row and column by column, when the response is serialized: this avoids building a
+ * {@code List<Map<String, Object>>} copy of the whole page before serialization.
+ *
+ * <p>Output is the same as serializing either the list of rows (for "raw" responses) or the
+ * equivalent {@link Sgv2RowsResponse} (for wrapped responses).
+ */
+public class FromProtoRowsWriter extends JsonSerializable.Base {
+  private final QueryOuterClass.ResultSet resultSet;
+  private final FromProtoConverter converter;
+  private final boolean raw;
+  private final String pageState;
+
+  public FromProtoRowsWriter(
+      QueryOuterClass.ResultSet resultSet,
+      FromProtoConverter converter,
+      boolean raw,
+      String pageState) {
+    this.resultSet = resultSet;
+    this.converter = converter;
+    this.raw = raw;
+    this.pageState = pageState;
+  }
+
+  public int rowCount() {
+    return resultSet.hasRawRows() ? resultSet.getRawRows().getRowCount() : resultSet.getRowsCount();
+  }
+
+  @Override
+  public void serialize(JsonGenerator g, SerializerProvider provider) throws IOException {
+    if (raw) {
+      writeRows(g);
+      return;
+    }
+    // Same properties, in the same order, as Sgv2RowsResponse (null "pageState" is omitted)
+    g.writeStartObject();
+    g.writeNumberField("count", rowCount());
+    if (pageState != null) {
+      g.writeStringField("pageState", pageState);
+    }
+    g.writeFieldName("data");
+    writeRows(g);
+    g.writeEndObject();
+  }
+
+  @Override
+  public void serializeWithType(
+      JsonGenerator g, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+    serialize(g, provider);
+  }
+
+  private void writeRows(JsonGenerator g) throws IOException {
+    g.writeStartArray();
+    if (resultSet.hasRawRows()) {
+      // Raw cells are decoded one row at a time, as they are written
+      RawRowsDecoder decoder = new RawRowsDecoder(resultSet);
+      for (int i = 0, end = decoder.getRowCount(); i < end; ++i) {
+        converter.writeProtoValues(g, decoder.getValues(i));
+      }
+    } else {
+      for (QueryOuterClass.Row row : resultSet.getRowsList()) {
+        converter.writeProtoValues(g, row.getValuesList());
+      }
+    }
+    g.writeEndArray();
+  }
+}
@@ -1,7 +1,9 @@
 package io.stargate.sgv2.restapi.grpc;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.stargate.bridge.proto.QueryOuterClass;
+import java.io.IOException;
 
 /**
  * Interface for low-level handles that convert a single column value defined in the "external"
@@ -12,4 +14,12 @@ public abstract class FromProtoValueCodec {
   public abstract Object fromProtoValue(QueryOuterClass.Value value);
 
   public abstract JsonNode jsonNodeFrom(QueryOuterClass.Value value);
+
+  /**
+   * Writes the value directly with given generator: output is the same as serializing the result of
+   * {@link #fromProtoValue}. Scalar codecs override this to avoid boxing intermediate values.
+   */
+  public void writeTo(JsonGenerator g, QueryOuterClass.Value value) throws IOException {
+    g.writeObject(fromProtoValue(value));
+  }
 }
@@ -1,5 +1,6 @@
 package io.stargate.sgv2.restapi.grpc;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
@@ -7,6 +8,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.sgv2.api.common.config.RequestParams;
+import java.io.IOException;
 import java.time.Instant;
 import java.util.*;
 
@@ -215,6 +217,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.textNode(Values.string(value));
     }
+
+    @Override
+    public void writeTo(JsonGenerator g, QueryOuterClass.Value value) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeString(Values.string(value));
+      }
+    }
   }
 
   /* Basic/scalar codec implementations: numeric */
@@ -233,6 +244,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.int_(value));
     }
+
+    @Override
+    public void writeTo(JsonGenerator g, QueryOuterClass.Value value) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.int_(value));
+      }
+    }
   }
 
   protected static final class LongCodec extends FromProtoValueCodec {
@@ -249,6 +269,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.bigint(value));
     }
+
+    @Override
+    public void writeTo(JsonGenerator g, QueryOuterClass.Value value) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.bigint(value));
+      }
+    }
   }
 
   protected static final class FloatCodec extends FromProtoValueCodec {
@@ -265,6 +294,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.float_(value));
     }
+
+    @Override
+    public void writeTo(JsonGenerator g, QueryOuterClass.Value value) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.float_(value));
+      }
+    }
   }
 
   protected static final class DoubleCodec extends FromProtoValueCodec {
@@ -281,6 +319,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.double_(value));
     }
+
+    @Override
+    public void writeTo(JsonGenerator g, QueryOuterClass.Value value) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.double_(value));
+      }
+    }
   }
 
   protected static final class ShortCodec extends FromProtoValueCodec {
@@ -297,6 +344,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.numberNode(Values.smallint(value));
     }
+
+    @Override
+    public void writeTo(JsonGenerator g, QueryOuterClass.Value value) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeNumber(Values.smallint(value));
+      }
+    }
   }
 
   protected static final class VarintCodec extends FromProtoValueCodec {
@@ -381,6 +437,15 @@ public class FromProtoValueCodecs {
           ? jsonNodeFactory.nullNode()
           : jsonNodeFactory.booleanNode(Values.bool(value));
     }
+
+    @Override
+    public void writeTo(JsonGenerator g, QueryOuterClass.Value value) throws IOException {
+      if (value.getInnerCase() == QueryOuterClass.Value.InnerCase.NULL) {
+        g.writeNull();
+      } else {
+        g.writeBoolean(Values.bool(value));
+      }
+    }
   }
 
   protected static final class UUIDCodec extends FromProtoValueCodec {
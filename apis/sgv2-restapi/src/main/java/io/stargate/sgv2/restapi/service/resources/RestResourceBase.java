@@ -11,6 +11,7 @@ import com.google.protobuf.Int32Value;
 import com.google.protobuf.StringValue;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.stargate.bridge.grpc.RawRowsDecoder;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.api.common.StargateRequestInfo;
@@ -19,9 +20,9 @@ import io.stargate.sgv2.api.common.schema.SchemaManager;
 import io.stargate.sgv2.restapi.config.RestApiConfig;
 import io.stargate.sgv2.restapi.grpc.BridgeProtoValueConverters;
 import io.stargate.sgv2.restapi.grpc.FromProtoConverter;
+import io.stargate.sgv2.restapi.grpc.FromProtoRowsWriter;
 import io.stargate.sgv2.restapi.grpc.ToProtoConverter;
 import io.stargate.sgv2.restapi.service.models.Sgv2NameResponse;
-import io.stargate.sgv2.restapi.service.models.Sgv2RowsResponse;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
@@ -190,6 +191,17 @@ public abstract class RestResourceBase {
     return paramsB.build();
   }
 
+  /**
+   * Same as {@link #parametersForPageSizeAndState(int, String)}, but also requests raw rows if
+   * {@link RestApiConfig#rawRows()} is enabled. Only use this for queries whose results go through
+   * {@link #convertRowsToResponse}.
+   */
+  QueryOuterClass.QueryParameters parametersForRowsRead(int pageSizeParam, String pageStateParam) {
+    QueryOuterClass.QueryParameters parameters =
+        parametersForPageSizeAndState(pageSizeParam, pageStateParam);
+    return restApiConfig.rawRows() ? parameters.toBuilder().setRawRows(true).build() : parameters;
+  }
+
   static QueryOuterClass.QueryParameters parametersForPageSizeStateAndKeyspace(
       int pageSizeParam, String pageStateParam, String keyspace) {
     if (isStringEmpty(pageStateParam) && pageSizeParam <= 0 && isStringEmpty(keyspace)) {
@@ -232,25 +244,13 @@ public abstract class RestResourceBase {
   public static RestResponse<Object> convertRowsToResponse(
       QueryOuterClass.Response grpcResponse, boolean raw, RequestParams requestParams) {
     final QueryOuterClass.ResultSet rs = grpcResponse.getResultSet();
-    final int count = rs.getRowsCount();
-
-    String pageStateStr = extractPagingStateFromResultSet(rs);
-    List<Map<String, Object>> rows = convertRows(rs, requestParams);
-    Object response = raw ? rows : new Sgv2RowsResponse(count, pageStateStr, rows);
-    return RestResponse.ok(response);
-  }
-
-  protected static List<Map<String, Object>> convertRows(
-      QueryOuterClass.ResultSet rs, RequestParams requestParams) {
     FromProtoConverter converter =
         BridgeProtoValueConverters.instance()
             .fromProtoConverter(rs.getColumnsList(), requestParams);
-    List<Map<String, Object>> resultRows = new ArrayList<>();
-    List<QueryOuterClass.Row> rows = rs.getRowsList();
-    for (QueryOuterClass.Row row : rows) {
-      resultRows.add(converter.mapFromProtoValues(row.getValuesList()));
-    }
-    return resultRows;
+    // Rows are written directly to the response as it gets serialized, instead of materializing
+    // them as Maps first; output is the same as with a List of rows / Sgv2RowsResponse
+    return RestResponse.ok(
+        new FromProtoRowsWriter(rs, converter, raw, extractPagingStateFromResultSet(rs)));
   }
 
   protected static ArrayNode convertRowsToArrayNode(
@@ -259,13 +259,32 @@ public abstract class RestResourceBase {
         BridgeProtoValueConverters.instance()
             .fromProtoConverter(rs.getColumnsList(), requestParams);
     ArrayNode resultRows = JSON_MAPPER.createArrayNode();
-    List<QueryOuterClass.Row> rows = rs.getRowsList();
-    for (QueryOuterClass.Row row : rows) {
-      resultRows.add(converter.objectNodeFromProtoValues(row.getValuesList()));
+    for (List<QueryOuterClass.Value> values : rowValues(rs)) {
+      resultRows.add(converter.objectNodeFromProtoValues(values));
     }
     return resultRows;
   }
 
+  /**
+   * Returns the values of each row, whether the Bridge returned regular or raw rows. Raw cells are
+   * decoded lazily, as the converters read them.
+   */
+  private static List<List<QueryOuterClass.Value>> rowValues(QueryOuterClass.ResultSet rs) {
+    if (rs.hasRawRows()) {
+      RawRowsDecoder decoder = new RawRowsDecoder(rs);
+      List<List<QueryOuterClass.Value>> rows = new ArrayList<>(decoder.getRowCount());
+      for (int i = 0; i < decoder.getRowCount(); i++) {
+        rows.add(decoder.getValues(i));
+      }
+      return rows;
+    }
+    List<List<QueryOuterClass.Value>> rows = new ArrayList<>(rs.getRowsCount());
+    for (QueryOuterClass.Row row : rs.getRowsList()) {
+      rows.add(row.getValuesList());
+    }
+    return rows;
+  }
+
   // // // Helper methods for input validation
 
   protected static final boolean isStringEmpty(String str) {
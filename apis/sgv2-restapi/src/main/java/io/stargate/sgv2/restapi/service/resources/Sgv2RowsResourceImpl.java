@@ -59,7 +59,7 @@ public class Sgv2RowsResourceImpl extends RestResourceBase implements Sgv2RowsRe
                     .from(keyspaceName, tableName)
                     .where(whereConditions)
                     .orderBy(sortOrder)
-                    .parameters(parametersForPageSizeAndState(pageSizeParam, pageStateParam))
+                    .parameters(parametersForRowsRead(pageSizeParam, pageStateParam))
                     .build();
               } else {
                 return new QueryBuilder()
@@ -68,7 +68,7 @@ public class Sgv2RowsResourceImpl extends RestResourceBase implements Sgv2RowsRe
                     .from(keyspaceName, tableName)
                     .where(whereConditions)
                     .orderBy(sortOrder)
-                    .parameters(parametersForPageSizeAndState(pageSizeParam, pageStateParam))
+                    .parameters(parametersForRowsRead(pageSizeParam, pageStateParam))
                     .build();
               }
             })
@@ -149,14 +149,14 @@ public class Sgv2RowsResourceImpl extends RestResourceBase implements Sgv2RowsRe
                 .star()
                 .from(keyspaceName, tableName)
                 .orderBy(sortOrder)
-                .parameters(parametersForPageSizeAndState(pageSizeParam, pageStateParam))
+                .parameters(parametersForRowsRead(pageSizeParam, pageStateParam))
                 .build()
             : new QueryBuilder()
                 .select()
                 .column(columns)
                 .from(keyspaceName, tableName)
                 .orderBy(sortOrder)
-                .parameters(parametersForPageSizeAndState(pageSizeParam, pageStateParam))
+                .parameters(parametersForRowsRead(pageSizeParam, pageStateParam))
                 .build();
     return executeQueryAsync(query)
         .map(response -> convertRowsToResponse(response, raw, requestParams));
@@ -313,7 +313,7 @@ public class Sgv2RowsResourceImpl extends RestResourceBase implements Sgv2RowsRe
           .from(keyspaceName, tableName)
           .where(whereConditions)
           .orderBy(sortOrder)
-          .parameters(parametersForPageSizeAndState(pageSizeParam, pageStateParam))
+          .parameters(parametersForRowsRead(pageSizeParam, pageStateParam))
           .build();
     }
     return new QueryBuilder()
@@ -322,7 +322,7 @@ public class Sgv2RowsResourceImpl extends RestResourceBase implements Sgv2RowsRe
         .from(keyspaceName, tableName)
         .where(whereConditions)
         .orderBy(sortOrder)
-        .parameters(parametersForPageSizeAndState(pageSizeParam, pageStateParam))
+        .parameters(parametersForRowsRead(pageSizeParam, pageStateParam))
         .build();
   }
 
@@ -3,10 +3,12 @@ package io.stargate.sgv2.restapi.grpc;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.stargate.bridge.grpc.CqlDuration;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.sgv2.api.common.config.ImmutableRequestParams;
+import io.stargate.sgv2.restapi.service.models.Sgv2RowsResponse;
 import java.util.*;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,8 @@ public class FromProtoConverterTest {
 
   private static final FromProtoValueCodecs FROM_PROTO_VALUE_CODECS = new FromProtoValueCodecs();
 
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
   private static Arguments[] fromExternalSamples() {
     return new Arguments[] {
       arguments(123, basicType(QueryOuterClass.TypeSpec.Basic.INT), Values.of(123)),
@@ -161,6 +165,31 @@ public class FromProtoConverterTest {
     assertThat(result.get(TEST_COLUMN)).isEqualTo(externalValue);
   }
 
+  @ParameterizedTest
+  @MethodSource("fromExternalSamples")
+  @DisplayName("Should write Bridge/gRPC value as JSON same as serializing converted value")
+  public void writeProtoValuesTest(
+      Object externalValue, QueryOuterClass.TypeSpec typeSpec, QueryOuterClass.Value bridgeValue)
+      throws Exception {
+    FromProtoConverter conv = createConverter(typeSpec, false);
+    QueryOuterClass.ResultSet rs =
+        QueryOuterClass.ResultSet.newBuilder()
+            .addRows(QueryOuterClass.Row.newBuilder().addValues(bridgeValue))
+            .addRows(QueryOuterClass.Row.newBuilder().addValues(Values.NULL))
+            .build();
+    List<Map<String, Object>> rows =
+        Arrays.asList(
+            conv.mapFromProtoValues(Arrays.asList(bridgeValue)),
+            conv.mapFromProtoValues(Arrays.asList(Values.NULL)));
+
+    assertThat(MAPPER.writeValueAsString(new FromProtoRowsWriter(rs, conv, true, null)))
+        .isEqualTo(MAPPER.writeValueAsString(rows));
+    assertThat(MAPPER.writeValueAsString(new FromProtoRowsWriter(rs, conv, false, null)))
+        .isEqualTo(MAPPER.writeValueAsString(new Sgv2RowsResponse(2, null, rows)));
+    assertThat(MAPPER.writeValueAsString(new FromProtoRowsWriter(rs, conv, false, "AQID")))
+        .isEqualTo(MAPPER.writeValueAsString(new Sgv2RowsResponse(2, "AQID", rows)));
+  }
+
   // For [stargate#2246]: handle conversion for "missing" Tuple value
   @Test
   public void emptyOrMissingTupleToNullTest() {
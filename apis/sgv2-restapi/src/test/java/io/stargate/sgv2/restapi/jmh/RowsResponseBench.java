@@ -0,0 +1,112 @@
+package io.stargate.sgv2.restapi.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.sgv2.api.common.config.ImmutableRequestParams;
+import io.stargate.sgv2.restapi.grpc.BridgeProtoValueConverters;
+import io.stargate.sgv2.restapi.grpc.FromProtoConverter;
+import io.stargate.sgv2.restapi.grpc.FromProtoRowsWriter;
+import io.stargate.sgv2.restapi.service.models.Sgv2RowsResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the serialization of a page of Bridge rows as a REST API rows response: either by
+ * first converting the rows to a {@code List<Map<String, Object>>}, or by writing them directly
+ * with {@link FromProtoRowsWriter}.
+ *
+ * <p>Rows have an int, a bigint, a text and a list&lt;text&gt; column.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=RowsResponseBench -Djmh.prof=gc</code>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RowsResponseBench {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Param({"100", "1000", "10000"})
+  int rowCount;
+
+  private QueryOuterClass.ResultSet resultSet;
+
+  private FromProtoConverter converter;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    QueryOuterClass.ResultSet.Builder rs =
+        QueryOuterClass.ResultSet.newBuilder()
+            .addColumns(column("id", basicType(QueryOuterClass.TypeSpec.Basic.INT)))
+            .addColumns(column("counter", basicType(QueryOuterClass.TypeSpec.Basic.BIGINT)))
+            .addColumns(column("name", basicType(QueryOuterClass.TypeSpec.Basic.VARCHAR)))
+            .addColumns(
+                column(
+                    "tags",
+                    QueryOuterClass.TypeSpec.newBuilder()
+                        .setList(
+                            QueryOuterClass.TypeSpec.List.newBuilder()
+                                .setElement(basicType(QueryOuterClass.TypeSpec.Basic.VARCHAR)))
+                        .build()));
+    for (int i = 0; i < rowCount; i++) {
+      rs.addRows(
+          QueryOuterClass.Row.newBuilder()
+              .addValues(Values.of(i))
+              .addValues(Values.of(1000L * i))
+              .addValues(Values.of("name " + i))
+              .addValues(Values.of(Arrays.asList(Values.of("tag" + i), Values.of("common")))));
+    }
+    resultSet = rs.build();
+    converter =
+        BridgeProtoValueConverters.instance()
+            .fromProtoConverter(
+                resultSet.getColumnsList(), ImmutableRequestParams.builder().build());
+  }
+
+  @Benchmark
+  public void materialized() throws IOException {
+    List<Map<String, Object>> rows = new ArrayList<>(resultSet.getRowsCount());
+    for (QueryOuterClass.Row row : resultSet.getRowsList()) {
+      rows.add(converter.mapFromProtoValues(row.getValuesList()));
+    }
+    MAPPER.writeValue(
+        OutputStream.nullOutputStream(), new Sgv2RowsResponse(rows.size(), null, rows));
+  }
+
+  @Benchmark
+  public void streamed() throws IOException {
+    MAPPER.writeValue(
+        OutputStream.nullOutputStream(),
+        new FromProtoRowsWriter(resultSet, converter, false, null));
+  }
+
+  private static QueryOuterClass.ColumnSpec column(String name, QueryOuterClass.TypeSpec type) {
+    return QueryOuterClass.ColumnSpec.newBuilder().setName(name).setType(type).build();
+  }
+
+  private static QueryOuterClass.TypeSpec basicType(QueryOuterClass.TypeSpec.Basic basic) {
+    return QueryOuterClass.TypeSpec.newBuilder().setBasic(basic).build();
+  }
+}
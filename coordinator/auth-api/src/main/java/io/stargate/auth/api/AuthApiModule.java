@@ -22,6 +22,7 @@ import io.stargate.core.metrics.api.Metrics;
 import io.stargate.core.services.BaseService;
 import io.stargate.core.services.ServiceDependency;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +53,11 @@ public class AuthApiModule extends BaseService {
     return Arrays.asList(metric, httpTagProvider, authenticationService);
   }
 
+  @Override
+  protected List<Class<?>> providedServices() {
+    return Collections.singletonList(AuthApiRunner.class);
+  }
+
   @Override
   protected void createServices() throws Exception {
     logger.info("Starting Auth API service");
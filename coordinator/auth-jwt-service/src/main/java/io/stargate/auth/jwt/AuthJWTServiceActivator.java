@@ -29,6 +29,7 @@ import io.stargate.core.services.BaseService;
 import io.stargate.core.services.ServiceDependency;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -61,6 +62,11 @@ public class AuthJWTServiceActivator extends BaseService {
     return Collections.emptyList();
   }
 
+  @Override
+  protected List<Class<?>> providedServices() {
+    return Arrays.asList(AuthenticationService.class, AuthorizationService.class);
+  }
+
   @Override
   protected void createServices() throws Exception {
     String authId = System.getProperty("stargate.auth_id");
@@ -95,10 +101,13 @@ public class AuthJWTServiceActivator extends BaseService {
         new JWSVerificationKeySelector<>(expectedJWSAlg, keySource);
     jwtProcessor.setJWSKeySelector(keySelector);
 
-    authnJwtService = new AuthnJwtService(jwtProcessor);
+    // Shared so that authorization reuses the claims parsed during authentication
+    VerifiedTokenCache verifiedTokens = new VerifiedTokenCache();
+
+    authnJwtService = new AuthnJwtService(jwtProcessor, verifiedTokens);
     register(AuthenticationService.class, authnJwtService, props);
 
-    authzJwtService = new AuthzJwtService();
+    authzJwtService = new AuthzJwtService(verifiedTokens);
     register(AuthorizationService.class, authzJwtService, props);
 
     logger.info("AuthJwtService registered successfully");
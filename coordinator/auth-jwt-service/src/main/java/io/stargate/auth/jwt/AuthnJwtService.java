@@ -23,6 +23,7 @@ import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.UnauthorizedException;
+import io.stargate.auth.jwt.VerifiedTokenCache.VerifiedToken;
 import io.stargate.db.Authenticator.SaslNegotiator;
 import io.stargate.db.ClientInfo;
 import java.text.ParseException;
@@ -39,9 +40,17 @@ public class AuthnJwtService implements AuthenticationService {
   protected static final String CLAIMS_FIELD = "stargate_claims";
 
   private final ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor;
+  private final VerifiedTokenCache verifiedTokens;
 
   public AuthnJwtService(ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor) {
+    this(jwtProcessor, new VerifiedTokenCache());
+  }
+
+  AuthnJwtService(
+      ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor,
+      VerifiedTokenCache verifiedTokens) {
     this.jwtProcessor = jwtProcessor;
+    this.verifiedTokens = verifiedTokens;
   }
 
   @Override
@@ -60,6 +69,9 @@ public class AuthnJwtService implements AuthenticationService {
    * Validates a token in the form of a JWT to ensure that 1) it's not expired, 2) it's correctly
    * signed by the provider, and 3) contains the proper role for the given DB.
    *
+   * <p>Tokens that pass validation are cached until they expire, so that they are only validated
+   * once.
+   *
    * @param token A JWT created by an auth provider.
    * @return A {@link AuthenticationSubject} containing the role name the request is authenticated
    *     to use.
@@ -72,10 +84,17 @@ public class AuthnJwtService implements AuthenticationService {
       throw new UnauthorizedException("authorization failed - missing token");
     }
 
+    VerifiedToken verifiedToken = verifiedTokens.get(token);
+    if (verifiedToken != null) {
+      return AuthenticationSubject.of(token, verifiedToken.roleName);
+    }
+
     JWTClaimsSet claimsSet = validate(token);
     String roleName;
+    Map<String, Object> stargateClaims;
     try {
-      roleName = getRoleForJWT(claimsSet.getJSONObjectClaim(CLAIMS_FIELD));
+      stargateClaims = claimsSet.getJSONObjectClaim(CLAIMS_FIELD);
+      roleName = getRoleForJWT(stargateClaims);
     } catch (IllegalArgumentException | ParseException e) {
       logger.info(
           "Failed to parse claim from JWT ({}): {}", e.getClass().getName(), e.getMessage());
@@ -86,6 +105,10 @@ public class AuthnJwtService implements AuthenticationService {
       throw new UnauthorizedException("JWT must have a value for " + ROLE_FIELD);
     }
 
+    verifiedTokens.put(
+        token,
+        new VerifiedToken(
+            roleName, StargateClaims.from(stargateClaims), claimsSet.getExpirationTime()));
     return AuthenticationSubject.of(token, roleName);
   }
 
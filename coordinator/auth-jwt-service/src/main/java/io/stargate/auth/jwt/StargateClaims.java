@@ -0,0 +1,171 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth.jwt;
+
+import static io.stargate.auth.jwt.AuthnJwtService.STARGATE_PREFIX;
+
+import io.stargate.auth.TypedKeyValue;
+import io.stargate.auth.UnauthorizedException;
+import io.stargate.db.datastore.Row;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.ColumnType;
+import io.stargate.db.schema.Column.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@code x-stargate-*} claims of a JWT, indexed by column name so that they can be checked
+ * against key values and rows without going back to the JSON payload.
+ *
+ * <p>A claim whose value is not a string fails any check against a column with the same name.
+ */
+class StargateClaims {
+
+  private static final Logger log = LoggerFactory.getLogger(StargateClaims.class);
+
+  static final StargateClaims EMPTY = new StargateClaims(Collections.emptyMap());
+
+  // Column name (without the prefix) -> expected value, null if the claim is not a string
+  private final Map<String, String> columnClaims;
+
+  private StargateClaims(Map<String, String> columnClaims) {
+    this.columnClaims = columnClaims;
+  }
+
+  static StargateClaims from(JSONObject stargateClaims) {
+    Map<String, Object> claims = new HashMap<>();
+    for (String name : stargateClaims.keySet()) {
+      claims.put(name, stargateClaims.get(name));
+    }
+    return from(claims);
+  }
+
+  static StargateClaims from(Map<String, Object> stargateClaims) {
+    Map<String, String> columnClaims = new HashMap<>();
+    for (Map.Entry<String, Object> entry : stargateClaims.entrySet()) {
+      String name = entry.getKey();
+      if (name.startsWith(STARGATE_PREFIX)) {
+        Object value = entry.getValue();
+        columnClaims.put(
+            name.substring(STARGATE_PREFIX.length()),
+            value instanceof String ? (String) value : null);
+      }
+    }
+    return columnClaims.isEmpty() ? EMPTY : new StargateClaims(columnClaims);
+  }
+
+  /**
+   * Checks the key values of a request: if one of the columns has a claim and the values do not
+   * match then the request is not allowed.
+   */
+  void preCheck(List<TypedKeyValue> typedKeyValues) throws UnauthorizedException {
+    for (TypedKeyValue typedKeyValue : typedKeyValues) {
+      String name = typedKeyValue.getName();
+      if (columnClaims.containsKey(name)) {
+        ColumnType targetCellType = typedKeyValue.getType();
+        if (!targetCellType.equals(Type.Text)) {
+          throw new IllegalArgumentException(
+              "Column must be of type text to be used for authorization");
+        }
+
+        String stargateClaimValue = columnClaims.get(name);
+        if (stargateClaimValue == null) {
+          throw new JSONException("Claim " + STARGATE_PREFIX + name + " is not a string");
+        }
+        String columnValue = (String) typedKeyValue.getValue();
+        if (!stargateClaimValue.equals(columnValue)) {
+          throw new UnauthorizedException("Not allowed to access this resource");
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns a filter that accepts the rows whose values match the claims of their columns.
+   *
+   * <p>The columns of a row are matched with the claims once per distinct {@link Row#columns()}
+   * list (all the rows of a result set share the same one), after that each row only costs a
+   * comparison per claimed column.
+   */
+  Predicate<Row> rowFilter() {
+    return columnClaims.isEmpty() ? row -> true : new RowFilter();
+  }
+
+  private class RowFilter implements Predicate<Row> {
+    private volatile CompiledFilter compiled;
+
+    @Override
+    public boolean test(Row row) {
+      if (row == null) {
+        return true;
+      }
+      List<Column> columns = row.columns();
+      CompiledFilter filter = compiled;
+      if (filter == null || filter.columns != columns) {
+        filter = new CompiledFilter(columns, columnClaims);
+        compiled = filter;
+      }
+      return filter.test(row);
+    }
+  }
+
+  private static class CompiledFilter {
+    private final List<Column> columns;
+    private final int[] indexes;
+    // null if the claim is not a string
+    private final String[] expectedValues;
+
+    CompiledFilter(List<Column> columns, Map<String, String> columnClaims) {
+      this.columns = columns;
+      List<Integer> indexes = new ArrayList<>();
+      List<String> expectedValues = new ArrayList<>();
+      for (int i = 0; i < columns.size(); i++) {
+        String name = columns.get(i).name();
+        if (columnClaims.containsKey(name)) {
+          indexes.add(i);
+          expectedValues.add(columnClaims.get(name));
+        }
+      }
+      this.indexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+      this.expectedValues = expectedValues.toArray(new String[0]);
+    }
+
+    boolean test(Row row) {
+      for (int i = 0; i < indexes.length; i++) {
+        String expectedValue = expectedValues[i];
+        if (expectedValue == null) {
+          log.warn(
+              "Unable to get stargate claim for {}{}",
+              STARGATE_PREFIX,
+              columns.get(indexes[i]).name());
+          return false;
+        }
+        if (!expectedValue.equals(row.getString(indexes[i]))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the tokens that passed verification in {@link AuthnJwtService}, along with their parsed
+ * claims, so that subsequent requests with the same token skip signature verification and payload
+ * parsing (in both {@link AuthnJwtService} and {@link AuthzJwtService}).
+ *
+ * <p>Entries are keyed by the SHA-256 hash of the token, so that the cache doesn't retain the
+ * tokens themselves. They expire at the expiration time of the token, or after {@code
+ * stargate.auth.jwt_token_cache_ttl_seconds}, whichever comes first.
+ */
+class VerifiedTokenCache {
+
+  private static final int CACHE_MAX_SIZE =
+      Integer.getInteger("stargate.auth.jwt_token_cache_max_size", 10_000);
+  private static final long CACHE_TTL_NANOS =
+      TimeUnit.SECONDS.toNanos(
+          Integer.getInteger("stargate.auth.jwt_token_cache_ttl_seconds", 300));
+
+  private final Cache<ByteBuffer, VerifiedToken> cache;
+
+  VerifiedTokenCache() {
+    this(CACHE_MAX_SIZE, CACHE_TTL_NANOS);
+  }
+
+  VerifiedTokenCache(int maxSize, long ttlNanos) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(
+                new Expiry<ByteBuffer, VerifiedToken>() {
+                  @Override
+                  public long expireAfterCreate(
+                      ByteBuffer key, VerifiedToken token, long currentTime) {
+                    if (token.expiresAtMillis == null) {
+                      return ttlNanos;
+                    }
+                    long untilExpiration =
+                        TimeUnit.MILLISECONDS.toNanos(
+                            token.expiresAtMillis - System.currentTimeMillis());
+                    return Math.max(0, Math.min(ttlNanos, untilExpiration));
+                  }
+
+                  @Override
+                  public long expireAfterUpdate(
+                      ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, token, currentTime);
+                  }
+
+                  @Override
+                  public long expireAfterRead(
+                      ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return currentDuration;
+                  }
+                })
+            .build();
+  }
+
+  /** Returns the verified token, or null if it's not in the cache. */
+  VerifiedToken get(String token) {
+    return cache.getIfPresent(key(token));
+  }
+
+  void put(String token, VerifiedToken verifiedToken) {
+    cache.put(key(token), verifiedToken);
+  }
+
+  private static ByteBuffer key(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // Every JVM is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static class VerifiedToken {
+    final String roleName;
+    final StargateClaims claims;
+    // null if the token has no expiration time
+    final Long expiresAtMillis;
+
+    VerifiedToken(String roleName, StargateClaims claims, Date expirationTime) {
+      this.roleName = roleName;
+      this.claims = claims;
+      this.expiresAtMillis = expirationTime == null ? null : expirationTime.getTime();
+    }
+  }
+}
@@ -18,6 +18,8 @@ package io.stargate.auth.jwt;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.nimbusds.jose.JOSEException;
@@ -104,6 +106,44 @@ public class AuthnJwtServiceTest {
     assertThat(authenticationSubject.roleName()).isEqualTo("user");
   }
 
+  @Test
+  public void validateTokenCached()
+      throws UnauthorizedException, ParseException, JOSEException, BadJOSEException {
+    Map<String, Object> stargate_claims = new HashMap<>();
+    stargate_claims.put("x-stargate-role", "user");
+    JWTClaimsSet jwtClaimsSet =
+        new JWTClaimsSet.Builder()
+            .claim("stargate_claims", stargate_claims)
+            .expirationTime(new Date(System.currentTimeMillis() + 60_000))
+            .build();
+    when(jwtProcessorMocked.process("token", null)).thenReturn(jwtClaimsSet);
+
+    mockAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+    AuthenticationSubject authenticationSubject =
+        mockAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+
+    assertThat(authenticationSubject.roleName()).isEqualTo("user");
+    verify(jwtProcessorMocked, times(1)).process("token", null);
+  }
+
+  @Test
+  public void validateTokenNotCachedPastExpiration()
+      throws UnauthorizedException, ParseException, JOSEException, BadJOSEException {
+    Map<String, Object> stargate_claims = new HashMap<>();
+    stargate_claims.put("x-stargate-role", "user");
+    JWTClaimsSet jwtClaimsSet =
+        new JWTClaimsSet.Builder()
+            .claim("stargate_claims", stargate_claims)
+            .expirationTime(new Date(System.currentTimeMillis() - 1))
+            .build();
+    when(jwtProcessorMocked.process("token", null)).thenReturn(jwtClaimsSet);
+
+    mockAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+    mockAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+
+    verify(jwtProcessorMocked, times(2)).process("token", null);
+  }
+
   @Test
   public void validateTokenMissingClaims() throws ParseException, JOSEException, BadJOSEException {
     Map<String, Object> stargate_claims = new HashMap<>();
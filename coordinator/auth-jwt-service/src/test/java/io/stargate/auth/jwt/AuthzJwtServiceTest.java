@@ -49,9 +49,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.function.Predicate;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
-import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -296,7 +296,10 @@ public class AuthzJwtServiceTest {
   @Test
   public void shouldReturnTrueIfRowIsNull() {
     // when
-    boolean result = AuthzJwtService.hasCorrectClaims(null, null);
+    boolean result =
+        StargateClaims.from(new JSONObject().put("x-stargate-column_to_check", "value"))
+            .rowFilter()
+            .test(null);
 
     // then
     assertThat(result).isTrue();
@@ -311,7 +314,7 @@ public class AuthzJwtServiceTest {
     Row row = mockRow(columnName, columnValue);
 
     // when
-    boolean result = AuthzJwtService.hasCorrectClaims(stargateClaims, row);
+    boolean result = StargateClaims.from(stargateClaims).rowFilter().test(row);
     // then
     assertThat(result).isTrue();
   }
@@ -324,7 +327,7 @@ public class AuthzJwtServiceTest {
     Row row = mockRow(columnName, "different_value");
 
     // when
-    boolean result = AuthzJwtService.hasCorrectClaims(stargateClaims, row);
+    boolean result = StargateClaims.from(stargateClaims).rowFilter().test(row);
     // then
     assertThat(result).isFalse();
   }
@@ -336,7 +339,7 @@ public class AuthzJwtServiceTest {
     Row row = mockRow("column_to_check", "value", "column2", "different_value");
 
     // when
-    boolean result = AuthzJwtService.hasCorrectClaims(stargateClaims, row);
+    boolean result = StargateClaims.from(stargateClaims).rowFilter().test(row);
     // then
     assertThat(result).isTrue();
   }
@@ -349,30 +352,44 @@ public class AuthzJwtServiceTest {
     when(row.columns()).thenReturn(Collections.emptyList());
 
     // when
-    boolean result = AuthzJwtService.hasCorrectClaims(stargateClaims, row);
+    boolean result = StargateClaims.from(stargateClaims).rowFilter().test(row);
     // then
     assertThat(result).isTrue();
   }
 
   @Test
-  public void shouldReturnFalseIfGettingClaimsFailed() {
+  public void shouldReturnFalseIfClaimIsNotAString() {
     // given
-    JSONObject stargateClaims = mock(JSONObject.class);
+    JSONObject stargateClaims = new JSONObject().put("x-stargate-column_to_check", 1);
     Row row = mockRow("column_to_check", "value");
-    when(stargateClaims.has("x-stargate-column_to_check")).thenReturn(true);
-    when(stargateClaims.getString("x-stargate-column_to_check"))
-        .thenThrow(new JSONException("problem"));
 
     // when
-    boolean result = AuthzJwtService.hasCorrectClaims(stargateClaims, row);
+    boolean result = StargateClaims.from(stargateClaims).rowFilter().test(row);
     // then
     assertThat(result).isFalse();
   }
 
+  @Test
+  public void shouldFilterRowsWithDifferentColumns() {
+    // given
+    JSONObject stargateClaims = new JSONObject().put("x-stargate-column_to_check", "value");
+    Predicate<Row> filter = StargateClaims.from(stargateClaims).rowFilter();
+
+    // when the filter is applied to rows with different column lists
+    boolean result1 = filter.test(mockRow("column_to_check", "value", "column2", "other"));
+    boolean result2 = filter.test(mockRow("column2", "other", "column_to_check", "different"));
+    boolean result3 = filter.test(mockRow("column2", "other", "column_to_check", "value"));
+
+    // then each row is checked against its own columns
+    assertThat(result1).isTrue();
+    assertThat(result2).isFalse();
+    assertThat(result3).isTrue();
+  }
+
   private Row mockRow(String columnName, String value, String columnName2, String value2) {
     Row row = mock(Row.class);
-    when(row.getString(columnName)).thenReturn(value);
-    when(row.getString(columnName2)).thenReturn(value2);
+    when(row.getString(0)).thenReturn(value);
+    when(row.getString(1)).thenReturn(value2);
     Column col1 = mockColumn(columnName);
     Column col2 = mockColumn(columnName2);
     when(row.columns()).thenReturn(Arrays.asList(col1, col2));
@@ -382,7 +399,7 @@ public class AuthzJwtServiceTest {
   private Row mockRow(String columnName, String value) {
     Column column = mockColumn(columnName);
     Row row = mock(Row.class);
-    when(row.getString(columnName)).thenReturn(value);
+    when(row.getString(0)).thenReturn(value);
     when(row.columns()).thenReturn(Collections.singletonList(column));
     return row;
   }
@@ -20,6 +20,7 @@ import io.stargate.auth.AuthorizationService;
 import io.stargate.core.services.BaseService;
 import io.stargate.core.services.ServiceDependency;
 import io.stargate.db.datastore.DataStoreFactory;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -51,6 +52,11 @@ public class AuthTableBasedServiceActivator extends BaseService {
     return Collections.singletonList(ServiceDependency.required(DataStoreFactory.class));
   }
 
+  @Override
+  protected List<Class<?>> providedServices() {
+    return Arrays.asList(AuthenticationService.class, AuthorizationService.class);
+  }
+
   @Override
   protected void createServices() throws Exception {
     String authId = System.getProperty("stargate.auth_id", AUTH_TABLE_IDENTIFIER);
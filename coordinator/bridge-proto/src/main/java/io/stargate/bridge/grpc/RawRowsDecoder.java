@@ -0,0 +1,377 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.grpc;
+
+import com.google.protobuf.ByteString;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.QueryOuterClass.Collection;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
+import io.stargate.bridge.proto.QueryOuterClass.Inet;
+import io.stargate.bridge.proto.QueryOuterClass.RawRows;
+import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
+import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
+import io.stargate.bridge.proto.QueryOuterClass.UdtValue;
+import io.stargate.bridge.proto.QueryOuterClass.Uuid;
+import io.stargate.bridge.proto.QueryOuterClass.Value;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gives access to the cells of a {@link RawRows}, decoding them into {@link Value}s only when they
+ * are requested.
+ *
+ * <p>The constructor does a single pass over the data to locate the cells, but nothing is decoded
+ * until {@link #getValue(int, int)} is called. In particular, the lists returned by {@link
+ * #getValues(int)} decode an element every time it is accessed, so they can be handed to code that
+ * expects {@code Row.getValuesList()}, and only the columns that it reads will be materialized.
+ *
+ * <p>Note that UDT values are decoded by following {@link TypeSpec.Udt#getFieldNamesList()}, the
+ * declaration order of the fields as sent by the bridge.
+ */
+public class RawRowsDecoder {
+
+  private final List<ColumnSpec> columns;
+  private final int rowCount;
+  private final int columnCount;
+  private final ByteBuffer data;
+  // The position of each cell's length in data, row after row
+  private final int[] offsets;
+
+  /**
+   * @param resultSet a result set that has {@link ResultSet#hasRawRows() raw rows}, and column
+   *     specs.
+   */
+  public RawRowsDecoder(ResultSet resultSet) {
+    this(resultSet.getRawRows(), resultSet.getColumnsList());
+  }
+
+  /**
+   * @param columns the column specs of the result set. They can be passed separately for result
+   *     sets that were requested with {@code skip_metadata}.
+   */
+  public RawRowsDecoder(RawRows rawRows, List<ColumnSpec> columns) {
+    this.columns = columns;
+    this.rowCount = rawRows.getRowCount();
+    this.columnCount = rawRows.getColumnCount();
+    if (columns.size() < columnCount) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected at least %d column specs, got %d", columnCount, columns.size()));
+    }
+    this.data = rawRows.getData().asReadOnlyByteBuffer();
+    this.offsets = new int[rowCount * columnCount];
+    ByteBuffer input = data.duplicate();
+    try {
+      for (int i = 0; i < offsets.length; i++) {
+        offsets[i] = input.position();
+        int length = input.getInt();
+        if (length > 0) {
+          input.position(input.position() + length);
+        }
+      }
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          String.format("Not enough bytes for %d rows of %d cells", rowCount, columnCount), e);
+    }
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  /** Decodes a single cell. */
+  public Value getValue(int row, int column) {
+    if (row < 0 || row >= rowCount) {
+      throw new IndexOutOfBoundsException(
+          String.format("Invalid row index %d (row count: %d)", row, rowCount));
+    }
+    if (column < 0 || column >= columnCount) {
+      throw new IndexOutOfBoundsException(
+          String.format("Invalid column index %d (column count: %d)", column, columnCount));
+    }
+    int offset = offsets[row * columnCount + column];
+    int length = data.getInt(offset);
+    if (length < 0) {
+      return Values.NULL;
+    }
+    ByteBuffer bytes = data.duplicate();
+    bytes.position(offset + 4).limit(offset + 4 + length);
+    return decode(bytes, columns.get(column).getType());
+  }
+
+  /** Returns a lazy view of a row: each element is decoded when (and every time) it is read. */
+  public List<Value> getValues(int row) {
+    if (row < 0 || row >= rowCount) {
+      throw new IndexOutOfBoundsException(
+          String.format("Invalid row index %d (row count: %d)", row, rowCount));
+    }
+    return new AbstractList<Value>() {
+      @Override
+      public Value get(int column) {
+        return getValue(row, column);
+      }
+
+      @Override
+      public int size() {
+        return columnCount;
+      }
+    };
+  }
+
+  /**
+   * Decodes a non-null value from its CQL native protocol representation.
+   *
+   * <p>An empty buffer decodes to {@link Values#NULL}, unless the type can legitimately be empty
+   * (text, blob and custom types).
+   */
+  public static Value decode(ByteBuffer bytes, TypeSpec type) {
+    try {
+      switch (type.getSpecCase()) {
+        case BASIC:
+          return decodeBasic(bytes, type.getBasic());
+        case LIST:
+          return decodeCollection(bytes, type.getList().getElement());
+        case SET:
+          return decodeCollection(bytes, type.getSet().getElement());
+        case MAP:
+          return decodeMap(bytes, type.getMap());
+        case TUPLE:
+          return decodeTuple(bytes, type.getTuple());
+        case UDT:
+          return decodeUdt(bytes, type.getUdt());
+        case VECTOR:
+          return decodeVector(bytes, type.getVector());
+        default:
+          throw new IllegalArgumentException("Unsupported type spec " + type.getSpecCase());
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Not enough bytes to deserialize a " + describe(type), e);
+    }
+  }
+
+  private static Value decodeBasic(ByteBuffer bytes, TypeSpec.Basic basic) {
+    switch (basic) {
+      case ASCII:
+      case TEXT:
+      case VARCHAR:
+        return Values.of(new String(getArray(bytes), StandardCharsets.UTF_8));
+      case BLOB:
+      case CUSTOM:
+        return Value.newBuilder().setBytes(ByteString.copyFrom(bytes.duplicate())).build();
+      default:
+        // all the other types can't be empty
+    }
+    if (!bytes.hasRemaining()) {
+      return Values.NULL;
+    }
+    int position = bytes.position();
+    switch (basic) {
+      case BIGINT:
+      case COUNTER:
+      case TIMESTAMP:
+        return Values.of(bytes.getLong(position));
+      case INT:
+        return Values.of((long) bytes.getInt(position));
+      case SMALLINT:
+        return Values.of(bytes.getShort(position));
+      case TINYINT:
+        return Values.of(bytes.get(position));
+      case FLOAT:
+        return Values.of(bytes.getFloat(position));
+      case DOUBLE:
+        return Values.of(bytes.getDouble(position));
+      case BOOLEAN:
+        return Values.of(bytes.get(position) != 0);
+      case UUID:
+      case TIMEUUID:
+        return Value.newBuilder()
+            .setUuid(Uuid.newBuilder().setValue(ByteString.copyFrom(bytes.duplicate())))
+            .build();
+      case INET:
+        return Value.newBuilder()
+            .setInet(Inet.newBuilder().setValue(ByteString.copyFrom(bytes.duplicate())))
+            .build();
+      case DATE:
+        // Same representation: unsigned days with the epoch at 2^31
+        return Value.newBuilder().setDate(bytes.getInt(position)).build();
+      case TIME:
+        return Value.newBuilder().setTime(bytes.getLong(position)).build();
+      case VARINT:
+        return Value.newBuilder()
+            .setVarint(
+                QueryOuterClass.Varint.newBuilder()
+                    .setValue(ByteString.copyFrom(bytes.duplicate())))
+            .build();
+      case DECIMAL:
+        {
+          ByteBuffer input = bytes.duplicate();
+          int scale = input.getInt();
+          return Value.newBuilder()
+              .setDecimal(
+                  QueryOuterClass.Decimal.newBuilder()
+                      .setScale(scale)
+                      .setValue(ByteString.copyFrom(input)))
+              .build();
+        }
+      case DURATION:
+        {
+          ByteBuffer input = bytes.duplicate();
+          int months = (int) readVInt(input);
+          int days = (int) readVInt(input);
+          long nanos = readVInt(input);
+          return Value.newBuilder()
+              .setDuration(
+                  QueryOuterClass.Duration.newBuilder()
+                      .setMonths(months)
+                      .setDays(days)
+                      .setNanos(nanos))
+              .build();
+        }
+      default:
+        throw new IllegalArgumentException("Unsupported basic type " + basic);
+    }
+  }
+
+  private static Value decodeCollection(ByteBuffer bytes, TypeSpec elementType) {
+    ByteBuffer input = bytes.duplicate();
+    if (!input.hasRemaining()) {
+      return Values.NULL;
+    }
+    int count = input.getInt();
+    Collection.Builder builder = Collection.newBuilder();
+    for (int i = 0; i < count; i++) {
+      builder.addElements(decodeElement(input, elementType));
+    }
+    return Value.newBuilder().setCollection(builder).build();
+  }
+
+  private static Value decodeMap(ByteBuffer bytes, TypeSpec.Map mapType) {
+    ByteBuffer input = bytes.duplicate();
+    if (!input.hasRemaining()) {
+      return Values.NULL;
+    }
+    int count = input.getInt();
+    // Like in Values.of(Map), keys and values alternate
+    Collection.Builder builder = Collection.newBuilder();
+    for (int i = 0; i < count; i++) {
+      builder.addElements(decodeElement(input, mapType.getKey()));
+      builder.addElements(decodeElement(input, mapType.getValue()));
+    }
+    return Value.newBuilder().setCollection(builder).build();
+  }
+
+  private static Value decodeTuple(ByteBuffer bytes, TypeSpec.Tuple tupleType) {
+    ByteBuffer input = bytes.duplicate();
+    int fieldCount = tupleType.getElementsCount();
+    Collection.Builder builder = Collection.newBuilder();
+    int i = 0;
+    while (input.hasRemaining()) {
+      if (i >= fieldCount) {
+        throw new IllegalArgumentException(
+            String.format("Too many fields in encoded tuple, expected %d", fieldCount));
+      }
+      builder.addElements(decodeElement(input, tupleType.getElements(i)));
+      i++;
+    }
+    return Value.newBuilder().setCollection(builder).build();
+  }
+
+  private static Value decodeUdt(ByteBuffer bytes, TypeSpec.Udt udtType) {
+    if (udtType.getFieldNamesCount() != udtType.getFieldsCount()) {
+      throw new IllegalArgumentException(
+          String.format("Missing the field order of UDT %s", udtType.getName()));
+    }
+    ByteBuffer input = bytes.duplicate();
+    UdtValue.Builder builder = UdtValue.newBuilder();
+    for (String name : udtType.getFieldNamesList()) {
+      if (!input.hasRemaining()) {
+        break;
+      }
+      builder.putFields(name, decodeElement(input, udtType.getFieldsOrThrow(name)));
+    }
+    if (input.hasRemaining()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Too many fields in encoded UDT, expected %d", udtType.getFieldsCount()));
+    }
+    return Value.newBuilder().setUdt(builder).build();
+  }
+
+  private static Value decodeVector(ByteBuffer bytes, TypeSpec.Vector vectorType) {
+    if (vectorType.getElement().getBasic() != TypeSpec.Basic.FLOAT) {
+      throw new IllegalArgumentException("Only float vectors are supported");
+    }
+    ByteBuffer input = bytes.duplicate();
+    if (!input.hasRemaining()) {
+      return Values.NULL;
+    }
+    // Vectors of fixed-size elements are not length-prefixed
+    List<Float> values = new ArrayList<>(vectorType.getSize());
+    for (int i = 0; i < vectorType.getSize(); i++) {
+      values.add(input.getFloat());
+    }
+    return Values.vector(values);
+  }
+
+  private static Value decodeElement(ByteBuffer input, TypeSpec type) {
+    int length = input.getInt();
+    if (length < 0) {
+      return Values.NULL;
+    }
+    ByteBuffer element = input.slice();
+    element.limit(length);
+    input.position(input.position() + length);
+    return decode(element, type);
+  }
+
+  // Cassandra's VIntCoding: the number of leading 1 bits in the first byte is the number of extra
+  // bytes, and the value is zigzag-encoded.
+  private static long readVInt(ByteBuffer input) {
+    int firstByte = input.get();
+    long unsigned;
+    if (firstByte >= 0) {
+      unsigned = firstByte;
+    } else {
+      int size = Integer.numberOfLeadingZeros(~firstByte) - 24;
+      unsigned = firstByte & (0xff >> size);
+      for (int i = 0; i < size; i++) {
+        unsigned <<= 8;
+        unsigned |= input.get() & 0xff;
+      }
+    }
+    return (unsigned >>> 1) ^ -(unsigned & 1);
+  }
+
+  private static byte[] getArray(ByteBuffer bytes) {
+    byte[] array = new byte[bytes.remaining()];
+    bytes.duplicate().get(array);
+    return array;
+  }
+
+  private static String describe(TypeSpec type) {
+    return type.getSpecCase() == TypeSpec.SpecCase.BASIC
+        ? type.getBasic().name().toLowerCase()
+        : type.getSpecCase().name().toLowerCase();
+  }
+}
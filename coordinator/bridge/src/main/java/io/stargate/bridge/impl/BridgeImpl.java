@@ -22,6 +22,8 @@ import io.micrometer.core.instrument.binder.grpc.MetricCollectingServerIntercept
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.bridge.service.BridgeService;
+import io.stargate.bridge.service.KeyspaceDescriptionCache;
+import io.stargate.bridge.service.SchemaChangePublisher;
 import io.stargate.bridge.service.interceptors.NewConnectionInterceptor;
 import io.stargate.bridge.service.interceptors.SourceApiInterceptor;
 import io.stargate.core.metrics.api.Metrics;
@@ -46,6 +48,7 @@ public class BridgeImpl {
 
   private final Server server;
   private final ScheduledExecutorService executor;
+  private final SchemaChangePublisher schemaChangePublisher;
 
   public BridgeImpl(
       Persistence persistence,
@@ -70,6 +73,11 @@ public class BridgeImpl {
     executor =
         Executors.newScheduledThreadPool(
             EXECUTOR_SIZE, GrpcUtil.getThreadFactory("bridge-stargate-executor", true));
+    schemaChangePublisher = new SchemaChangePublisher(persistence);
+    persistence.registerEventListener(schemaChangePublisher);
+    KeyspaceDescriptionCache keyspaceDescriptionCache =
+        new KeyspaceDescriptionCache(metrics.getMeterRegistry());
+    persistence.registerEventListener(keyspaceDescriptionCache);
     server =
         NettyServerBuilder.forAddress(new InetSocketAddress(listenAddress, port))
             // `Persistence` operations are done asynchronously so there isn't a need for a separate
@@ -78,7 +86,13 @@ public class BridgeImpl {
             .intercept(new NewConnectionInterceptor(persistence, authenticationService))
             .intercept(new SourceApiInterceptor(true))
             .intercept(new MetricCollectingServerInterceptor(metrics.getMeterRegistry()))
-            .addService(new BridgeService(persistence, authorizationService, executor))
+            .addService(
+                new BridgeService(
+                    persistence,
+                    authorizationService,
+                    executor,
+                    schemaChangePublisher,
+                    keyspaceDescriptionCache))
             .build();
   }
 
@@ -92,6 +106,8 @@ public class BridgeImpl {
 
   public void stop() {
     try {
+      // Subscription streams never complete on their own, end them so that shutdown doesn't wait
+      schemaChangePublisher.close();
       server.shutdown();
       // Since we provided our own executor, it's our responsibility to shut it down.
       // Note that we don't handle restarts because BridgeService never reuses an existing instance
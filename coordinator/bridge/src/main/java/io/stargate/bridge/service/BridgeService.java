@@ -18,6 +18,7 @@ package io.stargate.bridge.service;
 import io.grpc.Context;
 import io.grpc.StatusException;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.auth.SourceAPI;
 import io.stargate.bridge.proto.QueryOuterClass.Batch;
@@ -51,12 +52,22 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
   private final ScheduledExecutorService executor;
   private final int schemaAgreementRetries;
   private final Schema.SupportedFeaturesResponse supportedFeaturesResponse;
+  private final SchemaChangePublisher schemaChangePublisher;
+  private final KeyspaceDescriptionCache keyspaceDescriptionCache;
 
   public BridgeService(
       Persistence persistence,
       AuthorizationService authorizationService,
-      ScheduledExecutorService executor) {
-    this(persistence, authorizationService, executor, Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES);
+      ScheduledExecutorService executor,
+      SchemaChangePublisher schemaChangePublisher,
+      KeyspaceDescriptionCache keyspaceDescriptionCache) {
+    this(
+        persistence,
+        authorizationService,
+        executor,
+        Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES,
+        schemaChangePublisher,
+        keyspaceDescriptionCache);
   }
 
   BridgeService(
@@ -64,10 +75,28 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
       AuthorizationService authorizationService,
       ScheduledExecutorService executor,
       int schemaAgreementRetries) {
+    this(
+        persistence,
+        authorizationService,
+        executor,
+        schemaAgreementRetries,
+        new SchemaChangePublisher(persistence),
+        new KeyspaceDescriptionCache(new SimpleMeterRegistry()));
+  }
+
+  BridgeService(
+      Persistence persistence,
+      AuthorizationService authorizationService,
+      ScheduledExecutorService executor,
+      int schemaAgreementRetries,
+      SchemaChangePublisher schemaChangePublisher,
+      KeyspaceDescriptionCache keyspaceDescriptionCache) {
     this.persistence = persistence;
     this.authorizationService = authorizationService;
     this.executor = executor;
     this.schemaAgreementRetries = schemaAgreementRetries;
+    this.schemaChangePublisher = schemaChangePublisher;
+    this.keyspaceDescriptionCache = keyspaceDescriptionCache;
     this.supportedFeaturesResponse =
         Schema.SupportedFeaturesResponse.newBuilder()
             .setSecondaryIndexes(persistence.supportsSecondaryIndex())
@@ -85,7 +114,6 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
             CONNECTION_KEY.get(),
             persistence,
             SOURCE_API_KEY.get(),
-            executor,
             schemaAgreementRetries,
             synchronizedStreamObserver)
         .handle();
@@ -118,8 +146,7 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
                 responseObserver.onNext(
                     Schema.QueryWithSchemaResponse.newBuilder()
                         .setNewKeyspace(
-                            SchemaHandler.buildKeyspaceDescription(
-                                keyspace, keyspaceName, decoratedName))
+                            keyspaceDescriptionCache.get(keyspace, keyspaceName, decoratedName))
                         .build());
                 responseObserver.onCompleted();
               } catch (StatusException e) {
@@ -172,7 +199,9 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
       StreamObserver<Schema.CqlKeyspaceDescribe> responseObserver) {
     Map<String, String> headers = HEADERS_KEY.get();
     executor.execute(
-        () -> SchemaHandler.describeKeyspace(request, persistence, headers, responseObserver));
+        () ->
+            SchemaHandler.describeKeyspace(
+                request, persistence, keyspaceDescriptionCache, headers, responseObserver));
   }
 
   @Override
@@ -196,6 +225,12 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
     responseObserver.onCompleted();
   }
 
+  @Override
+  public void subscribeSchemaChanges(
+      Schema.SchemaChangesRequest request, StreamObserver<Schema.SchemaChange> responseObserver) {
+    schemaChangePublisher.subscribe(responseObserver, HEADERS_KEY.get());
+  }
+
   static class ResponseAndTraceId {
 
     final @Nullable UUID tracingId;
@@ -0,0 +1,108 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import io.stargate.db.EventListener;
+import java.util.List;
+
+/**
+ * An {@link EventListener} that funnels every create, alter or drop of a keyspace, or of any
+ * element in it, into a single {@link #onKeyspaceChange(String)} callback.
+ */
+public abstract class KeyspaceChangeListener implements EventListener {
+
+  /**
+   * Called every time a keyspace, or any element in it, has changed.
+   *
+   * @param keyspaceName the (decorated) name of the keyspace.
+   */
+  protected abstract void onKeyspaceChange(String keyspaceName);
+
+  @Override
+  public void onCreateKeyspace(String keyspace) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onCreateTable(String keyspace, String table) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onCreateType(String keyspace, String type) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onCreateFunction(String keyspace, String function, List<String> argumentTypes) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onCreateAggregate(String keyspace, String aggregate, List<String> argumentTypes) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onAlterKeyspace(String keyspace) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onAlterTable(String keyspace, String table) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onAlterType(String keyspace, String type) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onAlterFunction(String keyspace, String function, List<String> argumentTypes) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onAlterAggregate(String keyspace, String aggregate, List<String> argumentTypes) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onDropKeyspace(String keyspace) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onDropTable(String keyspace, String table) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onDropType(String keyspace, String type) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onDropFunction(String keyspace, String function, List<String> argumentTypes) {
+    onKeyspaceChange(keyspace);
+  }
+
+  @Override
+  public void onDropAggregate(String keyspace, String aggregate, List<String> argumentTypes) {
+    onKeyspaceChange(keyspace);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.grpc.StatusException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
+import io.stargate.db.schema.Keyspace;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the {@link CqlKeyspaceDescribe} built for a keyspace, so that it's not rebuilt for every
+ * {@code DescribeKeyspace} call or outdated {@code ExecuteQueryWithSchema} call.
+ *
+ * <p>Entries are keyed by the keyspace names and {@link Keyspace#schemaHashCode()}, so a changed
+ * keyspace never hits a stale entry. This is also registered as a schema listener, to evict the
+ * entries of a keyspace as soon as it changes instead of waiting for them to age out.
+ */
+public class KeyspaceDescriptionCache extends KeyspaceChangeListener {
+
+  private static final String CACHE_NAME = "bridge.keyspace.description";
+
+  private static final int CACHE_MAX_SIZE =
+      Integer.getInteger("stargate.bridge.keyspace_description_cache_max_size", 10_000);
+
+  private final Cache<Key, CqlKeyspaceDescribe> cache;
+  private final Timer buildTimer;
+
+  public KeyspaceDescriptionCache(MeterRegistry meterRegistry) {
+    this(meterRegistry, CACHE_MAX_SIZE);
+  }
+
+  KeyspaceDescriptionCache(MeterRegistry meterRegistry, int maxSize) {
+    this.cache = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+    this.buildTimer = meterRegistry.timer(CACHE_NAME + ".build");
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Returns the description of the given keyspace, building it if necessary. Concurrent calls for
+   * the same keyspace version share a single build.
+   */
+  CqlKeyspaceDescribe get(Keyspace keyspace, String simpleName, String decoratedName)
+      throws StatusException {
+    Key key = new Key(decoratedName, simpleName, keyspace.schemaHashCode());
+    try {
+      return cache.get(key, k -> build(keyspace, simpleName, decoratedName));
+    } catch (BuildException e) {
+      throw e.getCause();
+    }
+  }
+
+  private CqlKeyspaceDescribe build(Keyspace keyspace, String simpleName, String decoratedName) {
+    long start = System.nanoTime();
+    try {
+      return SchemaHandler.buildKeyspaceDescription(keyspace, simpleName, decoratedName);
+    } catch (StatusException e) {
+      throw new BuildException(e);
+    } finally {
+      buildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Override
+  protected void onKeyspaceChange(String keyspaceName) {
+    cache.asMap().keySet().removeIf(key -> key.decoratedName.equals(keyspaceName));
+  }
+
+  long size() {
+    cache.cleanUp();
+    return cache.estimatedSize();
+  }
+
+  private static class Key {
+    private final String decoratedName;
+    // The simple name is part of the description, so it's part of the key too
+    private final String simpleName;
+    private final int hash;
+
+    Key(String decoratedName, String simpleName, int hash) {
+      this.decoratedName = decoratedName;
+      this.simpleName = simpleName;
+      this.hash = hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (other == this) {
+        return true;
+      } else if (other instanceof Key) {
+        Key that = (Key) other;
+        return this.hash == that.hash
+            && this.decoratedName.equals(that.decoratedName)
+            && this.simpleName.equals(that.simpleName);
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(decoratedName, simpleName, hash);
+    }
+  }
+
+  private static class BuildException extends RuntimeException {
+    BuildException(StatusException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized StatusException getCause() {
+      return (StatusException) super.getCause();
+    }
+  }
+}
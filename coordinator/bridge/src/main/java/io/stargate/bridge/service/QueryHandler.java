@@ -44,7 +44,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ScheduledExecutorService;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
 
 public class QueryHandler extends MessageHandler<Query, Prepared> {
@@ -61,12 +60,10 @@ public class QueryHandler extends MessageHandler<Query, Prepared> {
       Connection connection,
       Persistence persistence,
       SourceAPI sourceAPI,
-      ScheduledExecutorService executor,
       int schemaAgreementRetries,
       StreamObserver<Response> responseObserver) {
     super(query, connection, persistence, responseObserver);
-    this.schemaAgreementHelper =
-        new SchemaAgreementHelper(connection, schemaAgreementRetries, executor);
+    this.schemaAgreementHelper = new SchemaAgreementHelper(connection, schemaAgreementRetries);
     QueryParameters queryParameters = query.getParameters();
     Map<String, String> headers = BridgeService.HEADERS_KEY.get();
     this.decoratedKeyspace =
@@ -132,6 +129,9 @@ public class QueryHandler extends MessageHandler<Query, Prepared> {
                     this::getPagingStateFromRow,
                     this::makeRow,
                     rowDecorator));
+          } else if (message.getParameters().getRawRows()) {
+            responseBuilder.setResultSet(
+                ValuesHelper.processRawResult(rows, message.getParameters()));
           } else {
             responseBuilder.setResultSet(ValuesHelper.processResult(rows, message.getParameters()));
           }
@@ -0,0 +1,124 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import com.google.protobuf.Int32Value;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.stargate.bridge.proto.Schema.SchemaChange;
+import io.stargate.db.EventListener;
+import io.stargate.db.Persistence;
+import io.stargate.db.schema.Keyspace;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pushes a {@link SchemaChange} to all the {@code SubscribeSchemaChanges} streams every time a
+ * keyspace, or any element in it, changes.
+ *
+ * <p>This must be registered with {@link Persistence#registerEventListener(EventListener)}. The
+ * persistence updates its own {@link Persistence#schema()} before notifying listeners, so the hash
+ * that we read from there is the new one.
+ *
+ * <p>The streams are authenticated like any other call, and each one only receives the changes of
+ * the keyspaces that are visible with its connection properties (see {@link
+ * Persistence#isKeyspaceVisible}), so that a tenant never learns about the keyspaces of another.
+ */
+public class SchemaChangePublisher extends KeyspaceChangeListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(SchemaChangePublisher.class);
+
+  private static final SchemaChange SUBSCRIBED =
+      SchemaChange.newBuilder().setSubscribed(true).build();
+
+  private final Persistence persistence;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+  public SchemaChangePublisher(Persistence persistence) {
+    this.persistence = persistence;
+  }
+
+  void subscribe(StreamObserver<SchemaChange> responseObserver, Map<String, String> headers) {
+    Subscriber subscriber =
+        new Subscriber(new SynchronizedStreamObserver<>(responseObserver), headers);
+    if (responseObserver instanceof ServerCallStreamObserver) {
+      ((ServerCallStreamObserver<SchemaChange>) responseObserver)
+          .setOnCancelHandler(() -> subscribers.remove(subscriber));
+    }
+    subscribers.add(subscriber);
+    // from now on all the changes are pushed, let the client know
+    try {
+      subscriber.observer.onNext(SUBSCRIBED);
+    } catch (Exception e) {
+      logger.debug("Error while acknowledging schema change stream, dropping subscriber", e);
+      subscribers.remove(subscriber);
+    }
+  }
+
+  int subscriberCount() {
+    return subscribers.size();
+  }
+
+  /** Completes all the streams, typically when the bridge shuts down. */
+  public void close() {
+    for (Subscriber subscriber : subscribers) {
+      subscribers.remove(subscriber);
+      try {
+        subscriber.observer.onCompleted();
+      } catch (Exception e) {
+        logger.debug("Error while completing schema change stream", e);
+      }
+    }
+  }
+
+  @Override
+  protected void onKeyspaceChange(String keyspaceName) {
+    if (subscribers.isEmpty()) {
+      return;
+    }
+    SchemaChange.Builder change = SchemaChange.newBuilder().setKeyspaceGlobalName(keyspaceName);
+    Keyspace keyspace = persistence.schema().keyspace(keyspaceName);
+    if (keyspace != null) {
+      change.setHash(Int32Value.of(keyspace.schemaHashCode()));
+    }
+    SchemaChange event = change.build();
+    for (Subscriber subscriber : subscribers) {
+      if (!persistence.isKeyspaceVisible(keyspaceName, subscriber.headers)) {
+        continue;
+      }
+      try {
+        subscriber.observer.onNext(event);
+      } catch (Exception e) {
+        // The call is most likely cancelled already, the handler will remove it
+        logger.debug("Error while pushing schema change, dropping subscriber", e);
+        subscribers.remove(subscriber);
+      }
+    }
+  }
+
+  private static class Subscriber {
+    final StreamObserver<SchemaChange> observer;
+    final Map<String, String> headers;
+
+    Subscriber(StreamObserver<SchemaChange> observer, Map<String, String> headers) {
+      this.observer = observer;
+      this.headers = headers;
+    }
+  }
+}
@@ -53,6 +53,7 @@ class SchemaHandler {
   public static void describeKeyspace(
       DescribeKeyspaceQuery query,
       Persistence persistence,
+      KeyspaceDescriptionCache descriptionCache,
       Map<String, String> headers,
       StreamObserver<CqlKeyspaceDescribe> responseObserver) {
 
@@ -72,7 +73,7 @@ class SchemaHandler {
         responseObserver.onCompleted();
       } else {
         CqlKeyspaceDescribe description =
-            SchemaHandler.buildKeyspaceDescription(keyspace, simpleName, decoratedName);
+            descriptionCache.get(keyspace, simpleName, decoratedName);
         responseObserver.onNext(description);
         responseObserver.onCompleted();
       }
@@ -119,6 +120,7 @@ class SchemaHandler {
       for (Column column : udt.columns()) {
         udtBuilder.putFields(
             column.name(), ValuesHelper.convertType(ValuesHelper.columnTypeNotNull(column)));
+        udtBuilder.addFieldNames(column.name());
       }
       describeResultBuilder.addTypes(udtBuilder.build());
     }
@@ -19,6 +19,7 @@ import static io.stargate.bridge.codec.ValueCodec.decodeValue;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
+import com.google.protobuf.UnsafeByteOperations;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.grpc.Status;
@@ -29,6 +30,7 @@ import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.QueryOuterClass.BatchParameters;
 import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
+import io.stargate.bridge.proto.QueryOuterClass.RawRows;
 import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.QueryOuterClass.Row;
 import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
@@ -123,12 +125,12 @@ public class ValuesHelper {
 
   public static ResultSet processResult(Rows rows, QueryParameters parameters)
       throws StatusException {
-    return processResult(rows, parameters.getSkipMetadata(), null, null, null, null, null);
+    return processResult(rows, parameters.getSkipMetadata(), null, null, null, null, null, null);
   }
 
   public static ResultSet processResult(Rows rows, BatchParameters parameters)
       throws StatusException {
-    return processResult(rows, parameters.getSkipMetadata(), null, null, null, null, null);
+    return processResult(rows, parameters.getSkipMetadata(), null, null, null, null, null, null);
   }
 
   public interface GetComparableBytesFromRow {
@@ -162,7 +164,8 @@ public class ValuesHelper {
         getPagingState,
         makeRow,
         rowDecorator,
-        resumeMode);
+        resumeMode,
+        parameters.getEnrichedRows());
   }
 
   private static ResultSet processResult(
@@ -172,7 +175,8 @@ public class ValuesHelper {
       GetPagingStateFromRow getPagingState,
       BiFunction<List<Column>, List<ByteBuffer>, io.stargate.db.datastore.Row> makeRow,
       RowDecorator rowDecorator,
-      QueryOuterClass.ResumeMode resumeMode)
+      QueryOuterClass.ResumeMode resumeMode,
+      QueryOuterClass.EnrichedRows enrichedRows)
       throws StatusException {
     final List<Column> columns = rows.resultMetadata.columns;
     // 08-Sep-2023: As per https://github.com/stargate/stargate/pull/2760 may get extra columns:
@@ -180,29 +184,45 @@ public class ValuesHelper {
 
     ResultSet.Builder resultSetBuilder = ResultSet.newBuilder();
     if (!skipMetadata) {
-      for (Column column : columns) {
-        resultSetBuilder.addColumns(
-            ColumnSpec.newBuilder()
-                .setType(convertType(columnTypeNotNull(column)))
-                .setName(column.name())
-                .build());
-      }
+      addColumns(resultSetBuilder, columns);
     }
 
     int count = 0;
+    int rowCount = rows.rows.size();
+    // when only enriching partition boundaries, we look ahead one row, keep it for the next turn
+    io.stargate.db.datastore.Row nextRow = null;
 
     for (List<ByteBuffer> row : rows.rows) {
       ByteBuffer comparableBytes = null;
       ByteBuffer rowPagingState = null;
       if (makeRow != null) {
-        io.stargate.db.datastore.Row arrayListRow = makeRow.apply(columns, row);
-        comparableBytes = getComparableBytes.apply(columns, arrayListRow, rowDecorator);
-        rowPagingState =
-            getPagingState.apply(
-                rows.resultMetadata.pagingState,
-                arrayListRow,
-                resumeMode,
-                count == rows.rows.size() - 1);
+        boolean lastInPage = count == rowCount - 1;
+        io.stargate.db.datastore.Row arrayListRow = nextRow;
+        nextRow = null;
+
+        boolean enrich;
+        if (enrichedRows == QueryOuterClass.EnrichedRows.LAST_ROW) {
+          enrich = lastInPage;
+        } else if (enrichedRows == QueryOuterClass.EnrichedRows.PARTITION_BOUNDARIES
+            && !lastInPage) {
+          if (arrayListRow == null) {
+            arrayListRow = makeRow.apply(columns, row);
+          }
+          nextRow = makeRow.apply(columns, rows.rows.get(count + 1));
+          enrich = !rowDecorator.isSamePartition(arrayListRow, nextRow);
+        } else {
+          enrich = true;
+        }
+
+        if (enrich) {
+          if (arrayListRow == null) {
+            arrayListRow = makeRow.apply(columns, row);
+          }
+          comparableBytes = getComparableBytes.apply(columns, arrayListRow, rowDecorator);
+          rowPagingState =
+              getPagingState.apply(
+                  rows.resultMetadata.pagingState, arrayListRow, resumeMode, lastInPage);
+        }
       }
       Row.Builder rowBuilder = Row.newBuilder();
       for (int i = 0; i < columnCount; ++i) {
@@ -222,14 +242,80 @@ public class ValuesHelper {
       count++;
     }
 
+    setPagingState(resultSetBuilder, rows);
+
+    return resultSetBuilder.build();
+  }
+
+  /**
+   * Builds a result set that carries the rows as raw CQL bytes (see {@link RawRows}), instead of
+   * decoding every cell into a {@link Value}.
+   *
+   * <p>The cells are copied as-is, so this is only a matter of concatenating buffers: no codec is
+   * involved, and the response holds a single {@link ByteString} regardless of the number of cells.
+   */
+  public static ResultSet processRawResult(Rows rows, QueryParameters parameters)
+      throws StatusException {
+    final List<Column> columns = rows.resultMetadata.columns;
+    // Like in processResult(), ignore any extra columns
+    final int columnCount = rows.resultMetadata.columnCount;
+
+    ResultSet.Builder resultSetBuilder = ResultSet.newBuilder();
+    if (!parameters.getSkipMetadata()) {
+      addColumns(resultSetBuilder, columns);
+    }
+
+    int size = 0;
+    for (List<ByteBuffer> row : rows.rows) {
+      for (int i = 0; i < columnCount; ++i) {
+        ByteBuffer cell = row.get(i);
+        size += 4 + (cell == null ? 0 : cell.remaining());
+      }
+    }
+    ByteBuffer data = ByteBuffer.allocate(size);
+    for (List<ByteBuffer> row : rows.rows) {
+      for (int i = 0; i < columnCount; ++i) {
+        ByteBuffer cell = row.get(i);
+        if (cell == null) {
+          data.putInt(-1);
+        } else {
+          data.putInt(cell.remaining());
+          data.put(cell.duplicate());
+        }
+      }
+    }
+    data.flip();
+
+    resultSetBuilder.setRawRows(
+        RawRows.newBuilder()
+            .setRowCount(rows.rows.size())
+            .setColumnCount(columnCount)
+            // The buffer is never modified after this point, no need for a defensive copy
+            .setData(UnsafeByteOperations.unsafeWrap(data)));
+
+    setPagingState(resultSetBuilder, rows);
+
+    return resultSetBuilder.build();
+  }
+
+  private static void addColumns(ResultSet.Builder resultSetBuilder, List<Column> columns)
+      throws StatusException {
+    for (Column column : columns) {
+      resultSetBuilder.addColumns(
+          ColumnSpec.newBuilder()
+              .setType(convertType(columnTypeNotNull(column)))
+              .setName(column.name())
+              .build());
+    }
+  }
+
+  private static void setPagingState(ResultSet.Builder resultSetBuilder, Rows rows) {
     if (rows.resultMetadata.pagingState != null) {
       resultSetBuilder.setPagingState(
           BytesValue.newBuilder()
               .setValue(ByteString.copyFrom(rows.resultMetadata.pagingState))
               .build());
     }
-
-    return resultSetBuilder.build();
   }
 
   @Nullable
@@ -322,6 +408,7 @@ public class ValuesHelper {
         udtBuilder.setName(udt.name());
         for (Column column : udt.columns()) {
           udtBuilder.putFields(column.name(), convertType(columnTypeNotNull(column)));
+          udtBuilder.addFieldNames(column.name());
         }
         udtBuilder.setFrozen(columnType.isFrozen());
         builder.setUdt(udtBuilder.build());
@@ -134,7 +134,8 @@ public class NewConnectionInterceptor implements ServerInterceptor {
   }
 
   private boolean shouldCreateConnection(ServerCall<?, ?> call) {
-    return !GET_SUPPORTED_FEATURES_NAME.equals(call.getMethodDescriptor().getFullMethodName());
+    String methodName = call.getMethodDescriptor().getFullMethodName();
+    return !GET_SUPPORTED_FEATURES_NAME.equals(methodName);
   }
 
   protected Connection newConnection(RequestInfo info) throws UnauthorizedException {
@@ -0,0 +1,79 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
+import io.stargate.db.schema.ImmutableKeyspace;
+import io.stargate.db.schema.Keyspace;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class KeyspaceDescriptionCacheTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final KeyspaceDescriptionCache cache = new KeyspaceDescriptionCache(meterRegistry, 100);
+
+  @Test
+  public void shouldReuseDescriptionForSameVersion() throws Exception {
+    Keyspace keyspace = ImmutableKeyspace.builder().name("ks").build();
+
+    CqlKeyspaceDescribe first = cache.get(keyspace, "ks", "ks");
+    CqlKeyspaceDescribe second = cache.get(keyspace, "ks", "ks");
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.getHash().getValue()).isEqualTo(keyspace.schemaHashCode());
+    assertThat(meterRegistry.get("bridge.keyspace.description.build").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRebuildWhenKeyspaceChanged() throws Exception {
+    Keyspace keyspace = ImmutableKeyspace.builder().name("ks").build();
+    Keyspace changed =
+        ImmutableKeyspace.builder().name("ks").durableWrites(Optional.of(false)).build();
+
+    CqlKeyspaceDescribe first = cache.get(keyspace, "ks", "ks");
+    CqlKeyspaceDescribe second = cache.get(changed, "ks", "ks");
+
+    assertThat(second).isNotEqualTo(first);
+    assertThat(second.getHash().getValue()).isEqualTo(changed.schemaHashCode());
+  }
+
+  @Test
+  public void shouldKeepSimpleNameInKey() throws Exception {
+    Keyspace keyspace = ImmutableKeyspace.builder().name("tenant_ks").build();
+
+    CqlKeyspaceDescribe first = cache.get(keyspace, "ks", "tenant_ks");
+    CqlKeyspaceDescribe second = cache.get(keyspace, "other", "tenant_ks");
+
+    assertThat(first.getCqlKeyspace().getName()).isEqualTo("ks");
+    assertThat(second.getCqlKeyspace().getName()).isEqualTo("other");
+  }
+
+  @Test
+  public void shouldEvictOnKeyspaceChange() throws Exception {
+    cache.get(ImmutableKeyspace.builder().name("ks1").build(), "ks1", "ks1");
+    cache.get(ImmutableKeyspace.builder().name("ks2").build(), "ks2", "ks2");
+    assertThat(cache.size()).isEqualTo(2);
+
+    cache.onAlterTable("ks1", "tbl");
+
+    assertThat(cache.size()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.data.CqlDuration;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import io.stargate.bridge.Utils;
+import io.stargate.bridge.grpc.RawRowsDecoder;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
+import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
+import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
+import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
+import io.stargate.bridge.proto.QueryOuterClass.Value;
+import io.stargate.db.Result.Flag;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.Result.Rows;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.ColumnType;
+import io.stargate.db.schema.Column.Type;
+import io.stargate.db.schema.ImmutableUserDefinedType;
+import io.stargate.db.schema.UserDefinedType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class ProcessRawResultTest {
+
+  private static final Column[] COLUMNS = {
+    Column.create("c_int", Type.Int),
+    Column.create("c_text", Type.Text),
+    Column.create("c_uuid", Type.Uuid),
+    Column.create("c_bigint", Type.Bigint),
+    Column.create("c_boolean", Type.Boolean),
+    Column.create("c_double", Type.Double),
+    Column.create("c_decimal", Type.Decimal),
+    Column.create("c_varint", Type.Varint),
+    Column.create("c_date", Type.Date),
+    Column.create("c_time", Type.Time),
+    Column.create("c_timestamp", Type.Timestamp),
+    Column.create("c_duration", Type.Duration),
+    Column.create("c_list", Type.List.of(Type.Int)),
+    Column.create("c_map", Type.Map.of(Type.Text, Type.Bigint)),
+  };
+
+  @Test
+  public void shouldDecodeSameValuesAsProcessResult() throws Exception {
+    List<List<ByteBuffer>> rows = new ArrayList<>();
+    rows.add(
+        encode(
+            1,
+            "a",
+            UUID.fromString("d1dbc5ca-b4e9-43ec-9ffd-e5bada9dc531"),
+            Long.MAX_VALUE,
+            true,
+            1.5d,
+            new BigDecimal("-12.345"),
+            new BigInteger("123456789012345678901234567890"),
+            LocalDate.of(2023, 9, 8),
+            LocalTime.of(12, 34, 56),
+            Instant.ofEpochMilli(1694131200000L),
+            CqlDuration.newInstance(1, -2, 3_000_000_000L),
+            Arrays.asList(1, 2, 3),
+            ImmutableMap.of("k1", 1L, "k2", 2L)));
+    rows.add(encode(new Object[COLUMNS.length]));
+    Rows result = new Rows(rows, Utils.makeResultMetadata(COLUMNS));
+    QueryParameters parameters = QueryParameters.newBuilder().setRawRows(true).build();
+
+    ResultSet expected = ValuesHelper.processResult(result, parameters);
+    ResultSet actual = ValuesHelper.processRawResult(result, parameters);
+
+    assertThat(actual.getRowsCount()).isZero();
+    assertThat(actual.getColumnsList()).isEqualTo(expected.getColumnsList());
+    RawRowsDecoder decoder = new RawRowsDecoder(actual);
+    assertThat(decoder.getRowCount()).isEqualTo(2);
+    assertThat(decoder.getColumnCount()).isEqualTo(COLUMNS.length);
+    for (int i = 0; i < decoder.getRowCount(); i++) {
+      assertThat(decoder.getValues(i)).isEqualTo(expected.getRows(i).getValuesList());
+    }
+    assertThat(decoder.getValue(1, 0)).isEqualTo(Values.NULL);
+  }
+
+  @Test
+  public void shouldIgnoreExtraColumns() throws Exception {
+    Column[] columns = {Column.create("c1", Type.Int), Column.create("extra", Type.Text)};
+    List<List<ByteBuffer>> rows = new ArrayList<>();
+    rows.add(
+        Arrays.asList(
+            Type.Int.codec().encode(1, ProtocolVersion.DEFAULT),
+            Type.Text.codec().encode("a", ProtocolVersion.DEFAULT)));
+    // As if "extra" had been added internally, see ResultMetadata.columnCount
+    ResultMetadata metadata =
+        new ResultMetadata(
+            EnumSet.noneOf(Flag.class), 1, Arrays.asList(columns), Utils.RESULT_METADATA_ID, null);
+    Rows result = new Rows(rows, metadata);
+
+    ResultSet actual =
+        ValuesHelper.processRawResult(result, QueryParameters.newBuilder().build());
+
+    RawRowsDecoder decoder = new RawRowsDecoder(actual);
+    assertThat(decoder.getColumnCount()).isEqualTo(1);
+    assertThat(decoder.getValues(0)).containsExactly(Values.of(1));
+  }
+
+  @Test
+  public void shouldCopyPagingState() throws Exception {
+    ByteBuffer pagingState = ByteBuffer.wrap(new byte[] {1, 2, 3});
+    ResultMetadata metadata = Utils.makeResultMetadata(Column.create("c1", Type.Int));
+    metadata.pagingState = pagingState;
+    Rows result = new Rows(new ArrayList<>(), metadata);
+
+    ResultSet actual =
+        ValuesHelper.processRawResult(result, QueryParameters.newBuilder().build());
+
+    assertThat(actual.getPagingState().getValue().toByteArray()).containsExactly(1, 2, 3);
+    assertThat(new RawRowsDecoder(actual).getRowCount()).isZero();
+  }
+
+  @Test
+  public void shouldDecodeUdtFieldsInDeclarationOrder() throws Exception {
+    UserDefinedType udt =
+        ImmutableUserDefinedType.builder()
+            .name("udt")
+            .keyspace("ks")
+            .columns(Arrays.asList(Column.create("b", Type.Int), Column.create("a", Type.Text)))
+            .build();
+    ByteBuffer b = Type.Int.codec().encode(1, ProtocolVersion.DEFAULT);
+    ByteBuffer a = Type.Text.codec().encode("abc", ProtocolVersion.DEFAULT);
+    ByteBuffer cell = ByteBuffer.allocate(8 + b.remaining() + a.remaining());
+    cell.putInt(b.remaining()).put(b.duplicate()).putInt(a.remaining()).put(a.duplicate()).flip();
+    List<List<ByteBuffer>> rows = new ArrayList<>();
+    rows.add(Collections.singletonList(cell));
+    Rows result = new Rows(rows, Utils.makeResultMetadata(Column.create("c_udt", udt)));
+
+    ResultSet actual =
+        ValuesHelper.processRawResult(result, QueryParameters.newBuilder().build());
+
+    TypeSpec.Udt udtType = actual.getColumns(0).getType().getUdt();
+    assertThat(udtType.getFieldNamesList()).containsExactly("b", "a");
+    Value expected = Values.udtOf(ImmutableMap.of("b", Values.of(1), "a", Values.of("abc")));
+    assertThat(new RawRowsDecoder(actual).getValue(0, 0)).isEqualTo(expected);
+
+    // The iteration order of the fields map does not matter
+    TypeSpec.Udt reordered =
+        udtType.toBuilder()
+            .clearFields()
+            .putFields("a", udtType.getFieldsOrThrow("a"))
+            .putFields("b", udtType.getFieldsOrThrow("b"))
+            .build();
+    ColumnSpec column =
+        actual.getColumns(0).toBuilder().setType(TypeSpec.newBuilder().setUdt(reordered)).build();
+    RawRowsDecoder decoder =
+        new RawRowsDecoder(actual.getRawRows(), Collections.singletonList(column));
+    assertThat(decoder.getValue(0, 0)).isEqualTo(expected);
+  }
+
+  private static List<ByteBuffer> encode(Object... values) {
+    List<ByteBuffer> row = new ArrayList<>(values.length);
+    for (int i = 0; i < COLUMNS.length; ++i) {
+      ColumnType type = COLUMNS[i].type();
+      assertThat(type).isNotNull();
+      row.add(values[i] == null ? null : type.codec().encode(values[i], ProtocolVersion.DEFAULT));
+    }
+    return row;
+  }
+}
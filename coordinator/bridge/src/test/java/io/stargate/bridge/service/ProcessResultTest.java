@@ -22,19 +22,27 @@ import com.datastax.oss.driver.api.core.ProtocolVersion;
 import io.stargate.bridge.Utils;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
+import io.stargate.bridge.proto.QueryOuterClass.EnrichedRows;
 import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
 import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.QueryOuterClass.Row;
 import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
 import io.stargate.bridge.proto.QueryOuterClass.Value;
+import io.stargate.db.AbstractRowDecorator;
+import io.stargate.db.ComparableKey;
 import io.stargate.db.Result.Rows;
+import io.stargate.db.RowDecorator;
+import io.stargate.db.datastore.ArrayListBackedRow;
 import io.stargate.db.schema.Column;
 import io.stargate.db.schema.Column.ColumnType;
+import io.stargate.db.schema.ImmutableTableName;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -49,6 +57,67 @@ public class ProcessResultTest {
     assertThat(actual).isEqualTo(expected);
   }
 
+  @ParameterizedTest
+  @MethodSource("enrichedRows")
+  public void processEnrichedResult(EnrichedRows enrichedRows, List<Integer> expectedEnriched)
+      throws Exception {
+    Column key = Column.create("k", Column.Kind.PartitionKey, Column.Type.Int);
+    Column clustering = Column.create("c", Column.Kind.Clustering, Column.Type.Int);
+    ResultSetBuilder builder =
+        ResultSetBuilder.builder()
+            .addActualColumn(key)
+            .addActualColumn(clustering)
+            .addActualRow(1, 1)
+            .addActualRow(1, 2)
+            .addActualRow(2, 1)
+            .addActualRow(3, 1)
+            .addActualRow(3, 2);
+    Rows rows = new Rows(builder.rows, Utils.makeResultMetadata(key, clustering));
+    RowDecorator rowDecorator =
+        new AbstractRowDecorator(
+            ImmutableTableName.builder().keyspace("ks").name("tbl").build(),
+            Arrays.asList("k")) {
+          @Override
+          protected ComparableKey<?> decoratePrimaryKey(Object... rawKeyValues) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public ByteBuffer getComparableBytes(io.stargate.db.datastore.Row row) {
+            return row.getBytesUnsafe("k");
+          }
+        };
+
+    ResultSet actual =
+        ValuesHelper.processResult(
+            rows,
+            QueryParameters.newBuilder().setEnriched(true).setEnrichedRows(enrichedRows).build(),
+            (columns, row, decorator) -> decorator.getComparableBytes(row),
+            (pagingState, row, resumeMode, lastInPage) -> row.getBytesUnsafe("c"),
+            (columns, values) -> new ArrayListBackedRow(columns, values, ProtocolVersion.DEFAULT),
+            rowDecorator);
+
+    assertThat(actual.getRowsCount()).isEqualTo(5);
+    List<Integer> enriched =
+        IntStream.range(0, actual.getRowsCount())
+            .filter(i -> actual.getRows(i).hasComparableBytes())
+            .boxed()
+            .collect(Collectors.toList());
+    assertThat(enriched).isEqualTo(expectedEnriched);
+    for (int i : enriched) {
+      assertThat(actual.getRows(i).hasPagingState()).isTrue();
+      assertThat(actual.getRows(i).getComparableBytes().getValue().asReadOnlyByteBuffer())
+          .isEqualTo(rows.rows.get(i).get(0));
+    }
+  }
+
+  public static Stream<Arguments> enrichedRows() {
+    return Stream.of(
+        arguments(EnrichedRows.ALL_ROWS, Arrays.asList(0, 1, 2, 3, 4)),
+        arguments(EnrichedRows.PARTITION_BOUNDARIES, Arrays.asList(1, 2, 4)),
+        arguments(EnrichedRows.LAST_ROW, Arrays.asList(4)));
+  }
+
   public static Stream<Arguments> results() {
     return Stream.of(
         ResultSetBuilder.builder()
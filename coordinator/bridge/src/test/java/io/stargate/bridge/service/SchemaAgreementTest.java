@@ -30,6 +30,7 @@ import io.stargate.db.Result;
 import io.stargate.db.Statement;
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -40,7 +41,8 @@ public class SchemaAgreementTest extends BaseBridgeServiceTest {
   public void schemaAgreementSuccess() {
     // Given
     StargateBridgeBlockingStub stub = makeBlockingStub();
-    when(connection.isInSchemaAgreement()).thenReturn(true);
+    when(connection.whenInSchemaAgreement(anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(null));
     mockAnyQueryAsSchemaChange();
     when(persistence.newConnection()).thenReturn(connection);
     startServer(persistence);
@@ -57,7 +59,9 @@ public class SchemaAgreementTest extends BaseBridgeServiceTest {
   public void schemaAgreementFailure() {
     // Given
     StargateBridgeBlockingStub stub = makeBlockingStub();
-    when(connection.isInSchemaAgreement()).thenReturn(false);
+    CompletableFuture<Void> timedOut = new CompletableFuture<>();
+    timedOut.completeExceptionally(new TimeoutException());
+    when(connection.whenInSchemaAgreement(anyLong())).thenReturn(timedOut);
     mockAnyQueryAsSchemaChange();
     when(persistence.newConnection()).thenReturn(connection);
     startServer(persistence);
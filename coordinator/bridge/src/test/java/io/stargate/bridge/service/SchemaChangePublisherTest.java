@@ -0,0 +1,181 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import io.grpc.stub.StreamObserver;
+import io.stargate.bridge.proto.Schema.SchemaChange;
+import io.stargate.db.Persistence;
+import io.stargate.db.schema.ImmutableKeyspace;
+import io.stargate.db.schema.Keyspace;
+import io.stargate.db.schema.Schema;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class SchemaChangePublisherTest {
+
+  private static final Keyspace KEYSPACE = ImmutableKeyspace.builder().name("ks").build();
+  private static final Map<String, String> HEADERS = Collections.singletonMap("tenant", "t1");
+  private static final Map<String, String> OTHER_HEADERS =
+      Collections.singletonMap("tenant", "t2");
+
+  @Mock Persistence persistence;
+  @Mock Schema schema;
+
+  @Test
+  public void shouldAcknowledgeSubscription() {
+    SchemaChangePublisher publisher = new SchemaChangePublisher(persistence);
+    RecordingObserver observer = new RecordingObserver();
+
+    publisher.subscribe(observer, HEADERS);
+
+    assertThat(observer.subscribed).isTrue();
+    assertThat(observer.changes).isEmpty();
+    assertThat(publisher.subscriberCount()).isOne();
+  }
+
+  @Test
+  public void shouldPushHashOfChangedKeyspace() {
+    when(persistence.schema()).thenReturn(schema);
+    when(schema.keyspace("ks")).thenReturn(KEYSPACE);
+    when(persistence.isKeyspaceVisible("ks", HEADERS)).thenReturn(true);
+    SchemaChangePublisher publisher = new SchemaChangePublisher(persistence);
+    RecordingObserver observer = new RecordingObserver();
+    publisher.subscribe(observer, HEADERS);
+
+    publisher.onCreateTable("ks", "tbl");
+
+    assertThat(observer.changes)
+        .singleElement()
+        .satisfies(
+            change -> {
+              assertThat(change.getKeyspaceGlobalName()).isEqualTo("ks");
+              assertThat(change.getHash().getValue()).isEqualTo(KEYSPACE.schemaHashCode());
+            });
+  }
+
+  @Test
+  public void shouldPushNoHashForDroppedKeyspace() {
+    when(persistence.schema()).thenReturn(schema);
+    when(persistence.isKeyspaceVisible("ks", HEADERS)).thenReturn(true);
+    SchemaChangePublisher publisher = new SchemaChangePublisher(persistence);
+    RecordingObserver observer = new RecordingObserver();
+    publisher.subscribe(observer, HEADERS);
+
+    publisher.onDropKeyspace("ks");
+
+    assertThat(observer.changes)
+        .singleElement()
+        .satisfies(
+            change -> {
+              assertThat(change.getKeyspaceGlobalName()).isEqualTo("ks");
+              assertThat(change.hasHash()).isFalse();
+            });
+  }
+
+  @Test
+  public void shouldOnlyPushVisibleKeyspaces() {
+    when(persistence.schema()).thenReturn(schema);
+    when(schema.keyspace("ks")).thenReturn(KEYSPACE);
+    when(persistence.isKeyspaceVisible("ks", HEADERS)).thenReturn(true);
+    when(persistence.isKeyspaceVisible("ks", OTHER_HEADERS)).thenReturn(false);
+    SchemaChangePublisher publisher = new SchemaChangePublisher(persistence);
+    RecordingObserver observer = new RecordingObserver();
+    RecordingObserver otherObserver = new RecordingObserver();
+    publisher.subscribe(observer, HEADERS);
+    publisher.subscribe(otherObserver, OTHER_HEADERS);
+
+    publisher.onAlterTable("ks", "tbl");
+
+    assertThat(observer.changes).hasSize(1);
+    assertThat(otherObserver.changes).isEmpty();
+  }
+
+  @Test
+  public void shouldNotTouchSchemaWithoutSubscribers() {
+    SchemaChangePublisher publisher = new SchemaChangePublisher(persistence);
+
+    publisher.onAlterTable("ks", "tbl");
+
+    assertThat(publisher.subscriberCount()).isZero();
+  }
+
+  @Test
+  public void shouldCompleteStreamsOnClose() {
+    SchemaChangePublisher publisher = new SchemaChangePublisher(persistence);
+    RecordingObserver observer = new RecordingObserver();
+    publisher.subscribe(observer, HEADERS);
+
+    publisher.close();
+
+    assertThat(observer.completed).isTrue();
+    assertThat(publisher.subscriberCount()).isZero();
+  }
+
+  @Test
+  public void shouldDropFailingSubscriber() {
+    when(persistence.schema()).thenReturn(schema);
+    when(persistence.isKeyspaceVisible("ks", HEADERS)).thenReturn(true);
+    SchemaChangePublisher publisher = new SchemaChangePublisher(persistence);
+    publisher.subscribe(
+        new RecordingObserver() {
+          @Override
+          public void onNext(SchemaChange value) {
+            if (!value.getSubscribed()) {
+              throw new IllegalStateException("call already cancelled");
+            }
+          }
+        },
+        HEADERS);
+
+    publisher.onCreateKeyspace("ks");
+
+    assertThat(publisher.subscriberCount()).isZero();
+  }
+
+  private static class RecordingObserver implements StreamObserver<SchemaChange> {
+    final List<SchemaChange> changes = new ArrayList<>();
+    boolean subscribed;
+    boolean completed;
+
+    @Override
+    public void onNext(SchemaChange value) {
+      if (value.getSubscribed()) {
+        assertThat(changes).isEmpty();
+        subscribed = true;
+      } else {
+        changes.add(value);
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {}
+
+    @Override
+    public void onCompleted() {
+      completed = true;
+    }
+  }
+}
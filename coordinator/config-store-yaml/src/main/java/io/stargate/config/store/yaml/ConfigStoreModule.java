@@ -55,6 +55,11 @@ public class ConfigStoreModule extends BaseService {
     return Collections.singletonList(metricsService);
   }
 
+  @Override
+  protected List<Class<?>> providedServices() {
+    return Collections.singletonList(ConfigStore.class);
+  }
+
   @Override
   protected void createServices() throws Exception {
     Metrics metrics = getService(Metrics.class);
@@ -22,6 +22,8 @@ import io.stargate.core.metrics.api.MetricsScraper;
 import io.stargate.core.metrics.api.NoopHttpMetricsTagProvider;
 import io.stargate.core.metrics.impl.MetricsImpl;
 import io.stargate.core.services.BaseService;
+import java.util.Arrays;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +42,15 @@ public class CoreModule extends BaseService {
     super("core-services");
   }
 
+  @Override
+  protected List<Class<?>> providedServices() {
+    return Arrays.asList(
+        Metrics.class,
+        MetricsScraper.class,
+        HealthCheckRegistry.class,
+        HttpMetricsTagProvider.class);
+  }
+
   @Override
   protected void createServices() throws Exception {
     logger.info("Initializing core module services");
@@ -78,6 +78,15 @@ public abstract class BaseService {
     return Collections.emptyList();
   }
 
+  /**
+   * Get the list of service classes registered by this service. Subclasses should override this to
+   * declare what they provide, so that {@link ServiceStarter} can order them relative to the
+   * services that depend on them.
+   */
+  protected List<Class<?>> providedServices() {
+    return Collections.emptyList();
+  }
+
   /**
    * Create and register services provided by this module. Subclasses should override this to create
    * their services.
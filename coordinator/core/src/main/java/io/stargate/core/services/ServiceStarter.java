@@ -0,0 +1,278 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.core.services;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.stargate.core.metrics.api.Metrics;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts a set of services, either one after the other in the order they were added, or
+ * concurrently on a bounded pool of threads.
+ *
+ * <p>In the concurrent mode, the start order is derived from the {@link
+ * BaseService#dependencies() dependencies} and {@link BaseService#providedServices() provided
+ * services} of each service: when a service depends on a service class, it starts after the
+ * services added before it that provide that class, and the services added after it that provide
+ * that class start after it. This way each service sees the same dependencies as in the sequential
+ * mode, and services that are not related start concurrently.
+ *
+ * <p>The start duration of each service is logged in a single report line once all services are
+ * started, and published as gauges under the {@code startup} prefix if {@link Metrics} is
+ * available.
+ */
+public class ServiceStarter {
+  private static final Logger logger = LoggerFactory.getLogger(ServiceStarter.class);
+
+  private final ServiceManager serviceManager;
+  private final int parallelism;
+  private final Map<String, BaseService> services = new LinkedHashMap<>();
+  private final Map<String, Long> startTimesNanos = new ConcurrentHashMap<>();
+
+  /**
+   * @param serviceManager the service manager the services register into
+   * @param parallelism the maximum number of services started concurrently, 1 to start them
+   *     sequentially
+   */
+  public ServiceStarter(ServiceManager serviceManager, int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be positive, got " + parallelism);
+    }
+    this.serviceManager = serviceManager;
+    this.parallelism = parallelism;
+  }
+
+  /** Add a service to start. The order of the calls is the sequential start order. */
+  public void add(String name, BaseService service) {
+    services.put(name, service);
+  }
+
+  /**
+   * Start all the services.
+   *
+   * <p>If a service fails to start, no new service is started, the services already started are
+   * stopped in reverse order, and the failure is rethrown.
+   *
+   * @return the started services, in the order they finished starting
+   */
+  public List<BaseService> start() throws Exception {
+    long startNanos = System.nanoTime();
+    List<String> started = parallelism > 1 ? startConcurrently() : startSequentially();
+    long totalNanos = System.nanoTime() - startNanos;
+
+    report(started, totalNanos);
+
+    List<BaseService> startedServices = new ArrayList<>(started.size());
+    for (String name : started) {
+      startedServices.add(services.get(name));
+    }
+    return startedServices;
+  }
+
+  /** Get the start duration of each started service, in nanoseconds. */
+  public Map<String, Long> getStartTimesNanos() {
+    return startTimesNanos;
+  }
+
+  private List<String> startSequentially() throws Exception {
+    List<String> started = new ArrayList<>();
+    for (String name : services.keySet()) {
+      try {
+        startService(name);
+        started.add(name);
+      } catch (Exception e) {
+        stopServices(started);
+        throw e;
+      }
+    }
+    return started;
+  }
+
+  private List<String> startConcurrently() throws Exception {
+    Map<String, Set<String>> dependencies = dependencyGraph();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.max(1, Math.min(parallelism, services.size())), new StarterThreadFactory());
+    CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+
+    Set<String> pending = new LinkedHashSet<>(services.keySet());
+    List<String> started = new ArrayList<>();
+    Exception failure = null;
+    int running = 0;
+    try {
+      while (true) {
+        if (failure == null) {
+          for (Iterator<String> iterator = pending.iterator(); iterator.hasNext(); ) {
+            String name = iterator.next();
+            if (started.containsAll(dependencies.get(name))) {
+              iterator.remove();
+              completionService.submit(
+                  () -> {
+                    startService(name);
+                    return name;
+                  });
+              running += 1;
+            }
+          }
+        }
+        if (running == 0) {
+          break;
+        }
+
+        try {
+          started.add(completionService.take().get());
+        } catch (ExecutionException e) {
+          Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+          if (failure == null) {
+            failure = cause;
+          } else {
+            failure.addSuppressed(cause);
+          }
+        }
+        running -= 1;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure = e;
+    } finally {
+      executor.shutdownNow();
+    }
+
+    if (failure != null) {
+      stopServices(started);
+      throw failure;
+    }
+    assert pending.isEmpty(); // the graph is acyclic, see dependencyGraph()
+    return started;
+  }
+
+  /**
+   * Builds the services each service must wait for. Edges always go from a service to services
+   * added before it, so the graph can't contain cycles.
+   */
+  Map<String, Set<String>> dependencyGraph() {
+    List<String> names = new ArrayList<>(services.keySet());
+    Map<String, Set<String>> graph = new LinkedHashMap<>();
+    for (String name : names) {
+      graph.put(name, new HashSet<>());
+    }
+
+    for (int i = 0; i < names.size(); i++) {
+      BaseService service = services.get(names.get(i));
+      for (ServiceDependency<?> dependency : service.dependencies()) {
+        for (int j = 0; j < names.size(); j++) {
+          if (i == j
+              || !services
+                  .get(names.get(j))
+                  .providedServices()
+                  .contains(dependency.getServiceClass())) {
+            continue;
+          }
+          if (j < i) {
+            // the provider started before the service in sequential mode
+            graph.get(names.get(i)).add(names.get(j));
+          } else {
+            // the provider started after, don't let it register anything the service could see
+            graph.get(names.get(j)).add(names.get(i));
+          }
+        }
+      }
+    }
+    return graph;
+  }
+
+  private void startService(String name) throws Exception {
+    BaseService service = services.get(name);
+    logger.info("Starting service: {}", name);
+    long startNanos = System.nanoTime();
+    try {
+      service.start();
+    } catch (Exception e) {
+      logger.error("Failed to start service: " + name, e);
+      throw e;
+    }
+    long elapsedNanos = System.nanoTime() - startNanos;
+    startTimesNanos.put(name, elapsedNanos);
+    logger.info("Started service: {} in {} ms", name, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+  }
+
+  private void stopServices(List<String> started) {
+    // Stop services in reverse order
+    for (int i = started.size() - 1; i >= 0; i--) {
+      String name = started.get(i);
+      try {
+        logger.info("Stopping service: {}", name);
+        services.get(name).stop();
+      } catch (Exception e) {
+        logger.error("Error stopping service: " + name, e);
+      }
+    }
+  }
+
+  private void report(List<String> started, long totalNanos) {
+    StringJoiner timings = new StringJoiner(", ");
+    for (String name : started) {
+      timings.add(name + "=" + TimeUnit.NANOSECONDS.toMillis(startTimesNanos.get(name)) + "ms");
+    }
+    logger.info(
+        "Started {} services in {} ms ({}): {}",
+        started.size(),
+        TimeUnit.NANOSECONDS.toMillis(totalNanos),
+        parallelism > 1 ? "concurrently, up to " + parallelism + " at a time" : "sequentially",
+        timings);
+
+    Metrics metrics = serviceManager.getService(Metrics.class);
+    if (metrics != null) {
+      MetricRegistry registry = metrics.getRegistry("startup");
+      for (String name : started) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(startTimesNanos.get(name));
+        registry.gauge(name, () -> (Gauge<Long>) () -> millis);
+      }
+      long totalMillis = TimeUnit.NANOSECONDS.toMillis(totalNanos);
+      registry.gauge("total", () -> (Gauge<Long>) () -> totalMillis);
+    }
+  }
+
+  private static class StarterThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      // not a daemon: threads created by the services inherit it, and the pool is shut down anyway
+      return new Thread(runnable, "service-starter-" + count.incrementAndGet());
+    }
+  }
+}
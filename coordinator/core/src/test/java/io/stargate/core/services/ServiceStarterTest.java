@@ -0,0 +1,192 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.core.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ServiceStarterTest {
+
+  private SimpleServiceManager serviceManager;
+  private List<String> startOrder;
+
+  @BeforeEach
+  public void setup() {
+    serviceManager = new SimpleServiceManager();
+    startOrder = Collections.synchronizedList(new ArrayList<>());
+  }
+
+  @Test
+  public void testDependencyGraph() {
+    ServiceStarter starter = new ServiceStarter(serviceManager, 4);
+    starter.add("provider", new RecordingService("provider").provides(First.class));
+    starter.add(
+        "consumer",
+        new RecordingService("consumer")
+            .dependsOn(ServiceDependency.required(First.class))
+            .dependsOn(ServiceDependency.optional(Second.class)));
+    starter.add("lateProvider", new RecordingService("lateProvider").provides(Second.class));
+    starter.add("unrelated", new RecordingService("unrelated"));
+
+    assertThat(starter.dependencyGraph())
+        .containsEntry("provider", Collections.emptySet())
+        .containsEntry("consumer", Collections.singleton("provider"))
+        // must not register anything the consumer could see, as in sequential mode
+        .containsEntry("lateProvider", Collections.singleton("consumer"))
+        .containsEntry("unrelated", Collections.emptySet());
+  }
+
+  @Test
+  public void testConcurrentStart() throws Exception {
+    // each service waits for the other one to be starting, so this only succeeds concurrently
+    CyclicBarrier barrier = new CyclicBarrier(2);
+    ServiceStarter starter = new ServiceStarter(serviceManager, 2);
+    starter.add("first", new RecordingService("first").awaiting(barrier));
+    starter.add("second", new RecordingService("second").awaiting(barrier));
+
+    List<BaseService> started = starter.start();
+
+    assertThat(started).hasSize(2).allMatch(BaseService::isStarted);
+    assertThat(starter.getStartTimesNanos()).containsOnlyKeys("first", "second");
+  }
+
+  @Test
+  public void testConcurrentStartRespectsDependencies() throws Exception {
+    ServiceStarter starter = new ServiceStarter(serviceManager, 4);
+    starter.add(
+        "consumer",
+        new RecordingService("consumer").dependsOn(ServiceDependency.optional(First.class)));
+    starter.add("provider", new RecordingService("provider").provides(First.class));
+    starter.add(
+        "lateConsumer",
+        new RecordingService("lateConsumer").dependsOn(ServiceDependency.required(First.class)));
+
+    starter.start();
+
+    assertThat(startOrder).containsExactly("consumer", "provider", "lateConsumer");
+  }
+
+  @Test
+  public void testSequentialStart() throws Exception {
+    ServiceStarter starter = new ServiceStarter(serviceManager, 1);
+    starter.add("a", new RecordingService("a"));
+    starter.add("b", new RecordingService("b"));
+    starter.add("c", new RecordingService("c"));
+
+    List<BaseService> started = starter.start();
+
+    assertThat(started).extracting(BaseService::getServiceName).containsExactly("a", "b", "c");
+    assertThat(startOrder).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  public void testFailureStopsStartedServices() {
+    RecordingService provider = new RecordingService("provider").provides(First.class);
+    ServiceStarter starter = new ServiceStarter(serviceManager, 4);
+    starter.add("provider", provider);
+    starter.add(
+        "failing",
+        new RecordingService("failing")
+            .dependsOn(ServiceDependency.required(First.class))
+            .provides(Second.class)
+            .failing());
+    RecordingService notStarted =
+        new RecordingService("notStarted").dependsOn(ServiceDependency.required(Second.class));
+    starter.add("notStarted", notStarted);
+
+    Exception exception = assertThrows(Exception.class, starter::start);
+
+    assertThat(exception.getMessage()).isEqualTo("failing failed");
+    assertThat(provider.isStarted()).isFalse();
+    assertThat(provider.stopped).isTrue();
+    assertThat(notStarted.isStarted()).isFalse();
+  }
+
+  interface First {}
+
+  interface Second {}
+
+  class RecordingService extends BaseService {
+    private final List<Class<?>> provided = new ArrayList<>();
+    private final List<ServiceDependency<?>> dependencies = new ArrayList<>();
+    private CyclicBarrier barrier;
+    private boolean fail;
+    volatile boolean stopped;
+
+    RecordingService(String name) {
+      super(name);
+      setServiceManager(serviceManager);
+    }
+
+    RecordingService provides(Class<?> serviceClass) {
+      provided.add(serviceClass);
+      return this;
+    }
+
+    RecordingService dependsOn(ServiceDependency<?> dependency) {
+      dependencies.add(dependency);
+      return this;
+    }
+
+    RecordingService awaiting(CyclicBarrier barrier) {
+      this.barrier = barrier;
+      return this;
+    }
+
+    RecordingService failing() {
+      this.fail = true;
+      return this;
+    }
+
+    @Override
+    protected List<ServiceDependency<?>> dependencies() {
+      return dependencies;
+    }
+
+    @Override
+    protected List<Class<?>> providedServices() {
+      return provided;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void createServices() throws Exception {
+      if (barrier != null) {
+        barrier.await(5, TimeUnit.SECONDS);
+      }
+      if (fail) {
+        throw new Exception(getServiceName() + " failed");
+      }
+      startOrder.add(getServiceName());
+      for (Class<?> serviceClass : provided) {
+        register((Class<Object>) serviceClass, this);
+      }
+    }
+
+    @Override
+    protected void stopServices() {
+      stopped = true;
+    }
+  }
+}
@@ -42,6 +42,7 @@ import java.util.stream.Collectors;
 import org.apache.cassandra.metrics.DefaultNameFactory;
 import org.apache.cassandra.stargate.transport.internal.CBUtil;
 import org.apache.cassandra.stargate.transport.internal.CqlServer;
+import org.apache.cassandra.stargate.transport.internal.Message;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,6 +91,7 @@ public final class ClientMetrics {
   private DistributionSummary bytesTransmittedPerFrame;
   private MultiGauge connectedNativeClients;
   private MultiGauge connectedNativeClientsByUser;
+  private RequestLatencyMetrics requestLatency;
 
   private ClientMetrics() {}
 
@@ -117,6 +119,18 @@ public final class ClientMetrics {
     bytesTransmittedPerFrame.record(value);
   }
 
+  /**
+   * Records the latency of a processed request, see {@link RequestLatencyMetrics}.
+   *
+   * @param request the request
+   * @param response the response, or <code>null</code> if the request failed
+   * @param latencyNanos the processing time in nanoseconds
+   */
+  public void recordRequestLatency(
+      Message.Request request, Message.Response response, long latencyNanos) {
+    requestLatency.record(request, response, latencyNanos);
+  }
+
   public ConnectionMetrics connectionMetrics(ClientInfo clientInfo) {
     if (!initialized) {
       throw new IllegalStateException("Client metrics not initialized yet.");
@@ -167,6 +181,8 @@ public final class ClientMetrics {
     bytesReceivedPerFrame = meterRegistry.summary(metric("BytesReceivedPerFrame"));
     bytesTransmittedPerFrame = meterRegistry.summary(metric("BytesTransmittedPerFrame"));
 
+    requestLatency = new RequestLatencyMetrics(meterRegistry, metric("RequestLatency"));
+
     initialized = true;
 
     // if we have the positive period, init the executor service and submit the update task
@@ -0,0 +1,266 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.cassandra.stargate.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.stargate.db.Result;
+import io.stargate.db.schema.Column;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.db.ConsistencyLevel;
+import org.apache.cassandra.stargate.transport.internal.Message;
+import org.apache.cassandra.stargate.transport.internal.messages.BatchMessage;
+import org.apache.cassandra.stargate.transport.internal.messages.ExecuteMessage;
+import org.apache.cassandra.stargate.transport.internal.messages.QueryMessage;
+import org.apache.cassandra.stargate.transport.internal.messages.ResultMessage;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+
+/**
+ * Records the latency of the CQL requests in histograms, tagged by opcode, consistency level,
+ * outcome and, when known, keyspace and table.
+ *
+ * <p>The keyspace and table of an EXECUTE come from the metadata of the PREPARE response for the
+ * statement, the ones of a QUERY from the metadata of its rows. To keep the cardinality bounded,
+ * only a limited number of distinct tables get their own series, requests on any other table are
+ * recorded with the {@value #OTHER} keyspace and table.
+ */
+class RequestLatencyMetrics {
+
+  /** Tag value when a dimension does not apply or can not be resolved. */
+  static final String NONE = "none";
+
+  /** Tag value of the keyspace and table once the maximum number of tables is reached. */
+  static final String OTHER = "other";
+
+  private static final boolean TABLE_DIMENSION =
+      Boolean.parseBoolean(
+          System.getProperty("stargate.cql.metrics.latency.table_dimension", "true"));
+
+  private static final int MAX_TABLES =
+      Integer.getInteger("stargate.cql.metrics.latency.max_tables", 100);
+
+  private static final int MAX_PREPARED_STATEMENTS =
+      Integer.getInteger("stargate.cql.metrics.latency.max_prepared_statements", 10_000);
+
+  private final MeterRegistry meterRegistry;
+  private final String metricName;
+  private final boolean tableDimension;
+  private final int maxTables;
+
+  // tables of the prepared statements, bounded as statements are never explicitly removed
+  private final Cache<MD5Digest, TableRef> preparedTables;
+  private final Set<TableRef> knownTables = ConcurrentHashMap.newKeySet();
+  private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+  RequestLatencyMetrics(MeterRegistry meterRegistry, String metricName) {
+    this(meterRegistry, metricName, TABLE_DIMENSION, MAX_TABLES, MAX_PREPARED_STATEMENTS);
+  }
+
+  RequestLatencyMetrics(
+      MeterRegistry meterRegistry,
+      String metricName,
+      boolean tableDimension,
+      int maxTables,
+      int maxPreparedStatements) {
+    this.meterRegistry = meterRegistry;
+    this.metricName = metricName;
+    this.tableDimension = tableDimension;
+    this.maxTables = maxTables;
+    this.preparedTables = Caffeine.newBuilder().maximumSize(maxPreparedStatements).build();
+  }
+
+  /**
+   * Records the latency of a request.
+   *
+   * @param request the processed request
+   * @param response the response, or <code>null</code> if the request failed
+   * @param latencyNanos the processing time in nanoseconds
+   */
+  void record(Message.Request request, Message.Response response, long latencyNanos) {
+    TableRef table = bounded(resolveTable(request, response));
+    TimerKey key =
+        new TimerKey(request.type, consistency(request), table, response != null ? "ok" : "error");
+    timers.computeIfAbsent(key, this::timer).record(latencyNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private Timer timer(TimerKey key) {
+    Tags tags =
+        Tags.of(
+            "opcode",
+            key.type.name(),
+            "consistency",
+            key.consistency == null ? NONE : key.consistency.name(),
+            "keyspace",
+            key.table.keyspace,
+            "outcome",
+            key.outcome);
+    if (tableDimension) {
+      tags = tags.and("table", key.table.table);
+    }
+    return Timer.builder(metricName)
+        .tags(tags)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private TableRef resolveTable(Message.Request request, Message.Response response) {
+    Result result = response instanceof ResultMessage ? ((ResultMessage) response).result : null;
+    switch (request.type) {
+      case PREPARE:
+        if (result instanceof Result.Prepared) {
+          Result.Prepared prepared = (Result.Prepared) result;
+          TableRef table = fromColumns(prepared.metadata.columns);
+          if (table == null) {
+            table = fromColumns(prepared.resultMetadata.columns);
+          }
+          if (table != null) {
+            preparedTables.put(prepared.statementId, table);
+          }
+          return table;
+        }
+        return null;
+      case EXECUTE:
+        MD5Digest statementId = ((ExecuteMessage) request).statementId;
+        TableRef table = preparedTables.getIfPresent(statementId);
+        if (table == null && result instanceof Result.Rows) {
+          // prepared before we started tracking, or evicted
+          table = fromColumns(((Result.Rows) result).resultMetadata.columns);
+          if (table != null) {
+            preparedTables.put(statementId, table);
+          }
+        }
+        return table;
+      case QUERY:
+        return result instanceof Result.Rows
+            ? fromColumns(((Result.Rows) result).resultMetadata.columns)
+            : null;
+      default:
+        return null;
+    }
+  }
+
+  private TableRef bounded(TableRef table) {
+    if (table == null) {
+      return TableRef.NONE;
+    }
+    if (!tableDimension) {
+      // only the keyspaces are bounded then
+      table = new TableRef(table.keyspace, NONE);
+    }
+    if (knownTables.contains(table)) {
+      return table;
+    }
+    // the size check is racy, the limit can be slightly exceeded which is fine
+    if (knownTables.size() < maxTables) {
+      knownTables.add(table);
+      return table;
+    }
+    return TableRef.OTHER;
+  }
+
+  private static TableRef fromColumns(List<Column> columns) {
+    if (columns == null) {
+      return null;
+    }
+    for (Column column : columns) {
+      if (column.keyspace() != null && column.table() != null) {
+        return new TableRef(column.keyspace(), column.table());
+      }
+    }
+    return null;
+  }
+
+  private static ConsistencyLevel consistency(Message.Request request) {
+    if (request instanceof QueryMessage) {
+      return ((QueryMessage) request).options.getConsistency();
+    }
+    if (request instanceof ExecuteMessage) {
+      return ((ExecuteMessage) request).options.getConsistency();
+    }
+    if (request instanceof BatchMessage) {
+      return ((BatchMessage) request).options.getConsistency();
+    }
+    return null;
+  }
+
+  private static final class TableRef {
+    static final TableRef NONE =
+        new TableRef(RequestLatencyMetrics.NONE, RequestLatencyMetrics.NONE);
+    static final TableRef OTHER =
+        new TableRef(RequestLatencyMetrics.OTHER, RequestLatencyMetrics.OTHER);
+
+    final String keyspace;
+    final String table;
+
+    TableRef(String keyspace, String table) {
+      this.keyspace = keyspace;
+      this.table = table;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof TableRef)) return false;
+      TableRef that = (TableRef) o;
+      return keyspace.equals(that.keyspace) && table.equals(that.table);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(keyspace, table);
+    }
+  }
+
+  private static final class TimerKey {
+    final Message.Type type;
+    final ConsistencyLevel consistency;
+    final TableRef table;
+    final String outcome;
+
+    TimerKey(Message.Type type, ConsistencyLevel consistency, TableRef table, String outcome) {
+      this.type = type;
+      this.consistency = consistency;
+      this.table = table;
+      this.outcome = outcome;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof TimerKey)) return false;
+      TimerKey that = (TimerKey) o;
+      return type == that.type
+          && consistency == that.consistency
+          && table.equals(that.table)
+          && outcome.equals(that.outcome);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, consistency, table, outcome);
+    }
+  }
+}
@@ -22,6 +22,7 @@ import io.netty.util.AttributeKey;
 import org.apache.cassandra.stargate.metrics.ConnectionMetrics;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
 import org.apache.cassandra.stargate.transport.internal.frame.FrameBodyTransformer;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
 
 public class Connection {
   static final AttributeKey<Connection> attributeKey = AttributeKey.valueOf("CONN");
@@ -32,6 +33,7 @@ public class Connection {
   private final ConnectionMetrics connectionMetrics;
 
   private volatile FrameBodyTransformer transformer;
+  private volatile Compressor segmentCompressor;
   private boolean throwOnOverload;
 
   public Connection(
@@ -55,6 +57,19 @@ public class Connection {
     return transformer;
   }
 
+  /**
+   * Sets the compressor of the segments exchanged once the connection is established, for protocol
+   * versions that {@link ProtocolVersion#usesSegments() use segments}. {@code null} (the default)
+   * means that segments are not compressed.
+   */
+  public void setSegmentCompressor(Compressor segmentCompressor) {
+    this.segmentCompressor = segmentCompressor;
+  }
+
+  public Compressor getSegmentCompressor() {
+    return segmentCompressor;
+  }
+
   public void setThrowOnOverload(boolean throwOnOverload) {
     this.throwOnOverload = throwOnOverload;
   }
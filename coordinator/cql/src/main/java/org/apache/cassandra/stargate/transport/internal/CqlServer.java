@@ -496,6 +496,8 @@ public class CqlServer {
 
       // pipeline.addLast("debug", new LoggingHandler());
 
+      // From protocol v5, these are switched to segment framing once STARTUP is answered, see
+      // SegmentFraming.
       pipeline.addLast("frameDecoder", new Frame.Decoder(server::newConnection));
       pipeline.addLast("frameEncoder", frameEncoder);
 
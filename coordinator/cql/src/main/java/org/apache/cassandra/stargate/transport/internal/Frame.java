@@ -269,20 +269,7 @@ public class Frame {
     public void encode(ChannelHandlerContext ctx, Frame frame, List<Object> results)
         throws IOException {
       ByteBuf header = CBUtil.allocator.buffer(Header.LENGTH);
-
-      Message.Type type = frame.header.type;
-      header.writeByte(type.direction.addToVersion(frame.header.version.asInt()));
-      header.writeByte(Header.Flag.serialize(frame.header.flags));
-
-      // Continue to support writing pre-v3 headers so that we can give proper error messages to
-      // drivers that
-      // connect with the v1/v2 protocol. See CASSANDRA-11464.
-      if (frame.header.version.isGreaterOrEqualTo(ProtocolVersion.V3))
-        header.writeShort(frame.header.streamId);
-      else header.writeByte(frame.header.streamId);
-
-      header.writeByte(type.opcode);
-      header.writeInt(frame.body.readableBytes());
+      frame.writeHeader(header);
 
       int messageSize = header.readableBytes() + frame.body.readableBytes();
       ClientMetrics.instance.incrementTotalBytesWritten(messageSize);
@@ -290,9 +277,32 @@ public class Frame {
 
       results.add(header);
       results.add(frame.body);
+
+      // From v5, everything that follows the response to STARTUP is wrapped in segments
+      Message.Type type = frame.header.type;
+      if (frame.header.version.usesSegments()
+          && (type == Message.Type.READY || type == Message.Type.AUTHENTICATE)) {
+        Connection connection = ctx.channel().attr(Connection.attributeKey).get();
+        if (connection != null) SegmentFraming.install(ctx.pipeline(), connection);
+      }
     }
   }
 
+  void writeHeader(ByteBuf dest) {
+    Message.Type type = header.type;
+    dest.writeByte(type.direction.addToVersion(header.version.asInt()));
+    dest.writeByte(Header.Flag.serialize(header.flags));
+
+    // Continue to support writing pre-v3 headers so that we can give proper error messages to
+    // drivers that
+    // connect with the v1/v2 protocol. See CASSANDRA-11464.
+    if (header.version.isGreaterOrEqualTo(ProtocolVersion.V3)) dest.writeShort(header.streamId);
+    else dest.writeByte(header.streamId);
+
+    dest.writeByte(type.opcode);
+    dest.writeInt(body.readableBytes());
+  }
+
   @ChannelHandler.Sharable
   public static class InboundBodyTransformer extends MessageToMessageDecoder<Frame> {
     @Override
@@ -697,6 +697,8 @@ public abstract class Message {
 
         req.whenComplete(
             (response, err) -> {
+              ClientMetrics.instance.recordRequestLatency(
+                  request, err == null ? response : null, System.nanoTime() - queryStartNanoTime);
               if (err != null) {
                 handleError(ctx, request, err);
               } else {
@@ -719,6 +721,8 @@ public abstract class Message {
               }
             });
       } catch (Throwable t) {
+        ClientMetrics.instance.recordRequestLatency(
+            request, null, System.nanoTime() - queryStartNanoTime);
         handleError(ctx, request, t);
       }
     }
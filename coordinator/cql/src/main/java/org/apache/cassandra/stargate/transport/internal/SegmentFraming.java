@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.cassandra.stargate.metrics.ClientMetrics;
+import org.apache.cassandra.stargate.transport.ProtocolException;
+import org.apache.cassandra.stargate.transport.ProtocolVersion;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
+import org.apache.cassandra.stargate.transport.internal.frame.segment.SegmentCodec;
+import org.apache.cassandra.stargate.transport.internal.messages.ErrorMessage;
+
+/**
+ * The framing of native protocol v5 and later, where frames are wrapped in checksummed and
+ * optionally compressed segments once the connection is established (see {@link SegmentCodec}).
+ *
+ * <p>On the way out, all the frames written between two flushes are coalesced into as few
+ * self-contained segments as possible, so that many small responses are compressed, checksummed and
+ * written together. Frames larger than a segment are split across several segments.
+ */
+public class SegmentFraming {
+
+  // The names the frame handlers are registered under, see CqlServer.Initializer
+  private static final String FRAME_DECODER = "frameDecoder";
+  private static final String FRAME_ENCODER = "frameEncoder";
+  private static final String SEGMENT_ENCODER = "segmentEncoder";
+
+  private SegmentFraming() {}
+
+  /**
+   * Switches the pipeline of the provided connection from standalone frames to segments. This is
+   * called when the response to STARTUP is written, which is the last frame sent as is: the client
+   * will not send any more bytes until it receives it, so nothing is buffered in the frame decoder.
+   */
+  static void install(ChannelPipeline pipeline, Connection connection) {
+    if (!(pipeline.get(FRAME_DECODER) instanceof Frame.Decoder)) {
+      // Already installed, or not a server pipeline
+      return;
+    }
+    Compressor compressor = connection.getSegmentCompressor();
+    pipeline.replace(
+        FRAME_DECODER, FRAME_DECODER, new Decoder(connection.getVersion(), compressor));
+    // Outbound handlers are traversed from the tail, so this sees the frames before the frame
+    // encoder, which only lets the resulting bytes through.
+    pipeline.addAfter(FRAME_ENCODER, SEGMENT_ENCODER, new Encoder(compressor));
+  }
+
+  /** Decodes segments into the frames they contain. */
+  public static class Decoder extends ByteToMessageDecoder {
+    private final ProtocolVersion version;
+    private final SegmentCodec codec;
+    // Used only to parse frames out of segment payloads (it keeps the discarding state of too long
+    // frames across segments)
+    private final Frame.Decoder frameDecoder = new Frame.Decoder(null);
+
+    // The payloads of the segments of a frame that is split across several segments
+    private CompositeByteBuf largeFrame;
+
+    public Decoder(ProtocolVersion version, Compressor compressor) {
+      this.version = version;
+      this.codec = new SegmentCodec(compressor);
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf buffer, List<Object> results)
+        throws Exception {
+      SegmentCodec.Segment segment = codec.decode(buffer);
+      if (segment == null) return;
+
+      if (segment.isSelfContained) {
+        decodeSelfContained(segment.payload, results);
+      } else {
+        decodeLargeFramePart(ctx, segment.payload, results);
+      }
+    }
+
+    private void decodeSelfContained(ByteBuf payload, List<Object> results) throws Exception {
+      try {
+        if (largeFrame != null)
+          throw new ProtocolException(
+              "Received a self-contained segment in the middle of a frame split across segments");
+
+        Frame frame;
+        while ((frame = frameDecoder.decodeFrame(payload)) != null) {
+          results.add(checkVersion(frame));
+        }
+        if (payload.isReadable())
+          throw new ProtocolException("Self-contained segment ends with an incomplete frame");
+      } finally {
+        payload.release();
+      }
+    }
+
+    private void decodeLargeFramePart(
+        ChannelHandlerContext ctx, ByteBuf payload, List<Object> results) throws Exception {
+      if (largeFrame == null) largeFrame = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+      largeFrame.addComponent(true, payload);
+
+      Frame frame;
+      try {
+        frame = frameDecoder.decodeFrame(largeFrame);
+      } catch (Exception e) {
+        releaseLargeFrame();
+        throw e;
+      }
+
+      if (frame != null) {
+        boolean complete = !largeFrame.isReadable();
+        releaseLargeFrame();
+        if (!complete) {
+          frame.release();
+          throw new ProtocolException("Frame split across segments is followed by extra bytes");
+        }
+        results.add(checkVersion(frame));
+      } else {
+        // Drops the parts of a too long frame that were discarded already
+        largeFrame.discardReadComponents();
+      }
+    }
+
+    private Frame checkVersion(Frame frame) {
+      if (frame.header.version != version) {
+        frame.release();
+        throw ErrorMessage.wrap(
+            new ProtocolException(
+                String.format(
+                    "Invalid message version. Got %s but previous messages on this connection had version %s",
+                    frame.header.version, version)),
+            frame.header.streamId);
+      }
+      return frame;
+    }
+
+    private void releaseLargeFrame() {
+      if (largeFrame != null) {
+        largeFrame.release();
+        largeFrame = null;
+      }
+    }
+
+    @Override
+    protected void handlerRemoved0(ChannelHandlerContext ctx) {
+      releaseLargeFrame();
+    }
+  }
+
+  /**
+   * Encodes frames into segments. Frames are buffered until the channel is flushed, or until a
+   * segment is full.
+   */
+  public static class Encoder extends ChannelOutboundHandlerAdapter {
+    private static final int INITIAL_PAYLOAD_CAPACITY = 4 * 1024;
+
+    private final SegmentCodec codec;
+
+    // The frames waiting to be written in the next self-contained segment
+    private ByteBuf payload;
+    private final List<ChannelPromise> payloadPromises = new ArrayList<>();
+
+    public Encoder(Compressor compressor) {
+      this.codec = new SegmentCodec(compressor);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+        throws Exception {
+      if (!(msg instanceof Frame)) {
+        ctx.write(msg, promise);
+        return;
+      }
+
+      Frame frame = (Frame) msg;
+      try {
+        int frameSize = Frame.Header.LENGTH + frame.body.readableBytes();
+        ClientMetrics.instance.recordBytesTransmittedPerFrame(frameSize);
+
+        if (frameSize > SegmentCodec.MAX_PAYLOAD_LENGTH) {
+          writePayload(ctx);
+          writeLargeFrame(ctx, frame, frameSize, promise);
+          return;
+        }
+
+        if (payload != null
+            && payload.readableBytes() + frameSize > SegmentCodec.MAX_PAYLOAD_LENGTH)
+          writePayload(ctx);
+        if (payload == null)
+          payload =
+              ctx.alloc()
+                  .buffer(
+                      Math.max(frameSize, INITIAL_PAYLOAD_CAPACITY),
+                      SegmentCodec.MAX_PAYLOAD_LENGTH);
+
+        frame.writeHeader(payload);
+        payload.writeBytes(frame.body);
+        if (!promise.isVoid()) payloadPromises.add(promise);
+      } finally {
+        frame.release();
+      }
+    }
+
+    private void writeLargeFrame(
+        ChannelHandlerContext ctx, Frame frame, int frameSize, ChannelPromise promise)
+        throws IOException {
+      ByteBuf bytes = ctx.alloc().buffer(frameSize);
+      try {
+        frame.writeHeader(bytes);
+        bytes.writeBytes(frame.body);
+        while (bytes.isReadable()) {
+          int partLength = Math.min(bytes.readableBytes(), SegmentCodec.MAX_PAYLOAD_LENGTH);
+          ByteBuf segment = codec.encode(bytes.readSlice(partLength), false, ctx.alloc());
+          ClientMetrics.instance.incrementTotalBytesWritten(segment.readableBytes());
+          ctx.write(segment, bytes.isReadable() ? ctx.voidPromise() : promise);
+        }
+      } finally {
+        bytes.release();
+      }
+    }
+
+    private void writePayload(ChannelHandlerContext ctx) throws IOException {
+      if (payload == null) return;
+
+      ChannelPromise promise = payloadPromise(ctx);
+      ByteBuf segment;
+      try {
+        segment = codec.encode(payload, true, ctx.alloc());
+      } catch (IOException | RuntimeException e) {
+        promise.tryFailure(e);
+        throw e;
+      } finally {
+        payload.release();
+        payload = null;
+      }
+      ClientMetrics.instance.incrementTotalBytesWritten(segment.readableBytes());
+      ctx.write(segment, promise);
+    }
+
+    // A promise that completes all the promises of the frames in the payload
+    private ChannelPromise payloadPromise(ChannelHandlerContext ctx) {
+      switch (payloadPromises.size()) {
+        case 0:
+          return ctx.voidPromise();
+        case 1:
+          ChannelPromise promise = payloadPromises.get(0);
+          payloadPromises.clear();
+          return promise;
+        default:
+          List<ChannelPromise> promises = new ArrayList<>(payloadPromises);
+          payloadPromises.clear();
+          ChannelPromise combined = ctx.newPromise();
+          combined.addListener(
+              future -> {
+                for (ChannelPromise p : promises) {
+                  if (future.isSuccess()) p.trySuccess();
+                  else p.tryFailure(future.cause());
+                }
+              });
+          return combined;
+      }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+      writePayload(ctx);
+      ctx.flush();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+      if (payload != null) {
+        payload.release();
+        payload = null;
+      }
+      for (ChannelPromise promise : payloadPromises) {
+        promise.tryFailure(new IOException("Channel closed before the frame was written"));
+      }
+      payloadPromises.clear();
+    }
+  }
+}
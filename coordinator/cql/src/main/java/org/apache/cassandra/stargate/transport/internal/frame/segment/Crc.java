@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import java.util.zip.CRC32;
+
+/** The checksums used by the segment format of native protocol v5. */
+final class Crc {
+
+  private static final int CRC24_INIT = 0x875060;
+  // Polynomial chosen from https://users.ece.cmu.edu/~koopman/crc/index.html, with Hamming
+  // distance 8 for up to 105 bits, which covers the segment headers.
+  private static final int CRC24_POLY = 0x1974F0B;
+
+  // Bytes fed to the CRC32 before the actual data, so that a run of zeros does not checksum to 0.
+  private static final byte[] CRC32_INITIAL_BYTES =
+      new byte[] {(byte) 0xFA, (byte) 0x2D, (byte) 0x55, (byte) 0xCA};
+
+  private Crc() {}
+
+  /**
+   * Computes the CRC24 of the {@code length} least significant bytes of {@code bytes}, least
+   * significant byte first.
+   */
+  static int crc24(long bytes, int length) {
+    int crc = CRC24_INIT;
+    while (length-- > 0) {
+      crc ^= (int) ((bytes & 0xff) << 16);
+      bytes >>= 8;
+
+      for (int i = 0; i < 8; i++) {
+        crc <<= 1;
+        if ((crc & 0x1000000) != 0) crc ^= CRC24_POLY;
+      }
+    }
+    return crc;
+  }
+
+  /** Computes the CRC32 of {@code length} bytes of {@code buffer}, starting at {@code index}. */
+  static int crc32(ByteBuf buffer, int index, int length) {
+    CRC32 crc = new CRC32();
+    crc.update(CRC32_INITIAL_BYTES);
+    if (buffer.hasArray()) {
+      crc.update(buffer.array(), buffer.arrayOffset() + index, length);
+    } else {
+      crc.update(buffer.nioBuffer(index, length));
+    }
+    return (int) crc.getValue();
+  }
+}
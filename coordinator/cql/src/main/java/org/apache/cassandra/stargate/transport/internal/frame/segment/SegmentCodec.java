@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import org.apache.cassandra.stargate.transport.ProtocolException;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
+
+/**
+ * Encodes and decodes the segments that wrap frames in native protocol v5 and later.
+ *
+ * <p>A segment is a header, a payload of at most {@link #MAX_PAYLOAD_LENGTH} bytes and a CRC32 of
+ * the payload. The payload either holds one or more complete frames (the segment is
+ * "self-contained"), or a part of a single frame too large to fit in one segment. All integers are
+ * little-endian.
+ *
+ * <p>Without compression, the header is 6 bytes: 17 bits of payload length, 1 bit for the
+ * self-contained flag, 6 bits of padding, and the CRC24 of those first 3 bytes.
+ *
+ * <p>With compression (only LZ4 is supported), the header is 8 bytes: 17 bits of compressed length,
+ * 17 bits of uncompressed length, 1 bit for the self-contained flag, 5 bits of padding, and the
+ * CRC24 of those first 5 bytes. An uncompressed length of 0 means that the payload was sent
+ * uncompressed, because compressing it would not have made it smaller. The payload CRC32 is
+ * computed on the compressed bytes.
+ */
+public class SegmentCodec {
+
+  public static final int MAX_PAYLOAD_LENGTH = (1 << 17) - 1;
+
+  private static final int UNCOMPRESSED_HEADER_LENGTH = 6;
+  private static final int COMPRESSED_HEADER_LENGTH = 8;
+  private static final int TRAILER_LENGTH = 4;
+
+  private static final int LENGTH_MASK = MAX_PAYLOAD_LENGTH;
+  private static final int UNCOMPRESSED_SELF_CONTAINED_FLAG = 1 << 17;
+  private static final long COMPRESSED_SELF_CONTAINED_FLAG = 1L << 34;
+
+  private final Compressor compressor;
+
+  /** @param compressor the compressor of the segments, or {@code null} if they're uncompressed. */
+  public SegmentCodec(Compressor compressor) {
+    this.compressor = compressor;
+  }
+
+  public int headerLength() {
+    return compressor == null ? UNCOMPRESSED_HEADER_LENGTH : COMPRESSED_HEADER_LENGTH;
+  }
+
+  /**
+   * Encodes the readable bytes of {@code payload} as one segment. The bytes of {@code payload} are
+   * consumed, but it is not released.
+   */
+  public ByteBuf encode(ByteBuf payload, boolean isSelfContained, ByteBufAllocator allocator)
+      throws IOException {
+    int length = payload.readableBytes();
+    assert length <= MAX_PAYLOAD_LENGTH;
+    return compressor == null
+        ? encodeUncompressed(payload, length, isSelfContained, allocator)
+        : encodeCompressed(payload, length, isSelfContained, allocator);
+  }
+
+  private ByteBuf encodeUncompressed(
+      ByteBuf payload, int length, boolean isSelfContained, ByteBufAllocator allocator) {
+    ByteBuf segment = allocator.buffer(UNCOMPRESSED_HEADER_LENGTH + length + TRAILER_LENGTH);
+    int header = length;
+    if (isSelfContained) header |= UNCOMPRESSED_SELF_CONTAINED_FLAG;
+    segment.writeMediumLE(header);
+    segment.writeMediumLE(Crc.crc24(header, 3));
+
+    int payloadIndex = segment.writerIndex();
+    segment.writeBytes(payload);
+    segment.writeIntLE(Crc.crc32(segment, payloadIndex, length));
+    return segment;
+  }
+
+  private ByteBuf encodeCompressed(
+      ByteBuf payload, int length, boolean isSelfContained, ByteBufAllocator allocator)
+      throws IOException {
+    byte[] uncompressed = new byte[length];
+    payload.readBytes(uncompressed);
+    byte[] compressed = new byte[compressor.maxCompressedLength(length)];
+    int compressedLength = compressor.compress(uncompressed, 0, length, compressed, 0);
+
+    long header;
+    byte[] bytes;
+    int bytesLength;
+    if (compressedLength < length) {
+      header = compressedLength | ((long) length << 17);
+      bytes = compressed;
+      bytesLength = compressedLength;
+    } else {
+      header = length;
+      bytes = uncompressed;
+      bytesLength = length;
+    }
+    if (isSelfContained) header |= COMPRESSED_SELF_CONTAINED_FLAG;
+
+    ByteBuf segment = allocator.buffer(COMPRESSED_HEADER_LENGTH + bytesLength + TRAILER_LENGTH);
+    segment.writeLongLE(header | ((long) Crc.crc24(header, 5) << 40));
+    int payloadIndex = segment.writerIndex();
+    segment.writeBytes(bytes, 0, bytesLength);
+    segment.writeIntLE(Crc.crc32(segment, payloadIndex, bytesLength));
+    return segment;
+  }
+
+  /**
+   * Decodes the next segment of {@code buffer}, if it is complete.
+   *
+   * @return the segment, or {@code null} if {@code buffer} doesn't contain a complete segment yet,
+   *     in which case nothing is consumed. The caller is responsible for releasing the payload of
+   *     the returned segment.
+   * @throws ProtocolException if the segment is corrupted. The connection can't be recovered.
+   */
+  public Segment decode(ByteBuf buffer) {
+    return compressor == null ? decodeUncompressed(buffer) : decodeCompressed(buffer);
+  }
+
+  private Segment decodeUncompressed(ByteBuf buffer) {
+    if (buffer.readableBytes() < UNCOMPRESSED_HEADER_LENGTH) return null;
+
+    int idx = buffer.readerIndex();
+    int header = buffer.getUnsignedMediumLE(idx);
+    int expectedHeaderCrc = buffer.getUnsignedMediumLE(idx + 3);
+    if (Crc.crc24(header, 3) != expectedHeaderCrc)
+      throw new ProtocolException("Segment header CRC mismatch");
+
+    int length = header & LENGTH_MASK;
+    if (buffer.readableBytes() < UNCOMPRESSED_HEADER_LENGTH + length + TRAILER_LENGTH) return null;
+
+    int payloadIndex = idx + UNCOMPRESSED_HEADER_LENGTH;
+    checkPayloadCrc(buffer, payloadIndex, length);
+    ByteBuf payload = buffer.retainedSlice(payloadIndex, length);
+    buffer.readerIndex(payloadIndex + length + TRAILER_LENGTH);
+    return new Segment(payload, (header & UNCOMPRESSED_SELF_CONTAINED_FLAG) != 0);
+  }
+
+  private Segment decodeCompressed(ByteBuf buffer) {
+    if (buffer.readableBytes() < COMPRESSED_HEADER_LENGTH) return null;
+
+    int idx = buffer.readerIndex();
+    long headerWithCrc = buffer.getLongLE(idx);
+    long header = headerWithCrc & 0xFF_FFFF_FFFFL;
+    int expectedHeaderCrc = (int) (headerWithCrc >>> 40) & 0xFFFFFF;
+    if (Crc.crc24(header, 5) != expectedHeaderCrc)
+      throw new ProtocolException("Segment header CRC mismatch");
+
+    int compressedLength = (int) header & LENGTH_MASK;
+    int uncompressedLength = (int) (header >>> 17) & LENGTH_MASK;
+    if (buffer.readableBytes() < COMPRESSED_HEADER_LENGTH + compressedLength + TRAILER_LENGTH)
+      return null;
+
+    int payloadIndex = idx + COMPRESSED_HEADER_LENGTH;
+    checkPayloadCrc(buffer, payloadIndex, compressedLength);
+    ByteBuf payload;
+    if (uncompressedLength == 0) {
+      payload = buffer.retainedSlice(payloadIndex, compressedLength);
+    } else {
+      byte[] compressed = new byte[compressedLength];
+      buffer.getBytes(payloadIndex, compressed);
+      try {
+        payload =
+            Unpooled.wrappedBuffer(
+                compressor.decompress(compressed, 0, compressedLength, uncompressedLength));
+      } catch (IOException e) {
+        throw new ProtocolException("Failed to decompress segment: " + e.getMessage());
+      }
+    }
+    buffer.readerIndex(payloadIndex + compressedLength + TRAILER_LENGTH);
+    return new Segment(payload, (header & COMPRESSED_SELF_CONTAINED_FLAG) != 0);
+  }
+
+  private static void checkPayloadCrc(ByteBuf buffer, int payloadIndex, int length) {
+    int expectedCrc = buffer.getIntLE(payloadIndex + length);
+    if (Crc.crc32(buffer, payloadIndex, length) != expectedCrc)
+      throw new ProtocolException("Segment payload CRC mismatch");
+  }
+
+  public static class Segment {
+    public final ByteBuf payload;
+    public final boolean isSelfContained;
+
+    Segment(ByteBuf payload, boolean isSelfContained) {
+      this.payload = payload;
+      this.isSelfContained = isSelfContained;
+    }
+  }
+}
@@ -26,7 +26,6 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
 import org.apache.cassandra.stargate.transport.internal.Message;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.SnappyCompressor;
-import org.apache.cassandra.utils.ChecksumType;
 
 /** Message to indicate that the server is ready to receive requests. */
 public class OptionsMessage extends Message.Request {
@@ -64,13 +63,6 @@ public class OptionsMessage extends Message.Request {
     supported.put(StartupMessage.COMPRESSION, compressions);
     supported.put(StartupMessage.PROTOCOL_VERSIONS, ProtocolVersion.supportedVersions());
 
-    if (connection.getVersion().supportsChecksums()) {
-      ChecksumType[] types = ChecksumType.values();
-      List<String> checksumImpls = new ArrayList<>(types.length);
-      for (ChecksumType type : types) checksumImpls.add(type.toString());
-      supported.put(StartupMessage.CHECKSUM, checksumImpls);
-    }
-
     return CompletableFuture.completedFuture(new SupportedMessage(supported));
   }
 
@@ -89,7 +89,15 @@ public class StartupMessage extends Message.Request {
     ChecksumType checksumType = getChecksumType();
     Compressor compressor = getCompressor();
 
-    if (null != checksumType) {
+    if (connection.getVersion().usesSegments()) {
+      // Segments are always checksummed, and compressed as a whole rather than frame by frame
+      if (null != compressor && compressor != LZ4Compressor.INSTANCE)
+        throw new ProtocolException(
+            String.format(
+                "Only lz4 compression is supported with protocol version %s",
+                connection.getVersion()));
+      connection.setSegmentCompressor(compressor);
+    } else if (null != checksumType) {
       if (!connection.getVersion().supportsChecksums())
         throw new ProtocolException(
             String.format(
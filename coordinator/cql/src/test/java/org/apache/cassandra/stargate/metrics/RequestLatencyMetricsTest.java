@@ -0,0 +1,167 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.cassandra.stargate.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.db.Result;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.ImmutableColumn;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.db.ConsistencyLevel;
+import org.apache.cassandra.stargate.transport.internal.QueryOptions;
+import org.apache.cassandra.stargate.transport.internal.messages.ExecuteMessage;
+import org.apache.cassandra.stargate.transport.internal.messages.PrepareMessage;
+import org.apache.cassandra.stargate.transport.internal.messages.QueryMessage;
+import org.apache.cassandra.stargate.transport.internal.messages.ResultMessage;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RequestLatencyMetricsTest {
+
+  private static final String METRIC = "cql.RequestLatency";
+
+  MeterRegistry meterRegistry;
+
+  QueryOptions options;
+
+  @BeforeEach
+  public void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    options = mock(QueryOptions.class);
+    when(options.getConsistency()).thenReturn(ConsistencyLevel.LOCAL_QUORUM);
+  }
+
+  @Test
+  public void executeTaggedWithPreparedTable() {
+    RequestLatencyMetrics metrics = new RequestLatencyMetrics(meterRegistry, METRIC, true, 10, 10);
+    MD5Digest statementId = MD5Digest.compute("SELECT * FROM ks.t WHERE k = ?");
+
+    metrics.record(
+        new PrepareMessage("SELECT * FROM ks.t WHERE k = ?", null),
+        result(prepared(statementId, column("ks", "t"))),
+        1000);
+    metrics.record(
+        new ExecuteMessage(statementId, null, options),
+        result(new Result.Void()),
+        TimeUnit.MILLISECONDS.toNanos(5));
+
+    Timer timer =
+        meterRegistry
+            .get(METRIC)
+            .tags(
+                "opcode",
+                "EXECUTE",
+                "consistency",
+                "LOCAL_QUORUM",
+                "keyspace",
+                "ks",
+                "table",
+                "t",
+                "outcome",
+                "ok")
+            .timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5d);
+    assertThat(meterRegistry.get(METRIC).tags("opcode", "PREPARE", "table", "t").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void failedRequest() {
+    RequestLatencyMetrics metrics = new RequestLatencyMetrics(meterRegistry, METRIC, true, 10, 10);
+
+    metrics.record(new QueryMessage("SELECT * FROM ks.t", options), null, 1000);
+
+    Timer timer =
+        meterRegistry
+            .get(METRIC)
+            .tags("opcode", "QUERY", "keyspace", "none", "table", "none", "outcome", "error")
+            .timer();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+
+  @Test
+  public void tablesBounded() {
+    RequestLatencyMetrics metrics = new RequestLatencyMetrics(meterRegistry, METRIC, true, 1, 10);
+
+    metrics.record(new QueryMessage("SELECT * FROM ks.t1", options), rows("ks", "t1"), 1000);
+    metrics.record(new QueryMessage("SELECT * FROM ks.t2", options), rows("ks", "t2"), 1000);
+
+    assertThat(meterRegistry.get(METRIC).tags("table", "t1").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.find(METRIC).tags("table", "t2").timer()).isNull();
+    Timer other = meterRegistry.get(METRIC).tags("keyspace", "other", "table", "other").timer();
+    assertThat(other.count()).isEqualTo(1);
+  }
+
+  @Test
+  public void tableDimensionDisabled() {
+    RequestLatencyMetrics metrics = new RequestLatencyMetrics(meterRegistry, METRIC, false, 1, 10);
+
+    metrics.record(new QueryMessage("SELECT * FROM ks.t1", options), rows("ks", "t1"), 1000);
+    metrics.record(new QueryMessage("SELECT * FROM ks.t2", options), rows("ks", "t2"), 1000);
+
+    assertThat(meterRegistry.get(METRIC).timers()).hasSize(1);
+    Timer timer = meterRegistry.get(METRIC).tags("keyspace", "ks").timer();
+    assertThat(timer.count()).isEqualTo(2);
+    assertThat(timer.getId().getTag("table")).isNull();
+  }
+
+  private static ResultMessage result(Result result) {
+    return new ResultMessage(result) {};
+  }
+
+  private static ResultMessage rows(String keyspace, String table) {
+    return result(
+        new Result.Rows(
+            Collections.emptyList(),
+            new Result.ResultMetadata(
+                EnumSet.noneOf(Result.Flag.class),
+                Collections.singletonList(column(keyspace, table)),
+                null,
+                null)));
+  }
+
+  private static Result.Prepared prepared(MD5Digest statementId, Column column) {
+    return new Result.Prepared(
+        statementId,
+        null,
+        Result.ResultMetadata.EMPTY,
+        new Result.PreparedMetadata(
+            EnumSet.noneOf(Result.Flag.class), Collections.singletonList(column), new short[0]),
+        true,
+        false);
+  }
+
+  private static Column column(String keyspace, String table) {
+    return ImmutableColumn.builder()
+        .keyspace(keyspace)
+        .table(table)
+        .name("k")
+        .type(Column.Type.Int)
+        .build();
+  }
+}
@@ -0,0 +1,126 @@
+package org.apache.cassandra.stargate.transport.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import io.stargate.db.metrics.api.ClientInfoMetricsTagProvider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import org.apache.cassandra.stargate.metrics.ClientMetrics;
+import org.apache.cassandra.stargate.transport.ProtocolException;
+import org.apache.cassandra.stargate.transport.ProtocolVersion;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.LZ4Compressor;
+import org.apache.cassandra.stargate.transport.internal.frame.segment.SegmentCodec;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class SegmentFramingTest {
+
+  @BeforeAll
+  public static void initClientMetrics() {
+    ClientMetrics.instance.init(
+        Collections.singletonList(mock(CqlServer.class)),
+        new SimpleMeterRegistry(),
+        mock(ClientInfoMetricsTagProvider.class),
+        0d);
+  }
+
+  @Test
+  public void coalescesSmallFramesIntoOneSegment() {
+    List<ByteBuf> segments = encode(null, body(10), body(100), body(1000));
+
+    assertThat(segments).hasSize(1);
+    assertThat(decode(null, segments)).extracting(f -> f.header.streamId).containsExactly(0, 1, 2);
+  }
+
+  @Test
+  public void roundTripsCompressedSegments() {
+    byte[] compressible = new byte[50_000];
+    List<ByteBuf> segments =
+        encode(LZ4Compressor.INSTANCE, Unpooled.wrappedBuffer(compressible), body(10));
+
+    assertThat(segments).hasSize(1);
+    assertThat(segments.get(0).readableBytes()).isLessThan(compressible.length);
+    List<Frame> frames = decode(LZ4Compressor.INSTANCE, segments);
+    assertThat(frames).hasSize(2);
+    assertThat(frames.get(0).body.readableBytes()).isEqualTo(compressible.length);
+    assertThat(frames.get(1).body.readableBytes()).isEqualTo(10);
+  }
+
+  @Test
+  public void splitsLargeFramesAcrossSegments() {
+    ByteBuf large = body(3 * SegmentCodec.MAX_PAYLOAD_LENGTH);
+    byte[] expected = new byte[large.readableBytes()];
+    large.getBytes(0, expected);
+
+    List<ByteBuf> segments = encode(null, body(10), large, body(10));
+
+    // The small frames before and after can't share the segments of the large one
+    assertThat(segments).hasSize(1 + 4 + 1);
+    List<Frame> frames = decode(null, segments);
+    assertThat(frames).hasSize(3);
+    byte[] actual = new byte[frames.get(1).body.readableBytes()];
+    frames.get(1).body.getBytes(0, actual);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  public void rejectsCorruptedSegments() {
+    List<ByteBuf> segments = encode(null, body(100));
+    ByteBuf segment = segments.get(0);
+    int index = segment.readerIndex() + 50;
+    segment.setByte(index, segment.getByte(index) + 1);
+
+    EmbeddedChannel channel =
+        new EmbeddedChannel(new SegmentFraming.Decoder(ProtocolVersion.V5, null));
+    assertThatThrownBy(() -> channel.writeInbound(segment))
+        .isInstanceOf(DecoderException.class)
+        .hasCauseInstanceOf(ProtocolException.class);
+  }
+
+  private static ByteBuf body(int size) {
+    byte[] bytes = new byte[size];
+    new Random(size).nextBytes(bytes);
+    return Unpooled.wrappedBuffer(bytes);
+  }
+
+  private static List<ByteBuf> encode(Compressor compressor, ByteBuf... bodies) {
+    EmbeddedChannel channel = new EmbeddedChannel(new SegmentFraming.Encoder(compressor));
+    for (int i = 0; i < bodies.length; i++) {
+      channel.write(
+          Frame.create(
+              Message.Type.RESULT,
+              i,
+              ProtocolVersion.V5,
+              EnumSet.noneOf(Frame.Header.Flag.class),
+              bodies[i]));
+    }
+    channel.flush();
+
+    List<ByteBuf> segments = new ArrayList<>();
+    ByteBuf segment;
+    while ((segment = channel.readOutbound()) != null) segments.add(segment);
+    return segments;
+  }
+
+  private static List<Frame> decode(Compressor compressor, List<ByteBuf> segments) {
+    EmbeddedChannel channel =
+        new EmbeddedChannel(new SegmentFraming.Decoder(ProtocolVersion.V5, compressor));
+    for (ByteBuf segment : segments) channel.writeInbound(segment);
+
+    List<Frame> frames = new ArrayList<>();
+    Frame frame;
+    while ((frame = channel.readInbound()) != null) frames.add(frame);
+    return frames;
+  }
+}
@@ -16,7 +16,6 @@
 package io.stargate.grpc.impl;
 
 import io.grpc.Server;
-import io.grpc.internal.GrpcUtil;
 import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
 import io.grpc.protobuf.services.ProtoReflectionService;
 import io.micrometer.core.instrument.binder.grpc.TaggingMetricCollectingServerInterceptor;
@@ -31,22 +30,18 @@ import java.io.UncheckedIOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class GrpcImpl {
   private static final Logger logger = LoggerFactory.getLogger(GrpcImpl.class);
-  private static final Integer EXECUTOR_SIZE = Integer.getInteger("stargate.grpc.executor_size", 8);
   private static final Boolean REFLECTION_ENABLED =
       Boolean.parseBoolean(System.getProperty("stargate.grpc.reflection_enabled", "true"));
   private static final Integer SHUTDOWN_TIMEOUT_SECONDS =
       Integer.getInteger("stargate.grpc.shutdown_timeout_seconds", 60);
 
   private final Server server;
-  private final ScheduledExecutorService executor;
 
   public GrpcImpl(
       Persistence persistence,
@@ -68,10 +63,6 @@ public class GrpcImpl {
 
     int port = Integer.getInteger("stargate.grpc.port", 8090);
 
-    executor =
-        Executors.newScheduledThreadPool(
-            EXECUTOR_SIZE, GrpcUtil.getThreadFactory("grpc-stargate-executor", true));
-
     NettyServerBuilder builder =
         NettyServerBuilder.forAddress(new InetSocketAddress(listenAddress, port))
             // `Persistence` operations are done asynchronously so there isn't a need for a separate
@@ -87,7 +78,7 @@ public class GrpcImpl {
       builder.addService(ProtoReflectionService.newInstance());
     }
 
-    server = builder.addService(new GrpcService(persistence, executor)).build();
+    server = builder.addService(new GrpcService(persistence, metrics.getMeterRegistry())).build();
   }
 
   public void start() {
@@ -101,18 +92,8 @@ public class GrpcImpl {
   public void stop() {
     try {
       server.shutdown();
-      // Since we provided our own executor, it's our responsibility to shut it down.
-      // Note that we don't handle restarts because GrpcModule never reuses an existing instance
-      // (and that wouldn't work anyway, because Server doesn't support it either).
-      executor.shutdown();
-
-      long timeoutMillis = TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS);
-      long start = System.currentTimeMillis();
-
-      if (!server.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)
-          || !executor.awaitTermination(
-              timeoutMillis - (System.currentTimeMillis() - start), TimeUnit.MILLISECONDS)) {
-        logger.warn("Timed out while waiting for executor shutdown");
+      if (!server.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        logger.warn("Timed out while waiting for server shutdown");
       }
     } catch (InterruptedException e) {
       logger.error("Failed waiting for gRPC shutdown", e);
@@ -16,12 +16,16 @@
 package io.stargate.grpc.service;
 
 import io.grpc.Context;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.db.Persistence;
 import io.stargate.db.Persistence.Connection;
 import io.stargate.db.Result;
 import io.stargate.db.query.TypedValue;
 import io.stargate.grpc.service.streaming.MessageStreamObserver;
+import io.stargate.grpc.service.streaming.StreamMetrics;
 import io.stargate.grpc.service.streaming.StreamingBatchHandlerFactory;
 import io.stargate.grpc.service.streaming.StreamingExceptionHandler;
 import io.stargate.grpc.service.streaming.StreamingQueryHandlerFactory;
@@ -31,7 +35,6 @@ import io.stargate.proto.QueryOuterClass.Response;
 import io.stargate.proto.QueryOuterClass.StreamingResponse;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ScheduledExecutorService;
 import javax.annotation.Nullable;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
@@ -44,22 +47,36 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
   public static final ConsistencyLevel DEFAULT_CONSISTENCY = ConsistencyLevel.LOCAL_QUORUM;
   public static final ConsistencyLevel DEFAULT_SERIAL_CONSISTENCY = ConsistencyLevel.SERIAL;
 
+  /** The maximum number of messages that a bi-streaming call may have in flight. */
+  private static final int STREAM_MAX_IN_FLIGHT =
+      Integer.getInteger("stargate.grpc.stream_max_in_flight", 128);
+
+  /** Whether bi-streaming calls write their responses in the order of the messages. */
+  private static final boolean STREAM_ORDERED_RESPONSES =
+      Boolean.getBoolean("stargate.grpc.stream_ordered_responses");
+
   private final Persistence persistence;
   private final TypedValue.Codec valueCodec;
 
-  private final ScheduledExecutorService executor;
   private final int schemaAgreementRetries;
+  private final StreamMetrics queryStreamMetrics;
+  private final StreamMetrics batchStreamMetrics;
+
+  public GrpcService(Persistence persistence, MeterRegistry meterRegistry) {
+    this(persistence, Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES, meterRegistry);
+  }
 
-  public GrpcService(Persistence persistence, ScheduledExecutorService executor) {
-    this(persistence, executor, Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES);
+  GrpcService(Persistence persistence, int schemaAgreementRetries) {
+    this(persistence, schemaAgreementRetries, new SimpleMeterRegistry());
   }
 
-  GrpcService(
-      Persistence persistence, ScheduledExecutorService executor, int schemaAgreementRetries) {
+  private GrpcService(
+      Persistence persistence, int schemaAgreementRetries, MeterRegistry meterRegistry) {
     this.persistence = persistence;
     this.valueCodec = new TypedValue.Codec(ProtocolVersion.CURRENT, persistence);
-    this.executor = executor;
     this.schemaAgreementRetries = schemaAgreementRetries;
+    this.queryStreamMetrics = new StreamMetrics(meterRegistry, "ExecuteQueryStream");
+    this.batchStreamMetrics = new StreamMetrics(meterRegistry, "ExecuteBatchStream");
   }
 
   @Override
@@ -70,7 +87,6 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
             query,
             CONNECTION_KEY.get(),
             persistence,
-            executor,
             schemaAgreementRetries,
             synchronizedStreamObserver,
             new SingleExceptionHandler(synchronizedStreamObserver))
@@ -98,8 +114,11 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
     return new MessageStreamObserver<>(
         synchronizedStreamObserver,
         StreamingExceptionHandler::new,
-        new StreamingQueryHandlerFactory(
-            CONNECTION_KEY.get(), persistence, executor, schemaAgreementRetries));
+        new StreamingQueryHandlerFactory(CONNECTION_KEY.get(), persistence, schemaAgreementRetries),
+        callObserver(responseObserver),
+        STREAM_MAX_IN_FLIGHT,
+        STREAM_ORDERED_RESPONSES,
+        queryStreamMetrics);
   }
 
   @Override
@@ -110,7 +129,18 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
     return new MessageStreamObserver<>(
         synchronizedStreamObserver,
         StreamingExceptionHandler::new,
-        new StreamingBatchHandlerFactory(CONNECTION_KEY.get(), persistence));
+        new StreamingBatchHandlerFactory(CONNECTION_KEY.get(), persistence),
+        callObserver(responseObserver),
+        STREAM_MAX_IN_FLIGHT,
+        STREAM_ORDERED_RESPONSES,
+        batchStreamMetrics);
+  }
+
+  @Nullable
+  private static ServerCallStreamObserver<?> callObserver(StreamObserver<?> responseObserver) {
+    return responseObserver instanceof ServerCallStreamObserver
+        ? (ServerCallStreamObserver<?>) responseObserver
+        : null;
   }
 
   static class ResponseAndTraceId {
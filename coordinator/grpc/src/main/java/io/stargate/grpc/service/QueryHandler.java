@@ -34,7 +34,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ScheduledExecutorService;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
 
 public abstract class QueryHandler extends MessageHandler<Query, Prepared> {
@@ -46,12 +45,10 @@ public abstract class QueryHandler extends MessageHandler<Query, Prepared> {
       Query query,
       Connection connection,
       Persistence persistence,
-      ScheduledExecutorService executor,
       int schemaAgreementRetries,
       ExceptionHandler exceptionHandler) {
     super(query, connection, persistence, exceptionHandler);
-    this.schemaAgreementHelper =
-        new SchemaAgreementHelper(connection, schemaAgreementRetries, executor);
+    this.schemaAgreementHelper = new SchemaAgreementHelper(connection, schemaAgreementRetries);
     QueryParameters queryParameters = query.getParameters();
     this.decoratedKeyspace =
         queryParameters.hasKeyspace()
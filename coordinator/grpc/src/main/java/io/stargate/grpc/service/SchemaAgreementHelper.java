@@ -19,42 +19,40 @@ import io.grpc.Status;
 import io.stargate.db.Persistence;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 class SchemaAgreementHelper {
 
   private final Persistence.Connection connection;
   private final int maxRetries;
-  private final ScheduledExecutorService executor;
 
-  SchemaAgreementHelper(
-      Persistence.Connection connection, int maxRetries, ScheduledExecutorService executor) {
+  /**
+   * @param maxRetries the number of 200 milliseconds intervals to wait for agreement, the waiting
+   *     itself is event-driven (see {@link Persistence#whenInSchemaAgreement(long)}).
+   */
+  SchemaAgreementHelper(Persistence.Connection connection, int maxRetries) {
     this.connection = connection;
     this.maxRetries = maxRetries;
-    this.executor = executor;
   }
 
   CompletionStage<Void> waitForAgreement() {
+    long timeoutMillis = 200L * maxRetries;
     CompletableFuture<Void> agreementFuture = new CompletableFuture<>();
-    waitForAgreement(maxRetries, agreementFuture);
+    connection
+        .whenInSchemaAgreement(timeoutMillis)
+        .whenComplete(
+            (v, error) -> {
+              if (error == null) {
+                agreementFuture.complete(null);
+              } else {
+                agreementFuture.completeExceptionally(
+                    Status.DEADLINE_EXCEEDED
+                        .withDescription(
+                            "Failed to reach schema agreement after "
+                                + timeoutMillis
+                                + " milliseconds.")
+                        .asException());
+              }
+            });
     return agreementFuture;
   }
-
-  private void waitForAgreement(int remainingAttempts, CompletableFuture<Void> agreementFuture) {
-    if (connection.isInSchemaAgreement()) {
-      agreementFuture.complete(null);
-      return;
-    }
-    if (remainingAttempts <= 1) {
-      agreementFuture.completeExceptionally(
-          Status.DEADLINE_EXCEEDED
-              .withDescription(
-                  "Failed to reach schema agreement after " + (200 * maxRetries) + " milliseconds.")
-              .asException());
-      return;
-    }
-    executor.schedule(
-        () -> waitForAgreement(remainingAttempts - 1, agreementFuture), 200, TimeUnit.MILLISECONDS);
-  }
 }
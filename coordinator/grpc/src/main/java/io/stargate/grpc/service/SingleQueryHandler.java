@@ -3,7 +3,6 @@ package io.stargate.grpc.service;
 import io.grpc.stub.StreamObserver;
 import io.stargate.db.Persistence;
 import io.stargate.proto.QueryOuterClass;
-import java.util.concurrent.ScheduledExecutorService;
 
 public class SingleQueryHandler extends QueryHandler {
   private final StreamObserver<QueryOuterClass.Response> responseObserver;
@@ -12,11 +11,10 @@ public class SingleQueryHandler extends QueryHandler {
       QueryOuterClass.Query query,
       Persistence.Connection connection,
       Persistence persistence,
-      ScheduledExecutorService executor,
       int schemaAgreementRetries,
       StreamObserver<QueryOuterClass.Response> responseObserver,
       ExceptionHandler exceptionHandler) {
-    super(query, connection, persistence, executor, schemaAgreementRetries, exceptionHandler);
+    super(query, connection, persistence, schemaAgreementRetries, exceptionHandler);
     this.responseObserver = responseObserver;
   }
 
@@ -1,19 +1,34 @@
 package io.stargate.grpc.service.streaming;
 
 import com.google.protobuf.GeneratedMessageV3;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.MessageHandler;
 import io.stargate.grpc.service.StreamingSuccessHandler;
 import io.stargate.proto.QueryOuterClass;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 
 /**
  * Implements the {@link StreamObserver} interface. It is able to process Query and Batch (both
  * extends {@link GeneratedMessageV3}).
  *
+ * <p>When constructed with the {@link ServerCallStreamObserver} of the call, it applies flow
+ * control: the client may only have {@code maxInFlight} messages in flight at a time (inbound flow
+ * control is manual, a new message is requested each time a response is written), and new messages
+ * are only requested while the transport is ready to send responses, so that slow readers don't
+ * make responses pile up in memory.
+ *
+ * <p>Responses are written as soon as each message completes, unless {@code orderedResponses} is
+ * set, in which case they are written in the order of the messages.
+ *
  * @param <MessageT> - type of the Message to process. We support {@link
  *     io.stargate.proto.QueryOuterClass.Query} and {@link io.stargate.proto.QueryOuterClass.Batch}
  */
@@ -22,17 +37,67 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
 
   private final AtomicLong inFlight = new AtomicLong(0);
   private final AtomicBoolean clientSignalComplete = new AtomicBoolean(false);
+  private final AtomicBoolean completed = new AtomicBoolean(false);
+  private final Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer;
   private final ExceptionHandler exceptionHandler;
   StreamingHandlerFactory<MessageT> streamingHandlerFactory;
   private final StreamObserver<QueryOuterClass.StreamingResponse> responseObserver;
 
+  // Flow control, only if callObserver is not null
+  @Nullable private final ServerCallStreamObserver<?> callObserver;
+  private final int maxInFlight;
+  private final StreamMetrics metrics;
+  // Messages that can be requested from the client as soon as the transport is ready
+  private final AtomicInteger pendingRequests = new AtomicInteger();
+  private final AtomicLong windowFullSince = new AtomicLong();
+  private final AtomicLong notReadySince = new AtomicLong();
+
+  // Ordered responses, only if pendingResponses is not null
+  @Nullable private final Map<Long, QueryOuterClass.StreamingResponse> pendingResponses;
+  // Only accessed from onNext, which gRPC never calls concurrently
+  private long nextSequence;
+  // Guarded by pendingResponses
+  private long nextToWrite;
+
   public MessageStreamObserver(
       StreamObserver<QueryOuterClass.StreamingResponse> responseObserver,
       Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer,
       StreamingHandlerFactory<MessageT> streamingHandlerFactory) {
+    this(
+        responseObserver,
+        exceptionHandlerProducer,
+        streamingHandlerFactory,
+        null,
+        Integer.MAX_VALUE,
+        false,
+        StreamMetrics.NOOP);
+  }
+
+  /**
+   * @param callObserver the observer of the call, to apply flow control (or null). If present, this
+   *     constructor must be called from the service method, before it returns.
+   */
+  public MessageStreamObserver(
+      StreamObserver<QueryOuterClass.StreamingResponse> responseObserver,
+      Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer,
+      StreamingHandlerFactory<MessageT> streamingHandlerFactory,
+      @Nullable ServerCallStreamObserver<?> callObserver,
+      int maxInFlight,
+      boolean orderedResponses,
+      StreamMetrics metrics) {
     this.responseObserver = responseObserver;
     this.streamingHandlerFactory = streamingHandlerFactory;
+    this.exceptionHandlerProducer = exceptionHandlerProducer;
     this.exceptionHandler = exceptionHandlerProducer.apply(this);
+    this.callObserver = callObserver;
+    this.maxInFlight = Math.max(maxInFlight, 1);
+    this.metrics = metrics;
+    this.pendingResponses = orderedResponses ? new HashMap<>() : null;
+    if (callObserver != null) {
+      callObserver.disableAutoRequest();
+      callObserver.setOnReadyHandler(this::grantRequests);
+      callObserver.request(this.maxInFlight);
+    }
   }
 
   /**
@@ -47,9 +112,7 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
     try {
       responseObserver.onNext(response);
     } finally {
-      if (inFlight.decrementAndGet() == 0 && clientSignalComplete.get()) {
-        responseObserver.onCompleted();
-      }
+      release(1);
     }
   }
 
@@ -61,8 +124,20 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
    */
   @Override
   public void onNext(MessageT value) {
-    inFlight.incrementAndGet();
-    streamingHandlerFactory.create(value, this, exceptionHandler).handle();
+    long current = inFlight.incrementAndGet();
+    metrics.windowOccupancy().record(current);
+    if (callObserver != null && current >= maxInFlight) {
+      windowFullSince.compareAndSet(0, System.nanoTime());
+    }
+    if (pendingResponses == null) {
+      streamingHandlerFactory.create(value, this, exceptionHandler).handle();
+    } else {
+      long sequence = nextSequence++;
+      StreamingSuccessHandler orderedHandler = r -> handleOrderedResponse(sequence, r);
+      streamingHandlerFactory
+          .create(value, orderedHandler, exceptionHandlerProducer.apply(orderedHandler))
+          .handle();
+    }
   }
 
   @Override
@@ -89,9 +164,72 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
   @Override
   public void onCompleted() {
     clientSignalComplete.set(true);
+    completeIfDone();
+  }
+
+  /**
+   * Writes the response of the message with the given sequence number, once the responses of all
+   * previous messages have been written.
+   */
+  private void handleOrderedResponse(long sequence, QueryOuterClass.StreamingResponse response) {
+    assert pendingResponses != null;
+    int written = 0;
+    try {
+      synchronized (pendingResponses) {
+        pendingResponses.put(sequence, response);
+        QueryOuterClass.StreamingResponse next;
+        while ((next = pendingResponses.remove(nextToWrite)) != null) {
+          nextToWrite += 1;
+          written += 1;
+          responseObserver.onNext(next);
+        }
+      }
+    } finally {
+      release(written);
+    }
+  }
+
+  private void release(int count) {
+    if (count == 0) {
+      return;
+    }
+    inFlight.addAndGet(-count);
+    long since = windowFullSince.getAndSet(0);
+    if (since != 0) {
+      metrics.windowBlocked().record(System.nanoTime() - since, TimeUnit.NANOSECONDS);
+    }
+    if (!completeIfDone() && callObserver != null) {
+      pendingRequests.addAndGet(count);
+      grantRequests();
+    }
+  }
+
+  /** Requests as many messages as were released, unless the transport is not ready to write. */
+  private void grantRequests() {
+    assert callObserver != null;
+    if (completed.get()) {
+      return;
+    }
+    if (!callObserver.isReady()) {
+      // The onReady handler will call us again
+      notReadySince.compareAndSet(0, System.nanoTime());
+      return;
+    }
+    long since = notReadySince.getAndSet(0);
+    if (since != 0) {
+      metrics.outboundBlocked().record(System.nanoTime() - since, TimeUnit.NANOSECONDS);
+    }
+    int count = pendingRequests.getAndSet(0);
+    if (count > 0) {
+      callObserver.request(count);
+    }
+  }
 
-    if (inFlight.get() == 0) {
+  private boolean completeIfDone() {
+    if (inFlight.get() <= 0 && clientSignalComplete.get() && completed.compareAndSet(false, true)) {
       responseObserver.onCompleted();
+      return true;
     }
+    return completed.get();
   }
 }
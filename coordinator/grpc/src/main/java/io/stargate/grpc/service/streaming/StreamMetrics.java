@@ -0,0 +1,52 @@
+package io.stargate.grpc.service.streaming;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The flow control metrics of one kind of bi-streaming call ({@code ExecuteQueryStream} or {@code
+ * ExecuteBatchStream}), shared by all the {@link MessageStreamObserver}s of that kind.
+ */
+public class StreamMetrics {
+
+  /** Metrics that are not registered anywhere, for tests. */
+  static final StreamMetrics NOOP = new StreamMetrics(new SimpleMeterRegistry(), "noop");
+
+  private final DistributionSummary windowOccupancy;
+  private final Timer windowBlocked;
+  private final Timer outboundBlocked;
+
+  public StreamMetrics(MeterRegistry meterRegistry, String method) {
+    this.windowOccupancy =
+        DistributionSummary.builder("grpc.stream.window.occupancy")
+            .description("Number of in-flight messages when a new message is received")
+            .tag("method", method)
+            .register(meterRegistry);
+    this.windowBlocked =
+        Timer.builder("grpc.stream.blocked")
+            .description("Time during which a stream did not accept new messages")
+            .tag("method", method)
+            .tag("reason", "window_full")
+            .register(meterRegistry);
+    this.outboundBlocked =
+        Timer.builder("grpc.stream.blocked")
+            .description("Time during which a stream did not accept new messages")
+            .tag("method", method)
+            .tag("reason", "not_ready")
+            .register(meterRegistry);
+  }
+
+  DistributionSummary windowOccupancy() {
+    return windowOccupancy;
+  }
+
+  Timer windowBlocked() {
+    return windowBlocked;
+  }
+
+  Timer outboundBlocked() {
+    return outboundBlocked;
+  }
+}
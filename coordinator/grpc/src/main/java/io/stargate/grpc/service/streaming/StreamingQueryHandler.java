@@ -5,7 +5,6 @@ import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.QueryHandler;
 import io.stargate.grpc.service.StreamingSuccessHandler;
 import io.stargate.proto.QueryOuterClass;
-import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Handles the response for normal queries, constructs the {@link
@@ -20,11 +19,10 @@ public class StreamingQueryHandler extends QueryHandler {
       QueryOuterClass.Query query,
       Persistence.Connection connection,
       Persistence persistence,
-      ScheduledExecutorService executor,
       int schemaAgreementRetries,
       StreamingSuccessHandler streamingSuccessHandler,
       ExceptionHandler exceptionHandler) {
-    super(query, connection, persistence, executor, schemaAgreementRetries, exceptionHandler);
+    super(query, connection, persistence, schemaAgreementRetries, exceptionHandler);
     this.streamingSuccessHandler = streamingSuccessHandler;
   }
 
@@ -5,7 +5,6 @@ import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.MessageHandler;
 import io.stargate.grpc.service.StreamingSuccessHandler;
 import io.stargate.proto.QueryOuterClass;
-import java.util.concurrent.ScheduledExecutorService;
 
 /** Constructs the {@link StreamingQueryHandler}. */
 public class StreamingQueryHandlerFactory
@@ -13,17 +12,12 @@ public class StreamingQueryHandlerFactory
 
   private final Persistence.Connection connection;
   private final Persistence persistence;
-  private final ScheduledExecutorService executor;
   private final int schemaAgreementRetries;
 
   public StreamingQueryHandlerFactory(
-      Persistence.Connection connection,
-      Persistence persistence,
-      ScheduledExecutorService executor,
-      int schemaAgreementRetries) {
+      Persistence.Connection connection, Persistence persistence, int schemaAgreementRetries) {
     this.connection = connection;
     this.persistence = persistence;
-    this.executor = executor;
     this.schemaAgreementRetries = schemaAgreementRetries;
   }
 
@@ -36,7 +30,6 @@ public class StreamingQueryHandlerFactory
         query,
         connection,
         persistence,
-        executor,
         schemaAgreementRetries,
         streamingSuccessHandler,
         exceptionHandler);
@@ -52,8 +52,6 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.AfterEach;
@@ -72,17 +70,12 @@ public class BaseGrpcServiceTest {
 
   protected Connection connection = spy(mock(Connection.class));
 
-  private ScheduledExecutorService executor;
-
   @AfterEach
   public void cleanUp() {
     try {
       if (server != null) {
         server.shutdown().awaitTermination();
       }
-      if (executor != null) {
-        executor.shutdownNow();
-      }
       if (clientChannel != null) {
         clientChannel.shutdown().awaitTermination(60, TimeUnit.SECONDS);
       }
@@ -130,12 +123,11 @@ public class BaseGrpcServiceTest {
 
   protected void startServer(ServerInterceptor interceptor) {
     assertThat(server).isNull();
-    executor = Executors.newScheduledThreadPool(1);
     server =
         InProcessServerBuilder.forName(SERVER_NAME)
             .directExecutor()
             .intercept(interceptor)
-            .addService(new GrpcService(persistence, executor, 2))
+            .addService(new GrpcService(persistence, 2))
             .build();
     try {
       server.start();
@@ -30,6 +30,7 @@ import io.stargate.proto.QueryOuterClass;
 import io.stargate.proto.StargateGrpc;
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -40,7 +41,8 @@ public class SchemaAgreementTest extends BaseGrpcServiceTest {
   public void schemaAgreementSuccess() {
     // Given
     StargateGrpc.StargateBlockingStub stub = makeBlockingStub();
-    when(connection.isInSchemaAgreement()).thenReturn(true);
+    when(connection.whenInSchemaAgreement(anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(null));
     mockAnyQueryAsSchemaChange();
     when(persistence.newConnection()).thenReturn(connection);
     startServer(persistence);
@@ -57,7 +59,9 @@ public class SchemaAgreementTest extends BaseGrpcServiceTest {
   public void schemaAgreementFailure() {
     // Given
     StargateGrpc.StargateBlockingStub stub = makeBlockingStub();
-    when(connection.isInSchemaAgreement()).thenReturn(false);
+    CompletableFuture<Void> timedOut = new CompletableFuture<>();
+    timedOut.completeExceptionally(new TimeoutException());
+    when(connection.whenInSchemaAgreement(anyLong())).thenReturn(timedOut);
     mockAnyQueryAsSchemaChange();
     when(persistence.newConnection()).thenReturn(connection);
     startServer(persistence);
@@ -1,20 +1,30 @@
 package io.stargate.grpc.service.streaming;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.MessageHandler;
+import io.stargate.grpc.service.StreamingSuccessHandler;
 import io.stargate.grpc.service.SynchronizedStreamObserver;
 import io.stargate.proto.QueryOuterClass;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 class MessageStreamObserverTest {
   private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(1);
@@ -105,6 +115,135 @@ class MessageStreamObserverTest {
     verify(callerStreamObserver, timeout(1000).times(0)).onCompleted();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldRequestMessagesWithinWindow() {
+    // given
+    ServerCallStreamObserver<QueryOuterClass.StreamingResponse> callObserver =
+        mock(ServerCallStreamObserver.class);
+    when(callObserver.isReady()).thenReturn(true);
+    List<StreamingSuccessHandler> successHandlers = new ArrayList<>();
+    StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
+        (query, successHandler, exH) -> {
+          successHandlers.add(successHandler);
+          return mock(MessageHandler.class);
+        };
+
+    // when
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        new MessageStreamObserver<>(
+            new SynchronizedStreamObserver<>(callObserver),
+            (v) -> mock(ExceptionHandler.class),
+            streamingHandlerFactory,
+            callObserver,
+            2,
+            false,
+            StreamMetrics.NOOP);
+
+    // then the initial window is requested
+    verify(callObserver).disableAutoRequest();
+    verify(callObserver).request(2);
+
+    // when
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    successHandlers.get(0).handleResponse(QueryOuterClass.StreamingResponse.newBuilder().build());
+
+    // then a new message is requested for the completed one
+    verify(callObserver).request(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldWaitUntilReadyToRequestMessages() {
+    // given
+    ServerCallStreamObserver<QueryOuterClass.StreamingResponse> callObserver =
+        mock(ServerCallStreamObserver.class);
+    when(callObserver.isReady()).thenReturn(false);
+    List<StreamingSuccessHandler> successHandlers = new ArrayList<>();
+    StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
+        (query, successHandler, exH) -> {
+          successHandlers.add(successHandler);
+          return mock(MessageHandler.class);
+        };
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        new MessageStreamObserver<>(
+            new SynchronizedStreamObserver<>(callObserver),
+            (v) -> mock(ExceptionHandler.class),
+            streamingHandlerFactory,
+            callObserver,
+            1,
+            false,
+            StreamMetrics.NOOP);
+    ArgumentCaptor<Runnable> onReadyHandler = ArgumentCaptor.forClass(Runnable.class);
+    verify(callObserver).setOnReadyHandler(onReadyHandler.capture());
+
+    // when
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    successHandlers.get(0).handleResponse(QueryOuterClass.StreamingResponse.newBuilder().build());
+
+    // then nothing is requested while the transport is not ready
+    verify(callObserver, times(1)).request(1); // initial window only
+
+    // when
+    when(callObserver.isReady()).thenReturn(true);
+    onReadyHandler.getValue().run();
+
+    // then
+    verify(callObserver, times(2)).request(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldWriteResponsesInOrder() {
+    // given
+    StreamObserver<QueryOuterClass.StreamingResponse> callerStreamObserver =
+        mock(StreamObserver.class);
+    List<StreamingSuccessHandler> successHandlers = new ArrayList<>();
+    StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
+        (query, successHandler, exH) -> {
+          successHandlers.add(successHandler);
+          return mock(MessageHandler.class);
+        };
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        new MessageStreamObserver<>(
+            new SynchronizedStreamObserver<>(callerStreamObserver),
+            (v) -> mock(ExceptionHandler.class),
+            streamingHandlerFactory,
+            null,
+            10,
+            true,
+            StreamMetrics.NOOP);
+    QueryOuterClass.StreamingResponse first = response("first");
+    QueryOuterClass.StreamingResponse second = response("second");
+
+    // when
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    observer.onCompleted();
+    successHandlers.get(1).handleResponse(second);
+
+    // then the second response waits for the first one
+    verify(callerStreamObserver, never()).onNext(any());
+
+    // when
+    successHandlers.get(0).handleResponse(first);
+
+    // then
+    InOrder inOrder = inOrder(callerStreamObserver);
+    inOrder.verify(callerStreamObserver).onNext(first);
+    inOrder.verify(callerStreamObserver).onNext(second);
+    inOrder.verify(callerStreamObserver).onCompleted();
+  }
+
+  private static QueryOuterClass.StreamingResponse response(String traceId) {
+    return QueryOuterClass.StreamingResponse.newBuilder()
+        .setResponse(
+            QueryOuterClass.Response.newBuilder()
+                .setTraces(QueryOuterClass.Traces.newBuilder().setId(traceId)))
+        .build();
+  }
+
   @AfterAll
   public static void cleanup() {
     EXECUTOR.shutdown();
@@ -19,6 +19,8 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import io.stargate.core.metrics.api.Metrics;
 import io.stargate.core.services.BaseService;
+import java.util.Arrays;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +36,16 @@ public class MetricsModule extends BaseService {
     super("MetricsModule");
   }
 
+  @Override
+  protected List<Class<?>> providedServices() {
+    return Arrays.asList(
+        MetricRegistry.class,
+        HealthCheckRegistry.class,
+        Metrics.class,
+        io.stargate.core.metrics.api.MetricsScraper.class,
+        io.stargate.core.metrics.api.HttpMetricsTagProvider.class);
+  }
+
   @Override
   protected void createServices() throws Exception {
     logger.info("Initializing metrics services");
@@ -19,6 +19,7 @@ import io.stargate.db.datastore.Row;
 import io.stargate.db.schema.TableName;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Objects;
 
 public abstract class AbstractRowDecorator implements RowDecorator {
 
@@ -58,4 +59,15 @@ public abstract class AbstractRowDecorator implements RowDecorator {
     //noinspection unchecked
     return (ComparableKey<T>) decoratePrimaryKey(pkValues);
   }
+
+  @Override
+  public boolean isSamePartition(Row row, Row other) {
+    // raw values are enough, two rows have the same key if all the serialized values match
+    for (String columnName : partitionKeyColumnNames) {
+      if (!Objects.equals(row.getBytesUnsafe(columnName), other.getBytesUnsafe(columnName))) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
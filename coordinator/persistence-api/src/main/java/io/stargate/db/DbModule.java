@@ -22,6 +22,7 @@ import io.stargate.db.datastore.PersistenceDataStoreFactory;
 import io.stargate.db.limiter.RateLimitingManager;
 import io.stargate.db.metrics.api.ClientInfoMetricsTagProvider;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -87,6 +88,12 @@ public class DbModule extends BaseService {
     return deps;
   }
 
+  @Override
+  protected List<Class<?>> providedServices() {
+    return Arrays.asList(
+        Persistence.class, DataStoreFactory.class, ClientInfoMetricsTagProvider.class);
+  }
+
   @Override
   protected void createServices() throws Exception {
     logger.info(
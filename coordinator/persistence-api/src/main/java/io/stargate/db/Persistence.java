@@ -89,6 +89,20 @@ public interface Persistence extends SchemaAgreementChecker {
    */
   boolean isInSchemaAgreementWithStorage();
 
+  /**
+   * Returns a future that completes once this coordinator is in schema agreement with the other
+   * nodes in the cluster, or fails with a {@link java.util.concurrent.TimeoutException} if that
+   * does not happen within the given time.
+   *
+   * <p>Implementations that observe the schema versions of the nodes should override this to
+   * complete the future as soon as agreement is reached (see {@link SchemaAgreementWatcher}). The
+   * default implementation polls {@link #isInSchemaAgreement()} (see {@link
+   * SchemaAgreementWatcher#poll}).
+   */
+  default CompletableFuture<Void> whenInSchemaAgreement(long timeoutMillis) {
+    return SchemaAgreementWatcher.poll(this::isInSchemaAgreement, timeoutMillis);
+  }
+
   default boolean supportsSecondaryIndex() {
     return SUPPORTS_SECONDARY_INDEX;
   }
@@ -130,6 +144,20 @@ public interface Persistence extends SchemaAgreementChecker {
     return keyspaceName;
   }
 
+  /**
+   * Whether the keyspace with the given decorated name (see {@link #decorateKeyspaceName}) can be
+   * seen with the given connection properties, for example because it belongs to their tenant.
+   *
+   * <p>The default implementation only accepts the keyspace if decorating its name does not change
+   * it, which is the case for all keyspaces when the names are not decorated. Implementations that
+   * decorate keyspace names must override this.
+   */
+  default boolean isKeyspaceVisible(
+      String decoratedKeyspaceName, Map<String, String> connectionProperties) {
+    return decoratedKeyspaceName.equals(
+        decorateKeyspaceName(decoratedKeyspaceName, connectionProperties));
+  }
+
   /**
    * A connection to the persistence.
    *
@@ -244,5 +272,13 @@ public interface Persistence extends SchemaAgreementChecker {
     default boolean isInSchemaAgreement() {
       return persistence().isInSchemaAgreement();
     }
+
+    /**
+     * Returns a future that completes once this coordinator is in schema agreement with the other
+     * nodes in the cluster, see {@code Persistence#whenInSchemaAgreement(long)}.
+     */
+    default CompletableFuture<Void> whenInSchemaAgreement(long timeoutMillis) {
+      return persistence().whenInSchemaAgreement(timeoutMillis);
+    }
   }
 }
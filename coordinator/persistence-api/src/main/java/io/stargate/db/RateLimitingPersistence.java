@@ -85,6 +85,11 @@ public class RateLimitingPersistence implements Persistence {
     return persistence.isInSchemaAgreementWithStorage();
   }
 
+  @Override
+  public CompletableFuture<Void> whenInSchemaAgreement(long timeoutMillis) {
+    return persistence.whenInSchemaAgreement(timeoutMillis);
+  }
+
   @Override
   public boolean isSchemaAgreementAchievable() {
     return persistence.isSchemaAgreementAchievable();
@@ -149,7 +154,13 @@ public class RateLimitingPersistence implements Persistence {
     @Override
     public CompletableFuture<Prepared> prepare(String query, Parameters parameters) {
       RateLimitingDecision decision = rateLimiter.forPrepare(query, parameters);
-      return decision.apply(() -> connection.prepare(query, parameters));
+      return decision
+          .apply(() -> connection.prepare(query, parameters))
+          .thenApply(
+              prepared -> {
+                rateLimiter.onPrepared(query, prepared);
+                return prepared;
+              });
     }
 
     @Override
@@ -169,6 +180,7 @@ public class RateLimitingPersistence implements Persistence {
     @Override
     public void setCustomProperties(Map<String, String> customProperties) {
       connection.setCustomProperties(customProperties);
+      rateLimiter.onCustomProperties(customProperties);
     }
 
     @Override
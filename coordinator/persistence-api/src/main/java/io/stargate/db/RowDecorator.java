@@ -36,4 +36,12 @@ public interface RowDecorator {
    * underlying datastore. If no such API exists, an empty ByteBuffer is returned.
    */
   ByteBuffer getComparableBytes(Row row);
+
+  /**
+   * Checks whether the two {@link Row}s belong to the same partition, without decorating their
+   * keys. The default implementation conservatively returns <code>false</code>.
+   */
+  default boolean isSamePartition(Row row, Row other) {
+    return false;
+  }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db;
+
+import com.datastax.oss.driver.shaded.guava.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Completes the futures of the callers waiting for schema agreement as soon as it is reached.
+ *
+ * <p>Agreement is re-checked once per {@link #onSchemaVersionChange() notification} (typically a
+ * gossip state change of a node), for all the waiters at once, instead of having each waiter poll
+ * on its own. Since notifications can be missed, agreement is also re-checked at a fixed interval
+ * while there are waiters; that check is also what fails the waiters that timed out.
+ */
+public class SchemaAgreementWatcher {
+
+  private static final Logger logger = LoggerFactory.getLogger(SchemaAgreementWatcher.class);
+
+  private static final long POLL_INTERVAL_MILLIS =
+      Long.getLong("stargate.persistence.schema.agreement.poll_interval_millis", 1000);
+
+  private static final long STANDALONE_POLL_INTERVAL_MILLIS = 200;
+
+  private final BooleanSupplier isInSchemaAgreement;
+  private final ScheduledExecutorService executor;
+  private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+  public SchemaAgreementWatcher(BooleanSupplier isInSchemaAgreement) {
+    this(isInSchemaAgreement, newExecutor("schema-agreement-watcher"), POLL_INTERVAL_MILLIS);
+  }
+
+  SchemaAgreementWatcher(
+      BooleanSupplier isInSchemaAgreement,
+      ScheduledExecutorService executor,
+      long pollIntervalMillis) {
+    this.isInSchemaAgreement = isInSchemaAgreement;
+    this.executor = executor;
+    executor.scheduleWithFixedDelay(
+        this::check, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns a future that completes once in schema agreement, or fails with a {@link
+   * TimeoutException} if agreement is not reached within the given time.
+   */
+  public CompletableFuture<Void> waitForAgreement(long timeoutMillis) {
+    if (isInSchemaAgreement.getAsBoolean()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    Waiter waiter =
+        new Waiter(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), timeoutMillis);
+    waiters.add(waiter);
+    // agreement might have been reached, and notified, before the waiter was added
+    onSchemaVersionChange();
+    return waiter.future;
+  }
+
+  /** Notifies that the schema version of a node, or the set of nodes, might have changed. */
+  public void onSchemaVersionChange() {
+    if (!waiters.isEmpty()) {
+      executor.execute(this::check);
+    }
+  }
+
+  // only runs on the executor, so checks are never concurrent
+  private void check() {
+    if (waiters.isEmpty()) {
+      return;
+    }
+    boolean inAgreement;
+    try {
+      inAgreement = isInSchemaAgreement.getAsBoolean();
+    } catch (RuntimeException e) {
+      // must not escape, or the periodic check would stop
+      logger.warn("Failed to check schema agreement", e);
+      inAgreement = false;
+    }
+    long now = System.nanoTime();
+    for (Iterator<Waiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+      Waiter waiter = iterator.next();
+      if (inAgreement) {
+        waiter.future.complete(null);
+        iterator.remove();
+      } else if (now - waiter.deadlineNanos >= 0) {
+        waiter.future.completeExceptionally(timeout(waiter.timeoutMillis));
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Polls the given check until schema agreement is reached, for the persistence implementations
+   * that are not notified of the schema version changes, and thus have no watcher.
+   *
+   * <p>The polling is scheduled on a thread shared by all the callers, that is only busy while
+   * checking.
+   *
+   * @return a future that completes once in schema agreement, or fails with a {@link
+   *     TimeoutException} if agreement is not reached within the given time.
+   */
+  public static CompletableFuture<Void> poll(
+      BooleanSupplier isInSchemaAgreement, long timeoutMillis) {
+    return poll(
+        isInSchemaAgreement,
+        timeoutMillis,
+        StandalonePoller.EXECUTOR,
+        STANDALONE_POLL_INTERVAL_MILLIS);
+  }
+
+  static CompletableFuture<Void> poll(
+      BooleanSupplier isInSchemaAgreement,
+      long timeoutMillis,
+      ScheduledExecutorService executor,
+      long pollIntervalMillis) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    Runnable check =
+        new Runnable() {
+          @Override
+          public void run() {
+            try {
+              if (isInSchemaAgreement.getAsBoolean()) {
+                future.complete(null);
+              } else if (System.nanoTime() - deadlineNanos >= 0) {
+                future.completeExceptionally(timeout(timeoutMillis));
+              } else {
+                executor.schedule(this, pollIntervalMillis, TimeUnit.MILLISECONDS);
+              }
+            } catch (RuntimeException e) {
+              future.completeExceptionally(e);
+            }
+          }
+        };
+    executor.execute(check);
+    return future;
+  }
+
+  private static TimeoutException timeout(long timeoutMillis) {
+    return new TimeoutException(
+        "Failed to reach schema agreement after " + timeoutMillis + " milliseconds.");
+  }
+
+  private static ScheduledExecutorService newExecutor(String name) {
+    return Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat(name).setDaemon(true).build());
+  }
+
+  // lazily created, as most persistence implementations have their own watcher
+  private static class StandalonePoller {
+    static final ScheduledExecutorService EXECUTOR = newExecutor("schema-agreement-poller");
+  }
+
+  private static class Waiter {
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    final long deadlineNanos;
+    final long timeoutMillis;
+
+    Waiter(long deadlineNanos, long timeoutMillis) {
+      this.deadlineNanos = deadlineNanos;
+      this.timeoutMillis = timeoutMillis;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package io.stargate.db.limiter;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import org.apache.cassandra.stargate.exceptions.UnauthorizedException;
@@ -11,7 +12,8 @@ import org.apache.cassandra.stargate.exceptions.UnauthorizedException;
  *
  * <ul>
  *   <li>to not rate limit at all ({@link #unlimited()}).
- *   <li>to rate limit the query, using a provided limiter ({@link #limit}).
+ *   <li>to rate limit the query, using a provided limiter ({@link #limit}), or several ones
+ *       ({@link #limitAll}).
  *   <li>to reject the query altogether ({@link #reject}).
  * </ul>
  */
@@ -32,6 +34,24 @@ public abstract class RateLimitingDecision {
     return new Limited(limiter, permitsToAcquire);
   }
 
+  /**
+   * Creates a new decision consisting of rate limiting a query through acquiring the provided
+   * number of permits on each of the provided limiters, in order.
+   *
+   * <p>If no limiter is provided, the query is not rate limited.
+   */
+  public static RateLimitingDecision limitAll(
+      List<AsyncRateLimiter> limiters, long permitsToAcquire) {
+    switch (limiters.size()) {
+      case 0:
+        return unlimited();
+      case 1:
+        return limit(limiters.get(0), permitsToAcquire);
+      default:
+        return new LimitedAll(limiters, permitsToAcquire);
+    }
+  }
+
   /**
    * Creates a new decision consisting of rejecting a query, the rejected query throwing an {@link
    * UnauthorizedException} with the provided message.
@@ -67,6 +87,28 @@ public abstract class RateLimitingDecision {
     }
   }
 
+  public static class LimitedAll extends RateLimitingDecision {
+    private final List<AsyncRateLimiter> limiters;
+    private final long permitsToAcquire;
+
+    private LimitedAll(List<AsyncRateLimiter> limiters, long permitsToAcquire) {
+      this.limiters = limiters;
+      this.permitsToAcquire = permitsToAcquire;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> apply(Supplier<CompletableFuture<T>> task) {
+      return apply(0, task);
+    }
+
+    private <T> CompletableFuture<T> apply(int index, Supplier<CompletableFuture<T>> task) {
+      if (index == limiters.size()) {
+        return task.get();
+      }
+      return limiters.get(index).acquireAndExecute(permitsToAcquire, () -> apply(index + 1, task));
+    }
+  }
+
   public static class Rejected extends RateLimitingDecision {
     private final String rejectionMessage;
 
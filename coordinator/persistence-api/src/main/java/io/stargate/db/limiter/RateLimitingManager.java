@@ -5,7 +5,9 @@ import io.stargate.db.Batch;
 import io.stargate.db.ClientInfo;
 import io.stargate.db.Parameters;
 import io.stargate.db.Persistence;
+import io.stargate.db.Result;
 import io.stargate.db.Statement;
+import java.util.Map;
 
 /**
  * Manages rate limiting.
@@ -46,6 +48,24 @@ public interface RateLimitingManager {
      */
     void onUserLogged(AuthenticatedUser user);
 
+    /**
+     * Called when custom properties are set on the connection this manager was created for (see
+     * {@link Persistence.Connection#setCustomProperties}). For connections created by the bridge,
+     * those are the request headers.
+     *
+     * @param customProperties the properties set on the connection.
+     */
+    default void onCustomProperties(Map<String, String> customProperties) {}
+
+    /**
+     * Called when a query was successfully prepared on the connection this manager was created
+     * for, so that subsequent executions of the prepared statement can be identified.
+     *
+     * @param query the query that was prepared.
+     * @param prepared the result of the preparation.
+     */
+    default void onPrepared(String query, Result.Prepared prepared) {}
+
     /**
      * The rate limiting decision for the query consisting of preparing the provided query (on the
      * connection this manager was created for).
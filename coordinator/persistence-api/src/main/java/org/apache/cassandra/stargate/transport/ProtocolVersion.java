@@ -38,7 +38,7 @@ public enum ProtocolVersion implements Comparable<ProtocolVersion> {
   V2(2, "v2", false), // no longer supported
   V3(3, "v3", false),
   V4(4, "v4", false),
-  V5(5, "v5-beta", true);
+  V5(5, "v5", false);
 
   /** The version number */
   private final int num;
@@ -76,7 +76,7 @@ public enum ProtocolVersion implements Comparable<ProtocolVersion> {
   /** The preferred versions */
   public static final ProtocolVersion CURRENT = V4;
 
-  public static final Optional<ProtocolVersion> BETA = Optional.of(V5);
+  public static final Optional<ProtocolVersion> BETA = Optional.empty();
 
   public static List<String> supportedVersions() {
     return SUPPORTED_VERSION_NAMES;
@@ -136,6 +136,14 @@ public enum ProtocolVersion implements Comparable<ProtocolVersion> {
     return num >= V5.asInt();
   }
 
+  /**
+   * Whether, once the connection is established, messages are wrapped in (optionally compressed)
+   * checksummed segments rather than sent as standalone frames.
+   */
+  public boolean usesSegments() {
+    return num >= V5.asInt();
+  }
+
   @Override
   public String toString() {
     // This format is mandated by the protocl specs for the SUPPORTED message, see OptionsMessage
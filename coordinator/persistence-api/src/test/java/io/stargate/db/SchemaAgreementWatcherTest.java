@@ -0,0 +1,117 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SchemaAgreementWatcherTest {
+
+  private ScheduledExecutorService executor;
+  private final AtomicBoolean inAgreement = new AtomicBoolean();
+
+  @BeforeEach
+  public void setup() {
+    executor = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void completesImmediatelyWhenInAgreement() {
+    inAgreement.set(true);
+    SchemaAgreementWatcher watcher = watcher(60_000);
+
+    assertThat(watcher.waitForAgreement(1000)).isCompleted();
+  }
+
+  @Test
+  public void completesOnSchemaVersionChange() throws Exception {
+    SchemaAgreementWatcher watcher = watcher(60_000);
+
+    CompletableFuture<Void> first = watcher.waitForAgreement(60_000);
+    CompletableFuture<Void> second = watcher.waitForAgreement(60_000);
+    assertThat(first).isNotDone();
+
+    inAgreement.set(true);
+    watcher.onSchemaVersionChange();
+
+    first.get(5, TimeUnit.SECONDS);
+    second.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void completesOnPeriodicCheck() throws Exception {
+    SchemaAgreementWatcher watcher = watcher(10);
+
+    CompletableFuture<Void> future = watcher.waitForAgreement(60_000);
+    inAgreement.set(true);
+
+    future.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void failsAfterTimeout() {
+    SchemaAgreementWatcher watcher = watcher(10);
+
+    CompletableFuture<Void> future = watcher.waitForAgreement(50);
+
+    assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(TimeoutException.class)
+        .hasMessageContaining("Failed to reach schema agreement after 50 milliseconds.");
+  }
+
+  @Test
+  public void pollCompletesOnceInAgreement() throws Exception {
+    CompletableFuture<Void> future =
+        SchemaAgreementWatcher.poll(inAgreement::get, 60_000, executor, 10);
+    assertThat(future).isNotDone();
+
+    inAgreement.set(true);
+
+    future.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void pollFailsAfterTimeout() {
+    CompletableFuture<Void> future =
+        SchemaAgreementWatcher.poll(inAgreement::get, 50, executor, 10);
+
+    assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(TimeoutException.class)
+        .hasMessageContaining("Failed to reach schema agreement after 50 milliseconds.");
+  }
+
+  private SchemaAgreementWatcher watcher(long pollIntervalMillis) {
+    return new SchemaAgreementWatcher(inAgreement::get, executor, pollIntervalMillis);
+  }
+}
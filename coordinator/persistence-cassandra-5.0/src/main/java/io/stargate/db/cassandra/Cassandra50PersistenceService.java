@@ -69,6 +69,11 @@ public class Cassandra50PersistenceService extends BaseService {
             AuthorizationProcessor.class, "AuthProcessorId", AUTHZ_PROCESSOR_ID));
   }
 
+  @Override
+  protected List<Class<?>> providedServices() {
+    return Collections.singletonList(Persistence.class);
+  }
+
   @Override
   protected void createServices() throws Exception {
     logger.info("Starting Cassandra 5.0 persistence service");
@@ -111,6 +116,7 @@ public class Cassandra50PersistenceService extends BaseService {
 
     // Create and register the persistence service
     persistence = new Cassandra50Persistence();
+    persistence.setMeterRegistry(metrics.getMeterRegistry());
 
     // Set authorization service if available
     if (authorizationService != null) {
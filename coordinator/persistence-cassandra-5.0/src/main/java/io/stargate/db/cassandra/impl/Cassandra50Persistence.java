@@ -7,6 +7,8 @@ import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import com.datastax.oss.driver.shaded.guava.common.collect.Iterables;
 import com.datastax.oss.driver.shaded.guava.common.util.concurrent.Uninterruptibles;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.core.util.TimeSource;
 import io.stargate.db.Authenticator;
@@ -19,6 +21,7 @@ import io.stargate.db.Parameters;
 import io.stargate.db.Persistence;
 import io.stargate.db.Result;
 import io.stargate.db.RowDecorator;
+import io.stargate.db.SchemaAgreementWatcher;
 import io.stargate.db.SimpleStatement;
 import io.stargate.db.Statement;
 import io.stargate.db.cassandra.impl.interceptors.DefaultQueryInterceptor;
@@ -44,6 +47,7 @@ import org.apache.cassandra.auth.AuthenticatedUser;
 import org.apache.cassandra.concurrent.LocalAwareExecutorPlus;
 import org.apache.cassandra.config.Config;
 import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.cql3.QueryHandler;
 import org.apache.cassandra.cql3.QueryOptions;
 import org.apache.cassandra.cql3.QueryProcessor;
 import org.apache.cassandra.cql3.statements.BatchStatement;
@@ -120,7 +124,13 @@ public class Cassandra50Persistence
 
   private final SchemaCheck schemaCheck = new SchemaCheck();
 
+  // Completes the schema agreement waits of DDL queries, fed by the gossip changes of SchemaCheck
+  private final SchemaAgreementWatcher schemaAgreementWatcher =
+      new SchemaAgreementWatcher(this::isInSchemaAgreement);
+
   private LocalAwareExecutorPlus executor;
+  private volatile ExecutorMetrics executorMetrics = ExecutorMetrics.NOOP;
+  private final VectorQueryHandler vectorQueryHandler = new VectorQueryHandler();
 
   private CassandraDaemon daemon;
   private Authenticator authenticator;
@@ -280,11 +290,14 @@ public class Cassandra50Persistence
   }
 
   private <T extends Result> CompletableFuture<T> runOnExecutor(
-      Supplier<T> supplier, boolean captureWarnings) {
+      ExecutorMetrics.Operation operation, Supplier<T> supplier, boolean captureWarnings) {
     assert executor != null : "This persistence has not been initialized";
     CompletableFuture<T> future = new CompletableFuture<>();
+    ExecutorMetrics metrics = executorMetrics;
+    long submitNanos = System.nanoTime();
     executor.submit(
         () -> {
+          long startNanos = metrics.onExecutionStart(submitNanos);
           if (captureWarnings) ClientWarn.instance.captureWarnings();
           try {
             @SuppressWarnings("unchecked")
@@ -302,6 +315,7 @@ public class Cassandra50Persistence
           } finally {
             // Note that it's a no-op if we haven't called captureWarnings
             ClientWarn.instance.resetWarnings();
+            metrics.onExecutionEnd(operation, startNanos);
           }
         });
 
@@ -338,6 +352,11 @@ public class Cassandra50Persistence
         <= 1;
   }
 
+  @Override
+  public CompletableFuture<Void> whenInSchemaAgreement(long timeoutMillis) {
+    return schemaAgreementWatcher.waitForAgreement(timeoutMillis);
+  }
+
   @Override
   public boolean isInSchemaAgreementWithStorage() {
     // Collect schema IDs from storage and local node and check that we have at most 1 distinct ID
@@ -419,6 +438,14 @@ public class Cassandra50Persistence
     this.authorizationService = authorizationService;
   }
 
+  /**
+   * Enables the executor occupancy metrics (see {@link ExecutorMetrics}) on the given registry.
+   * Until this is called, nothing is recorded.
+   */
+  public void setMeterRegistry(MeterRegistry meterRegistry) {
+    this.executorMetrics = new ExecutorMetrics(meterRegistry, Tags.of("pool", "transport"));
+  }
+
   private class Cassandra50Connection extends AbstractConnection {
     private volatile ClientState clientState;
     private volatile QueryState queryState;
@@ -510,6 +537,7 @@ public class Cassandra50Persistence
       Map<String, ByteBuffer> customPayload = parameters.customPayload().orElse(null);
 
       return runOnExecutor(
+          ExecutorMetrics.Operation.BATCH,
           () -> {
             QueryOptions options = Conversion.toInternal(Collections.emptyList(), null, parameters);
             BatchStatement.Type internalBatchType = Conversion.toInternal(batch.type());
@@ -543,15 +571,17 @@ public class Cassandra50Persistence
         boolean captureWarnings,
         long queryStartNanoTime) {
 
-      // Check if this is a vector query that needs rewriting
-      Statement processedStatement = VectorQueryHandler.processStatement(statement);
-
       QueryOptions options;
 
-      if (processedStatement instanceof SimpleStatement) {
-        SimpleStatement simple = (SimpleStatement) processedStatement;
+      if (statement instanceof SimpleStatement) {
+        SimpleStatement simple = (SimpleStatement) statement;
+        if (VectorQueryHandler.isParameterizedAnn(simple)) {
+          return runOnExecutor(
+              ExecutorMetrics.Operation.QUERY,
+              () -> executeAnn(simple, parameters, customPayload, queryStartNanoTime),
+              captureWarnings);
+        }
 
-        // If the statement was rewritten, it has no values
         List<ByteBuffer> values =
             simple.values() != null ? simple.values() : Collections.emptyList();
         List<String> boundNames = simple.boundNames().orElse(null);
@@ -559,9 +589,11 @@ public class Cassandra50Persistence
 
         Message.Request request = new QueryMessage(simple.queryString(), options);
         return runOnExecutor(
-            () -> handle(request, customPayload, queryStartNanoTime, parameters), captureWarnings);
-      } else if (processedStatement instanceof BoundStatement) {
-        BoundStatement bound = (BoundStatement) processedStatement;
+            ExecutorMetrics.Operation.QUERY,
+            () -> handle(request, customPayload, queryStartNanoTime, parameters),
+            captureWarnings);
+      } else if (statement instanceof BoundStatement) {
+        BoundStatement bound = (BoundStatement) statement;
         List<String> boundNames = bound.boundNames().orElse(null);
         options = Conversion.toInternal(bound.values(), boundNames, parameters);
 
@@ -570,17 +602,55 @@ public class Cassandra50Persistence
         // We use the same id for both as we don't have separate result metadata tracking
         Message.Request request = new ExecuteMessage(id, id, options);
         return runOnExecutor(
-            () -> handle(request, customPayload, queryStartNanoTime, parameters), captureWarnings);
+            ExecutorMetrics.Operation.QUERY,
+            () -> handle(request, customPayload, queryStartNanoTime, parameters),
+            captureWarnings);
       } else {
         throw new UnsupportedOperationException(
-            "Unsupported statement type: " + processedStatement.getClass());
+            "Unsupported statement type: " + statement.getClass());
       }
     }
 
+    /**
+     * Executes a simple statement that orders by the ANN of a bind marker as a prepared statement,
+     * so that the vector is bound like any other value and the statement is only prepared once for
+     * all vectors.
+     */
+    private Result executeAnn(
+        SimpleStatement simple,
+        Parameters parameters,
+        Map<String, ByteBuffer> customPayload,
+        long queryStartNanoTime) {
+      String query = simple.queryString();
+      String keyspace = parameters.defaultKeyspace().orElse(null);
+
+      MD5Digest id = vectorQueryHandler.preparedId(query, keyspace);
+      QueryHandler.Prepared prepared = id == null ? null : stargateHandler().getPrepared(id);
+      if (prepared == null) {
+        // Either never prepared, or evicted from the prepared cache since
+        Result.Prepared result = handlePrepare(new PrepareMessage(query, keyspace), customPayload);
+        id = Conversion.toInternal(result.statementId);
+        prepared = stargateHandler().getPrepared(id);
+        if (prepared == null) {
+          throw Conversion.convertInternalException(
+              new IllegalStateException("Prepared statement was evicted right after preparing"));
+        }
+        vectorQueryHandler.rememberPreparedId(query, keyspace, id);
+      }
+
+      List<ByteBuffer> values =
+          VectorQueryHandler.bindVectorValues(
+              simple.values(), prepared.statement.getBindVariables());
+      QueryOptions options = Conversion.toInternal(values, null, parameters);
+      Message.Request request = new ExecuteMessage(id, id, options);
+      return handle(request, customPayload, queryStartNanoTime, parameters);
+    }
+
     protected CompletableFuture<Result.Prepared> prepare(
         String query, String keyspace, @Nonnull Map<String, ByteBuffer> customPayload) {
       Message.Request request = new PrepareMessage(query, keyspace);
-      return runOnExecutor(() -> handlePrepare(request, customPayload), false);
+      return runOnExecutor(
+          ExecutorMetrics.Operation.PREPARE, () -> handlePrepare(request, customPayload), false);
     }
 
     private Result handle(
@@ -655,11 +725,16 @@ public class Cassandra50Persistence
       // even if there are no actual changes.
       if (state == ApplicationState.SCHEMA) {
         reset();
+        schemaAgreementWatcher.onSchemaVersionChange();
       }
     }
 
+    // Membership changes also change the set of schema versions that must agree
+
     @Override
-    public void onJoin(InetAddressAndPort endpoint, EndpointState epState) {}
+    public void onJoin(InetAddressAndPort endpoint, EndpointState epState) {
+      schemaAgreementWatcher.onSchemaVersionChange();
+    }
 
     @Override
     public void beforeChange(
@@ -669,15 +744,23 @@ public class Cassandra50Persistence
         VersionedValue newValue) {}
 
     @Override
-    public void onAlive(InetAddressAndPort endpoint, EndpointState state) {}
+    public void onAlive(InetAddressAndPort endpoint, EndpointState state) {
+      schemaAgreementWatcher.onSchemaVersionChange();
+    }
 
     @Override
-    public void onDead(InetAddressAndPort endpoint, EndpointState state) {}
+    public void onDead(InetAddressAndPort endpoint, EndpointState state) {
+      schemaAgreementWatcher.onSchemaVersionChange();
+    }
 
     @Override
-    public void onRemove(InetAddressAndPort endpoint) {}
+    public void onRemove(InetAddressAndPort endpoint) {
+      schemaAgreementWatcher.onSchemaVersionChange();
+    }
 
     @Override
-    public void onRestart(InetAddressAndPort endpoint, EndpointState state) {}
+    public void onRestart(InetAddressAndPort endpoint, EndpointState state) {
+      schemaAgreementWatcher.onSchemaVersionChange();
+    }
   }
 }
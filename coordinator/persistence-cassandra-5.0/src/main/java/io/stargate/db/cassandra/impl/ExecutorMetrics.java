@@ -0,0 +1,119 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.cassandra.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records how long requests occupy the {@code Native-Transport-Requests} executor threads.
+ *
+ * <p>Every query, batch and prepare that goes through the persistence is submitted to that pool
+ * and executed synchronously, so a thread is held for the whole time the coordinator waits for
+ * the replicas. These meters make that occupancy visible: the time a task waits for a free
+ * thread, the time it holds the thread, and the number of tasks currently holding one.
+ */
+class ExecutorMetrics {
+
+  static final String QUEUE_WAIT_METRIC = "persistence.executor.queue.wait";
+  static final String EXECUTION_METRIC = "persistence.executor.execution";
+  static final String ACTIVE_METRIC = "persistence.executor.active";
+
+  static final String OPERATION_KEY = "operation";
+
+  /** Instance that does not record anything, used until a meter registry is provided. */
+  static final ExecutorMetrics NOOP = new ExecutorMetrics();
+
+  private final AtomicInteger active;
+  private final Timer queueWait;
+  private final Timer queryExecution;
+  private final Timer batchExecution;
+  private final Timer prepareExecution;
+
+  private ExecutorMetrics() {
+    this.active = new AtomicInteger();
+    this.queueWait = null;
+    this.queryExecution = null;
+    this.batchExecution = null;
+    this.prepareExecution = null;
+  }
+
+  ExecutorMetrics(MeterRegistry meterRegistry, Tags tags) {
+    this.active = meterRegistry.gauge(ACTIVE_METRIC, tags, new AtomicInteger());
+    this.queueWait = meterRegistry.timer(QUEUE_WAIT_METRIC, tags);
+    this.queryExecution = executionTimer(meterRegistry, tags, Operation.QUERY);
+    this.batchExecution = executionTimer(meterRegistry, tags, Operation.BATCH);
+    this.prepareExecution = executionTimer(meterRegistry, tags, Operation.PREPARE);
+  }
+
+  private static Timer executionTimer(MeterRegistry registry, Tags tags, Operation operation) {
+    return registry.timer(EXECUTION_METRIC, tags.and(OPERATION_KEY, operation.tagValue));
+  }
+
+  /**
+   * Marks the start of the execution of a task that was submitted at {@code submitNanos}.
+   *
+   * @return the start time of the execution, to be passed to {@link #onExecutionEnd}.
+   */
+  long onExecutionStart(long submitNanos) {
+    long startNanos = System.nanoTime();
+    active.incrementAndGet();
+    if (queueWait != null) {
+      queueWait.record(startNanos - submitNanos, TimeUnit.NANOSECONDS);
+    }
+    return startNanos;
+  }
+
+  void onExecutionEnd(Operation operation, long startNanos) {
+    active.decrementAndGet();
+    Timer timer = executionTimer(operation);
+    if (timer != null) {
+      timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  int active() {
+    return active.get();
+  }
+
+  private Timer executionTimer(Operation operation) {
+    switch (operation) {
+      case QUERY:
+        return queryExecution;
+      case BATCH:
+        return batchExecution;
+      case PREPARE:
+        return prepareExecution;
+      default:
+        throw new AssertionError("Unhandled operation " + operation);
+    }
+  }
+
+  enum Operation {
+    QUERY("query"),
+    BATCH("batch"),
+    PREPARE("prepare");
+
+    private final String tagValue;
+
+    Operation(String tagValue) {
+      this.tagValue = tagValue;
+    }
+  }
+}
@@ -15,199 +15,161 @@
  */
 package io.stargate.db.cassandra.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.stargate.db.SimpleStatement;
-import io.stargate.db.Statement;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Objects;
 import java.util.regex.Pattern;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.apache.cassandra.cql3.ColumnSpecification;
+import org.apache.cassandra.db.marshal.VectorType;
+import org.apache.cassandra.utils.MD5Digest;
 
 /**
- * Simplified vector query handler that works with SimpleStatements containing parameters. This is a
- * workaround for the lack of support for parameterized vector ANN queries.
+ * Handles the simple statements that order by the ANN of a bind marker ({@code ORDER BY column ANN
+ * OF ?}).
+ *
+ * <p>Those statements are executed as prepared statements, with the vector bound as a regular
+ * value, so that all the queries of the same shape share a single prepared statement, whatever the
+ * vector. This keeps track of the prepared ids, and converts the vector values to the vector
+ * serialization format, as clients sometimes send them serialized as a list.
  */
 public class VectorQueryHandler {
-  private static final Logger logger = LoggerFactory.getLogger(VectorQueryHandler.class);
 
   // Pattern to match "ORDER BY <column> ANN OF ?" in queries
   private static final Pattern ANN_PARAM_PATTERN =
       Pattern.compile("\\bORDER\\s+BY\\s+(\\w+)\\s+ANN\\s+OF\\s+\\?", Pattern.CASE_INSENSITIVE);
 
-  /**
-   * Process a statement and rewrite if it contains vector ANN parameters
-   *
-   * @param statement The original statement
-   * @return Either the original statement or a rewritten SimpleStatement
-   */
-  public static Statement processStatement(Statement statement) {
-    if (!(statement instanceof SimpleStatement)) {
-      return statement;
-    }
-
-    SimpleStatement simple = (SimpleStatement) statement;
-    String query = simple.queryString();
-    List<ByteBuffer> values = simple.values();
+  private static final int PREPARED_IDS_MAX_SIZE =
+      Integer.getInteger("stargate.vector_prepared_ids_cache_max_size", 1000);
 
-    logger.info("VectorQueryHandler processing query: {}", query);
-
-    if (values == null || values.isEmpty()) {
-      return statement;
-    }
-
-    Matcher matcher = ANN_PARAM_PATTERN.matcher(query);
-    if (!matcher.find()) {
-      return statement;
-    }
-
-    // We found ANN parameters, need to rewrite
-    try {
-      String rewritten = rewriteVectorQuery(query, values);
-      if (rewritten.equals(query)) {
-        return statement;
-      }
+  private final Cache<PreparedKey, MD5Digest> preparedIds;
 
-      logger.debug("Rewrote vector query from: {} to: {}", query, rewritten);
+  public VectorQueryHandler() {
+    this(PREPARED_IDS_MAX_SIZE);
+  }
 
-      // Return a new SimpleStatement with the rewritten query and no values
-      // (since we've inlined the vector values)
-      return new SimpleStatement(rewritten);
+  VectorQueryHandler(int maxSize) {
+    this.preparedIds = Caffeine.newBuilder().maximumSize(maxSize).build();
+  }
 
-    } catch (Exception e) {
-      logger.warn("Failed to rewrite vector query, using original: {}", e.getMessage());
-      return statement;
-    }
+  /**
+   * Whether the statement must be executed through {@link #preparedId} and {@link
+   * #bindVectorValues}, that is whether it has positional values and orders by the ANN of one.
+   */
+  public static boolean isParameterizedAnn(SimpleStatement statement) {
+    return statement.values() != null
+        && !statement.values().isEmpty()
+        && !statement.boundNames().isPresent()
+        && ANN_PARAM_PATTERN.matcher(statement.queryString()).find();
   }
 
-  /** Rewrite a query by replacing ANN OF ? with literal vectors */
-  private static String rewriteVectorQuery(String query, List<ByteBuffer> values) {
-    StringBuffer result = new StringBuffer();
-    Matcher matcher = ANN_PARAM_PATTERN.matcher(query);
+  /** The id the query was prepared with in the given keyspace, if it's known. */
+  public MD5Digest preparedId(String query, String keyspace) {
+    return preparedIds.getIfPresent(new PreparedKey(query, keyspace));
+  }
 
-    int paramIndex = 0;
-    int lastEnd = 0;
+  public void rememberPreparedId(String query, String keyspace, MD5Digest id) {
+    preparedIds.put(new PreparedKey(query, keyspace), id);
+  }
 
-    while (matcher.find()) {
-      // Count ? before this match
-      String beforeMatch = query.substring(lastEnd, matcher.start());
-      paramIndex += countQuestionMarks(beforeMatch);
+  long preparedIdCount() {
+    preparedIds.cleanUp();
+    return preparedIds.estimatedSize();
+  }
 
-      // Get the vector value
-      if (paramIndex >= values.size()) {
-        logger.warn("Not enough values for vector parameter at index {}", paramIndex);
-        return query;
+  /**
+   * Returns the values with all the vectors in the vector serialization format.
+   *
+   * @param values the positional values of the statement.
+   * @param variables the bind variables of the prepared statement.
+   */
+  public static List<ByteBuffer> bindVectorValues(
+      List<ByteBuffer> values, List<ColumnSpecification> variables) {
+    List<ByteBuffer> bound = null;
+    for (int i = 0; i < values.size() && i < variables.size(); i++) {
+      if (variables.get(i).type instanceof VectorType) {
+        ByteBuffer value = values.get(i);
+        ByteBuffer vector = toVectorValue(value, (VectorType<?>) variables.get(i).type);
+        if (vector != value) {
+          if (bound == null) {
+            bound = new ArrayList<>(values);
+          }
+          bound.set(i, vector);
+        }
       }
-
-      ByteBuffer vectorBuffer = values.get(paramIndex);
-      String vectorLiteral = formatVectorFromBuffer(vectorBuffer);
-
-      // Append everything before the match
-      result.append(query.substring(lastEnd, matcher.start()));
-
-      // Append the rewritten part
-      result.append("ORDER BY ");
-      result.append(matcher.group(1));
-      result.append(" ANN OF ");
-      result.append(vectorLiteral);
-
-      paramIndex++;
-      lastEnd = matcher.end();
     }
-
-    // Append the rest of the query
-    result.append(query.substring(lastEnd));
-
-    return result.toString();
+    return bound == null ? values : bound;
   }
 
-  private static int countQuestionMarks(String text) {
-    int count = 0;
-    for (int i = 0; i < text.length(); i++) {
-      if (text.charAt(i) == '?') {
-        count++;
+  /**
+   * Converts a vector of fixed-length elements that was serialized as a list (count, then each
+   * element prefixed by its size) or as a count followed by the elements, to the vector format (the
+   * elements only). Any other value is returned as is, and left for Cassandra to validate.
+   */
+  static ByteBuffer toVectorValue(ByteBuffer value, VectorType<?> type) {
+    int elementSize = type.elementType.valueLengthIfFixed();
+    if (value == null || elementSize <= 0) {
+      return value;
+    }
+    int dimension = type.dimension;
+    int remaining = value.remaining();
+    if (remaining == dimension * elementSize || remaining < 4) {
+      return value;
+    }
+    int position = value.position();
+    if (value.getInt(position) != dimension) {
+      return value;
+    }
+    if (remaining == 4 + dimension * elementSize) {
+      ByteBuffer vector = value.duplicate();
+      vector.position(position + 4);
+      return vector.slice();
+    }
+    if (remaining == 4 + dimension * (4 + elementSize)) {
+      ByteBuffer vector = ByteBuffer.allocate(dimension * elementSize);
+      int offset = position + 4;
+      for (int i = 0; i < dimension; i++) {
+        if (value.getInt(offset) != elementSize) {
+          return value;
+        }
+        ByteBuffer element = value.duplicate();
+        element.position(offset + 4).limit(offset + 4 + elementSize);
+        vector.put(element);
+        offset += 4 + elementSize;
       }
+      vector.flip();
+      return vector;
     }
-    return count;
+    return value;
   }
 
-  /**
-   * Format a ByteBuffer as a vector literal. This assumes the buffer contains a serialized vector
-   * of floats.
-   */
-  private static String formatVectorFromBuffer(ByteBuffer buffer) {
-    if (buffer == null || !buffer.hasRemaining()) {
-      return "[]";
+  private static class PreparedKey {
+    private final String query;
+    private final String keyspace;
+
+    PreparedKey(String query, String keyspace) {
+      this.query = query;
+      this.keyspace = keyspace;
     }
 
-    try {
-      buffer = buffer.duplicate(); // Don't modify the original
-
-      // Log the buffer details for debugging
-      int totalBytes = buffer.remaining();
-      logger.info("Vector buffer has {} bytes", totalBytes);
-
-      // Try different parsing strategies based on buffer size
-      // For a 3-element float vector:
-      // - Simple array: 12 bytes (3 * 4)
-      // - With 4-byte count prefix: 16 bytes (4 + 3 * 4)
-      // - With element size prefixes: 28 bytes (4 + 3 * (4 + 4))
-
-      if (totalBytes == 12) {
-        // Simple array of 3 floats
-        logger.info("Parsing as simple float array");
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < 3; i++) {
-          if (i > 0) sb.append(", ");
-          sb.append(buffer.getFloat());
-        }
-        sb.append("]");
-        return sb.toString();
-      } else if (totalBytes == 16) {
-        // 4-byte count + array
-        logger.info("Parsing with count prefix");
-        int count = buffer.getInt();
-        logger.info("Element count: {}", count);
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < count; i++) {
-          if (i > 0) sb.append(", ");
-          sb.append(buffer.getFloat());
-        }
-        sb.append("]");
-        return sb.toString();
-      } else if (totalBytes == 28) {
-        // Collection format with size prefixes
-        logger.info("Parsing as collection with size prefixes");
-        int count = buffer.getInt();
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < count; i++) {
-          if (i > 0) sb.append(", ");
-          int elementSize = buffer.getInt();
-          if (elementSize == 4) {
-            sb.append(buffer.getFloat());
-          } else {
-            logger.warn("Unexpected element size: {}", elementSize);
-            buffer.position(buffer.position() + elementSize);
-          }
-        }
-        sb.append("]");
-        return sb.toString();
+    @Override
+    public boolean equals(Object other) {
+      if (other == this) {
+        return true;
+      } else if (other instanceof PreparedKey) {
+        PreparedKey that = (PreparedKey) other;
+        return this.query.equals(that.query) && Objects.equals(this.keyspace, that.keyspace);
       } else {
-        logger.warn("Unexpected buffer size: {} bytes", totalBytes);
-        // Try to parse as simple array
-        int elementCount = totalBytes / 4;
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < elementCount; i++) {
-          if (i > 0) sb.append(", ");
-          sb.append(buffer.getFloat());
-        }
-        sb.append("]");
-        return sb.toString();
+        return false;
       }
+    }
 
-    } catch (Exception e) {
-      logger.error("Failed to parse vector from buffer", e);
-      return "[]";
+    @Override
+    public int hashCode() {
+      return Objects.hash(query, keyspace);
     }
   }
 }
@@ -0,0 +1,45 @@
+package io.stargate.db.cassandra.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+public class ExecutorMetricsTest {
+
+  @Test
+  public void recordsQueueWaitAndExecution() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ExecutorMetrics metrics = new ExecutorMetrics(registry, Tags.empty());
+
+    long start = metrics.onExecutionStart(System.nanoTime());
+    assertThat(metrics.active()).isEqualTo(1);
+    assertThat(registry.get(ExecutorMetrics.ACTIVE_METRIC).gauge().value()).isEqualTo(1d);
+
+    metrics.onExecutionEnd(ExecutorMetrics.Operation.BATCH, start);
+    assertThat(metrics.active()).isZero();
+
+    assertThat(registry.get(ExecutorMetrics.QUEUE_WAIT_METRIC).timer().count()).isEqualTo(1);
+    Timer batch =
+        registry
+            .get(ExecutorMetrics.EXECUTION_METRIC)
+            .tag(ExecutorMetrics.OPERATION_KEY, "batch")
+            .timer();
+    assertThat(batch.count()).isEqualTo(1);
+    Timer query =
+        registry
+            .get(ExecutorMetrics.EXECUTION_METRIC)
+            .tag(ExecutorMetrics.OPERATION_KEY, "query")
+            .timer();
+    assertThat(query.count()).isZero();
+  }
+
+  @Test
+  public void noopTracksActiveOnly() {
+    long start = ExecutorMetrics.NOOP.onExecutionStart(System.nanoTime());
+    ExecutorMetrics.NOOP.onExecutionEnd(ExecutorMetrics.Operation.QUERY, start);
+    assertThat(ExecutorMetrics.NOOP.active()).isZero();
+  }
+}
@@ -18,154 +18,149 @@ package io.stargate.db.cassandra.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.stargate.db.SimpleStatement;
-import io.stargate.db.Statement;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import org.apache.cassandra.cql3.ColumnIdentifier;
+import org.apache.cassandra.cql3.ColumnSpecification;
+import org.apache.cassandra.db.marshal.AbstractType;
+import org.apache.cassandra.db.marshal.FloatType;
+import org.apache.cassandra.db.marshal.Int32Type;
+import org.apache.cassandra.db.marshal.VectorType;
+import org.apache.cassandra.utils.MD5Digest;
 import org.junit.jupiter.api.Test;
 
 public class VectorQueryHandlerTest {
 
+  private static final VectorType<Float> VECTOR_TYPE =
+      VectorType.getInstance(FloatType.instance, 3);
+
   @Test
   public void testNonVectorQuery() {
-    String query = "SELECT * FROM products WHERE id = ?";
-    ByteBuffer value = ByteBuffer.allocate(4).putInt(1);
-    value.flip();
+    SimpleStatement stmt =
+        new SimpleStatement(
+            "SELECT * FROM products WHERE id = ?", Collections.singletonList(intValue(1)));
 
-    SimpleStatement stmt = new SimpleStatement(query, Collections.singletonList(value));
-    Statement result = VectorQueryHandler.processStatement(stmt);
+    assertThat(VectorQueryHandler.isParameterizedAnn(stmt)).isFalse();
+  }
 
-    assertThat(result).isSameAs(stmt);
+  @Test
+  public void testVectorQuery() {
+    SimpleStatement stmt =
+        new SimpleStatement(
+            "SELECT * FROM products ORDER BY embedding ANN OF ? LIMIT 3",
+            Collections.singletonList(packed(0.1f, 0.2f, 0.3f)));
+
+    assertThat(VectorQueryHandler.isParameterizedAnn(stmt)).isTrue();
   }
 
   @Test
-  public void testVectorQueryWithSimpleArray() {
-    String query = "SELECT * FROM products ORDER BY embedding ANN OF ? LIMIT 3";
+  public void testCaseInsensitiveMatching() {
+    SimpleStatement stmt =
+        new SimpleStatement(
+            "SELECT * FROM products order by embedding ann of ? LIMIT 3",
+            Collections.singletonList(packed(0.1f, 0.2f, 0.3f)));
 
-    // Create a simple array of 3 floats (12 bytes)
-    ByteBuffer vectorBuffer = ByteBuffer.allocate(12);
-    vectorBuffer.order(ByteOrder.BIG_ENDIAN);
-    vectorBuffer.putFloat(0.1f);
-    vectorBuffer.putFloat(0.2f);
-    vectorBuffer.putFloat(0.3f);
-    vectorBuffer.flip();
-
-    SimpleStatement stmt = new SimpleStatement(query, Collections.singletonList(vectorBuffer));
-    Statement result = VectorQueryHandler.processStatement(stmt);
-
-    assertThat(result).isInstanceOf(SimpleStatement.class);
-    SimpleStatement rewritten = (SimpleStatement) result;
-    assertThat(rewritten.queryString())
-        .isEqualTo("SELECT * FROM products ORDER BY embedding ANN OF [0.1, 0.2, 0.3] LIMIT 3");
-    assertThat(rewritten.values()).isEmpty();
+    assertThat(VectorQueryHandler.isParameterizedAnn(stmt)).isTrue();
   }
 
   @Test
-  public void testVectorQueryWithCountPrefix() {
-    String query = "SELECT * FROM products ORDER BY embedding ANN OF ? LIMIT 3";
+  public void testVectorQueryWithoutValues() {
+    SimpleStatement stmt =
+        new SimpleStatement("SELECT * FROM products ORDER BY embedding ANN OF [0.1, 0.2] LIMIT 3");
 
-    // Create array with 4-byte count prefix (16 bytes total)
-    ByteBuffer vectorBuffer = ByteBuffer.allocate(16);
-    vectorBuffer.order(ByteOrder.BIG_ENDIAN);
-    vectorBuffer.putInt(3); // count
-    vectorBuffer.putFloat(0.4f);
-    vectorBuffer.putFloat(0.5f);
-    vectorBuffer.putFloat(0.6f);
-    vectorBuffer.flip();
-
-    SimpleStatement stmt = new SimpleStatement(query, Collections.singletonList(vectorBuffer));
-    Statement result = VectorQueryHandler.processStatement(stmt);
-
-    assertThat(result).isInstanceOf(SimpleStatement.class);
-    SimpleStatement rewritten = (SimpleStatement) result;
-    assertThat(rewritten.queryString())
-        .isEqualTo("SELECT * FROM products ORDER BY embedding ANN OF [0.4, 0.5, 0.6] LIMIT 3");
+    assertThat(VectorQueryHandler.isParameterizedAnn(stmt)).isFalse();
   }
 
   @Test
-  public void testVectorQueryWithCollectionFormat() {
-    String query = "SELECT * FROM products ORDER BY embedding ANN OF ? LIMIT 3";
+  public void testPackedVectorIsBoundAsIs() {
+    ByteBuffer vector = packed(0.1f, 0.2f, 0.3f);
 
-    // Create collection format with size prefixes (28 bytes total)
-    ByteBuffer vectorBuffer = ByteBuffer.allocate(28);
-    vectorBuffer.order(ByteOrder.BIG_ENDIAN);
-    vectorBuffer.putInt(3); // count
-    vectorBuffer.putInt(4); // size of first element
-    vectorBuffer.putFloat(0.7f);
-    vectorBuffer.putInt(4); // size of second element
-    vectorBuffer.putFloat(0.8f);
-    vectorBuffer.putInt(4); // size of third element
-    vectorBuffer.putFloat(0.9f);
-    vectorBuffer.flip();
-
-    SimpleStatement stmt = new SimpleStatement(query, Collections.singletonList(vectorBuffer));
-    Statement result = VectorQueryHandler.processStatement(stmt);
-
-    assertThat(result).isInstanceOf(SimpleStatement.class);
-    SimpleStatement rewritten = (SimpleStatement) result;
-    assertThat(rewritten.queryString())
-        .isEqualTo("SELECT * FROM products ORDER BY embedding ANN OF [0.7, 0.8, 0.9] LIMIT 3");
+    assertThat(VectorQueryHandler.toVectorValue(vector, VECTOR_TYPE)).isSameAs(vector);
   }
 
   @Test
-  public void testMultipleParametersBeforeVector() {
-    String query =
-        "SELECT * FROM products WHERE category = ? AND price > ? ORDER BY embedding ANN OF ? LIMIT 3";
+  public void testVectorWithCountPrefix() {
+    ByteBuffer vector = ByteBuffer.allocate(16);
+    vector.putInt(3).putFloat(0.4f).putFloat(0.5f).putFloat(0.6f).flip();
 
-    ByteBuffer categoryBuffer = ByteBuffer.wrap("electronics".getBytes());
-    ByteBuffer priceBuffer = ByteBuffer.allocate(8).putDouble(100.0);
-    priceBuffer.flip();
+    assertThat(VectorQueryHandler.toVectorValue(vector, VECTOR_TYPE))
+        .isEqualTo(packed(0.4f, 0.5f, 0.6f));
+  }
 
-    ByteBuffer vectorBuffer = ByteBuffer.allocate(12);
-    vectorBuffer.order(ByteOrder.BIG_ENDIAN);
-    vectorBuffer.putFloat(0.1f);
-    vectorBuffer.putFloat(0.2f);
-    vectorBuffer.putFloat(0.3f);
-    vectorBuffer.flip();
+  @Test
+  public void testVectorWithListFormat() {
+    ByteBuffer vector = ByteBuffer.allocate(28);
+    vector.putInt(3);
+    vector.putInt(4).putFloat(0.7f);
+    vector.putInt(4).putFloat(0.8f);
+    vector.putInt(4).putFloat(0.9f);
+    vector.flip();
+
+    assertThat(VectorQueryHandler.toVectorValue(vector, VECTOR_TYPE))
+        .isEqualTo(packed(0.7f, 0.8f, 0.9f));
+  }
 
-    SimpleStatement stmt =
-        new SimpleStatement(query, Arrays.asList(categoryBuffer, priceBuffer, vectorBuffer));
-    Statement result = VectorQueryHandler.processStatement(stmt);
-
-    assertThat(result).isInstanceOf(SimpleStatement.class);
-    SimpleStatement rewritten = (SimpleStatement) result;
-    assertThat(rewritten.queryString())
-        .isEqualTo(
-            "SELECT * FROM products WHERE category = ? AND price > ? ORDER BY embedding ANN OF [0.1, 0.2, 0.3] LIMIT 3");
+  @Test
+  public void testMultipleParametersBeforeVector() {
+    ByteBuffer category = ByteBuffer.wrap("electronics".getBytes());
+    ByteBuffer price = intValue(100);
+    ByteBuffer vector = ByteBuffer.allocate(16);
+    vector.putInt(3).putFloat(0.1f).putFloat(0.2f).putFloat(0.3f).flip();
+    List<ColumnSpecification> variables =
+        Arrays.asList(
+            variable("category", Int32Type.instance),
+            variable("price", Int32Type.instance),
+            variable("embedding", VECTOR_TYPE));
+
+    List<ByteBuffer> bound =
+        VectorQueryHandler.bindVectorValues(Arrays.asList(category, price, vector), variables);
+
+    assertThat(bound).containsExactly(category, price, packed(0.1f, 0.2f, 0.3f));
   }
 
   @Test
-  public void testCaseInsensitiveMatching() {
-    String query = "SELECT * FROM products order by embedding ann of ? LIMIT 3";
-
-    ByteBuffer vectorBuffer = ByteBuffer.allocate(12);
-    vectorBuffer.order(ByteOrder.BIG_ENDIAN);
-    vectorBuffer.putFloat(0.1f);
-    vectorBuffer.putFloat(0.2f);
-    vectorBuffer.putFloat(0.3f);
-    vectorBuffer.flip();
-
-    SimpleStatement stmt = new SimpleStatement(query, Collections.singletonList(vectorBuffer));
-    Statement result = VectorQueryHandler.processStatement(stmt);
-
-    assertThat(result).isInstanceOf(SimpleStatement.class);
-    SimpleStatement rewritten = (SimpleStatement) result;
-    assertThat(rewritten.queryString())
-        .isEqualTo("SELECT * FROM products ORDER BY embedding ANN OF [0.1, 0.2, 0.3] LIMIT 3");
+  public void testValuesUnchangedWhenNoConversion() {
+    List<ByteBuffer> values = Collections.singletonList(packed(0.1f, 0.2f, 0.3f));
+
+    assertThat(
+            VectorQueryHandler.bindVectorValues(
+                values, Collections.singletonList(variable("embedding", VECTOR_TYPE))))
+        .isSameAs(values);
   }
 
   @Test
-  public void testEmptyVector() {
+  public void testOnePreparedIdPerQueryAndKeyspace() {
+    VectorQueryHandler handler = new VectorQueryHandler(10);
     String query = "SELECT * FROM products ORDER BY embedding ANN OF ? LIMIT 3";
+    MD5Digest id = MD5Digest.compute(query);
 
-    ByteBuffer vectorBuffer = ByteBuffer.allocate(0);
-    SimpleStatement stmt = new SimpleStatement(query, Collections.singletonList(vectorBuffer));
-    Statement result = VectorQueryHandler.processStatement(stmt);
+    handler.rememberPreparedId(query, "ks", id);
+    // Executing with other vectors does not add anything, the query string is the same
+    handler.rememberPreparedId(query, "ks", id);
+
+    assertThat(handler.preparedId(query, "ks")).isEqualTo(id);
+    assertThat(handler.preparedId(query, "other_ks")).isNull();
+    assertThat(handler.preparedIdCount()).isEqualTo(1);
+  }
+
+  private static ByteBuffer packed(float... elements) {
+    ByteBuffer buffer = ByteBuffer.allocate(elements.length * 4);
+    for (float element : elements) {
+      buffer.putFloat(element);
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  private static ByteBuffer intValue(int value) {
+    ByteBuffer buffer = ByteBuffer.allocate(4).putInt(value);
+    buffer.flip();
+    return buffer;
+  }
 
-    assertThat(result).isInstanceOf(SimpleStatement.class);
-    SimpleStatement rewritten = (SimpleStatement) result;
-    assertThat(rewritten.queryString())
-        .isEqualTo("SELECT * FROM products ORDER BY embedding ANN OF [] LIMIT 3");
+  private static ColumnSpecification variable(String name, AbstractType<?> type) {
+    return new ColumnSpecification("ks", "products", new ColumnIdentifier(name, true), type);
   }
 }
@@ -41,6 +41,11 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
   // listener callback.
   private volatile Schema schema;
 
+  // The result of the last conversion of the internal schema, kept so that the next schema change
+  // only has to convert the keyspaces and tables that actually changed. Guarded by 'this'.
+  private AbstractCassandraSchemaConverter.ConvertedSchema<K, T, V> convertedSchema =
+      AbstractCassandraSchemaConverter.ConvertedSchema.empty();
+
   protected AbstractCassandraPersistence(String name) {
     this.name = name;
     this.schemaConverter = newSchemaConverter();
@@ -49,7 +54,12 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
   /** Creates a new, stateless, converter for the schema of the concrete persistence layer. */
   protected abstract AbstractCassandraSchemaConverter<K, T, C, U, I, V> newSchemaConverter();
 
-  /** The current schema of the concrete persistence layer. */
+  /**
+   * The current schema of the concrete persistence layer.
+   *
+   * <p>The schema is converted incrementally on changes, so implementations should return the same
+   * (immutable) internal keyspace and table objects as long as they do not change.
+   */
   protected abstract Iterable<K> currentInternalSchema();
 
   /**
@@ -105,12 +115,14 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
 
     initializePersistence(config);
 
-    schema = computeCurrentSchema();
-    registerInternalSchemaListener(() -> schema = computeCurrentSchema());
+    refreshSchema();
+    registerInternalSchemaListener(this::refreshSchema);
   }
 
-  private Schema computeCurrentSchema() {
-    return schemaConverter.convertCassandraSchema(currentInternalSchema());
+  private synchronized void refreshSchema() {
+    convertedSchema =
+        schemaConverter.convertCassandraSchema(currentInternalSchema(), convertedSchema);
+    schema = convertedSchema.schema();
   }
 
   public final void destroy() {
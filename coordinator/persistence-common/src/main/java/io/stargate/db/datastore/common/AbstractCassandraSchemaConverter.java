@@ -1,6 +1,7 @@
 package io.stargate.db.datastore.common;
 
 import com.datastax.oss.driver.shaded.guava.common.collect.Iterables;
+import com.datastax.oss.driver.shaded.guava.common.collect.Lists;
 import io.stargate.db.schema.CollectionIndexingType;
 import io.stargate.db.schema.Column;
 import io.stargate.db.schema.ImmutableCollectionIndexingType;
@@ -13,6 +14,10 @@ import io.stargate.db.schema.Schema;
 import io.stargate.db.schema.SecondaryIndex;
 import io.stargate.db.schema.Table;
 import io.stargate.db.schema.UserDefinedType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -123,19 +128,75 @@ public abstract class AbstractCassandraSchemaConverter<K, T, C, U, I, V> {
   protected abstract boolean isBaseTableOf(T table, V view);
 
   public Schema convertCassandraSchema(Iterable<K> cassandraKeyspaces) {
-    return Schema.create(Iterables.transform(cassandraKeyspaces, this::convertKeyspace));
+    return convertCassandraSchema(cassandraKeyspaces, ConvertedSchema.empty()).schema();
   }
 
-  private Keyspace convertKeyspace(K keyspace) {
-    String name = keyspaceName(keyspace);
-    Stream<Table> tables = convertTables(name, tables(keyspace), views(keyspace));
+  /**
+   * Converts the provided internal keyspaces, reusing the Stargate objects of a previous conversion
+   * for everything that did not change since then.
+   *
+   * <p>This relies on the internal schema objects being immutable: a keyspace (or table) that did
+   * not change is expected to be the very same instance as in the previous version of the schema.
+   * Anything that is not found in {@code previous} is converted from scratch, so this is always
+   * correct, but only cheap if that assumption holds.
+   *
+   * @param cassandraKeyspaces the current internal keyspaces.
+   * @param previous the result of the previous conversion, or {@link ConvertedSchema#empty()}.
+   */
+  public ConvertedSchema<K, T, V> convertCassandraSchema(
+      Iterable<K> cassandraKeyspaces, ConvertedSchema<K, T, V> previous) {
+    Map<String, ConvertedKeyspace<K, T, V>> keyspaces = new LinkedHashMap<>();
+    for (K keyspace : cassandraKeyspaces) {
+      String name = keyspaceName(keyspace);
+      ConvertedKeyspace<K, T, V> converted = previous.keyspaces.get(name);
+      if (converted == null || converted.internal != keyspace) {
+        converted = convertKeyspace(name, keyspace, converted);
+      }
+      keyspaces.put(name, converted);
+    }
+    return new ConvertedSchema<>(keyspaces);
+  }
+
+  private ConvertedKeyspace<K, T, V> convertKeyspace(
+      String name, K keyspace, ConvertedKeyspace<K, T, V> previous) {
+    List<V> views = Lists.newArrayList(views(keyspace));
+    // Tables list the MVs they are the base of, so they can only be reused if the MVs didn't change
+    Map<T, Table> reusableTables =
+        previous != null && sameInstances(previous.views, views)
+            ? previous.tables
+            : Collections.emptyMap();
+
+    Map<T, Table> tables = new IdentityHashMap<>();
+    List<Table> convertedTables = new ArrayList<>();
+    for (T table : tables(keyspace)) {
+      Table converted = reusableTables.get(table);
+      if (converted == null) {
+        converted = convertTable(name, table, views);
+      }
+      tables.put(table, converted);
+      convertedTables.add(converted);
+    }
     Stream<UserDefinedType> userDefinedTypes = convertUserTypes(name, userTypes(keyspace));
-    return Keyspace.create(
-        name,
-        tables.collect(Collectors.toList()),
-        userDefinedTypes.collect(Collectors.toList()),
-        replicationOptions(keyspace),
-        Optional.of(usesDurableWrites(keyspace)));
+    Keyspace converted =
+        Keyspace.create(
+            name,
+            convertedTables,
+            userDefinedTypes.collect(Collectors.toList()),
+            replicationOptions(keyspace),
+            Optional.of(usesDurableWrites(keyspace)));
+    return new ConvertedKeyspace<>(keyspace, converted, views, tables);
+  }
+
+  private static boolean sameInstances(List<?> list1, List<?> list2) {
+    if (list1.size() != list2.size()) {
+      return false;
+    }
+    for (int i = 0; i < list1.size(); i++) {
+      if (list1.get(i) != list2.get(i)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   // We pass the MVs because in Stargate metadata, each table lists the MVs for which it is a base
@@ -282,4 +343,46 @@ public abstract class AbstractCassandraSchemaConverter<K, T, C, U, I, V> {
         .columns(userTypeFields(userType))
         .build();
   }
+
+  /**
+   * The result of a schema conversion, retaining what {@link #convertCassandraSchema(Iterable,
+   * ConvertedSchema)} needs to only convert what changed the next time.
+   */
+  public static class ConvertedSchema<K, T, V> {
+    private static final ConvertedSchema<?, ?, ?> EMPTY =
+        new ConvertedSchema<>(Collections.emptyMap());
+
+    private final Map<String, ConvertedKeyspace<K, T, V>> keyspaces;
+    private final Schema schema;
+
+    private ConvertedSchema(Map<String, ConvertedKeyspace<K, T, V>> keyspaces) {
+      this.keyspaces = keyspaces;
+      this.schema = Schema.create(Iterables.transform(keyspaces.values(), k -> k.converted));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, T, V> ConvertedSchema<K, T, V> empty() {
+      return (ConvertedSchema<K, T, V>) EMPTY;
+    }
+
+    /** The converted Stargate schema. */
+    public Schema schema() {
+      return schema;
+    }
+  }
+
+  private static class ConvertedKeyspace<K, T, V> {
+    private final K internal;
+    private final Keyspace converted;
+    private final List<V> views;
+    // Keyed by identity, as this is only used to find the tables that are unchanged.
+    private final Map<T, Table> tables;
+
+    private ConvertedKeyspace(K internal, Keyspace converted, List<V> views, Map<T, Table> tables) {
+      this.internal = internal;
+      this.converted = converted;
+      this.views = views;
+      this.tables = tables;
+    }
+  }
 }
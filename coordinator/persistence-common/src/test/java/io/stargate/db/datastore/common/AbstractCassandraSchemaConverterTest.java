@@ -0,0 +1,257 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.datastore.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.stargate.db.datastore.common.AbstractCassandraSchemaConverter.ConvertedSchema;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Keyspace;
+import io.stargate.db.schema.Schema;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class AbstractCassandraSchemaConverterTest {
+
+  private final TestConverter converter = new TestConverter();
+
+  @Test
+  public void shouldReuseUnchangedKeyspaces() {
+    TestKeyspace ks1 = new TestKeyspace("ks1", new TestTable("t1"));
+    TestKeyspace ks2 = new TestKeyspace("ks2", new TestTable("t1"));
+    ConvertedSchema<TestKeyspace, TestTable, TestTable> first =
+        converter.convertCassandraSchema(Arrays.asList(ks1, ks2), ConvertedSchema.empty());
+
+    TestKeyspace newKs2 = new TestKeyspace("ks2", new TestTable("t1"), new TestTable("t2"));
+    ConvertedSchema<TestKeyspace, TestTable, TestTable> second =
+        converter.convertCassandraSchema(Arrays.asList(ks1, newKs2), first);
+
+    Schema schema = second.schema();
+    assertThat(schema.keyspace("ks1")).isSameAs(first.schema().keyspace("ks1"));
+    assertThat(schema.keyspace("ks2")).isNotSameAs(first.schema().keyspace("ks2"));
+    assertThat(schema.keyspace("ks2").tables()).hasSize(2);
+    assertThat(schema).isEqualTo(converter.convertCassandraSchema(Arrays.asList(ks1, newKs2)));
+  }
+
+  @Test
+  public void shouldReuseUnchangedTables() {
+    TestTable t1 = new TestTable("t1");
+    TestKeyspace ks = new TestKeyspace("ks", t1);
+    ConvertedSchema<TestKeyspace, TestTable, TestTable> first =
+        converter.convertCassandraSchema(Collections.singletonList(ks), ConvertedSchema.empty());
+
+    TestKeyspace newKs = new TestKeyspace("ks", t1, new TestTable("t2"));
+    ConvertedSchema<TestKeyspace, TestTable, TestTable> second =
+        converter.convertCassandraSchema(Collections.singletonList(newKs), first);
+
+    Keyspace keyspace = second.schema().keyspace("ks");
+    assertThat(keyspace.table("t1")).isSameAs(first.schema().keyspace("ks").table("t1"));
+    assertThat(keyspace.table("t2")).isNotNull();
+  }
+
+  @Test
+  public void shouldNotReuseTablesWhenViewsChanged() {
+    TestTable t1 = new TestTable("t1");
+    TestKeyspace ks = new TestKeyspace("ks", t1);
+    ConvertedSchema<TestKeyspace, TestTable, TestTable> first =
+        converter.convertCassandraSchema(Collections.singletonList(ks), ConvertedSchema.empty());
+
+    TestTable mv = new TestTable("mv", t1);
+    TestKeyspace newKs =
+        new TestKeyspace("ks", Collections.singletonList(t1), Collections.singletonList(mv));
+    ConvertedSchema<TestKeyspace, TestTable, TestTable> second =
+        converter.convertCassandraSchema(Collections.singletonList(newKs), first);
+
+    assertThat(second.schema().keyspace("ks").table("t1").index("mv")).isNotNull();
+  }
+
+  @Test
+  public void shouldDropRemovedKeyspaces() {
+    TestKeyspace ks1 = new TestKeyspace("ks1", new TestTable("t1"));
+    TestKeyspace ks2 = new TestKeyspace("ks2", new TestTable("t1"));
+    ConvertedSchema<TestKeyspace, TestTable, TestTable> first =
+        converter.convertCassandraSchema(Arrays.asList(ks1, ks2), ConvertedSchema.empty());
+
+    ConvertedSchema<TestKeyspace, TestTable, TestTable> second =
+        converter.convertCassandraSchema(Collections.singletonList(ks1), first);
+
+    assertThat(second.schema().keyspaceNames()).containsExactly("ks1");
+  }
+
+  static class TestKeyspace {
+    final String name;
+    final List<TestTable> tables;
+    final List<TestTable> views;
+
+    TestKeyspace(String name, TestTable... tables) {
+      this(name, Arrays.asList(tables), Collections.emptyList());
+    }
+
+    TestKeyspace(String name, List<TestTable> tables, List<TestTable> views) {
+      this.name = name;
+      this.tables = tables;
+      this.views = views;
+    }
+  }
+
+  static class TestTable {
+    final String name;
+    final TestTable baseTable;
+
+    TestTable(String name) {
+      this(name, null);
+    }
+
+    TestTable(String name, TestTable baseTable) {
+      this.name = name;
+      this.baseTable = baseTable;
+    }
+  }
+
+  static class TestConverter
+      extends AbstractCassandraSchemaConverter<
+          TestKeyspace, TestTable, String, Object, Object, TestTable> {
+
+    @Override
+    protected Set<String> getExcludedIndexOptions() {
+      return Collections.emptySet();
+    }
+
+    @Override
+    protected String keyspaceName(TestKeyspace keyspace) {
+      return keyspace.name;
+    }
+
+    @Override
+    protected Map<String, String> replicationOptions(TestKeyspace keyspace) {
+      return Collections.singletonMap("class", "SimpleStrategy");
+    }
+
+    @Override
+    protected boolean usesDurableWrites(TestKeyspace keyspace) {
+      return true;
+    }
+
+    @Override
+    protected Iterable<TestTable> tables(TestKeyspace keyspace) {
+      return keyspace.tables;
+    }
+
+    @Override
+    protected Iterable<Object> userTypes(TestKeyspace keyspace) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected Iterable<TestTable> views(TestKeyspace keyspace) {
+      return keyspace.views;
+    }
+
+    @Override
+    protected String tableName(TestTable table) {
+      return table.name;
+    }
+
+    @Override
+    protected Iterable<String> columns(TestTable table) {
+      return Arrays.asList("k", "v");
+    }
+
+    @Override
+    protected String columnName(String column) {
+      return column;
+    }
+
+    @Override
+    protected Column.ColumnType columnType(String column) {
+      return Column.Type.Text;
+    }
+
+    @Override
+    protected Column.Order columnClusteringOrder(String column) {
+      return null;
+    }
+
+    @Override
+    protected Column.Kind columnKind(String column) {
+      return column.equals("k") ? Column.Kind.PartitionKey : Column.Kind.Regular;
+    }
+
+    @Override
+    protected Iterable<Object> secondaryIndexes(TestTable table) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected String comment(TestTable table) {
+      return "";
+    }
+
+    @Override
+    protected int ttl(TestTable table) {
+      return 0;
+    }
+
+    @Override
+    protected String indexName(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String indexTarget(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected boolean isCustom(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String indexClass(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected Map<String, String> indexOptions(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected List<Column> userTypeFields(Object userType) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String userTypeName(Object userType) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected TestTable asTable(TestTable view) {
+      return view;
+    }
+
+    @Override
+    protected boolean isBaseTableOf(TestTable table, TestTable view) {
+      return view.baseTable == table;
+    }
+  }
+}
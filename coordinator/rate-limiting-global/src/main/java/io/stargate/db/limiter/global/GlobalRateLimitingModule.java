@@ -19,7 +19,9 @@ import io.stargate.core.services.BaseService;
 import io.stargate.db.PersistenceConstants;
 import io.stargate.db.limiter.RateLimitingManager;
 import io.stargate.db.limiter.global.impl.GlobalRateLimitingManager;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +46,11 @@ public class GlobalRateLimitingModule extends BaseService {
     super("global-rate-limiting");
   }
 
+  @Override
+  protected List<Class<?>> providedServices() {
+    return Collections.singletonList(RateLimitingManager.class);
+  }
+
   @Override
   protected void createServices() throws Exception {
     // If rate limiting is not enabled (or at least not configured to use this rate limiting
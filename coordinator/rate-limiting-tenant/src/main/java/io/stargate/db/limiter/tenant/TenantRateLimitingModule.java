@@ -0,0 +1,132 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.limiter.tenant;
+
+import io.stargate.config.store.api.ConfigStore;
+import io.stargate.config.store.api.ConfigWithOverrides;
+import io.stargate.config.store.api.MissingModuleSettingsException;
+import io.stargate.core.services.BaseService;
+import io.stargate.core.services.ServiceDependency;
+import io.stargate.db.PersistenceConstants;
+import io.stargate.db.limiter.RateLimitingManager;
+import io.stargate.db.limiter.tenant.impl.RateLimits;
+import io.stargate.db.limiter.tenant.impl.TenantRateLimitingManager;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A module for the {@link TenantRateLimitingManager} rate limiting service.
+ *
+ * <p>For this service to activate, the {@link #IDENTIFIER} value needs to be passed to the {@link
+ * PersistenceConstants#RATE_LIMITING_ID_PROPERTY} system property.
+ *
+ * <p>The limits are read from the {@link #MODULE_NAME} module of the {@link ConfigStore} (see
+ * {@link RateLimits} for the settings), and re-read periodically so that they can be changed
+ * without a restart. If no config store is available, the limits can only be set through system
+ * properties.
+ */
+public class TenantRateLimitingModule extends BaseService {
+  private static final Logger logger = LoggerFactory.getLogger(TenantRateLimitingModule.class);
+
+  public static final String IDENTIFIER = "TenantRateLimiting";
+  public static final String MODULE_NAME = "tenant_rate_limiting";
+  private static final boolean IS_ENABLED =
+      IDENTIFIER.equalsIgnoreCase(
+          System.getProperty(PersistenceConstants.RATE_LIMITING_ID_PROPERTY));
+
+  private static final int DELAYED_TASKS_EXECUTOR_THREADS =
+      Integer.getInteger("stargate.limiter.tenant.threads", 4);
+  private static final long REFRESH_SECONDS =
+      Long.getLong("stargate.limiter.tenant.refresh_seconds", 30);
+
+  private ScheduledExecutorService executor;
+  private TenantRateLimitingManager manager;
+
+  public TenantRateLimitingModule() {
+    super("tenant-rate-limiting");
+  }
+
+  @Override
+  protected List<ServiceDependency<?>> dependencies() {
+    return Collections.singletonList(ServiceDependency.optional(ConfigStore.class));
+  }
+
+  @Override
+  protected List<Class<?>> providedServices() {
+    return Collections.singletonList(RateLimitingManager.class);
+  }
+
+  @Override
+  protected void createServices() throws Exception {
+    if (!IS_ENABLED) {
+      logger.info("Tenant rate limiting is not enabled");
+      return;
+    }
+
+    ConfigStore configStore = getOptionalService(ConfigStore.class);
+
+    logger.info("Creating TenantRateLimitingManager");
+    executor = Executors.newScheduledThreadPool(DELAYED_TASKS_EXECUTOR_THREADS);
+    manager = new TenantRateLimitingManager(executor, RateLimits.from(readConfig(configStore)));
+    if (REFRESH_SECONDS > 0) {
+      executor.scheduleWithFixedDelay(
+          () -> refresh(configStore), REFRESH_SECONDS, REFRESH_SECONDS, TimeUnit.SECONDS);
+    }
+
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("Identifier", IDENTIFIER);
+
+    register(RateLimitingManager.class, manager, properties);
+    logger.info("Registered TenantRateLimitingManager with {}", manager.description());
+  }
+
+  private static ConfigWithOverrides readConfig(ConfigStore configStore) {
+    if (configStore != null) {
+      try {
+        return configStore.getConfigForModule(MODULE_NAME);
+      } catch (MissingModuleSettingsException e) {
+        logger.debug("No '{}' settings in the config store, using defaults", MODULE_NAME);
+      }
+    }
+    return new ConfigWithOverrides(Collections.emptyMap(), MODULE_NAME);
+  }
+
+  private void refresh(ConfigStore configStore) {
+    try {
+      manager.updateLimits(RateLimits.from(readConfig(configStore)));
+    } catch (Exception e) {
+      // Keep enforcing the previous limits rather than dropping them on a bad edit
+      logger.warn("Failed to reload tenant rate limits, keeping the current ones", e);
+    }
+  }
+
+  @Override
+  protected void stopServices() throws Exception {
+    if (manager != null) {
+      logger.info("Stopping TenantRateLimitingManager");
+      executor.shutdownNow();
+      executor = null;
+      manager = null;
+    }
+  }
+}
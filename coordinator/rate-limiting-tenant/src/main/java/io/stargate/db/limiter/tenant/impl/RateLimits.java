@@ -0,0 +1,164 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.limiter.tenant.impl;
+
+import io.stargate.config.store.api.ConfigWithOverrides;
+import io.stargate.db.schema.TableName;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of the limits enforced by the {@link TenantRateLimitingManager}.
+ *
+ * <p>Rates are in queries per second, and a rate of 0 (or less) means "unlimited". The settings
+ * are:
+ *
+ * <ul>
+ *   <li>{@code tenant_rate_qps}: the default rate for each tenant.
+ *   <li>{@code user_rate_qps}: the default rate for each user.
+ *   <li>{@code tenants}: a map of tenant ids to the rate of that tenant, overriding the default.
+ *   <li>{@code users}: a map of user names to the rate of that user, overriding the default.
+ *   <li>{@code table_weights}: a map of {@code keyspace.table} to the number of permits each
+ *       statement on that table costs (1 by default).
+ *   <li>{@code excluded_keyspaces}: the keyspaces whose statements are never rate limited (the
+ *       system keyspaces by default).
+ *   <li>{@code tenant_property}: the connection property (for the bridge, the request header) that
+ *       holds the tenant id ({@code x-tenant-id} by default).
+ * </ul>
+ */
+public class RateLimits {
+
+  static final String TENANT_RATE = "tenant_rate_qps";
+  static final String USER_RATE = "user_rate_qps";
+  static final String TENANTS = "tenants";
+  static final String USERS = "users";
+  static final String TABLE_WEIGHTS = "table_weights";
+  static final String EXCLUDED_KEYSPACES = "excluded_keyspaces";
+  static final String TENANT_PROPERTY = "tenant_property";
+
+  static final String DEFAULT_TENANT_PROPERTY = "x-tenant-id";
+  static final List<String> DEFAULT_EXCLUDED_KEYSPACES =
+      Arrays.asList(
+          "system", "system_schema", "system_auth", "system_distributed", "system_traces");
+
+  private final long tenantRate;
+  private final long userRate;
+  private final Map<String, Long> tenantRates;
+  private final Map<String, Long> userRates;
+  private final Map<String, Long> tableWeights;
+  private final Set<String> excludedKeyspaces;
+  private final String tenantProperty;
+
+  RateLimits(
+      long tenantRate,
+      long userRate,
+      Map<String, Long> tenantRates,
+      Map<String, Long> userRates,
+      Map<String, Long> tableWeights,
+      Set<String> excludedKeyspaces,
+      String tenantProperty) {
+    this.tenantRate = tenantRate;
+    this.userRate = userRate;
+    this.tenantRates = tenantRates;
+    this.userRates = userRates;
+    this.tableWeights = tableWeights;
+    this.excludedKeyspaces = excludedKeyspaces;
+    this.tenantProperty = tenantProperty;
+  }
+
+  /**
+   * Reads the limits from the provided config. The scalar settings can be overridden with system
+   * properties, see {@link ConfigWithOverrides#getWithOverrides(String)}.
+   *
+   * @throws IllegalArgumentException if any setting is invalid.
+   */
+  public static RateLimits from(ConfigWithOverrides config) {
+    String tenantProperty = config.getWithOverrides(TENANT_PROPERTY);
+    List<String> excluded =
+        config.getConfigMap().containsKey(EXCLUDED_KEYSPACES)
+            ? config.getSettingValueList(EXCLUDED_KEYSPACES, String.class)
+            : DEFAULT_EXCLUDED_KEYSPACES;
+    return new RateLimits(
+        parseLong(TENANT_RATE, config.getWithOverrides(TENANT_RATE)),
+        parseLong(USER_RATE, config.getWithOverrides(USER_RATE)),
+        longMap(config, TENANTS),
+        longMap(config, USERS),
+        longMap(config, TABLE_WEIGHTS),
+        Collections.unmodifiableSet(new HashSet<>(excluded)),
+        tenantProperty == null ? DEFAULT_TENANT_PROPERTY : tenantProperty);
+  }
+
+  private static long parseLong(String settingName, String value) {
+    if (value == null || value.isEmpty()) {
+      return 0;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid value for setting '%s': expected a number, but got %s",
+              settingName, value));
+    }
+  }
+
+  private static Map<String, Long> longMap(ConfigWithOverrides config, String settingName) {
+    Map<?, ?> raw = config.getOptionalSettingValue(settingName, Map.class).orElse(null);
+    if (raw == null) {
+      return Collections.emptyMap();
+    }
+    Map<String, Long> result = new HashMap<>();
+    for (Map.Entry<?, ?> entry : raw.entrySet()) {
+      String key = String.valueOf(entry.getKey());
+      result.put(key, parseLong(settingName + "." + key, String.valueOf(entry.getValue())));
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  /** The rate of the given tenant, 0 if it is unlimited. */
+  public long tenantRate(String tenant) {
+    return tenantRates.getOrDefault(tenant, tenantRate);
+  }
+
+  /** The rate of the given user, 0 if it is unlimited. */
+  public long userRate(String user) {
+    return userRates.getOrDefault(user, userRate);
+  }
+
+  /** The number of permits a statement on the given table costs, 0 if it is not rate limited. */
+  public long weight(TableName table) {
+    if (excludedKeyspaces.contains(table.keyspace())) {
+      return 0;
+    }
+    return tableWeights.getOrDefault(table.keyspace() + "." + table.name(), 1L);
+  }
+
+  public String tenantProperty() {
+    return tenantProperty;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%d queries/seconds per tenant (%d overrides), %d queries/seconds per user (%d overrides)",
+        tenantRate, tenantRates.size(), userRate, userRates.size());
+  }
+}
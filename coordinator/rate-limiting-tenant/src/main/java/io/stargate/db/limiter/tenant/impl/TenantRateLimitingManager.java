@@ -0,0 +1,238 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.limiter.tenant.impl;
+
+import static java.lang.String.format;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.stargate.db.AuthenticatedUser;
+import io.stargate.db.Batch;
+import io.stargate.db.BoundStatement;
+import io.stargate.db.ClientInfo;
+import io.stargate.db.Parameters;
+import io.stargate.db.Result;
+import io.stargate.db.Statement;
+import io.stargate.db.limiter.AsyncRateLimiter;
+import io.stargate.db.limiter.RateLimitingDecision;
+import io.stargate.db.limiter.RateLimitingManager;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.ImmutableTableName;
+import io.stargate.db.schema.TableName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+
+/**
+ * A rate limiting manager that enforces a rate per tenant and a rate per user, with both rates
+ * reconfigurable at runtime through {@link #updateLimits}.
+ *
+ * <p>The user is the one logged on the connection, and the tenant is read from the connection
+ * custom properties (for the bridge, a request header), see {@link RateLimits#tenantProperty()}.
+ * A query is only executed once it acquired permits from both the limiter of its user and the one
+ * of its tenant (when those are limited).
+ *
+ * <p>Executions of prepared statements are weighted by table: the table of a statement is recorded
+ * when it is prepared, so that executions can be charged the {@link RateLimits#weight weight} of
+ * that table (and so that statements on excluded keyspaces are not limited at all). Simple
+ * statements can't be reliably attributed to a table without parsing them, so they always cost 1
+ * permit.
+ *
+ * <p>Limiters are created lazily and evicted when unused, so the number of tenants and users does
+ * not need to be known in advance.
+ */
+public class TenantRateLimitingManager implements RateLimitingManager {
+
+  private static final int MAX_LIMITERS =
+      Integer.getInteger("stargate.limiter.tenant.max_limiters", 100_000);
+  private static final int MAX_PREPARED =
+      Integer.getInteger("stargate.limiter.tenant.max_prepared", 10_000);
+  private static final long LIMITER_EXPIRY_MINUTES =
+      Long.getLong("stargate.limiter.tenant.limiter_expiry_minutes", 10);
+
+  private final ScheduledExecutorService executor;
+  private final Cache<String, AsyncRateLimiter> tenantLimiters;
+  private final Cache<String, AsyncRateLimiter> userLimiters;
+  private final Cache<MD5Digest, TableName> preparedTables;
+
+  private volatile RateLimits limits;
+
+  public TenantRateLimitingManager(ScheduledExecutorService executor, RateLimits limits) {
+    this.executor = executor;
+    this.limits = limits;
+    this.tenantLimiters = newLimiterCache();
+    this.userLimiters = newLimiterCache();
+    this.preparedTables = Caffeine.newBuilder().maximumSize(MAX_PREPARED).build();
+  }
+
+  private static Cache<String, AsyncRateLimiter> newLimiterCache() {
+    return Caffeine.newBuilder()
+        .maximumSize(MAX_LIMITERS)
+        .expireAfterAccess(LIMITER_EXPIRY_MINUTES, TimeUnit.MINUTES)
+        .build();
+  }
+
+  /**
+   * Replaces the limits enforced by this manager. The rate of existing limiters is updated in
+   * place, so that the permits already reserved are preserved.
+   */
+  public void updateLimits(RateLimits newLimits) {
+    this.limits = newLimits;
+    updateRates(tenantLimiters, newLimits::tenantRate);
+    updateRates(userLimiters, newLimits::userRate);
+  }
+
+  private static void updateRates(
+      Cache<String, AsyncRateLimiter> limiters, ToLongFunction<String> rates) {
+    for (Map.Entry<String, AsyncRateLimiter> entry : limiters.asMap().entrySet()) {
+      long rate = rates.applyAsLong(entry.getKey());
+      if (rate <= 0) {
+        limiters.invalidate(entry.getKey());
+      } else if (rate != entry.getValue().getRate(TimeUnit.SECONDS)) {
+        entry.getValue().setRate(rate, TimeUnit.SECONDS);
+      }
+    }
+  }
+
+  RateLimits limits() {
+    return limits;
+  }
+
+  AsyncRateLimiter tenantLimiter(String tenant) {
+    return limiter(tenantLimiters, tenant, limits.tenantRate(tenant));
+  }
+
+  AsyncRateLimiter userLimiter(String user) {
+    return limiter(userLimiters, user, limits.userRate(user));
+  }
+
+  private AsyncRateLimiter limiter(
+      Cache<String, AsyncRateLimiter> limiters, String key, long rate) {
+    if (key == null || rate <= 0) {
+      return null;
+    }
+    return limiters.get(
+        key, k -> new AsyncRateLimiter(executor, rate, TimeUnit.SECONDS, 1, TimeUnit.MINUTES));
+  }
+
+  @Override
+  public String description() {
+    return format("per-tenant and per-user rate limiting (%s)", limits);
+  }
+
+  @Override
+  public ConnectionManager forNewConnection() {
+    return new TenantConnectionManager();
+  }
+
+  @Override
+  public ConnectionManager forNewConnection(ClientInfo clientInfo) {
+    return new TenantConnectionManager();
+  }
+
+  private static TableName tableOf(Result.Prepared prepared) {
+    // For modifications, the bound columns carry the table; for reads, both do.
+    TableName table = tableOf(prepared.metadata.columns);
+    return table == null ? tableOf(prepared.resultMetadata.columns) : table;
+  }
+
+  private static TableName tableOf(List<Column> columns) {
+    if (columns == null) {
+      return null;
+    }
+    for (Column column : columns) {
+      if (column.keyspace() != null && column.table() != null) {
+        return ImmutableTableName.builder()
+            .keyspace(column.keyspace())
+            .name(column.table())
+            .build();
+      }
+    }
+    return null;
+  }
+
+  private class TenantConnectionManager implements ConnectionManager {
+    private volatile String user;
+    private volatile String tenant;
+
+    @Override
+    public void onUserLogged(AuthenticatedUser user) {
+      this.user = user.name();
+    }
+
+    @Override
+    public void onCustomProperties(Map<String, String> customProperties) {
+      this.tenant = customProperties.get(limits.tenantProperty());
+    }
+
+    @Override
+    public void onPrepared(String query, Result.Prepared prepared) {
+      TableName table = tableOf(prepared);
+      if (table != null) {
+        preparedTables.put(prepared.statementId, table);
+      }
+    }
+
+    private long weight(Statement statement) {
+      if (statement instanceof BoundStatement) {
+        TableName table = preparedTables.getIfPresent(((BoundStatement) statement).preparedId());
+        if (table != null) {
+          return limits.weight(table);
+        }
+      }
+      return 1;
+    }
+
+    private RateLimitingDecision decide(long permits) {
+      if (permits <= 0) {
+        return RateLimitingDecision.unlimited();
+      }
+      List<AsyncRateLimiter> limiters = new ArrayList<>(2);
+      AsyncRateLimiter userLimiter = userLimiter(user);
+      if (userLimiter != null) {
+        limiters.add(userLimiter);
+      }
+      AsyncRateLimiter tenantLimiter = tenantLimiter(tenant);
+      if (tenantLimiter != null) {
+        limiters.add(tenantLimiter);
+      }
+      return RateLimitingDecision.limitAll(limiters, permits);
+    }
+
+    @Override
+    public RateLimitingDecision forPrepare(String query, Parameters parameters) {
+      return decide(1);
+    }
+
+    @Override
+    public RateLimitingDecision forExecute(Statement statement, Parameters parameters) {
+      return decide(weight(statement));
+    }
+
+    @Override
+    public RateLimitingDecision forBatch(Batch batch, Parameters parameters) {
+      long permits = 0;
+      for (Statement statement : batch.statements()) {
+        permits += weight(statement);
+      }
+      return decide(permits);
+    }
+  }
+}
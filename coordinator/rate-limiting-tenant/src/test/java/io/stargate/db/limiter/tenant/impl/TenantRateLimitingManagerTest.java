@@ -0,0 +1,162 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.limiter.tenant.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.stargate.config.store.api.ConfigWithOverrides;
+import io.stargate.db.AuthenticatedUser;
+import io.stargate.db.BoundStatement;
+import io.stargate.db.Parameters;
+import io.stargate.db.Result;
+import io.stargate.db.SimpleStatement;
+import io.stargate.db.limiter.RateLimitingDecision;
+import io.stargate.db.limiter.RateLimitingManager.ConnectionManager;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import io.stargate.db.schema.ImmutableColumn;
+import io.stargate.db.schema.ImmutableTableName;
+import io.stargate.db.schema.TableName;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+public class TenantRateLimitingManagerTest {
+  private static final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
+
+  @AfterAll
+  public static void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static RateLimits limits(Map<String, Object> settings) {
+    return RateLimits.from(new ConfigWithOverrides(settings, "tenant_rate_limiting"));
+  }
+
+  private static Map<String, Object> settings(long tenantRate, long userRate) {
+    Map<String, Object> settings = new HashMap<>();
+    settings.put(RateLimits.TENANT_RATE, tenantRate);
+    settings.put(RateLimits.USER_RATE, userRate);
+    return settings;
+  }
+
+  private static ConnectionManager connection(
+      TenantRateLimitingManager manager, String tenant, String user) {
+    ConnectionManager connection = manager.forNewConnection();
+    connection.onUserLogged(AuthenticatedUser.of(user));
+    connection.onCustomProperties(
+        Collections.singletonMap(RateLimits.DEFAULT_TENANT_PROPERTY, tenant));
+    return connection;
+  }
+
+  @Test
+  public void readsLimitsWithOverrides() {
+    Map<String, Object> settings = settings(100, 0);
+    settings.put(RateLimits.TENANTS, Collections.singletonMap("big", 1000));
+    settings.put(RateLimits.TABLE_WEIGHTS, Collections.singletonMap("ks.heavy", 5));
+    RateLimits limits = limits(settings);
+
+    assertThat(limits.tenantRate("small")).isEqualTo(100);
+    assertThat(limits.tenantRate("big")).isEqualTo(1000);
+    assertThat(limits.userRate("anyone")).isZero();
+    assertThat(limits.weight(table("ks", "heavy"))).isEqualTo(5);
+    assertThat(limits.weight(table("ks", "other"))).isEqualTo(1);
+    assertThat(limits.weight(table("system_schema", "tables"))).isZero();
+    assertThat(limits.tenantProperty()).isEqualTo(RateLimits.DEFAULT_TENANT_PROPERTY);
+  }
+
+  @Test
+  public void limitsOnTenantAndUser() {
+    TenantRateLimitingManager manager =
+        new TenantRateLimitingManager(executor, limits(settings(100, 10)));
+    ConnectionManager connection = connection(manager, "tenant1", "user1");
+
+    RateLimitingDecision decision =
+        connection.forExecute(new SimpleStatement("SELECT * FROM ks.tbl"), Parameters.defaults());
+
+    assertThat(decision).isInstanceOf(RateLimitingDecision.LimitedAll.class);
+    assertThat(manager.tenantLimiter("tenant1").getRate(TimeUnit.SECONDS)).isEqualTo(100);
+    assertThat(manager.userLimiter("user1").getRate(TimeUnit.SECONDS)).isEqualTo(10);
+  }
+
+  @Test
+  public void doesNotLimitWithoutRates() {
+    TenantRateLimitingManager manager =
+        new TenantRateLimitingManager(executor, limits(settings(0, 0)));
+    ConnectionManager connection = connection(manager, "tenant1", "user1");
+
+    assertThat(connection.forPrepare("SELECT * FROM ks.tbl", Parameters.defaults()))
+        .isInstanceOf(RateLimitingDecision.Unlimited.class);
+  }
+
+  @Test
+  public void updatesRatesOfExistingLimiters() {
+    TenantRateLimitingManager manager =
+        new TenantRateLimitingManager(executor, limits(settings(100, 0)));
+    connection(manager, "tenant1", "user1")
+        .forPrepare("SELECT * FROM ks.tbl", Parameters.defaults());
+
+    manager.updateLimits(limits(settings(50, 0)));
+
+    assertThat(manager.tenantLimiter("tenant1").getRate(TimeUnit.SECONDS)).isEqualTo(50);
+  }
+
+  @Test
+  public void doesNotLimitPreparedStatementsOnExcludedKeyspaces() {
+    TenantRateLimitingManager manager =
+        new TenantRateLimitingManager(executor, limits(settings(100, 0)));
+    ConnectionManager connection = connection(manager, "tenant1", "user1");
+    MD5Digest systemId = MD5Digest.compute("SELECT * FROM system.local");
+    MD5Digest userId = MD5Digest.compute("SELECT * FROM ks.tbl");
+
+    connection.onPrepared("SELECT * FROM system.local", prepared(systemId, "system", "local"));
+    connection.onPrepared("SELECT * FROM ks.tbl", prepared(userId, "ks", "tbl"));
+
+    assertThat(connection.forExecute(bound(systemId), Parameters.defaults()))
+        .isInstanceOf(RateLimitingDecision.Unlimited.class);
+    assertThat(connection.forExecute(bound(userId), Parameters.defaults()))
+        .isInstanceOf(RateLimitingDecision.Limited.class);
+  }
+
+  private static TableName table(String keyspace, String name) {
+    return ImmutableTableName.builder().keyspace(keyspace).name(name).build();
+  }
+
+  private static BoundStatement bound(MD5Digest id) {
+    return new BoundStatement(id, Collections.emptyList(), null);
+  }
+
+  private static Result.Prepared prepared(MD5Digest id, String keyspace, String table) {
+    Column column =
+        ImmutableColumn.builder().keyspace(keyspace).table(table).name("c").type(Type.Int).build();
+    return new Result.Prepared(
+        id,
+        id,
+        new Result.ResultMetadata(
+            EnumSet.noneOf(Result.Flag.class), Collections.singletonList(column), id, null),
+        new Result.PreparedMetadata(
+            EnumSet.noneOf(Result.Flag.class), Collections.emptyList(), null),
+        true,
+        false);
+  }
+}
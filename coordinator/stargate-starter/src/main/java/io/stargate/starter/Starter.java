@@ -31,11 +31,13 @@ import io.stargate.core.CoreModule;
 import io.stargate.core.metrics.impl.MetricsModule;
 import io.stargate.core.services.BaseService;
 import io.stargate.core.services.ServiceManager;
+import io.stargate.core.services.ServiceStarter;
 import io.stargate.core.services.SimpleServiceManager;
 import io.stargate.cql.CqlService;
 import io.stargate.db.DbModule;
 import io.stargate.db.cassandra.Cassandra50PersistenceService;
 import io.stargate.db.limiter.global.GlobalRateLimitingModule;
+import io.stargate.db.limiter.tenant.TenantRateLimitingModule;
 import io.stargate.graphql.GraphqlModule;
 import io.stargate.health.HealthCheckerActivator;
 import io.stargate.testing.TestingServicesModule;
@@ -61,6 +63,10 @@ public class Starter {
 
   public static final String STARTED_MESSAGE = "Finished starting services.";
 
+  /** The maximum number of services started concurrently. */
+  private static final int STARTUP_THREADS =
+      Math.max(Integer.getInteger("stargate.startup_threads", 4), 1);
+
   @Inject protected HelpOption<Starter> help;
 
   @Required
@@ -169,7 +175,7 @@ public class Starter {
     // Start service manager
     serviceManager.start();
 
-    // Start all services in order
+    // Start all services
     startServices();
 
     // Register shutdown hook
@@ -320,24 +326,19 @@ public class Starter {
       serviceMap.put("GlobalRateLimitingModule", rateLimiting);
     }
 
-    // Start each service
-    for (Map.Entry<String, BaseService> entry : serviceMap.entrySet()) {
-      String name = entry.getKey();
-      BaseService service = entry.getValue();
-
-      try {
-        logger.info("Starting service: {}", name);
-        service.start();
-        services.add(service);
-        logger.info("Started service: {}", name);
-      } catch (Exception e) {
-        logger.error("Failed to start service: " + name, e);
-        // Stop already started services
-        stopServices();
-        throw e;
-      }
+    if (!skipServices.contains("tenant-rate-limiting")) {
+      TenantRateLimitingModule tenantRateLimiting = new TenantRateLimitingModule();
+      tenantRateLimiting.setServiceManager(serviceManager);
+      serviceMap.put("TenantRateLimitingModule", tenantRateLimiting);
     }
 
+    // Start the services, unrelated ones concurrently unless the sequential startup is requested
+    int parallelism = Boolean.getBoolean("stargate.sequential_startup") ? 1 : STARTUP_THREADS;
+    ServiceStarter serviceStarter = new ServiceStarter(serviceManager, parallelism);
+    serviceMap.forEach(serviceStarter::add);
+    // If a service fails, the starter stops the ones already started before rethrowing
+    services.addAll(serviceStarter.start());
+
     logger.info("All services started successfully");
   }
 
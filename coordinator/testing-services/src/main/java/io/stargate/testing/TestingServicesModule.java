@@ -25,6 +25,8 @@ import io.stargate.testing.auth.LoggingAuthorizationProcessorImpl;
 import io.stargate.testing.metrics.AuthorityGrpcMetricsTagProvider;
 import io.stargate.testing.metrics.FixedClientInfoTagProvider;
 import io.stargate.testing.metrics.TagMeHttpMetricsTagProvider;
+import java.util.Arrays;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +52,15 @@ public class TestingServicesModule extends BaseService {
     super("testing-services");
   }
 
+  @Override
+  protected List<Class<?>> providedServices() {
+    return Arrays.asList(
+        AuthorizationProcessor.class,
+        HttpMetricsTagProvider.class,
+        ClientInfoMetricsTagProvider.class,
+        GrpcMetricsTagProvider.class);
+  }
+
   @Override
   protected void createServices() {
     logger.info("Starting TestingServicesModule");
@@ -22,7 +22,6 @@ import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.concurrent.CompletionStage;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIf;
@@ -31,13 +30,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 /**
  * Covers the behavior of prepared statements when a table is altered (CASSANDRA-10786).
  *
- * <p>This test covers protocol-v5-specific features. However driver 4.9.0 is currently incompatible
- * with Cassandra 4.0 betas when forcing that version: the driver uses the new framing format from
- * CASSANDRA-15299, but that ticket is not merged yet on the server-side.
- *
- * <p>TODO reenable when CASSANDRA-15299 is merged
+ * <p>This test covers protocol-v5-specific features.
  */
-@Disabled("Requires CASSANDRA-15299 on the backend")
 @ExtendWith(CqlSessionExtension.class)
 @CqlSessionSpec(customOptions = "customizeOptions")
 public class PreparedStatementAlterTableTest extends BaseIntegrationTest {
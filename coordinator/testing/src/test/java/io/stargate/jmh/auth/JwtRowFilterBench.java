@@ -0,0 +1,183 @@
+package io.stargate.jmh.auth;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import io.stargate.auth.AuthenticationSubject;
+import io.stargate.auth.SourceAPI;
+import io.stargate.auth.jwt.AuthzJwtService;
+import io.stargate.db.PagingPosition;
+import io.stargate.db.RowDecorator;
+import io.stargate.db.datastore.ArrayListBackedRow;
+import io.stargate.db.datastore.ResultSet;
+import io.stargate.db.datastore.Row;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Kind;
+import io.stargate.db.schema.Column.Type;
+import io.stargate.db.schema.ImmutableColumn;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the row-level filtering that {@link AuthzJwtService#authorizedDataRead} applies
+ * through {@link ResultSet#withRowInspector(Predicate)}, over a page of rows.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=JwtRowFilterBench -Djmh.prof=gc</code>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtRowFilterBench {
+
+  private static final List<Column> COLUMNS =
+      Arrays.asList(
+          column("userid", Type.Text, Kind.PartitionKey),
+          column("cart_id", Type.Text, Kind.Clustering),
+          column("item_count", Type.Int, Kind.Regular),
+          column("description", Type.Text, Kind.Regular));
+
+  private final AuthzJwtService authzJwtService = new AuthzJwtService();
+  private AuthenticationSubject subject;
+  private List<Row> page;
+
+  @Param({"5000"})
+  int rowCount;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    String payload =
+        "{\"stargate_claims\":{\"x-stargate-role\":\"web-user\",\"x-stargate-userid\":\"user-0\"}}";
+    // Authorization doesn't verify the signature, that's done during authentication
+    String token =
+        "eyJhbGciOiJIUzI1NiJ9."
+            + Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+            + ".c2lnbmF0dXJl";
+    subject = AuthenticationSubject.of(token, "web-user");
+
+    page = new ArrayList<>(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      // Half of the rows belong to the user of the token
+      List<ByteBuffer> values =
+          Arrays.asList(
+              encode(Type.Text, "user-" + (i % 2)),
+              encode(Type.Text, "cart-" + i),
+              encode(Type.Int, i),
+              encode(Type.Text, "description of item " + i));
+      page.add(new ArrayListBackedRow(COLUMNS, values, ProtocolVersion.DEFAULT));
+    }
+  }
+
+  @Benchmark
+  public int filterPage() throws Exception {
+    CapturingResultSet resultSet = new CapturingResultSet();
+    authzJwtService.authorizedDataRead(
+        () -> resultSet,
+        subject,
+        "store",
+        "shopping_cart",
+        Collections.emptyList(),
+        SourceAPI.REST);
+    Predicate<Row> rowInspector = resultSet.rowInspector;
+    int accepted = 0;
+    for (Row row : page) {
+      if (rowInspector.test(row)) {
+        accepted += 1;
+      }
+    }
+    return accepted;
+  }
+
+  private static Column column(String name, Type type, Kind kind) {
+    return ImmutableColumn.builder()
+        .keyspace("store")
+        .table("shopping_cart")
+        .name(name)
+        .type(type)
+        .kind(kind)
+        .build();
+  }
+
+  private static ByteBuffer encode(Type type, Object value) {
+    return type.codec().encode(value, ProtocolVersion.DEFAULT);
+  }
+
+  /** Only records the row inspector, the rows are filtered by the benchmark itself. */
+  private static class CapturingResultSet implements ResultSet {
+    private Predicate<Row> rowInspector;
+
+    @Override
+    public ResultSet withRowInspector(Predicate<Row> authzFilter) {
+      this.rowInspector = authzFilter;
+      return this;
+    }
+
+    @Override
+    public List<Column> columns() {
+      return COLUMNS;
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Row one() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Row> rows() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Row> currentPageRows() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean hasNoMoreFetchedRows() {
+      return true;
+    }
+
+    @Override
+    public ByteBuffer getPagingState() {
+      return null;
+    }
+
+    @Override
+    public ByteBuffer makePagingState(PagingPosition position) {
+      return null;
+    }
+
+    @Override
+    public RowDecorator makeRowDecorator() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package io.stargate.jmh.bridge;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.QueryOuterClass.EnrichedRows;
+import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
+import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
+import io.stargate.bridge.service.ValuesHelper;
+import io.stargate.db.AbstractRowDecorator;
+import io.stargate.db.ComparableKey;
+import io.stargate.db.Result.Flag;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.Result.Rows;
+import io.stargate.db.RowDecorator;
+import io.stargate.db.datastore.ArrayListBackedRow;
+import io.stargate.db.datastore.Row;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Kind;
+import io.stargate.db.schema.Column.Type;
+import io.stargate.db.schema.ImmutableColumn;
+import io.stargate.db.schema.ImmutableTableName;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the conversion of an enriched page of rows in the bridge, with {@link
+ * ValuesHelper#processResult} and the different {@link EnrichedRows} modes. {@link
+ * EnrichedRows#ALL_ROWS} is the behavior before the modes were introduced.
+ *
+ * <p>The page mimics a Docs API table, where each document is a partition of several rows. The
+ * comparable bytes and the paging states are created by stand-ins that do the same kind of work as
+ * the persistence ones (hashing the partition key, serializing the key and clustering values), so
+ * the results show how the cost of a page changes with the number of enriched rows.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=EnrichedResultBench -Djmh.prof=gc</code>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EnrichedResultBench {
+
+  private static final List<Column> COLUMNS =
+      Arrays.asList(
+          column("key", Type.Text, Kind.PartitionKey),
+          column("p0", Type.Text, Kind.Clustering),
+          column("p1", Type.Text, Kind.Clustering),
+          column("leaf", Type.Text, Kind.Regular),
+          column("text_value", Type.Text, Kind.Regular),
+          column("dbl_value", Type.Double, Kind.Regular));
+
+  private final RowDecorator rowDecorator = new BenchRowDecorator();
+  private Rows page;
+  private QueryParameters parameters;
+
+  @Param({"1000"})
+  int rowCount;
+
+  @Param({"1", "10", "50"})
+  int rowsPerPartition;
+
+  @Param({"ALL_ROWS", "PARTITION_BOUNDARIES", "LAST_ROW"})
+  EnrichedRows enrichedRows;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    List<List<ByteBuffer>> rows = new ArrayList<>(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      int document = i / rowsPerPartition;
+      rows.add(
+          Arrays.asList(
+              encode(Type.Text, "document-" + document),
+              encode(Type.Text, "field-" + i),
+              encode(Type.Text, ""),
+              encode(Type.Text, "field-" + i),
+              encode(Type.Text, "value of field " + i),
+              encode(Type.Double, (double) i)));
+    }
+    // not the last page, so that all the rows get a real paging state
+    ByteBuffer pagingState = ByteBuffer.wrap(new byte[] {1, 2, 3, 4});
+    page =
+        new Rows(
+            rows,
+            new ResultMetadata(
+                EnumSet.noneOf(Flag.class),
+                COLUMNS,
+                MD5Digest.compute(new byte[0]),
+                pagingState));
+    parameters =
+        QueryParameters.newBuilder()
+            .setEnriched(true)
+            .setResumeMode(
+                QueryOuterClass.ResumeModeValue.newBuilder()
+                    .setValue(QueryOuterClass.ResumeMode.NEXT_PARTITION))
+            .setEnrichedRows(enrichedRows)
+            .build();
+  }
+
+  @Benchmark
+  public ResultSet processEnrichedPage() throws Exception {
+    return ValuesHelper.processResult(
+        page,
+        parameters,
+        (columns, row, decorator) -> decorator.getComparableBytes(row),
+        EnrichedResultBench::pagingState,
+        (columns, values) -> new ArrayListBackedRow(columns, values, ProtocolVersion.DEFAULT),
+        rowDecorator);
+  }
+
+  @Benchmark
+  public ResultSet processPage() throws Exception {
+    // reference point, the same page without any enrichment
+    return ValuesHelper.processResult(page, parameters);
+  }
+
+  // same layout as a partition paging state: key, clustering and the remaining counters
+  private static ByteBuffer pagingState(
+      ByteBuffer resultSetPagingState,
+      Row row,
+      QueryOuterClass.ResumeMode resumeMode,
+      boolean lastInPage) {
+    ByteBuffer key = row.getBytesUnsafe("key");
+    ByteBuffer clustering = row.getBytesUnsafe("p0");
+    ByteBuffer state = ByteBuffer.allocate(key.remaining() + clustering.remaining() + 16);
+    state.putInt(key.remaining()).put(key.duplicate());
+    state.putInt(clustering.remaining()).put(clustering.duplicate());
+    state.putInt(Integer.MAX_VALUE).putInt(Integer.MAX_VALUE);
+    state.flip();
+    return state;
+  }
+
+  private static Column column(String name, Type type, Kind kind) {
+    return ImmutableColumn.builder()
+        .keyspace("docs")
+        .table("collection")
+        .name(name)
+        .type(type)
+        .kind(kind)
+        .build();
+  }
+
+  private static ByteBuffer encode(Type type, Object value) {
+    return type.codec().encode(value, ProtocolVersion.DEFAULT);
+  }
+
+  /** Combines a hash based token with the escaped partition key, like the byte-comparable API. */
+  private static class BenchRowDecorator extends AbstractRowDecorator {
+
+    BenchRowDecorator() {
+      super(
+          ImmutableTableName.builder().keyspace("docs").name("collection").build(),
+          Arrays.asList("key"));
+    }
+
+    @Override
+    protected ComparableKey<?> decoratePrimaryKey(Object... rawKeyValues) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ByteBuffer getComparableBytes(Row row) {
+      ByteBuffer key = (ByteBuffer) primaryKeyValues(row)[0];
+      long token = 0xcbf29ce484222325L;
+      for (int i = key.position(); i < key.limit(); i++) {
+        token = (token ^ key.get(i)) * 0x100000001b3L;
+      }
+
+      byte[] bytes = new byte[64];
+      int length = 0;
+      long ordered = token ^ Long.MIN_VALUE;
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        bytes[length++] = (byte) (ordered >>> shift);
+      }
+      for (int i = key.position(); i < key.limit(); i++) {
+        if (length + 2 > bytes.length) {
+          bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        byte b = key.get(i);
+        bytes[length++] = b;
+        if (b == 0) {
+          // escape zeros, so that the terminator sorts first
+          bytes[length++] = (byte) 0xFE;
+        }
+      }
+      return ByteBuffer.wrap(Arrays.copyOf(bytes, length));
+    }
+  }
+}
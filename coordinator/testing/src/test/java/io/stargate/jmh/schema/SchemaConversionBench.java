@@ -0,0 +1,243 @@
+package io.stargate.jmh.schema;
+
+import io.stargate.db.datastore.common.AbstractCassandraSchemaConverter;
+import io.stargate.db.datastore.common.AbstractCassandraSchemaConverter.ConvertedSchema;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Schema;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the conversion of the internal schema into the Stargate one after a single keyspace
+ * changed (e.g. a table was created), as the number of keyspaces grows.
+ *
+ * <p>{@code fullConversion} is what happens when converting from scratch, {@code
+ * incrementalConversion} is what the persistence does on schema changes, reusing the previous
+ * conversion.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=SchemaConversionBench -Djmh.prof=gc</code>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SchemaConversionBench {
+
+  private static final int TABLES_PER_KEYSPACE = 10;
+
+  private final BenchConverter converter = new BenchConverter();
+
+  @Param({"10", "100", "1000", "5000"})
+  int keyspaceCount;
+
+  private List<BenchKeyspace> before;
+  private List<BenchKeyspace> after;
+  private ConvertedSchema<BenchKeyspace, BenchTable, BenchTable> previous;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    before = new ArrayList<>();
+    for (int i = 0; i < keyspaceCount; i++) {
+      List<BenchTable> tables = new ArrayList<>();
+      for (int j = 0; j < TABLES_PER_KEYSPACE; j++) {
+        tables.add(new BenchTable("table" + j));
+      }
+      before.add(new BenchKeyspace("keyspace" + i, tables));
+    }
+
+    // Same schema, with a table added to the last keyspace
+    after = new ArrayList<>(before);
+    BenchKeyspace changed = after.get(keyspaceCount - 1);
+    List<BenchTable> tables = new ArrayList<>(changed.tables);
+    tables.add(new BenchTable("new_table"));
+    after.set(keyspaceCount - 1, new BenchKeyspace(changed.name, tables));
+
+    previous = converter.convertCassandraSchema(before, ConvertedSchema.empty());
+  }
+
+  @Benchmark
+  public void fullConversion(Blackhole bh) {
+    Schema schema = converter.convertCassandraSchema(after);
+    bh.consume(schema);
+  }
+
+  @Benchmark
+  public void incrementalConversion(Blackhole bh) {
+    Schema schema = converter.convertCassandraSchema(after, previous).schema();
+    bh.consume(schema);
+  }
+
+  static class BenchKeyspace {
+    final String name;
+    final List<BenchTable> tables;
+
+    BenchKeyspace(String name, List<BenchTable> tables) {
+      this.name = name;
+      this.tables = tables;
+    }
+  }
+
+  static class BenchTable {
+    final String name;
+    final List<String> columns;
+
+    BenchTable(String name) {
+      this.name = name;
+      List<String> columns = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        columns.add("column" + i);
+      }
+      this.columns = columns;
+    }
+  }
+
+  static class BenchConverter
+      extends AbstractCassandraSchemaConverter<
+          BenchKeyspace, BenchTable, String, Object, Object, BenchTable> {
+
+    @Override
+    protected Set<String> getExcludedIndexOptions() {
+      return Collections.emptySet();
+    }
+
+    @Override
+    protected String keyspaceName(BenchKeyspace keyspace) {
+      return keyspace.name;
+    }
+
+    @Override
+    protected Map<String, String> replicationOptions(BenchKeyspace keyspace) {
+      return Collections.singletonMap("class", "SimpleStrategy");
+    }
+
+    @Override
+    protected boolean usesDurableWrites(BenchKeyspace keyspace) {
+      return true;
+    }
+
+    @Override
+    protected Iterable<BenchTable> tables(BenchKeyspace keyspace) {
+      return keyspace.tables;
+    }
+
+    @Override
+    protected Iterable<Object> userTypes(BenchKeyspace keyspace) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected Iterable<BenchTable> views(BenchKeyspace keyspace) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected String tableName(BenchTable table) {
+      return table.name;
+    }
+
+    @Override
+    protected Iterable<String> columns(BenchTable table) {
+      return table.columns;
+    }
+
+    @Override
+    protected String columnName(String column) {
+      return column;
+    }
+
+    @Override
+    protected Column.ColumnType columnType(String column) {
+      return Column.Type.Text;
+    }
+
+    @Override
+    protected Column.Order columnClusteringOrder(String column) {
+      return null;
+    }
+
+    @Override
+    protected Column.Kind columnKind(String column) {
+      return column.equals("column0") ? Column.Kind.PartitionKey : Column.Kind.Regular;
+    }
+
+    @Override
+    protected Iterable<Object> secondaryIndexes(BenchTable table) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected String comment(BenchTable table) {
+      return "";
+    }
+
+    @Override
+    protected int ttl(BenchTable table) {
+      return 0;
+    }
+
+    @Override
+    protected String indexName(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String indexTarget(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected boolean isCustom(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String indexClass(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected Map<String, String> indexOptions(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected List<Column> userTypeFields(Object userType) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String userTypeName(Object userType) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected BenchTable asTable(BenchTable view) {
+      return view;
+    }
+
+    @Override
+    protected boolean isBaseTableOf(BenchTable table, BenchTable view) {
+      return false;
+    }
+  }
+}